@@ -0,0 +1,37 @@
+package org.enhance.redis.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 按不同线程数依次运行基准测试，并开启GC profiler（输出每次操作分配的字节数 gc.alloc.rate.norm）
+ * <p>
+ * 用法：java -cp target/benchmarks.jar -Dthreads=1,4,16,64 org.enhance.redis.benchmark.BenchmarkMain [include正则]
+ * <p>
+ * 每个线程数的结果输出到 jmh-result-{threads}threads.json
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+public class BenchmarkMain {
+
+    private static final String DEFAULT_INCLUDE = "org\\.enhance\\.redis\\.benchmark\\.routing\\..*";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        for (String threads : System.getProperty("threads", "1,4,16,64").split(",")) {
+            int threadCount = Integer.parseInt(threads.trim());
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threadCount)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-" + threadCount + "threads.json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.enhance.redis.benchmark.e2e;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端压测：RedisHelper -> 动态RedisTemplate路由 -> 连接层埋点 -> jedis/lettuce -> {@link RespStubServer}
+ * <p>
+ * 客户端由 spring.redis.client-type（{@link RedisProperties#setClientType}）决定，
+ * 与 DynamicRedisTemplateFactory 创建连接工厂的方式一致；latencyMicros 模拟网络往返时间。
+ * 同时输出吞吐量和延迟分布（SampleTime 模式下的 p50/p90/p99/p99.9）
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+
+    private static final String DATA_SOURCE = "e2e";
+
+    private static final int KEYS = 1024;
+
+    private static final int DATABASES = 4;
+
+    /**
+     * 释放分布式锁：value一致时才删除
+     */
+    private static final String RELEASE_LOCK_SCRIPT = "if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('del', KEYS[1]) else return 0 end";
+
+    @Param({"lettuce", "jedis"})
+    public String client;
+
+    @Param({"0", "200"})
+    public long latencyMicros;
+
+    private RespStubServer server;
+
+    private DynamicRedisHelper redisHelper;
+
+    private RedisScript<Long> releaseLockScript;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = new RespStubServer(0, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros))).start();
+        server.registerScript(RELEASE_LOCK_SCRIPT, (redis, keys, args) -> {
+            byte[] current = (byte[]) redis.call("GET", keys.get(0));
+            return current != null && Arrays.equals(current, args.get(0)) ? redis.call("DEL", keys.get(0)) : 0L;
+        });
+        releaseLockScript = new DefaultRedisScript<>(RELEASE_LOCK_SCRIPT, Long.class);
+
+        RedisProperties properties = new RedisProperties();
+        properties.setHost("127.0.0.1");
+        properties.setPort(server.getPort());
+        properties.setTimeout(Duration.ofSeconds(2));
+        properties.setClientType(RedisProperties.ClientType.valueOf(client.toUpperCase()));
+        // jedis每个线程独占一个连接，连接池大小要覆盖压测线程数；lettuce共享一个连接，不使用连接池
+        RedisProperties.Pool pool = new RedisProperties.Pool();
+        pool.setMaxActive(128);
+        pool.setMaxIdle(128);
+        properties.getJedis().setPool(pool);
+
+        DynamicRedisTemplateFactory<String, String> factory = new DynamicRedisTemplateFactory<>(DATA_SOURCE,
+                properties, null, null, Collections.emptyList(), Collections.emptyList());
+        DynamicRedisTemplate<String, String> template = new DynamicRedisTemplate<>(factory);
+        template.setDefaultRedisTemplate(factory.createRedisTemplate(0));
+        template.setRedisTemplates(new ConcurrentHashMap<>(16));
+        template.getRedisTemplates().put(0, template.getDefaultRedisTemplate());
+        template.afterPropertiesSet();
+        redisHelper = new DynamicRedisHelper(template);
+
+        for (int db = 0; db < DATABASES; db++) {
+            redisHelper.setCurrentDatabase(db);
+            try {
+                for (int i = 0; i < KEYS; i++) {
+                    redisHelper.strSet(stringKey(i), "value-" + i);
+                    redisHelper.hshPut(hashKey(i), "field", "value-" + i);
+                    redisHelper.zSetAdd("e2e:zset", "member-" + i, i);
+                }
+            } finally {
+                redisHelper.clearCurrentDatabase();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        for (InstrumentedRedisConnectionFactory factory : RedisConnectionFactoryRegister.getFactories(DATA_SOURCE)) {
+            factory.destroy();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public void strSet(KeyState state) {
+        redisHelper.strSet(stringKey(state.next()), state.value);
+    }
+
+    @Benchmark
+    public String strGet(KeyState state) {
+        return redisHelper.strGet(stringKey(state.next()));
+    }
+
+    @Benchmark
+    public void hshPut(KeyState state) {
+        redisHelper.hshPut(hashKey(state.next()), "field", state.value);
+    }
+
+    @Benchmark
+    public String hshGet(KeyState state) {
+        return redisHelper.hshGet(hashKey(state.next()), "field");
+    }
+
+    @Benchmark
+    public String lstPushPop(KeyState state) {
+        redisHelper.lstRightPush(state.listKey, state.value);
+        return redisHelper.lstLeftPop(state.listKey);
+    }
+
+    @Benchmark
+    public Double zSetIncrementScore(KeyState state) {
+        return redisHelper.zSetIncrementScore("e2e:zset", "member-" + state.next(), 1);
+    }
+
+    /**
+     * 切换到其他db执行，覆盖动态db路由
+     */
+    @Benchmark
+    public String strGetSwitchDatabase(KeyState state) {
+        redisHelper.setCurrentDatabase(1 + state.next() % (DATABASES - 1));
+        try {
+            return redisHelper.strGet(stringKey(state.next()));
+        } finally {
+            redisHelper.clearCurrentDatabase();
+        }
+    }
+
+    /**
+     * 加锁后通过脚本释放锁（EVALSHA）
+     */
+    @Benchmark
+    public Long lockAndRelease(KeyState state) {
+        redisHelper.strSet(state.lockKey, state.value);
+        List<String> keys = Collections.singletonList(state.lockKey);
+        return redisHelper.executeScript(releaseLockScript, keys, Collections.<Object>singletonList(state.value));
+    }
+
+    private static String stringKey(int index) {
+        return "e2e:str:" + index;
+    }
+
+    private static String hashKey(int index) {
+        return "e2e:hash:" + index;
+    }
+
+    /**
+     * 每个线程独立的key序列，list和锁使用线程独占的key，避免线程间互相影响
+     */
+    @State(Scope.Thread)
+    public static class KeyState {
+
+        private String value;
+
+        private String listKey;
+
+        private String lockKey;
+
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            long id = Thread.currentThread().getId();
+            value = "value-" + id;
+            listKey = "e2e:list:" + id;
+            lockKey = "e2e:lock:" + id;
+            cursor = ThreadLocalRandom.current().nextInt(KEYS);
+        }
+
+        int next() {
+            cursor = (cursor + 1) & (KEYS - 1);
+            return cursor;
+        }
+    }
+}
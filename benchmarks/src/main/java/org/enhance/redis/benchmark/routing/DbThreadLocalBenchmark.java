@@ -0,0 +1,55 @@
+package org.enhance.redis.benchmark.routing;
+
+import org.enhance.redis.helper.RedisDbThreadLocalHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisDbThreadLocalHelper 的 set/get/clear 开销，包括嵌套切换db的场景
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbThreadLocalBenchmark {
+
+    @Benchmark
+    public Integer getWithoutDb() {
+        return RedisDbThreadLocalHelper.get();
+    }
+
+    @Benchmark
+    public Integer setGetClear() {
+        RedisDbThreadLocalHelper.set(3);
+        try {
+            return RedisDbThreadLocalHelper.get();
+        } finally {
+            RedisDbThreadLocalHelper.clear();
+        }
+    }
+
+    @Benchmark
+    public Integer nestedSetGetClear() {
+        RedisDbThreadLocalHelper.set(3);
+        try {
+            RedisDbThreadLocalHelper.set(5);
+            try {
+                return RedisDbThreadLocalHelper.get();
+            } finally {
+                RedisDbThreadLocalHelper.clear();
+            }
+        } finally {
+            RedisDbThreadLocalHelper.clear();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.enhance.redis.benchmark.routing;
+
+import org.enhance.redis.benchmark.support.Fixtures;
+import org.enhance.redis.client.RedisMultiSourceClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisMultiSourceClient 按数据源名称查找的开销（字符串拼接 + 注册表查找 + db查找）
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiSourceClientBenchmark {
+
+    private static final int MATERIALIZED_DBS = 16;
+
+    /**
+     * 注册的数据源个数
+     */
+    @Param({"1", "20"})
+    public int dataSources;
+
+    private RedisMultiSourceClient client;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < dataSources; i++) {
+            Fixtures.registerDataSource("source" + i, MATERIALIZED_DBS);
+        }
+        client = new RedisMultiSourceClient();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadTarget {
+
+        String dataSource;
+
+        int db;
+
+        @Setup
+        public void setup(MultiSourceClientBenchmark benchmark) {
+            dataSource = "source" + ThreadLocalRandom.current().nextInt(benchmark.dataSources);
+            db = ThreadLocalRandom.current().nextInt(MATERIALIZED_DBS);
+        }
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> opsDefaultDb(ThreadTarget target) {
+        return client.opsDefaultDb(target.dataSource);
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> opsDbTwo(ThreadTarget target) {
+        return client.opsDbTwo(target.dataSource);
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> opsOtherDb(ThreadTarget target) {
+        return client.opsOtherDb(target.dataSource, target.db);
+    }
+}
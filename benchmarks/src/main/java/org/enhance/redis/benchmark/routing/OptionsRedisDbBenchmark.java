@@ -0,0 +1,64 @@
+package org.enhance.redis.benchmark.routing;
+
+import org.enhance.redis.benchmark.support.Fixtures;
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.options.DefaultOptionsRedisDb;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultOptionsRedisDb.commonOpsDb 的查找开销（通过 opsDbTwo、opsOtherDb 调用）
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptionsRedisDbBenchmark {
+
+    private static final int MATERIALIZED_DBS = 16;
+
+    private DefaultOptionsRedisDb options;
+
+    @Setup
+    public void setup() {
+        DynamicRedisHelper helper = new DynamicRedisHelper(Fixtures.routingTemplate("options", MATERIALIZED_DBS));
+        options = new DefaultOptionsRedisDb(helper);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadDb {
+
+        int db;
+
+        @Setup
+        public void setup() {
+            db = ThreadLocalRandom.current().nextInt(MATERIALIZED_DBS);
+        }
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> opsDbTwo() {
+        return options.opsDbTwo();
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> opsOtherDb(ThreadDb threadDb) {
+        return options.opsOtherDb(threadDb.db);
+    }
+}
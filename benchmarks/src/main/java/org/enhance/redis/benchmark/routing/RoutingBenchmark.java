@@ -0,0 +1,78 @@
+package org.enhance.redis.benchmark.routing;
+
+import org.enhance.redis.benchmark.support.Fixtures;
+import org.enhance.redis.benchmark.support.RoutingProbeTemplate;
+import org.enhance.redis.helper.RedisDbThreadLocalHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AbstractRoutingRedisTemplate 路由开销：未切换db、切换db后路由、直接按db查找
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutingBenchmark {
+
+    /**
+     * 已创建RedisTemplate的db个数
+     */
+    @Param({"1", "16"})
+    public int materializedDbs;
+
+    private RoutingProbeTemplate template;
+
+    @Setup
+    public void setup() {
+        template = Fixtures.routingTemplate("routing", materializedDbs);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadDb {
+
+        int db;
+
+        @Setup
+        public void setup(RoutingBenchmark benchmark) {
+            db = ThreadLocalRandom.current().nextInt(benchmark.materializedDbs);
+        }
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> routeDefault() {
+        return template.route();
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> routeWithDb(ThreadDb threadDb) {
+        RedisDbThreadLocalHelper.set(threadDb.db);
+        try {
+            return template.route();
+        } finally {
+            RedisDbThreadLocalHelper.clear();
+        }
+    }
+
+    @Benchmark
+    public RedisTemplate<String, String> getOrCreateExisting(ThreadDb threadDb) {
+        return template.getOrCreateRedisTemplate(threadDb.db);
+    }
+}
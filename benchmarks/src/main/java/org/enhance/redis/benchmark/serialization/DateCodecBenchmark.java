@@ -0,0 +1,88 @@
+package org.enhance.redis.benchmark.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.time.FastDateFormat;
+import org.enhance.redis.helper.RedisHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateSerializer/DateDeserializer（经过 RedisHelper 的 ObjectMapper）与直接格式化的对比，
+ * 替代实现（名称以 alt 开头）使用 java.time 的 DateTimeFormatter
+ *
+ * @author wenpan 2026/10/19 20:30
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateCodecBenchmark {
+
+    private static final FastDateFormat FAST_DATE_FORMAT = FastDateFormat.getInstance(RedisHelper.DATE_FORMAT);
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(RedisHelper.DATE_FORMAT)
+            .withZone(ZoneId.systemDefault());
+
+    private final ObjectMapper objectMapper = RedisHelper.getObjectMapper();
+
+    private Date date;
+
+    private String text;
+
+    private String json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        date = new Date(1792390000123L);
+        text = FAST_DATE_FORMAT.format(date);
+        json = objectMapper.writeValueAsString(date);
+    }
+
+    @Benchmark
+    public String serializeDate() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(date);
+    }
+
+    @Benchmark
+    public Date deserializeDate() throws JsonProcessingException {
+        return objectMapper.readValue(json, Date.class);
+    }
+
+    @Benchmark
+    public String fastDateFormat() {
+        return FAST_DATE_FORMAT.format(date);
+    }
+
+    @Benchmark
+    public Date fastDateParse() throws ParseException {
+        return FAST_DATE_FORMAT.parse(text);
+    }
+
+    @Benchmark
+    public String altDateTimeFormat() {
+        return DATE_TIME_FORMATTER.format(date.toInstant());
+    }
+
+    @Benchmark
+    public Date altDateTimeParse() {
+        return Date.from(OffsetDateTime.parse(text, DATE_TIME_FORMATTER).toInstant());
+    }
+}
@@ -0,0 +1,124 @@
+package org.enhance.redis.benchmark.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.enhance.redis.helper.RedisHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisHelper 的JSON序列化路径，以及可以替代的实现（名称以 alt 开头）：
+ * <ul>
+ *     <li>写：toJson 得到字符串，再由 StringRedisSerializer 编码为 byte[]；替代实现直接序列化为 byte[]</li>
+ *     <li>读：StringRedisSerializer 解码为字符串，再 fromJson；替代实现直接从 byte[] 反序列化</li>
+ *     <li>列表：fromJsonList 每次构造 JavaType；替代实现缓存 JavaType 或 ObjectReader</li>
+ * </ul>
+ * 配合 -prof gc 查看每次操作分配的字节数
+ *
+ * @author wenpan 2026/10/19 20:30
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+    private static final int LIST_SIZE = 10;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private final ObjectMapper objectMapper = RedisHelper.getObjectMapper();
+
+    private final StringRedisSerializer stringSerializer = StringRedisSerializer.UTF_8;
+
+    private Payloads.Order order;
+
+    private String json;
+
+    private byte[] jsonBytes;
+
+    private String listJson;
+
+    private JavaType listType;
+
+    private ObjectReader listReader;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        order = Payloads.order(1, size);
+        json = RedisHelper.toJson(order);
+        jsonBytes = stringSerializer.serialize(json);
+        List<Payloads.Order> orders = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            orders.add(Payloads.order(i, size));
+        }
+        listJson = objectMapper.writeValueAsString(orders);
+        listType = objectMapper.getTypeFactory().constructParametricType(List.class, Payloads.Order.class);
+        listReader = objectMapper.readerFor(listType);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return RedisHelper.toJson(order);
+    }
+
+    @Benchmark
+    public byte[] toJsonThenEncode() {
+        return stringSerializer.serialize(RedisHelper.toJson(order));
+    }
+
+    @Benchmark
+    public byte[] altToJsonBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Payloads.Order fromJson() {
+        return RedisHelper.fromJson(json, Payloads.Order.class);
+    }
+
+    @Benchmark
+    public Payloads.Order decodeThenFromJson() {
+        return RedisHelper.fromJson(stringSerializer.deserialize(jsonBytes), Payloads.Order.class);
+    }
+
+    @Benchmark
+    public Payloads.Order altFromJsonBytes() throws IOException {
+        return objectMapper.readValue(jsonBytes, Payloads.Order.class);
+    }
+
+    @Benchmark
+    public List<Payloads.Order> fromJsonList() {
+        return RedisHelper.fromJsonList(listJson, Payloads.Order.class);
+    }
+
+    @Benchmark
+    public List<Payloads.Order> altFromJsonListCachedType() throws IOException {
+        return objectMapper.readValue(listJson, listType);
+    }
+
+    @Benchmark
+    public List<Payloads.Order> altFromJsonListCachedReader() throws IOException {
+        return listReader.readValue(listJson);
+    }
+}
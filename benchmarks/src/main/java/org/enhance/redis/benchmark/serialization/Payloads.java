@@ -0,0 +1,210 @@
+package org.enhance.redis.benchmark.serialization;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 序列化基准测试使用的业务对象：一个订单包含若干订单行，通过订单行个数控制大小
+ * <ul>
+ *     <li>SMALL：1个订单行，约300字节</li>
+ *     <li>MEDIUM：20个订单行，约3KB</li>
+ *     <li>LARGE：500个订单行，约70KB</li>
+ * </ul>
+ *
+ * @author wenpan 2026/10/19 20:30
+ */
+public final class Payloads {
+
+    public enum Size {
+
+        SMALL(1), MEDIUM(20), LARGE(500);
+
+        private final int items;
+
+        Size(int items) {
+            this.items = items;
+        }
+
+        public int getItems() {
+            return items;
+        }
+    }
+
+    private Payloads() {
+    }
+
+    public static Order order(long id, Size size) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNo("SO202610190000" + id);
+        order.setUserId(10000L + id);
+        order.setStatus("PAID");
+        order.setRemark("请在工作日配送，谢谢");
+        order.setTags(Arrays.asList("vip", "express", "coupon"));
+        order.setCreatedAt(new Date(1792390000000L + id));
+        order.setUpdatedAt(new Date(1792390060000L + id));
+        List<OrderItem> items = new ArrayList<>(size.getItems());
+        BigDecimal amount = BigDecimal.ZERO;
+        for (int i = 0; i < size.getItems(); i++) {
+            OrderItem item = new OrderItem();
+            item.setSku("SKU-" + (100000 + i));
+            item.setName("商品名称-" + i);
+            item.setQuantity(1 + i % 5);
+            item.setPrice(new BigDecimal("19.90").add(BigDecimal.valueOf(i)));
+            amount = amount.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            items.add(item);
+        }
+        order.setItems(items);
+        order.setAmount(amount);
+        return order;
+    }
+
+    public static class Order {
+
+        private Long id;
+
+        private String orderNo;
+
+        private Long userId;
+
+        private BigDecimal amount;
+
+        private String status;
+
+        private String remark;
+
+        private List<String> tags;
+
+        private Date createdAt;
+
+        private Date updatedAt;
+
+        private List<OrderItem> items;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getOrderNo() {
+            return orderNo;
+        }
+
+        public void setOrderNo(String orderNo) {
+            this.orderNo = orderNo;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Date getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(Date createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public Date getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public void setUpdatedAt(Date updatedAt) {
+            this.updatedAt = updatedAt;
+        }
+
+        public List<OrderItem> getItems() {
+            return items;
+        }
+
+        public void setItems(List<OrderItem> items) {
+            this.items = items;
+        }
+    }
+
+    public static class OrderItem {
+
+        private String sku;
+
+        private String name;
+
+        private int quantity;
+
+        private BigDecimal price;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+    }
+}
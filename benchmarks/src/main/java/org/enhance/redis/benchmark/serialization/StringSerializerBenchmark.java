@@ -0,0 +1,69 @@
+package org.enhance.redis.benchmark.serialization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StringRedisSerializer 的编解码开销，所有key、value、hash字段都会经过这里
+ *
+ * @author wenpan 2026/10/19 20:30
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringSerializerBenchmark {
+
+    /**
+     * 字符串长度
+     */
+    @Param({"32", "1024", "65536"})
+    public int length;
+
+    /**
+     * 是否包含非ASCII字符（中文）
+     */
+    @Param({"false", "true"})
+    public boolean cjk;
+
+    private final StringRedisSerializer serializer = StringRedisSerializer.UTF_8;
+
+    private String value;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder(length);
+        String unit = cjk ? "订单abc" : "order:1";
+        while (builder.length() < length) {
+            builder.append(unit);
+        }
+        value = builder.substring(0, length);
+        bytes = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public String deserialize() {
+        return serializer.deserialize(bytes);
+    }
+}
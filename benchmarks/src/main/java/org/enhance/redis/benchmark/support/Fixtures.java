@@ -0,0 +1,51 @@
+package org.enhance.redis.benchmark.support;
+
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.infra.constant.DynamicRedisConstants;
+import org.enhance.redis.register.RedisDataSourceRegister;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基准测试使用的动态RedisTemplate和RedisHelper，连接工厂都是 {@link StubRedisConnectionFactory}
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * 创建动态RedisTemplate，并提前创建好 [0, materializedDbs) 的RedisTemplate
+     *
+     * @param dataSourceName  数据源名称
+     * @param materializedDbs 提前创建的db个数
+     */
+    public static RoutingProbeTemplate routingTemplate(String dataSourceName, int materializedDbs) {
+        StubRedisTemplateFactory factory = new StubRedisTemplateFactory(dataSourceName);
+        RoutingProbeTemplate template = new RoutingProbeTemplate(factory);
+        RedisTemplate<String, String> defaultTemplate = factory.createRedisTemplate(0);
+        template.setDefaultRedisTemplate(defaultTemplate);
+        template.setRedisTemplates(new ConcurrentHashMap<>(16));
+        template.getRedisTemplates().put(0, defaultTemplate);
+        template.afterPropertiesSet();
+        for (int db = 1; db < materializedDbs; db++) {
+            template.getOrCreateRedisTemplate(db);
+        }
+        return template;
+    }
+
+    /**
+     * 创建动态RedisHelper并注册到 {@link RedisDataSourceRegister}，与多数据源启动时的注册方式一致
+     */
+    public static DynamicRedisHelper registerDataSource(String dataSourceName, int materializedDbs) {
+        RoutingProbeTemplate template = routingTemplate(dataSourceName, materializedDbs);
+        DynamicRedisHelper helper = new DynamicRedisHelper(template);
+        RedisDataSourceRegister.registerRedisTemplate(dataSourceName + DynamicRedisConstants.MultiSource.REDIS_TEMPLATE,
+                template.getDefaultRedisTemplate());
+        RedisDataSourceRegister.registerRedisHelper(dataSourceName + DynamicRedisConstants.MultiSource.REDIS_HELPER, helper);
+        return helper;
+    }
+}
@@ -0,0 +1,21 @@
+package org.enhance.redis.benchmark.support;
+
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 暴露 determineTargetRedisTemplate 的动态RedisTemplate，用于直接测量路由开销
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+public class RoutingProbeTemplate extends DynamicRedisTemplate<String, String> {
+
+    public RoutingProbeTemplate(DynamicRedisTemplateFactory<String, String> dynamicRedisTemplateFactory) {
+        super(dynamicRedisTemplateFactory);
+    }
+
+    public RedisTemplate<String, String> route() {
+        return determineTargetRedisTemplate();
+    }
+}
@@ -0,0 +1,78 @@
+package org.enhance.redis.benchmark.support;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.lang.NonNull;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * 不连接redis的连接工厂，连接上的所有方法都直接返回默认值，用于只测量组件自身开销的基准测试
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+public class StubRedisConnectionFactory implements RedisConnectionFactory {
+
+    private static final RedisConnection CONNECTION = (RedisConnection) Proxy.newProxyInstance(
+            StubRedisConnectionFactory.class.getClassLoader(), new Class<?>[]{RedisConnection.class},
+            (proxy, method, args) -> defaultValue(method.getReturnType()));
+
+    @Override
+    @NonNull
+    public RedisConnection getConnection() {
+        return CONNECTION;
+    }
+
+    @Override
+    @NonNull
+    public RedisClusterConnection getClusterConnection() {
+        throw new UnsupportedOperationException("stub connection factory does not support cluster.");
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    public RedisSentinelConnection getSentinelConnection() {
+        throw new UnsupportedOperationException("stub connection factory does not support sentinel.");
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(@NonNull RuntimeException ex) {
+        return null;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+}
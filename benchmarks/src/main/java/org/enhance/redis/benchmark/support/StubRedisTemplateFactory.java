@@ -0,0 +1,30 @@
+package org.enhance.redis.benchmark.support;
+
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collections;
+
+/**
+ * 使用 {@link StubRedisConnectionFactory} 创建各个db的RedisTemplate，连接工厂同样经过包装，与组件的实际创建过程保持一致
+ *
+ * @author wenpan 2026/10/19 20:00
+ */
+public class StubRedisTemplateFactory extends DynamicRedisTemplateFactory<String, String> {
+
+    public StubRedisTemplateFactory(String dataSourceName) {
+        super(dataSourceName, new RedisProperties(), null, null, Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Override
+    public RedisTemplate<String, String> createRedisTemplate(int database) {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate();
+        redisTemplate.setConnectionFactory(InstrumentedRedisConnectionFactory.wrap(getDataSourceName(), database,
+                new StubRedisConnectionFactory(), true));
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+}
@@ -1,6 +1,7 @@
 package org.enhance.redis;
 
 import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
 import org.enhance.redis.config.properties.RedisDataSourceProperties;
 import org.springframework.beans.BeansException;
 import org.springframework.boot.autoconfigure.data.redis.JedisClientConfigurationBuilderCustomizer;
@@ -35,6 +36,13 @@ public abstract class RedisDataSourceContext implements ApplicationContextAware
      * 通过数据源名称获取该数据源对应的Redis配置
      */
     protected RedisProperties getRedisProperties() {
+        return getRedisProperties(dataSourceName);
+    }
+
+    /**
+     * 通过数据源名称获取指定数据源对应的Redis配置
+     */
+    protected RedisProperties getRedisProperties(String dataSourceName) {
         RedisDataSourceProperties dataSourceProperties = applicationContext.getBean(RedisDataSourceProperties.class);
         // 通过数据源名称获取application配置文件中配置的该数据源的redis-properties
         return dataSourceProperties.getDatasource().get(dataSourceName);
@@ -44,16 +52,38 @@ public abstract class RedisDataSourceContext implements ApplicationContextAware
      * 通过数据源对应的Redis配置获取DynamicRedisTemplateFactory
      */
     protected DynamicRedisTemplateFactory<String, String> getDynamicRedisTemplateFactory() {
+        return getDynamicRedisTemplateFactory(dataSourceName);
+    }
+
+    /**
+     * 通过指定数据源对应的Redis配置获取DynamicRedisTemplateFactory
+     */
+    protected DynamicRedisTemplateFactory<String, String> getDynamicRedisTemplateFactory(String dataSourceName) {
         // 获取数据源对应的Redis配置信息
-        RedisProperties redisProperties = getRedisProperties();
+        return getDynamicRedisTemplateFactory(dataSourceName, getRedisProperties(dataSourceName));
+    }
+
+    /**
+     * 通过指定的Redis配置获取数据源的DynamicRedisTemplateFactory
+     */
+    protected DynamicRedisTemplateFactory<String, String> getDynamicRedisTemplateFactory(String dataSourceName,
+                                                                                        RedisProperties redisProperties) {
         List<JedisClientConfigurationBuilderCustomizer> jedisBuilderCustomizers = getJedisBuilderCustomizers();
         List<LettuceClientConfigurationBuilderCustomizer> lettuceBuilderCustomizers = getLettuceBuilderCustomizers();
         RedisSentinelConfiguration sentinelConfiguration = getSentinelConfiguration();
         RedisClusterConfiguration redisClusterConfiguration = getRedisClusterConfiguration();
 
         // 根据配置信息构建一个RedisTemplateFactory
-        return new DynamicRedisTemplateFactory<>(redisProperties, sentinelConfiguration,
-                redisClusterConfiguration, jedisBuilderCustomizers, lettuceBuilderCustomizers);
+        DynamicRedisTemplateFactory<String, String> factory = new DynamicRedisTemplateFactory<>(dataSourceName,
+                redisProperties, sentinelConfiguration, redisClusterConfiguration, jedisBuilderCustomizers,
+                lettuceBuilderCustomizers);
+        factory.setJedisSharedPool(getDynamicRedisProperties().getJedisSharedPool());
+        factory.setConnectionSharing(getDynamicRedisProperties().getConnectionSharing().isEnabled());
+        return factory;
+    }
+
+    protected DynamicRedisProperties getDynamicRedisProperties() {
+        return applicationContext.getBeanProvider(DynamicRedisProperties.class).getIfAvailable(DynamicRedisProperties::new);
     }
 
     protected List<JedisClientConfigurationBuilderCustomizer> getJedisBuilderCustomizers() {
@@ -0,0 +1,179 @@
+package org.enhance.redis;
+
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.infra.concurrent.TimedTasks;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 多数据源并行初始化
+ * <p>
+ * 第一个数据源的 RedisTemplate 被创建时，在当前线程解析所有数据源依赖的配置和bean，然后在有界线程池中并行为每个数据源
+ * 创建连接工厂并PING一次建立第一个连接，之后各个数据源的 RedisTemplate FactoryBean 直接取已经创建好的 RedisTemplate。
+ * 并行任务中不访问spring容器，bean的创建始终在容器刷新的线程中进行
+ * <ul>
+ *     <li>每个数据源从开始连接时计算超时时间，超过 timeout 还没有连接成功的数据源视为不可用，排队等待线程的时间不计入（见 {@link TimedTasks}）</li>
+ *     <li>fail-fast 时有不可用的数据源则启动失败，并销毁已经创建和正在创建的连接工厂；否则只打印告警，不可用的数据源在第一次使用时再连接</li>
+ *     <li>连接工厂本身创建失败（如配置错误）时，不论是否 fail-fast，该数据源的 RedisTemplate 创建都会失败</li>
+ * </ul>
+ *
+ * @author wenpan 2026/10/19 22:30
+ */
+public class RedisDataSourceParallelInitializer extends RedisDataSourceContext implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisDataSourceParallelInitializer.class);
+
+    private final Set<String> dataSourceNames;
+
+    /**
+     * 数据源名称 -> 创建中或已经创建好的RedisTemplate，取走后移除
+     */
+    private Map<String, CompletableFuture<RedisTemplate<String, String>>> templates;
+
+    private TimedTasks tasks;
+
+    /**
+     * 第一次获取时并行初始化所有数据源，templates只在持有该锁时访问
+     */
+    private final Lock initializeLock = new ReentrantLock();
+
+    public RedisDataSourceParallelInitializer(Set<String> dataSourceNames) {
+        this.dataSourceNames = dataSourceNames;
+    }
+
+    /**
+     * 获取并行初始化创建的RedisTemplate，第一次调用时并行初始化所有数据源
+     *
+     * @param dataSourceName 数据源名称
+     * @return RedisTemplate，已经被取走或不是启动时配置的数据源时返回null
+     */
+    public RedisTemplate<String, String> getRedisTemplate(String dataSourceName) throws Exception {
+        CompletableFuture<RedisTemplate<String, String>> template;
+        initializeLock.lock();
+        try {
+            if (templates == null) {
+                templates = initialize();
+            }
+            template = templates.remove(dataSourceName);
+        } finally {
+            initializeLock.unlock();
+        }
+        if (template == null) {
+            return null;
+        }
+        try {
+            return template.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+        }
+    }
+
+    private Map<String, CompletableFuture<RedisTemplate<String, String>>> initialize() {
+        DynamicRedisProperties.ParallelInit config = getDynamicRedisProperties().getParallelInit();
+        // 在当前线程解析所有数据源的配置和依赖的bean，并行任务中只创建连接工厂和连接
+        Map<String, DynamicRedisTemplateFactory<String, String>> factories = new LinkedHashMap<>();
+        Map<String, Integer> databases = new LinkedHashMap<>();
+        for (String name : dataSourceNames) {
+            factories.put(name, getDynamicRedisTemplateFactory(name));
+            databases.put(name, getRedisProperties(name).getDatabase());
+        }
+
+        long start = System.nanoTime();
+        tasks = new TimedTasks("redis-init", Math.min(config.getThreads(), factories.size()), config.getTimeout());
+        Map<String, CompletableFuture<RedisTemplate<String, String>>> created = new LinkedHashMap<>();
+        Map<String, TimedTasks.TimedTask<?>> connected = new LinkedHashMap<>();
+        factories.forEach((name, factory) -> {
+            CompletableFuture<RedisTemplate<String, String>> template = new CompletableFuture<>();
+            created.put(name, template);
+            connected.put(name, tasks.submit(() -> {
+                RedisTemplate<String, String> redisTemplate;
+                try {
+                    redisTemplate = factory.createRedisTemplate(databases.get(name));
+                } catch (RuntimeException | Error ex) {
+                    template.completeExceptionally(ex);
+                    throw ex;
+                }
+                template.complete(redisTemplate);
+                ping(redisTemplate);
+                return null;
+            }));
+        });
+        // 不再提交新任务，超时未结束的PING由连接超时结束
+        tasks.shutdown();
+
+        Map<String, String> failures = new TreeMap<>();
+        connected.forEach((name, task) -> {
+            TimedTasks.Result<?> result = task.await();
+            if (!result.isSuccess()) {
+                failures.put(name, result.getFailure());
+            }
+        });
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (failures.isEmpty()) {
+            LOGGER.info("initialized {} redis datasources in parallel in {}ms.", factories.size(), elapsed);
+            return created;
+        }
+        if (config.isFailFast()) {
+            // 先停止线程池，之后不会再有新的连接工厂被创建
+            tasks.shutdownNow();
+            destroy(created);
+            throw new IllegalStateException("redis datasources can not be initialized within "
+                    + config.getTimeout().toMillis() + "ms: " + failures);
+        }
+        LOGGER.warn("initialized {} redis datasources in parallel in {}ms, {} not connected and will be connected on first use: {}",
+                factories.size(), elapsed, failures.size(), failures);
+        return created;
+    }
+
+    /**
+     * 直接使用原始连接工厂建立第一个连接，不计入命令指标
+     */
+    private static void ping(RedisTemplate<String, String> redisTemplate) {
+        RedisConnectionFactory connectionFactory = redisTemplate.getRequiredConnectionFactory();
+        if (connectionFactory instanceof InstrumentedRedisConnectionFactory) {
+            connectionFactory = ((InstrumentedRedisConnectionFactory) connectionFactory).getDelegate();
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        }
+    }
+
+    /**
+     * 销毁已经创建好的连接工厂，shutdownNow 时还在创建中的连接工厂在创建完成后立即销毁，没有开始创建的不会再创建
+     */
+    private static void destroy(Map<String, CompletableFuture<RedisTemplate<String, String>>> created) {
+        created.forEach((name, template) -> template.thenAccept(redisTemplate -> {
+            if (!(redisTemplate.getConnectionFactory() instanceof DisposableBean)) {
+                return;
+            }
+            try {
+                ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+            } catch (Exception ex) {
+                LOGGER.warn("destroy connection factory of redis datasource [{}] failed.", name, ex);
+            }
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        if (tasks != null) {
+            tasks.shutdownNow();
+        }
+    }
+}
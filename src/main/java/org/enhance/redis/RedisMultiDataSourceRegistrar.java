@@ -2,8 +2,10 @@ package org.enhance.redis;
 
 import org.enhance.redis.annotation.RedisDataSource;
 import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
 import org.enhance.redis.config.properties.RedisDataSourceProperties;
 import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.helper.ReactiveRedisHelper;
 import org.enhance.redis.helper.RedisHelper;
 import org.enhance.redis.infra.constant.DynamicRedisConstants;
 import org.enhance.redis.infra.util.EnvironmentUtil;
@@ -18,6 +20,8 @@ import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionReaderUtils;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.core.env.AbstractEnvironment;
@@ -25,6 +29,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -36,11 +41,27 @@ import java.util.Set;
  * RedisTemplate 的 bean 名称为 <i>nameRedisTemplate</i>，可以通过 {@link Qualifier} 根据名称注册
  * <p>
  * RedisHelper 的 bean 名称有两个： <i>name</i> 以及 <i>nameRedisHelper</i>，可以通过 {@link RedisDataSource} 注入
+ * <p>
+ * 数据源使用lettuce客户端时（<code>spring.redis.datasource.[name].client-type</code> 不是 jedis）还会注册一个 {@link ReactiveRedisHelper}，
+ * bean 名称为 <i>nameReactiveRedisHelper</i>。响应式命令直接使用lettuce的响应式连接，不经过命令指标、慢日志和热点key的监听
  *
  * @author wenpanfeng
  */
 public class RedisMultiDataSourceRegistrar implements EnvironmentAware, ImportBeanDefinitionRegistrar {
 
+    /**
+     * 响应式helper依赖reactor和lettuce（只有lettuce的连接工厂实现了ReactiveRedisConnectionFactory）
+     */
+    static final boolean REACTIVE_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Flux", null)
+            && ClassUtils.isPresent("io.lettuce.core.RedisClient", null);
+
+    private static final String DATASOURCE_PREFIX = "spring.redis.datasource.";
+
+    /**
+     * 是否开启多数据源并行初始化
+     */
+    static final String PARALLEL_INIT_ENABLED = DynamicRedisProperties.PREFIX + ".parallel-init.enabled";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private Environment environment;
@@ -66,15 +87,35 @@ public class RedisMultiDataSourceRegistrar implements EnvironmentAware, ImportBe
 
         logger.info("register redis datasource: {}", names);
 
+        // 开启并行初始化时注册并行初始化器，各个数据源的 RedisTemplate 由它统一并行创建
+        if (environment.getProperty(PARALLEL_INIT_ENABLED, Boolean.class, false)) {
+            registerParallelInitializerBeanDefinition(names, registry);
+        }
+
         for (String name : names) {
             // 注册 RedisTemplate BeanDefinition
             registerRedisTemplateBeanDefinition(name, RedisTemplateFactoryBean.class, registry);
 
             // 注册 RedisHelper BeanDefinition
             registerRedisHelperBeanDefinition(name, RedisHelperFactoryBean.class, registry);
+
+            // 注册 ReactiveRedisHelper BeanDefinition
+            if (supportsReactive(Binder.get(environment).bind(DATASOURCE_PREFIX + name + ".client-type",
+                    RedisProperties.ClientType.class).orElse(null))) {
+                registerReactiveRedisHelperBeanDefinition(name, ReactiveRedisHelperFactoryBean.class, registry);
+            }
         }
     }
 
+    /**
+     * 数据源是否使用lettuce客户端，只有lettuce的连接工厂支持响应式操作，没有配置客户端类型时优先使用lettuce
+     *
+     * @param clientType 数据源配置的客户端类型，可以为null
+     */
+    static boolean supportsReactive(RedisProperties.ClientType clientType) {
+        return REACTIVE_PRESENT && clientType != RedisProperties.ClientType.JEDIS;
+    }
+
     /**
      * 注册 RedisTemplate BeanDefinition
      */
@@ -99,6 +140,15 @@ public class RedisMultiDataSourceRegistrar implements EnvironmentAware, ImportBe
         BeanDefinitionReaderUtils.registerBeanDefinition(holder, registry);
     }
 
+    /**
+     * 注册多数据源并行初始化器 BeanDefinition
+     */
+    protected final void registerParallelInitializerBeanDefinition(Set<String> names, BeanDefinitionRegistry registry) {
+        BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(RedisDataSourceParallelInitializer.class);
+        builder.addConstructorArgValue(names);
+        registry.registerBeanDefinition(DynamicRedisConstants.MultiSource.PARALLEL_INITIALIZER, builder.getBeanDefinition());
+    }
+
     /**
      * 注册 RedisHelper BeanDefinition
      */
@@ -122,6 +172,25 @@ public class RedisMultiDataSourceRegistrar implements EnvironmentAware, ImportBe
         BeanDefinitionReaderUtils.registerBeanDefinition(holder, registry);
     }
 
+    /**
+     * 注册 ReactiveRedisHelper BeanDefinition，复用同数据源 RedisHelper 的连接工厂
+     */
+    protected final void registerReactiveRedisHelperBeanDefinition(String alias, Class<?> type, BeanDefinitionRegistry registry) {
+        BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(type);
+        builder.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_NAME);
+        builder.addConstructorArgValue(null);
+        builder.addPropertyValue(RedisDataSourceContext.FIELD_DATASOURCE_NAME, alias);
+
+        BeanDefinition beanDefinition = builder.getBeanDefinition();
+        beanDefinition.setPrimary(false);
+        beanDefinition.setDependsOn(alias + DynamicRedisConstants.MultiSource.REDIS_HELPER);
+
+        String beanName = alias + DynamicRedisConstants.MultiSource.REACTIVE_REDIS_HELPER;
+        // 设置该bean的名称（数据源名称 + ReactiveRedisHelper）和别名（数据源名称 + -reactive-helper）
+        BeanDefinitionHolder holder = new BeanDefinitionHolder(beanDefinition, beanName, new String[]{alias + "-reactive-helper"});
+        BeanDefinitionReaderUtils.registerBeanDefinition(holder, registry);
+    }
+
     /**
      * 创建 RedisHelper 的 FactoryBean
      */
@@ -145,6 +214,7 @@ public class RedisMultiDataSourceRegistrar implements EnvironmentAware, ImportBe
                 redisTemplateMap.put(getRedisProperties().getDatabase(), redisTemplate);
                 // 动态dynamicRedisTemplate保存多个RedisTemplate（对应该数据源的不同db）
                 dynamicRedisTemplate.setRedisTemplates(redisTemplateMap);
+                dynamicRedisTemplate.afterPropertiesSet();
 
                 logger.info("create dynamic RedisHelper named {}", getDataSourceName());
 
@@ -164,6 +234,30 @@ public class RedisMultiDataSourceRegistrar implements EnvironmentAware, ImportBe
         }
     }
 
+    /**
+     * 创建 ReactiveRedisHelper 的 FactoryBean
+     */
+    protected class ReactiveRedisHelperFactoryBean extends RedisDataSourceContext implements FactoryBean<Object> {
+
+        private final Logger logger = LoggerFactory.getLogger(getClass());
+
+        @Override
+        public Object getObject() throws Exception {
+            // 响应式helper与阻塞helper共用同一个数据源的连接工厂（包括动态创建的各个db的连接工厂）
+            RedisHelper redisHelper = applicationContext.getBean(
+                    dataSourceName + DynamicRedisConstants.MultiSource.REDIS_HELPER, RedisHelper.class);
+
+            logger.info("create ReactiveRedisHelper named {}", getDataSourceName());
+
+            return new ReactiveRedisHelper(redisHelper);
+        }
+
+        @Override
+        public Class<?> getObjectType() {
+            return ReactiveRedisHelper.class;
+        }
+    }
+
     /**
      * 创建 RedisTemplate 的 FactoryBean
      * FactoryBean一般用于构建复杂的bean
@@ -177,6 +271,16 @@ public class RedisMultiDataSourceRegistrar implements EnvironmentAware, ImportBe
          */
         @Override
         public Object getObject() throws Exception {
+            // 开启了并行初始化时，直接使用并行创建好的RedisTemplate
+            if (applicationContext.containsBean(DynamicRedisConstants.MultiSource.PARALLEL_INITIALIZER)) {
+                RedisTemplate<String, String> redisTemplate = applicationContext.getBean(
+                        DynamicRedisConstants.MultiSource.PARALLEL_INITIALIZER, RedisDataSourceParallelInitializer.class)
+                        .getRedisTemplate(getDataSourceName());
+                if (redisTemplate != null) {
+                    logger.info("Parallel created a RedisTemplate named {}", getDataSourceName());
+                    return redisTemplate;
+                }
+            }
             // 为该数据源创建一个Redis连接工厂，连向指定的数据源
             DynamicRedisTemplateFactory<String, String> dynamicRedisTemplateFactory = getDynamicRedisTemplateFactory();
 
@@ -1,18 +1,34 @@
 package org.enhance.redis;
 
 import org.enhance.redis.client.RedisMultiSourceClient;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
 import org.enhance.redis.config.properties.RedisDataSourceProperties;
 import org.enhance.redis.helper.ApplicationContextHelper;
+import org.enhance.redis.helper.ReactiveRedisHelper;
 import org.enhance.redis.helper.RedisHelper;
+import org.enhance.redis.infra.concurrent.RedisExecutors;
 import org.enhance.redis.infra.constant.DynamicRedisConstants;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
 import org.enhance.redis.register.RedisDataSourceRegister;
+import org.enhance.redis.register.RoutingRedisTemplateRegister;
+import org.enhance.redis.register.SharedRedisConnectionFactoryRegister;
+import org.enhance.redis.reload.RedisDataSourceReloader;
+import org.enhance.redis.template.AbstractRoutingRedisTemplate;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.enhance.redis.topology.ConnectionPools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
@@ -26,6 +42,7 @@ import java.util.Objects;
  *     <ol>
  *         <li>支持自定义注册RedisTemplate</li>
  *         <li>支持自定义注册redisHelper</li>
+ *         <li>支持注销数据源并关闭该数据源的连接</li>
  *     </ol>
  * </p>
  *
@@ -35,6 +52,8 @@ public class RedisMultiDataSourceRegistrarExtension {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisMultiDataSourceRegistrarExtension.class);
 
+    private static final long DRAIN_CHECK_INTERVAL_MILLIS = 100;
+
     /**
      * <p>
      * 注册redis数据源，如果已经存在 datasourceName 的配置，则默认不覆盖，直接抛出异常
@@ -69,6 +88,123 @@ public class RedisMultiDataSourceRegistrarExtension {
         // 新增redisHelper并注入到容器，并且将redisHelper注册到 {@link RedisDataSourceRegister}
         // 进行统一管理，供后续 {@link RedisDataSourceRegister} 使用
         registerRedisHelper(datasourceName);
+
+        // 新增reactiveRedisHelper并注入到容器（仅lettuce客户端）
+        if (RedisMultiDataSourceRegistrar.supportsReactive(redisProperties.getClientType())) {
+            registerReactiveRedisHelper(datasourceName);
+        }
+    }
+
+    /**
+     * <p>
+     * 注销Redis数据源，使用 dynamic.redis.unregister.drain-timeout 作为等待借出的连接归还的最长时间
+     * </p>
+     *
+     * @param datasourceName 数据源名称
+     * @return 所有连接工厂关闭后结束
+     * @see #unregisterRedisDataSource(String, Duration)
+     */
+    public static CompletableFuture<Void> unregisterRedisDataSource(String datasourceName) {
+        Duration drainTimeout = ApplicationContextHelper.getContext().getBeanProvider(DynamicRedisProperties.class)
+                .getIfAvailable(DynamicRedisProperties::new).getUnregister().getDrainTimeout();
+        return unregisterRedisDataSource(datasourceName, drainTimeout);
+    }
+
+    /**
+     * <p>
+     * 注销Redis数据源，{@link #registerRedisDataSource(String, RedisProperties)} 的逆操作：
+     *     <ol>
+     *         <li>移除数据源配置、{@link RedisDataSourceRegister} 中的注册、{@link RedisMultiSourceClient} 中的句柄
+     *         以及容器中的 redisTemplate、redisHelper、reactiveRedisHelper</li>
+     *         <li>并行关闭该数据源已经创建的每个db的连接工厂：等待连接池中借出的连接归还（最长 drainTimeout，没有连接池时直接关闭），
+     *         再关闭连接池，lettuce的 ClientResources 一并关闭</li>
+     *     </ol>
+     * 注销后仍然持有的该数据源的 RedisTemplate、RedisHelper 不再可用，切换到还没有创建过的db时抛出 IllegalStateException
+     * </p>
+     *
+     * @param datasourceName 数据源名称
+     * @param drainTimeout   等待借出的连接归还的最长时间
+     * @return 所有连接工厂关闭后结束
+     */
+    public static CompletableFuture<Void> unregisterRedisDataSource(String datasourceName, Duration drainTimeout) {
+        RedisDataSourceProperties properties = ApplicationContextHelper.getContext().getBean(RedisDataSourceProperties.class);
+        if (properties.removeRedisProperties(datasourceName) == null) {
+            throw new IllegalArgumentException("unregisterRedisDataSource failed, datasource [" + datasourceName + "] is not registered.");
+        }
+        // 关闭该数据源的动态RedisTemplate，之后不再懒加载创建db（动态RedisTemplate使用自己的工厂创建，不依赖上面的配置），
+        // 关闭时正在创建的db在关闭返回前创建完成，其连接工厂在下面一并销毁
+        for (AbstractRoutingRedisTemplate<?, ?> redisTemplate : RoutingRedisTemplateRegister.getTemplates()) {
+            if (redisTemplate instanceof DynamicRedisTemplate && datasourceName.equals(
+                    ((DynamicRedisTemplate<?, ?>) redisTemplate).getDynamicRedisTemplateFactory().getDataSourceName())) {
+                redisTemplate.close();
+                RoutingRedisTemplateRegister.unregister(redisTemplate);
+            }
+        }
+        ApplicationContextHelper.getContext().getBeanProvider(RedisMultiSourceClient.class)
+                .ifAvailable(client -> client.removeHandles(datasourceName));
+        String redisTemplateName = datasourceName + DynamicRedisConstants.MultiSource.REDIS_TEMPLATE;
+        String redisHelperName = datasourceName + DynamicRedisConstants.MultiSource.REDIS_HELPER;
+        String reactiveRedisHelperName = datasourceName + DynamicRedisConstants.MultiSource.REACTIVE_REDIS_HELPER;
+        RedisDataSourceRegister.unregisterReactiveRedisHelper(reactiveRedisHelperName);
+        RedisDataSourceRegister.unregisterRedisHelper(redisHelperName);
+        RedisDataSourceRegister.unregisterRedisTemplate(redisTemplateName);
+        // reactiveRedisHelper依赖redisHelper，按依赖的反方向移除
+        for (String beanName : new String[]{reactiveRedisHelperName, redisHelperName, redisTemplateName}) {
+            if (ApplicationContextHelper.getSpringFactory().containsBeanDefinition(beanName)) {
+                ApplicationContextHelper.removeBean(beanName);
+            }
+        }
+
+        List<InstrumentedRedisConnectionFactory> factories = RedisConnectionFactoryRegister.getFactories(datasourceName);
+        if (factories.isEmpty()) {
+            LOGGER.info("unregistered redis datasource [{}].", datasourceName);
+            return CompletableFuture.completedFuture(null);
+        }
+        ExecutorService executor = RedisExecutors.newTaskExecutor("redis-unregister", Math.min(factories.size(), 8));
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        CompletableFuture<?>[] closed = factories.stream()
+                .map(factory -> CompletableFuture.runAsync(() -> drainAndDestroy(datasourceName, factory, deadline), executor))
+                .toArray(CompletableFuture[]::new);
+        executor.shutdown();
+        return CompletableFuture.allOf(closed).whenComplete((result, ex) -> LOGGER.info(
+                "unregistered redis datasource [{}], closed {} connection factories.", datasourceName, factories.size()));
+    }
+
+    private static void drainAndDestroy(String datasourceName, InstrumentedRedisConnectionFactory factory, long deadline) {
+        // 还有其他数据源共用的连接工厂只释放引用，没有连接池的无法判断是否还有借出的连接，都不需要等待
+        boolean drain = !SharedRedisConnectionFactoryRegister.isShared(factory.getDelegate())
+                && !ConnectionPools.find(factory).isEmpty();
+        try {
+            while (drain && !ConnectionPools.isIdle(factory) && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(DRAIN_CHECK_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            factory.destroy();
+        } catch (Exception ex) {
+            LOGGER.warn("destroy connection factory [{}] of redis datasource [{}] failed.", factory, datasourceName, ex);
+        }
+    }
+
+    /**
+     * <p>
+     * 使用新的配置重新加载已经注册的Redis数据源，新的连接工厂替换完成后旧的连接工厂在连接归还后关闭，
+     * 容器中该数据源的 redisTemplate 和 redisHelper 不变。需要开启 dynamic.redis.reload.enabled
+     * </p>
+     *
+     * @param datasourceName  数据源名称
+     * @param redisProperties 新的配置
+     * @return 替换完成时结束，新的配置无法连接时异常结束
+     */
+    public static CompletableFuture<Void> reloadRedisDataSource(String datasourceName, RedisProperties redisProperties) {
+        RedisDataSourceReloader reloader = ApplicationContextHelper.getContext()
+                .getBeanProvider(RedisDataSourceReloader.class).getIfAvailable();
+        if (reloader == null) {
+            throw new IllegalStateException("reload redis datasource failed, please set dynamic.redis.reload.enabled=true.");
+        }
+        return reloader.reload(datasourceName, redisProperties);
     }
 
     /**
@@ -120,6 +256,25 @@ public class RedisMultiDataSourceRegistrarExtension {
         RedisDataSourceRegister.registerRedisHelper(redisHelperName, redisHelper);
     }
 
+    /**
+     * <p>
+     * 动态注册Redis数据源的ReactiveRedisHelper，只有使用lettuce客户端的数据源支持响应式操作
+     * </p>
+     *
+     * @param datasourceName 数据源名称
+     */
+    public static void registerReactiveRedisHelper(String datasourceName) {
+        BeanDefinitionRegistry registry = ApplicationContextHelper.getSpringFactory();
+        RedisMultiDataSourceRegistrar redisMultiDataSourceRegistrar =
+                ApplicationContextHelper.getContext().getBean(RedisMultiDataSourceRegistrar.class);
+        redisMultiDataSourceRegistrar.registerReactiveRedisHelperBeanDefinition(
+                datasourceName, RedisMultiDataSourceRegistrar.ReactiveRedisHelperFactoryBean.class, registry);
+        String reactiveRedisHelperName = datasourceName + DynamicRedisConstants.MultiSource.REACTIVE_REDIS_HELPER;
+        ReactiveRedisHelper reactiveRedisHelper =
+                (ReactiveRedisHelper) ApplicationContextHelper.getContext().getBean(reactiveRedisHelperName);
+        RedisDataSourceRegister.registerReactiveRedisHelper(reactiveRedisHelperName, reactiveRedisHelper);
+    }
+
     /**
      * <p>
      * 新增Redis数据源配置
@@ -0,0 +1,116 @@
+package org.enhance.redis.bigvalue;
+
+/**
+ * 一条大value记录
+ *
+ * @author wenpan 2026/10/19 19:30
+ */
+public class BigValue {
+
+    /**
+     * 写入的请求
+     */
+    public static final String REQUEST = "REQUEST";
+
+    /**
+     * 读取的返回值
+     */
+    public static final String REPLY = "REPLY";
+
+    private final long id;
+
+    private final long timestamp;
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    private final String command;
+
+    private final String key;
+
+    private final String direction;
+
+    private final long bytes;
+
+    private final long elements;
+
+    private final boolean rejected;
+
+    BigValue(long id, long timestamp, String dataSourceName, int database, String command, String key,
+             String direction, long bytes, long elements, boolean rejected) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.command = command;
+        this.key = key;
+        this.direction = direction;
+        this.bytes = bytes;
+        this.elements = elements;
+        this.rejected = rejected;
+    }
+
+    /**
+     * 递增的序号
+     */
+    public long getId() {
+        return id;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * {@link #REQUEST} 或 {@link #REPLY}
+     */
+    public String getDirection() {
+        return direction;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElements() {
+        return elements;
+    }
+
+    /**
+     * 是否被拒绝执行
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "BigValue{" +
+                "dataSourceName='" + dataSourceName + '\'' +
+                ", database=" + database +
+                ", command='" + command + '\'' +
+                ", key='" + key + '\'' +
+                ", direction='" + direction + '\'' +
+                ", bytes=" + bytes +
+                ", elements=" + elements +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
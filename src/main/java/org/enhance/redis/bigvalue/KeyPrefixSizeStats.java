@@ -0,0 +1,76 @@
+package org.enhance.redis.bigvalue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * 单个（数据源, key前缀）的请求和返回值大小统计
+ *
+ * @author wenpan 2026/10/19 19:30
+ */
+public class KeyPrefixSizeStats {
+
+    private final String dataSourceName;
+
+    private final String prefix;
+
+    private final SizeHistogram requests = new SizeHistogram();
+
+    private final SizeHistogram replies = new SizeHistogram();
+
+    private final LongAccumulator maxElements = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 上一次打印告警日志的时间，同一个前缀每秒最多打印一次
+     */
+    private final AtomicLong lastWarnMillis = new AtomicLong();
+
+    KeyPrefixSizeStats(String dataSourceName, String prefix) {
+        this.dataSourceName = dataSourceName;
+        this.prefix = prefix;
+    }
+
+    void recordRequest(PayloadSize size) {
+        requests.record(size.getBytes());
+        maxElements.accumulate(size.getElements());
+    }
+
+    void recordReply(PayloadSize size) {
+        replies.record(size.getBytes());
+        maxElements.accumulate(size.getElements());
+    }
+
+    boolean tryWarn(long now) {
+        long last = lastWarnMillis.get();
+        return now - last >= 1000 && lastWarnMillis.compareAndSet(last, now);
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * 请求（写入的值、字段等，不包括key）的大小分布
+     */
+    public SizeHistogram getRequests() {
+        return requests;
+    }
+
+    /**
+     * 返回值的大小分布
+     */
+    public SizeHistogram getReplies() {
+        return replies;
+    }
+
+    /**
+     * 单次请求或返回的最大元素个数
+     */
+    public long getMaxElements() {
+        return maxElements.get();
+    }
+}
@@ -0,0 +1,83 @@
+package org.enhance.redis.bigvalue;
+
+import org.springframework.data.redis.connection.RedisZSetCommands;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 命令参数或返回值的大小：字节数和元素个数
+ * <p>
+ * 只统计连接层已经序列化好的 byte[]，不会再做一次序列化；数字等其他类型的参数忽略
+ *
+ * @author wenpan 2026/10/19 19:30
+ */
+final class PayloadSize {
+
+    private long bytes;
+
+    private long elements;
+
+    private PayloadSize() {
+    }
+
+    /**
+     * 请求大小
+     * <p>
+     * 第一个参数是单个key（byte[]）时不计入；mSet 等第一个参数是 Map 的命令、del 等多key命令都完整计入；
+     * execute(String, byte[]...) 无法区分key和值，所有参数都计入
+     */
+    static PayloadSize ofArgs(Object[] args) {
+        PayloadSize size = new PayloadSize();
+        if (args != null) {
+            for (int i = args.length > 0 && args[0] instanceof byte[] ? 1 : 0; i < args.length; i++) {
+                size.add(args[i], true);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 返回值大小
+     */
+    static PayloadSize ofResult(Object result) {
+        PayloadSize size = new PayloadSize();
+        size.add(result, true);
+        return size;
+    }
+
+    private void add(Object value, boolean countElements) {
+        if (value instanceof byte[]) {
+            bytes += ((byte[]) value).length;
+            if (countElements) {
+                elements++;
+            }
+        } else if (value instanceof byte[][]) {
+            for (byte[] element : (byte[][]) value) {
+                add(element, countElements);
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                add(entry.getKey(), false);
+                add(entry.getValue(), false);
+                if (countElements) {
+                    elements++;
+                }
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                add(element, countElements);
+            }
+        } else if (value instanceof RedisZSetCommands.Tuple) {
+            add(((RedisZSetCommands.Tuple) value).getValue(), countElements);
+        }
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    long getElements() {
+        return elements;
+    }
+}
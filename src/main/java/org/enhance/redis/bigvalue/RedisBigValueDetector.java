@@ -0,0 +1,317 @@
+package org.enhance.redis.bigvalue;
+
+import org.enhance.redis.instrument.RedisCommandEvent;
+import org.enhance.redis.instrument.RedisCommandListener;
+import org.enhance.redis.instrument.RedisCommandListeners;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 大value和大集合检测
+ * <p>
+ * 在连接层统计每个命令的请求大小（写入的值、字段，单key命令不包括key）和返回值大小（如 hshGetAll、lstAll、setMembers 的结果），
+ * 按（数据源, key前缀）记录大小分布。超过告警阈值时打印告警日志并记录到固定大小的环形缓冲区中；
+ * 配置了拒绝阈值时，请求大小超过阈值的命令在发送到redis之前直接抛出 {@link IllegalArgumentException}；
+ * pipeline和事务中入队的命令不拒绝，避免留下只入队了一半的pipeline或事务
+ * <p>
+ * pipeline和事务中的命令在入队时记录在当前线程上，在 closePipeline、exec 完成时逐个统计请求大小；
+ * 返回值个数与入队命令个数一致时（没有被过滤掉的状态回复）同时统计每个命令的返回值大小。
+ * 同一线程上交错使用多个pipeline时无法区分，最多记录 {@value #MAX_QUEUED} 个入队的命令
+ * <p>
+ * 只统计已经序列化好的 byte[]，不会重复序列化；key前缀为key中第一个分隔符之前的部分
+ *
+ * @author wenpan 2026/10/19 19:30
+ */
+public class RedisBigValueDetector implements RedisCommandListener, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisBigValueDetector.class);
+
+    /**
+     * key前缀个数超过上限后，新的前缀都归到该前缀下
+     */
+    static final String OTHER_PREFIX = "_other";
+
+    /**
+     * 每个线程最多记录的入队命令个数，超过的不统计
+     */
+    static final int MAX_QUEUED = 4096;
+
+    /**
+     * 当前线程上在pipeline或事务中入队、还没有执行的命令
+     */
+    private final ThreadLocal<List<QueuedCommand>> queuedCommands = new ThreadLocal<>();
+
+    private final long warnBytes;
+
+    private final long rejectBytes;
+
+    private final long warnElements;
+
+    private final String prefixDelimiter;
+
+    private final int maxPrefixes;
+
+    private final int maxKeyLength;
+
+    /**
+     * 数据源 -> key前缀 -> 统计
+     */
+    private final Map<String, Map<String, KeyPrefixSizeStats>> stats = new ConcurrentHashMap<>();
+
+    private final AtomicReferenceArray<BigValue> buffer;
+
+    private final int mask;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param warnBytes       请求或返回值超过该字节数时告警
+     * @param rejectBytes     请求超过该字节数时拒绝执行，小于等于0表示不拒绝
+     * @param warnElements    请求或返回值的元素个数超过该值时告警
+     * @param prefixDelimiter key前缀分隔符
+     * @param maxPrefixes     每个数据源最多统计的key前缀个数
+     * @param capacity        保留的大value记录条数，向上取整为2的幂
+     * @param maxKeyLength    记录的key最大长度
+     */
+    public RedisBigValueDetector(long warnBytes, long rejectBytes, long warnElements, String prefixDelimiter,
+                                 int maxPrefixes, int capacity, int maxKeyLength) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("big value capacity must be positive.");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.warnBytes = warnBytes;
+        this.rejectBytes = rejectBytes;
+        this.warnElements = warnElements;
+        this.prefixDelimiter = prefixDelimiter;
+        this.maxPrefixes = maxPrefixes;
+        this.maxKeyLength = maxKeyLength;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        RedisCommandListeners.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        RedisCommandListeners.unregister(this);
+    }
+
+    @Override
+    public void beforeCommand(String dataSourceName, int database, String command, Object[] args, boolean queued) {
+        if (queued) {
+            queue(command, args);
+            return;
+        }
+        if (rejectBytes <= 0) {
+            return;
+        }
+        PayloadSize size = PayloadSize.ofArgs(args);
+        if (size.getBytes() <= rejectBytes) {
+            return;
+        }
+        String key = RedisCommandEvent.firstKey(args);
+        record(dataSourceName, database, command, key, BigValue.REQUEST, size, true);
+        throw new IllegalArgumentException("redis command [" + command + "] on key [" + truncate(key) + "] carries "
+                + size.getBytes() + " bytes, exceeds the limit of " + rejectBytes + " bytes.");
+    }
+
+    @Override
+    public void onCommand(RedisCommandEvent event) {
+        List<QueuedCommand> queued = null;
+        if (RedisCommandEvent.PIPELINE.equals(event.getCommand()) || "EXEC".equals(event.getCommand())) {
+            queued = queuedCommands.get();
+            queuedCommands.remove();
+        }
+        if (!event.isSuccess()) {
+            return;
+        }
+        if (queued == null) {
+            measure(event.getDataSourceName(), event.getDatabase(), event.getCommand(), event.getKey(),
+                    event.getArgs(), event.getResult());
+            return;
+        }
+        Object result = event.getResult();
+        List<?> replies = result instanceof List && ((List<?>) result).size() == queued.size() ? (List<?>) result : null;
+        for (int i = 0; i < queued.size(); i++) {
+            QueuedCommand command = queued.get(i);
+            measure(event.getDataSourceName(), event.getDatabase(), command.command,
+                    RedisCommandEvent.firstKey(command.args), command.args, replies == null ? null : replies.get(i));
+        }
+    }
+
+    private void queue(String command, Object[] args) {
+        if ("DISCARD".equals(command)) {
+            queuedCommands.remove();
+            return;
+        }
+        List<QueuedCommand> queued = queuedCommands.get();
+        if (queued == null) {
+            queued = new ArrayList<>();
+            queuedCommands.set(queued);
+        }
+        if (queued.size() < MAX_QUEUED) {
+            queued.add(new QueuedCommand(command, args));
+        }
+    }
+
+    private void measure(String dataSourceName, int database, String command, String key, Object[] args,
+                         Object result) {
+        if (key == null) {
+            return;
+        }
+        KeyPrefixSizeStats prefixStats = null;
+        PayloadSize request = PayloadSize.ofArgs(args);
+        if (request.getBytes() > 0) {
+            prefixStats = getOrCreateStats(dataSourceName, key);
+            prefixStats.recordRequest(request);
+            check(dataSourceName, database, command, key, BigValue.REQUEST, request, prefixStats);
+        }
+        PayloadSize reply = PayloadSize.ofResult(result);
+        if (reply.getBytes() > 0) {
+            if (prefixStats == null) {
+                prefixStats = getOrCreateStats(dataSourceName, key);
+            }
+            prefixStats.recordReply(reply);
+            check(dataSourceName, database, command, key, BigValue.REPLY, reply, prefixStats);
+        }
+    }
+
+    private void check(String dataSourceName, int database, String command, String key, String direction,
+                       PayloadSize size, KeyPrefixSizeStats prefixStats) {
+        if (size.getBytes() <= warnBytes && size.getElements() <= warnElements) {
+            return;
+        }
+        BigValue bigValue = record(dataSourceName, database, command, key, direction, size, false);
+        if (prefixStats.tryWarn(bigValue.getTimestamp())) {
+            LOGGER.warn("redis big value detected: {}", bigValue);
+        }
+    }
+
+    private BigValue record(String dataSourceName, int database, String command, String key, String direction,
+                            PayloadSize size, boolean rejected) {
+        long id = sequence.getAndIncrement();
+        BigValue bigValue = new BigValue(id, System.currentTimeMillis(), dataSourceName, database, command,
+                truncate(key), direction, size.getBytes(), size.getElements(), rejected);
+        buffer.set((int) (id & mask), bigValue);
+        return bigValue;
+    }
+
+    private KeyPrefixSizeStats getOrCreateStats(String dataSourceName, String key) {
+        Map<String, KeyPrefixSizeStats> prefixStats = stats.get(dataSourceName);
+        if (prefixStats == null) {
+            prefixStats = stats.computeIfAbsent(dataSourceName, name -> new ConcurrentHashMap<>(64));
+        }
+        String prefix = prefix(key);
+        KeyPrefixSizeStats result = prefixStats.get(prefix);
+        if (result != null) {
+            return result;
+        }
+        if (prefixStats.size() >= maxPrefixes) {
+            prefix = OTHER_PREFIX;
+        }
+        return prefixStats.computeIfAbsent(prefix, p -> new KeyPrefixSizeStats(dataSourceName, p));
+    }
+
+    private String prefix(String key) {
+        int index = key.indexOf(prefixDelimiter);
+        return index > 0 ? key.substring(0, index) : key;
+    }
+
+    private String truncate(String key) {
+        if (key == null || key.length() <= maxKeyLength) {
+            return key;
+        }
+        return key.substring(0, maxKeyLength) + "...";
+    }
+
+    /**
+     * 获取所有数据源的key前缀大小统计
+     *
+     * @return 数据源 -> key前缀统计
+     */
+    public Map<String, List<KeyPrefixSizeStats>> getPrefixStats() {
+        Map<String, List<KeyPrefixSizeStats>> result = new ConcurrentHashMap<>(stats.size() * 2 + 1);
+        stats.forEach((name, prefixStats) -> result.put(name, new ArrayList<>(prefixStats.values())));
+        return result;
+    }
+
+    /**
+     * 获取指定数据源的key前缀大小统计
+     */
+    public List<KeyPrefixSizeStats> getPrefixStats(String dataSourceName) {
+        Map<String, KeyPrefixSizeStats> prefixStats = stats.get(dataSourceName);
+        return prefixStats == null ? Collections.emptyList() : new ArrayList<>(prefixStats.values());
+    }
+
+    /**
+     * 获取最近的limit条大value记录，最新的在前
+     *
+     * @param limit 最多返回的条数，限制在 [0, 容量] 之间
+     */
+    public List<BigValue> getBigValues(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.max(0, Math.min(limit, buffer.length())));
+        List<BigValue> result = new ArrayList<>((int) (end - start));
+        for (long id = end - 1; id >= start; id--) {
+            BigValue bigValue = buffer.get((int) (id & mask));
+            if (bigValue != null && bigValue.getId() == id) {
+                result.add(bigValue);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取缓冲区中的大value记录，最新的在前
+     */
+    public List<BigValue> getBigValues() {
+        return getBigValues(buffer.length());
+    }
+
+    /**
+     * 已记录的大value总数（包括已被覆盖的）
+     */
+    public long getTotalCount() {
+        return sequence.get();
+    }
+
+    public long getWarnBytes() {
+        return warnBytes;
+    }
+
+    public long getRejectBytes() {
+        return rejectBytes;
+    }
+
+    public long getWarnElements() {
+        return warnElements;
+    }
+
+    /**
+     * 入队的命令
+     */
+    private static final class QueuedCommand {
+
+        private final String command;
+
+        private final Object[] args;
+
+        private QueuedCommand(String command, Object[] args) {
+            this.command = command;
+            this.args = args;
+        }
+    }
+}
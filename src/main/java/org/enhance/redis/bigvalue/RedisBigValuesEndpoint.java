@@ -0,0 +1,66 @@
+package org.enhance.redis.bigvalue;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 大value端点：/actuator/redisbigvalues
+ *
+ * @author wenpan 2026/10/19 19:30
+ */
+@Endpoint(id = "redisbigvalues")
+public class RedisBigValuesEndpoint {
+
+    private final RedisBigValueDetector detector;
+
+    public RedisBigValuesEndpoint(RedisBigValueDetector detector) {
+        this.detector = detector;
+    }
+
+    /**
+     * 查询key前缀的大小分布和最近的大value记录
+     *
+     * @param limit 最多返回的大value记录条数，为空时返回缓冲区中的全部记录，小于0时按0处理
+     */
+    @ReadOperation
+    public Map<String, Object> bigValues(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>(8);
+        result.put("warnBytes", detector.getWarnBytes());
+        result.put("rejectBytes", detector.getRejectBytes());
+        result.put("warnElements", detector.getWarnElements());
+        result.put("totalCount", detector.getTotalCount());
+        Map<String, Object> prefixes = new TreeMap<>();
+        detector.getPrefixStats().forEach((name, stats) -> prefixes.put(name, describe(stats)));
+        result.put("prefixes", prefixes);
+        result.put("bigValues", limit == null ? detector.getBigValues() : detector.getBigValues(limit));
+        return result;
+    }
+
+    private static Map<String, Object> describe(List<KeyPrefixSizeStats> stats) {
+        Map<String, Object> result = new TreeMap<>();
+        for (KeyPrefixSizeStats prefixStats : stats) {
+            Map<String, Object> view = new LinkedHashMap<>(4);
+            view.put("requests", describe(prefixStats.getRequests()));
+            view.put("replies", describe(prefixStats.getReplies()));
+            view.put("maxElements", prefixStats.getMaxElements());
+            result.put(prefixStats.getPrefix(), view);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> describe(SizeHistogram histogram) {
+        Map<String, Object> view = new LinkedHashMap<>(8);
+        view.put("count", histogram.getCount());
+        view.put("totalBytes", histogram.getTotalBytes());
+        view.put("p50Bytes", histogram.getPercentileBytes(0.5));
+        view.put("p99Bytes", histogram.getPercentileBytes(0.99));
+        view.put("maxBytes", histogram.getMaxBytes());
+        return view;
+    }
+}
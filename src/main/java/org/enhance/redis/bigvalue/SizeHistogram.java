@@ -0,0 +1,70 @@
+package org.enhance.redis.bigvalue;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 大小分布直方图，按2的幂分桶（第i个桶为 [2^(i-1), 2^i) 字节），记录一次只有一次数组自增
+ *
+ * @author wenpan 2026/10/19 19:30
+ */
+public class SizeHistogram {
+
+    private static final int BUCKET_COUNT = 48;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder totalBytes = new LongAdder();
+
+    private final LongAccumulator maxBytes = new LongAccumulator(Math::max, 0);
+
+    void record(long bytes) {
+        int index = Math.min(64 - Long.numberOfLeadingZeros(bytes), BUCKET_COUNT - 1);
+        buckets.getAndIncrement(index);
+        totalBytes.add(bytes);
+        maxBytes.accumulate(bytes);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.sum();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes.get();
+    }
+
+    /**
+     * 获取百分位大小（字节），返回所在桶的上界，不会超过最大值
+     *
+     * @param percentile 百分位，取值 (0, 1]
+     */
+    public long getPercentileBytes(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 1) * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return Math.min(i == 0 ? 0 : 1L << i, getMaxBytes());
+            }
+        }
+        return getMaxBytes();
+    }
+}
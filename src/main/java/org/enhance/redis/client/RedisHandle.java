@@ -0,0 +1,83 @@
+package org.enhance.redis.client;
+
+import org.enhance.redis.helper.RedisHelper;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.function.Function;
+
+/**
+ * 已经解析好的某个数据源某个db的操作句柄，通过 {@link RedisMultiSourceClient#handle(String, int)} 获取一次后长期持有，
+ * 每次操作不再拼接名称和查找注册表
+ * <ul>
+ *     <li>同一个数据源的同一个db只有一个句柄，句柄持有的RedisTemplate被固定，不会被空闲淘汰</li>
+ *     <li>句柄的RedisHelper直接绑定该db的RedisTemplate，不经过动态路由，也不读写当前线程的db</li>
+ *     <li>数据源热更新配置后句柄仍然可用（替换的是包装连接工厂中的原始连接工厂）；数据源被注销后句柄不可再使用，需要重新获取</li>
+ * </ul>
+ *
+ * @author wenpan 2026/10/20 00:15
+ */
+public final class RedisHandle {
+
+    private final String datasource;
+
+    private final int database;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final RedisHelper redisHelper;
+
+    /**
+     * 获取句柄时该数据源的RedisHelper，数据源重新注册后与注册表中的不同，句柄需要重新创建
+     */
+    private final RedisHelper dataSourceRedisHelper;
+
+    RedisHandle(String datasource, int database, RedisTemplate<String, String> redisTemplate, RedisHelper dataSourceRedisHelper) {
+        this.datasource = datasource;
+        this.database = database;
+        this.redisTemplate = redisTemplate;
+        this.redisHelper = new RedisHelper(redisTemplate);
+        this.dataSourceRedisHelper = dataSourceRedisHelper;
+    }
+
+    boolean isBoundTo(RedisHelper dataSourceRedisHelper) {
+        return this.dataSourceRedisHelper == dataSourceRedisHelper;
+    }
+
+    public String getDatasource() {
+        return datasource;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    /**
+     * 直接操作该db的RedisTemplate，不经过动态路由
+     */
+    public RedisTemplate<String, String> getRedisTemplate() {
+        return redisTemplate;
+    }
+
+    /**
+     * 绑定该db的RedisHelper，不经过动态路由，不能切换db
+     */
+    public RedisHelper getRedisHelper() {
+        return redisHelper;
+    }
+
+    /**
+     * 使用绑定该db的RedisHelper执行操作
+     *
+     * @param function 操作
+     * @param <T>      返回类型
+     * @return 操作返回值
+     */
+    public <T> T execute(Function<RedisHelper, T> function) {
+        return function.apply(redisHelper);
+    }
+
+    @Override
+    public String toString() {
+        return "RedisHandle{datasource='" + datasource + "', database=" + database + '}';
+    }
+}
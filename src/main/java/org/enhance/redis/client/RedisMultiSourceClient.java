@@ -4,8 +4,12 @@ import org.enhance.redis.helper.RedisHelper;
 import org.enhance.redis.infra.constant.DynamicRedisConstants;
 import org.enhance.redis.options.AbstractOptionsRedisDb;
 import org.enhance.redis.register.RedisDataSourceRegister;
+import org.enhance.redis.template.DynamicRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static org.enhance.redis.infra.constant.DynamicRedisConstants.MultiSource.DEFAULT_SOURCE;
 
 /**
@@ -15,6 +19,11 @@ import static org.enhance.redis.infra.constant.DynamicRedisConstants.MultiSource
  */
 public class RedisMultiSourceClient {
 
+    /**
+     * 数据源/db -> 操作句柄
+     */
+    private final Map<String, RedisHandle> handles = new ConcurrentHashMap<>();
+
     /**
      * 操作指定数据源的默认db
      *
@@ -204,14 +213,71 @@ public class RedisMultiSourceClient {
         return commonOpsDb(datasource).opsOtherDb(db);
     }
 
+    /**
+     * 获取指定数据源指定db的操作句柄，只在获取时查找一次，之后长期持有句柄直接操作该db。
+     * 同一个数据源的同一个db多次获取返回同一个句柄，该db只固定一次
+     *
+     * @param datasource 数据源名称
+     * @param db         redis db
+     * @return 操作句柄
+     */
+    public RedisHandle handle(String datasource, int db) {
+        RedisHelper redisHelper = getRedisHelper(datasource);
+        String key = datasource + "/" + db;
+        RedisHandle handle = handles.get(key);
+        if (handle != null && handle.isBoundTo(redisHelper)) {
+            return handle;
+        }
+        // 静态redisHelper不能切换db
+        if (redisHelper.getRedisTemplates() == null) {
+            throw new RuntimeException("静态redisHelper不支持动态切换redis db，若需要动态切换db，请开启动态配置.");
+        }
+        DynamicRedisTemplate<String, String> dynamicRedisTemplate = (DynamicRedisTemplate<String, String>) redisHelper.getRedisTemplate();
+        // 固定在锁外进行（可能需要创建连接），同一个db多次固定返回同一个RedisTemplate，并发首次获取时最多多固定几次
+        RedisTemplate<String, String> redisTemplate = dynamicRedisTemplate.pinRedisTemplate(db);
+        // 数据源注销后重新注册时替换旧的句柄
+        return handles.compute(key, (k, existing) -> existing != null && existing.isBoundTo(redisHelper)
+                ? existing : new RedisHandle(datasource, db, redisTemplate, redisHelper));
+    }
+
+    /**
+     * 使用默认数据源，获取指定db的操作句柄
+     *
+     * @param db redis db
+     * @return 操作句柄
+     */
+    public RedisHandle handleWithDefaultSource(int db) {
+        return handle(DEFAULT_SOURCE, db);
+    }
+
+    /**
+     * 移除指定数据源的所有句柄（数据源注销时调用），之后该数据源的句柄不再持有固定的RedisTemplate
+     *
+     * @param datasource 数据源名称
+     * @return 移除的句柄个数
+     */
+    public int removeHandles(String datasource) {
+        int removed = 0;
+        for (Map.Entry<String, RedisHandle> entry : handles.entrySet()) {
+            if (entry.getValue().getDatasource().equals(datasource) && handles.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
     private AbstractOptionsRedisDb<String, String> commonOpsDb(String datasource) {
+        // 获取指定db的redisTemplate
+        return getRedisHelper(datasource).opsDb();
+    }
+
+    private RedisHelper getRedisHelper(String datasource) {
         // 获取该数据源对应的redisHelper
         RedisHelper redisHelper = RedisDataSourceRegister.getRedisHelper(datasource + DynamicRedisConstants.MultiSource.REDIS_HELPER);
         if (redisHelper == null) {
             throw new RuntimeException("没有该数据源，请确认传入的redis数据源名称是否正确.");
         }
-        // 获取指定db的redisTemplate
-        return redisHelper.opsDb();
+        return redisHelper;
     }
 
 }
@@ -1,5 +1,10 @@
 package org.enhance.redis.config;
 
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.infra.constant.DynamicRedisConstants;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.jedis.DatabaseAffinityJedisPool;
+import org.enhance.redis.register.SharedRedisConnectionFactoryRegister;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.data.redis.JedisClientConfigurationBuilderCustomizer;
@@ -11,8 +16,13 @@ import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 动态 RedisTemplate 工厂类，用于创建和管理RedisTemplate
@@ -30,6 +40,10 @@ public class DynamicRedisTemplateFactory<K, V> {
     // 将这些属性传递进来，并保存到属性上以便后面使用
     // ==============================================================================================================
 
+    /**
+     * 数据源名称
+     */
+    private final String dataSourceName;
     /**
      * Redis配置信息
      */
@@ -51,6 +65,26 @@ public class DynamicRedisTemplateFactory<K, V> {
      */
     private final List<LettuceClientConfigurationBuilderCustomizer> lettuceBuilderCustomizers;
 
+    /**
+     * jedis 共享连接池配置，为空表示不共享
+     */
+    private DynamicRedisProperties.JedisSharedPool jedisSharedPool;
+
+    /**
+     * jedis 共享连接池，第一次为db创建连接工厂时创建
+     */
+    private DatabaseAffinityJedisPool sharedJedisPool;
+
+    /**
+     * 创建、获取jedis共享连接池时使用的锁
+     */
+    private final Lock sharedJedisPoolLock = new ReentrantLock();
+
+    /**
+     * 是否与连接配置相同的其他数据源/db共用连接工厂
+     */
+    private boolean connectionSharing;
+
     private static final String REDIS_CLIENT_LETTUCE = "lettuce";
     private static final String REDIS_CLIENT_JEDIS = "jedis";
 
@@ -63,6 +97,20 @@ public class DynamicRedisTemplateFactory<K, V> {
                                        RedisClusterConfiguration clusterConfiguration,
                                        List<JedisClientConfigurationBuilderCustomizer> jedisBuilderCustomizers,
                                        List<LettuceClientConfigurationBuilderCustomizer> lettuceBuilderCustomizers) {
+        this(DynamicRedisConstants.MultiSource.DEFAULT_SOURCE, properties, sentinelConfiguration, clusterConfiguration,
+                jedisBuilderCustomizers, lettuceBuilderCustomizers);
+    }
+
+    /**
+     * 指定数据源名称，创建的连接工厂会记录所属的数据源和db，用于指标统计等
+     */
+    public DynamicRedisTemplateFactory(String dataSourceName,
+                                       RedisProperties properties,
+                                       RedisSentinelConfiguration sentinelConfiguration,
+                                       RedisClusterConfiguration clusterConfiguration,
+                                       List<JedisClientConfigurationBuilderCustomizer> jedisBuilderCustomizers,
+                                       List<LettuceClientConfigurationBuilderCustomizer> lettuceBuilderCustomizers) {
+        this.dataSourceName = dataSourceName;
         this.properties = properties;
         this.sentinelConfiguration = sentinelConfiguration;
         this.clusterConfiguration = clusterConfiguration;
@@ -78,9 +126,34 @@ public class DynamicRedisTemplateFactory<K, V> {
      * @author Mr_wenpan@163.com 2021/8/7 1:47 下午
      */
     public RedisTemplate<K, V> createRedisTemplate(int database) {
+        // 包装连接工厂，记录所属的数据源和db
+        RedisConnectionFactory redisConnectionFactory = InstrumentedRedisConnectionFactory.wrap(
+                dataSourceName, database, createRedisConnectionFactory(database), true);
+        // 通过Redis连接工厂创建RedisTemplate
+        return createRedisTemplate(redisConnectionFactory);
+    }
+
+    /**
+     * 为指定的db创建未包装的jedis或lettuce连接工厂，由调用方通过 {@link SharedRedisConnectionFactoryRegister#release} 销毁。
+     * 开启连接工厂共用时，连接配置相同的数据源/db返回同一个连接工厂
+     *
+     * @param database redis db
+     * @return 原始连接工厂
+     */
+    public RedisConnectionFactory createRedisConnectionFactory(int database) {
+        String clientType = getRedisClientType();
+        if (connectionSharing && !(REDIS_CLIENT_JEDIS.equals(clientType) && isJedisSharedPoolEnabled())) {
+            // 连接配置相同的数据源/db共用同一个连接工厂，由包装工厂销毁时释放
+            return SharedRedisConnectionFactoryRegister.retain(connectionKey(clientType, database),
+                    () -> doCreateRedisConnectionFactory(clientType, database));
+        }
+        return doCreateRedisConnectionFactory(clientType, database);
+    }
+
+    private RedisConnectionFactory doCreateRedisConnectionFactory(String clientType, int database) {
         RedisConnectionFactory redisConnectionFactory = null;
         // 根据Redis客户端类型创建Redis连接工厂（用于创建RedisTemplate）
-        switch (getRedisClientType()) {
+        switch (clientType) {
             case REDIS_CLIENT_LETTUCE:
                 // 使用指定的db创建lettuce redis连接工厂(创建方式参照源码：LettuceConnectionConfiguration)
                 LettuceConnectionConfigure lettuceConnectionConfigure = new LettuceConnectionConfigure(
@@ -91,14 +164,19 @@ public class DynamicRedisTemplateFactory<K, V> {
                 // 使用指定的db创建jedis redis连接工厂（创建方式参照源码：JedisConnectionConfiguration）
                 JedisConnectionConfigure jedisConnectionConfigure = new JedisConnectionConfigure(properties,
                         sentinelConfiguration, clusterConfiguration, jedisBuilderCustomizers, database);
-                redisConnectionFactory = jedisConnectionConfigure.redisConnectionFactory();
+                if (isJedisSharedPoolEnabled() && jedisConnectionConfigure.isStandalone()) {
+                    // 同一个数据源的所有db共用一个连接池
+                    redisConnectionFactory = jedisConnectionConfigure.sharedPoolConnectionFactory(
+                            retainSharedJedisPool(jedisConnectionConfigure));
+                } else {
+                    redisConnectionFactory = jedisConnectionConfigure.redisConnectionFactory();
+                }
                 break;
             default:
                 LOGGER.error("unknown redis client type.");
         }
         Assert.notNull(redisConnectionFactory, "redisConnectionFactory is null.");
-        // 通过Redis连接工厂创建RedisTemplate
-        return createRedisTemplate(redisConnectionFactory);
+        return redisConnectionFactory;
     }
 
     /**
@@ -120,10 +198,112 @@ public class DynamicRedisTemplateFactory<K, V> {
         return redisTemplate;
     }
 
+    /**
+     * 获取共享连接池并增加一个使用方，共享连接池不存在或已经关闭时重新创建
+     */
+    private DatabaseAffinityJedisPool retainSharedJedisPool(JedisConnectionConfigure configure) {
+        if (connectionSharing) {
+            // 连接配置相同的数据源共用同一个共享连接池
+            return SharedRedisConnectionFactoryRegister.retainJedisPool(connectionKey(REDIS_CLIENT_JEDIS, null),
+                    () -> configure.createSharedPool(jedisSharedPool.getAffinityProbes()));
+        }
+        sharedJedisPoolLock.lock();
+        try {
+            if (sharedJedisPool == null || !sharedJedisPool.retain()) {
+                sharedJedisPool = configure.createSharedPool(jedisSharedPool.getAffinityProbes());
+                sharedJedisPool.retain();
+            }
+            return sharedJedisPool;
+        } finally {
+            sharedJedisPoolLock.unlock();
+        }
+    }
+
+    /**
+     * 连接配置，包括客户端类型、规范化后的连接地址、db、超时、连接池和客户端定制，都相同时才共用连接工厂
+     *
+     * @param database db，为null表示所有db共用（jedis共享连接池）
+     */
+    private List<Object> connectionKey(String clientType, Integer database) {
+        String host = properties.getHost();
+        int port = properties.getPort();
+        String username = properties.getUsername();
+        String password = properties.getPassword();
+        boolean ssl = properties.isSsl();
+        if (StringUtils.hasText(properties.getUrl())) {
+            RedisConnectionConfiguration.ConnectionInfo connectionInfo = RedisConnectionConfiguration.parseUrl(properties.getUrl());
+            host = connectionInfo.getHostName();
+            port = connectionInfo.getPort();
+            username = connectionInfo.getUsername();
+            password = connectionInfo.getPassword();
+            ssl = connectionInfo.isUseSsl();
+        }
+        RedisProperties.Sentinel sentinel = properties.getSentinel();
+        RedisProperties.Cluster cluster = properties.getCluster();
+        boolean lettuce = REDIS_CLIENT_LETTUCE.equals(clientType);
+        RedisProperties.Lettuce lettuceProperties = properties.getLettuce();
+        return Arrays.asList(clientType, database,
+                host == null ? null : host.trim().toLowerCase(Locale.ROOT), port, username, password, ssl,
+                properties.getTimeout(), properties.getConnectTimeout(), properties.getClientName(),
+                sentinel == null ? null : Arrays.asList(sentinel.getMaster(), sentinel.getNodes(), sentinel.getPassword()),
+                cluster == null ? null : Arrays.asList(cluster.getNodes(), cluster.getMaxRedirects()),
+                poolKey(lettuce ? lettuceProperties.getPool() : properties.getJedis().getPool()),
+                lettuce ? Arrays.asList(lettuceProperties.getShutdownTimeout(),
+                        lettuceProperties.getCluster().getRefresh().getPeriod(),
+                        lettuceProperties.getCluster().getRefresh().isAdaptive(),
+                        lettuceProperties.getCluster().getRefresh().isDynamicRefreshSources()) : null,
+                // 容器中的哨兵、集群配置和客户端定制按实例比较
+                sentinelConfiguration, clusterConfiguration,
+                lettuce ? lettuceBuilderCustomizers : jedisBuilderCustomizers);
+    }
+
+    private static List<Object> poolKey(RedisProperties.Pool pool) {
+        if (pool == null) {
+            return null;
+        }
+        return Arrays.asList(pool.getMaxIdle(), pool.getMinIdle(), pool.getMaxActive(), pool.getMaxWait(),
+                pool.getTimeBetweenEvictionRuns());
+    }
+
+    private boolean isJedisSharedPoolEnabled() {
+        return jedisSharedPool != null && jedisSharedPool.isEnabled();
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public RedisProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * 设置是否与连接配置相同的其他数据源/db共用连接工厂，需要在创建RedisTemplate之前设置
+     */
+    public void setConnectionSharing(boolean connectionSharing) {
+        this.connectionSharing = connectionSharing;
+    }
+
+    /**
+     * 设置jedis共享连接池配置，需要在创建RedisTemplate之前设置
+     */
+    public void setJedisSharedPool(DynamicRedisProperties.JedisSharedPool jedisSharedPool) {
+        this.jedisSharedPool = jedisSharedPool;
+    }
+
     /**
      * 获取Redis客户端的类型，提供jedis和lettuce两种
+     * 配置了 spring.redis.client-type 时使用配置的客户端（与springboot默认数据源的选择保持一致），否则优先使用lettuce
      */
-    private static String getRedisClientType() {
+    private String getRedisClientType() {
+        RedisProperties.ClientType clientType = properties.getClientType();
+        if (clientType == RedisProperties.ClientType.LETTUCE) {
+            return requireClient("io.lettuce.core.RedisClient", REDIS_CLIENT_LETTUCE);
+        }
+        if (clientType == RedisProperties.ClientType.JEDIS) {
+            return requireClient("redis.clients.jedis.Jedis", REDIS_CLIENT_JEDIS);
+        }
+
         try {
             // 如果能加载lettuce，则优先使用lettuce
             Class.forName("io.lettuce.core.RedisClient");
@@ -143,4 +323,14 @@ public class DynamicRedisTemplateFactory<K, V> {
         throw new RuntimeException("redis client not found.");
     }
 
+    private static String requireClient(String className, String clientType) {
+        try {
+            Class.forName(className);
+            return clientType;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("spring.redis.client-type is " + clientType + " but " + className
+                    + " is not on the classpath.");
+        }
+    }
+
 }
\ No newline at end of file
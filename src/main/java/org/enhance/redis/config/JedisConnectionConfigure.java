@@ -1,14 +1,20 @@
 package org.enhance.redis.config;
 
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.enhance.redis.jedis.DatabaseAffinityJedisPool;
+import org.enhance.redis.jedis.DatabaseTrackingJedisFactory;
+import org.enhance.redis.jedis.SharedPoolJedisConnectionFactory;
 import org.springframework.boot.autoconfigure.data.redis.JedisClientConfigurationBuilderCustomizer;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.boot.context.properties.PropertyMapper;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisClientConfiguration.JedisClientConfigurationBuilder;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.util.StringUtils;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPoolConfig;
 
 import java.util.ArrayList;
@@ -42,6 +48,49 @@ class JedisConnectionConfigure extends RedisConnectionConfiguration {
         return createJedisConnectionFactory();
     }
 
+    /**
+     * 是否是单机模式，共享连接池只支持单机模式
+     */
+    boolean isStandalone() {
+        return getSentinelConfig() == null && getClusterConfiguration() == null;
+    }
+
+    /**
+     * 创建同一个数据源所有db共用的连接池，连接参数和连接池参数与单机模式的jedis连接工厂相同
+     *
+     * @param affinityProbes 借出的连接不在目标db上时，最多再试探借出的空闲连接个数
+     */
+    @SuppressWarnings("unchecked")
+    DatabaseAffinityJedisPool createSharedPool(int affinityProbes) {
+        JedisClientConfiguration clientConfiguration = getJedisClientConfiguration(builderCustomizers);
+        RedisStandaloneConfiguration standaloneConfig = getStandaloneConfig();
+        DatabaseTrackingJedisFactory factory = new DatabaseTrackingJedisFactory(
+                standaloneConfig.getHostName(),
+                standaloneConfig.getPort(),
+                Math.toIntExact(clientConfiguration.getConnectTimeout().toMillis()),
+                Math.toIntExact(clientConfiguration.getReadTimeout().toMillis()),
+                standaloneConfig.getUsername(),
+                standaloneConfig.getPassword().map(String::new).orElse(null),
+                clientConfiguration.getClientName().orElse(null),
+                clientConfiguration.isUseSsl(),
+                clientConfiguration.getSslSocketFactory().orElse(null),
+                clientConfiguration.getSslParameters().orElse(null),
+                clientConfiguration.getHostnameVerifier().orElse(null));
+        GenericObjectPoolConfig<Jedis> poolConfig = clientConfiguration.getPoolConfig()
+                .map(config -> (GenericObjectPoolConfig<Jedis>) config)
+                .orElseGet(JedisPoolConfig::new);
+        return new DatabaseAffinityJedisPool(poolConfig, factory, affinityProbes);
+    }
+
+    /**
+     * 创建使用共享连接池的jedis连接工厂
+     *
+     * @param pool 共享连接池，已经 retain
+     */
+    SharedPoolJedisConnectionFactory sharedPoolConnectionFactory(DatabaseAffinityJedisPool pool) {
+        return new SharedPoolJedisConnectionFactory(pool, getDatabase());
+    }
+
     /**
      * 创建jedis连接工厂
      */
@@ -14,6 +14,7 @@ import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties.Lettuce.Cluster.Refresh;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties.Pool;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration.LettuceClientConfigurationBuilder;
@@ -25,6 +26,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Redis connection configuration using Lettuce.
@@ -74,14 +76,16 @@ class LettuceConnectionConfigure extends RedisConnectionConfiguration {
      * 创建lettuce连接工厂
      */
     private LettuceConnectionFactory createLettuceConnectionFactory(LettuceClientConfiguration clientConfiguration) {
-        LettuceConnectionFactory lettuceConnectionFactory;
+        RedisConfiguration configuration;
         if (getSentinelConfig() != null) {
-            lettuceConnectionFactory = new LettuceConnectionFactory(getSentinelConfig(), clientConfiguration);
+            configuration = getSentinelConfig();
         } else if (getClusterConfiguration() != null) {
-            lettuceConnectionFactory = new LettuceConnectionFactory(getClusterConfiguration(), clientConfiguration);
+            configuration = getClusterConfiguration();
         } else {
-            lettuceConnectionFactory = new LettuceConnectionFactory(getStandaloneConfig(), clientConfiguration);
+            configuration = getStandaloneConfig();
         }
+        LettuceConnectionFactory lettuceConnectionFactory =
+                new ResourceOwningLettuceConnectionFactory(configuration, clientConfiguration, clientResources);
         // 由于我们手动创建lettuceConnectionFactory连接工厂，所以afterPropertiesSet并不会像spring一样自动被吊起
         // 必须手动调用afterPropertiesSet()，初始化connectionProvider，不然创建连接会报错空指针
         lettuceConnectionFactory.afterPropertiesSet();
@@ -175,6 +179,28 @@ class LettuceConnectionConfigure extends RedisConnectionConfiguration {
         }
     }
 
+    /**
+     * 销毁时一并关闭为其创建的clientResources，否则懒加载db的连接工厂被淘汰后clientResources中的线程不会退出
+     */
+    private static class ResourceOwningLettuceConnectionFactory extends LettuceConnectionFactory {
+
+        private final ClientResources ownedResources;
+
+        ResourceOwningLettuceConnectionFactory(RedisConfiguration configuration,
+                                               LettuceClientConfiguration clientConfiguration,
+                                               ClientResources ownedResources) {
+            super(configuration, clientConfiguration);
+            this.ownedResources = ownedResources;
+        }
+
+        @Override
+        public void destroy() {
+            super.destroy();
+            // 等待线程退出，容器关闭时调用方才能知道资源是否已经释放
+            ownedResources.shutdown(0, 2, TimeUnit.SECONDS).awaitUninterruptibly(3, TimeUnit.SECONDS);
+        }
+    }
+
     /**
      * Inner class to allow optional commons-pool2 dependency.
      */
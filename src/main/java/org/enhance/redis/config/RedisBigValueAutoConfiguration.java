@@ -0,0 +1,48 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.bigvalue.RedisBigValueDetector;
+import org.enhance.redis.bigvalue.RedisBigValuesEndpoint;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 大value检测自动配置，dynamic.redis.big-value.enabled=true 时生效，
+ * 存在actuator时同时注册 redisbigvalues 端点
+ *
+ * @author wenpan 2026/10/19 19:30
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".big-value", name = "enabled", havingValue = "true")
+public class RedisBigValueAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisBigValueDetector redisBigValueDetector(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.BigValue bigValue = dynamicRedisProperties.getBigValue();
+        return new RedisBigValueDetector(bigValue.getWarnSize().toBytes(),
+                bigValue.getRejectSize() == null ? 0 : bigValue.getRejectSize().toBytes(),
+                bigValue.getWarnElements(), bigValue.getPrefixDelimiter(), bigValue.getMaxPrefixes(),
+                bigValue.getCapacity(), bigValue.getMaxKeyLength());
+    }
+
+    /**
+     * actuator可选，由使用方决定是否引入
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"org.springframework.boot.actuate.endpoint.annotation.Endpoint"})
+    static class RedisBigValuesEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisBigValuesEndpoint redisBigValuesEndpoint(RedisBigValueDetector redisBigValueDetector) {
+            return new RedisBigValuesEndpoint(redisBigValueDetector);
+        }
+    }
+}
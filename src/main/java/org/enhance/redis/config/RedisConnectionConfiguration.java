@@ -132,6 +132,10 @@ public abstract class RedisConnectionConfiguration {
         return properties;
     }
 
+    protected final int getDatabase() {
+        return database;
+    }
+
     /**
      * 创建Redis哨兵节点
      */
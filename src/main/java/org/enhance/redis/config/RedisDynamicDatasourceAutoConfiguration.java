@@ -7,9 +7,12 @@ import org.enhance.redis.config.properties.RedisDataSourceProperties;
 import org.enhance.redis.config.properties.DynamicRedisProperties;
 import org.enhance.redis.helper.ApplicationContextHelper;
 import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.helper.ReactiveRedisHelper;
 import org.enhance.redis.helper.RedisHelper;
 import org.enhance.redis.infra.condition.ConditionalOnExistingProperty;
 import org.enhance.redis.infra.condition.ConditionalOnMissingProperty;
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
 import org.enhance.redis.template.DynamicRedisTemplate;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.*;
@@ -31,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.enhance.redis.infra.constant.DynamicRedisConstants.DefaultRedisHelperName;
+import static org.enhance.redis.infra.constant.DynamicRedisConstants.MultiSource;
 /**
  * redis动态数据源自动配置
  *
@@ -53,7 +57,9 @@ public class RedisDynamicDatasourceAutoConfiguration {
     }*/
 
     @Bean
-    public ApplicationContextHelper applicationContextHelper() {
+    public ApplicationContextHelper applicationContextHelper(DynamicRedisProperties dynamicRedisProperties) {
+        // ApplicationContextHelper最先被创建，在这里设置组件内部线程模型
+        RedisExecutors.setVirtualThreadsEnabled(dynamicRedisProperties.isVirtualThreadsEnabled());
         return new ApplicationContextHelper();
     }
 
@@ -63,9 +69,10 @@ public class RedisDynamicDatasourceAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean(RedisTemplate.class)
-    public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                       RedisProperties redisProperties) {
         RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
-        buildRedisTemplate(redisTemplate, redisConnectionFactory);
+        buildRedisTemplate(redisTemplate, redisConnectionFactory, redisProperties);
         return redisTemplate;
     }
 
@@ -74,9 +81,10 @@ public class RedisDynamicDatasourceAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean(StringRedisTemplate.class)
-    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                   RedisProperties redisProperties) {
         StringRedisTemplate redisTemplate = new StringRedisTemplate();
-        buildRedisTemplate(redisTemplate, redisConnectionFactory);
+        buildRedisTemplate(redisTemplate, redisConnectionFactory, redisProperties);
         return redisTemplate;
     }
 
@@ -84,7 +92,8 @@ public class RedisDynamicDatasourceAutoConfiguration {
      * 通过Redis连接工厂构建一个RedisTemplate
      */
     private static void buildRedisTemplate(RedisTemplate<String, String> redisTemplate,
-                                           RedisConnectionFactory redisConnectionFactory) {
+                                           RedisConnectionFactory redisConnectionFactory,
+                                           RedisProperties redisProperties) {
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
         redisTemplate.setKeySerializer(stringRedisSerializer);
         redisTemplate.setStringSerializer(stringRedisSerializer);
@@ -92,7 +101,9 @@ public class RedisDynamicDatasourceAutoConfiguration {
         redisTemplate.setHashKeySerializer(stringRedisSerializer);
         redisTemplate.setHashValueSerializer(stringRedisSerializer);
         redisTemplate.setValueSerializer(stringRedisSerializer);
-        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        // 包装容器中的连接工厂以记录默认数据源的命令，连接工厂本身仍由spring负责销毁
+        redisTemplate.setConnectionFactory(InstrumentedRedisConnectionFactory.wrap(
+                MultiSource.DEFAULT_SOURCE, redisProperties.getDatabase(), redisConnectionFactory, false));
     }
 
     /**
@@ -134,7 +145,8 @@ public class RedisDynamicDatasourceAutoConfiguration {
                                           ObjectProvider<RedisSentinelConfiguration> sentinelConfiguration,
                                           ObjectProvider<RedisClusterConfiguration> clusterConfiguration,
                                           ObjectProvider<List<JedisClientConfigurationBuilderCustomizer>> jedisBuilderCustomizers,
-                                          ObjectProvider<List<LettuceClientConfigurationBuilderCustomizer>> builderCustomizers) {
+                                          ObjectProvider<List<LettuceClientConfigurationBuilderCustomizer>> builderCustomizers,
+                                          DynamicRedisProperties dynamicRedisProperties) {
         // 构建动态RedisTemplate工厂
         DynamicRedisTemplateFactory<String, String> dynamicRedisTemplateFactory =
                 new DynamicRedisTemplateFactory<>(redisProperties,
@@ -142,6 +154,8 @@ public class RedisDynamicDatasourceAutoConfiguration {
                         clusterConfiguration.getIfAvailable(),
                         jedisBuilderCustomizers.getIfAvailable(),
                         builderCustomizers.getIfAvailable());
+        dynamicRedisTemplateFactory.setJedisSharedPool(dynamicRedisProperties.getJedisSharedPool());
+        dynamicRedisTemplateFactory.setConnectionSharing(dynamicRedisProperties.getConnectionSharing().isEnabled());
         // ======================================================================================================
         // 这里在注入的时候默认值注入一个默认的redisTemplate，以及将这个redisTemplate放入到map中，该redisTemplate
         // 操作的是配置文件中使用spring.redis.database属性指定的db（若不显示指定，则使用的0号db）
@@ -157,10 +171,26 @@ public class RedisDynamicDatasourceAutoConfiguration {
         map.put(redisProperties.getDatabase(), redisTemplate);
         // 将redisTemplate缓存起来
         dynamicRedisTemplate.setRedisTemplates(map);
+        dynamicRedisTemplate.afterPropertiesSet();
 
         return new DynamicRedisHelper(dynamicRedisTemplate);
     }
 
+    /**
+     * 默认数据源的响应式redisHelper，与默认数据源的redisHelper共用连接工厂，仅lettuce客户端时注入。
+     * 响应式命令不经过命令指标、慢日志和热点key的监听
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"reactor.core.publisher.Flux", "io.lettuce.core.RedisClient"})
+    @ConditionalOnProperty(prefix = "spring.redis", name = "client-type", havingValue = "lettuce", matchIfMissing = true)
+    static class ReactiveRedisHelperConfiguration {
+
+        @Primary
+        @Bean(name = {DefaultRedisHelperName.REACTIVE_REDIS_HELPER})
+        public ReactiveRedisHelper reactiveRedisHelper(RedisHelper redisHelper) {
+            return new ReactiveRedisHelper(redisHelper);
+        }
+    }
 
     /**
      * @return Hash 处理类
@@ -0,0 +1,31 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.health.RedisDataSourcesHealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 多数据源健康检查自动配置，存在actuator且配置 dynamic.redis.health.enabled=true 时注册 redisDataSources 健康检查
+ *
+ * @author wenpan 2026/10/19 18:30
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory",
+        "org.springframework.boot.actuate.health.HealthIndicator"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".health", name = "enabled", havingValue = "true")
+public class RedisHealthAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisDataSourcesHealthIndicator redisDataSourcesHealthIndicator(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.Health health = dynamicRedisProperties.getHealth();
+        return new RedisDataSourcesHealthIndicator(health.getTimeout(), health.getCacheTtl(),
+                health.isAllDatabases(), health.getThreads());
+    }
+}
@@ -0,0 +1,51 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.hotkey.HotKeyListener;
+import org.enhance.redis.hotkey.RedisHotKeyDetector;
+import org.enhance.redis.hotkey.RedisHotKeysEndpoint;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+/**
+ * 热点key检测自动配置，dynamic.redis.hot-key.enabled=true 时生效，容器中的 {@link HotKeyListener} 会收到热点key通知，
+ * 存在actuator时同时注册 redishotkeys 端点
+ *
+ * @author wenpan 2026/10/19 19:00
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".hot-key", name = "enabled", havingValue = "true")
+public class RedisHotKeyAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisHotKeyDetector redisHotKeyDetector(DynamicRedisProperties dynamicRedisProperties,
+                                                   ObjectProvider<HotKeyListener> hotKeyListeners) {
+        DynamicRedisProperties.HotKey hotKey = dynamicRedisProperties.getHotKey();
+        return new RedisHotKeyDetector(hotKey.getWindow(), hotKey.getSlices(), hotKey.getCapacity(),
+                hotKey.getSampleRate(), hotKey.getThreshold(), hotKeyListeners.orderedStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * actuator可选，由使用方决定是否引入
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"org.springframework.boot.actuate.endpoint.annotation.Endpoint"})
+    static class RedisHotKeysEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisHotKeysEndpoint redisHotKeysEndpoint(RedisHotKeyDetector redisHotKeyDetector) {
+            return new RedisHotKeysEndpoint(redisHotKeyDetector);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.lifecycle.RedisConnectionFactoryLifecycleManager;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 连接工厂生命周期管理自动配置，容器关闭时销毁组件创建的连接工厂，
+ * 可以通过 dynamic.redis.shutdown.enabled=false 关闭
+ *
+ * @author wenpan 2026/10/20 00:45
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".shutdown", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RedisLifecycleAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisConnectionFactoryLifecycleManager redisConnectionFactoryLifecycleManager(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.Shutdown shutdown = dynamicRedisProperties.getShutdown();
+        return new RedisConnectionFactoryLifecycleManager(shutdown.getTimeout(), shutdown.getThreads());
+    }
+}
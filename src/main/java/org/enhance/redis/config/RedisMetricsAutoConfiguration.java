@@ -0,0 +1,46 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.metrics.RedisCommandMetrics;
+import org.enhance.redis.metrics.RedisCommandMetricsBinder;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * redis命令指标自动配置，dynamic.redis.metrics.enabled=true 时生效，
+ * 存在micrometer时同时将指标注册到 MeterRegistry
+ *
+ * @author wenpan 2026/10/19 16:40
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".metrics", name = "enabled", havingValue = "true")
+public class RedisMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisCommandMetrics redisCommandMetrics(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.Metrics metrics = dynamicRedisProperties.getMetrics();
+        return new RedisCommandMetrics(metrics.getDistributionExpiry(), metrics.getDistributionBufferLength());
+    }
+
+    /**
+     * micrometer可选，由使用方决定是否引入
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"io.micrometer.core.instrument.MeterRegistry"})
+    static class MicrometerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisCommandMetricsBinder redisCommandMetricsBinder(RedisCommandMetrics redisCommandMetrics,
+                                                                   DynamicRedisProperties dynamicRedisProperties) {
+            return new RedisCommandMetricsBinder(redisCommandMetrics, dynamicRedisProperties.getMetrics().getPercentiles());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.pool.AdaptivePoolSizer;
+import org.enhance.redis.pool.AdaptivePoolSizerMetricsBinder;
+import org.enhance.redis.pool.RedisPoolSizingEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 连接池自适应调整自动配置，dynamic.redis.pool-sizing.enabled=true 时生效，
+ * 存在micrometer时输出调整指标，存在actuator时注册 redispoolsizing 端点
+ *
+ * @author wenpan 2026/10/19 21:30
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory",
+        "org.apache.commons.pool2.impl.GenericObjectPool"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".pool-sizing", name = "enabled", havingValue = "true")
+public class RedisPoolSizingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AdaptivePoolSizer adaptivePoolSizer(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.PoolSizing poolSizing = dynamicRedisProperties.getPoolSizing();
+        return new AdaptivePoolSizer(poolSizing.getInterval(), poolSizing.getMinTotal(), poolSizing.getMaxTotal(),
+                poolSizing.getGrowWaitThreshold(), poolSizing.getGrowFactor(), poolSizing.getShrinkUtilization(),
+                poolSizing.getShrinkAfter(), poolSizing.getShrinkFactor(), poolSizing.getMinIdleRatio());
+    }
+
+    /**
+     * micrometer可选，由使用方决定是否引入
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"io.micrometer.core.instrument.MeterRegistry"})
+    static class MicrometerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AdaptivePoolSizerMetricsBinder adaptivePoolSizerMetricsBinder(AdaptivePoolSizer adaptivePoolSizer) {
+            return new AdaptivePoolSizerMetricsBinder(adaptivePoolSizer);
+        }
+    }
+
+    /**
+     * actuator可选，由使用方决定是否引入
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"org.springframework.boot.actuate.endpoint.annotation.Endpoint"})
+    static class RedisPoolSizingEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisPoolSizingEndpoint redisPoolSizingEndpoint(AdaptivePoolSizer adaptivePoolSizer) {
+            return new RedisPoolSizingEndpoint(adaptivePoolSizer);
+        }
+    }
+}
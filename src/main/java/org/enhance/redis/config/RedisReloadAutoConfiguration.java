@@ -0,0 +1,40 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.reload.RedisDataSourceConfigWatcher;
+import org.enhance.redis.reload.RedisDataSourceReloader;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * 数据源配置重新加载自动配置，dynamic.redis.reload.enabled=true 时生效，配置了 watch-file 时监听该文件
+ *
+ * @author wenpan 2026/10/19 23:45
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".reload", name = "enabled", havingValue = "true")
+public class RedisReloadAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisDataSourceReloader redisDataSourceReloader(DynamicRedisProperties dynamicRedisProperties) {
+        return new RedisDataSourceReloader(dynamicRedisProperties.getReload().getDrainTimeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".reload", name = "watch-file")
+    public RedisDataSourceConfigWatcher redisDataSourceConfigWatcher(DynamicRedisProperties dynamicRedisProperties,
+                                                                     RedisDataSourceReloader redisDataSourceReloader) {
+        return new RedisDataSourceConfigWatcher(Paths.get(dynamicRedisProperties.getReload().getWatchFile()),
+                redisDataSourceReloader);
+    }
+}
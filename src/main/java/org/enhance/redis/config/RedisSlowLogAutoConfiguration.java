@@ -0,0 +1,46 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.slowlog.RedisSlowLog;
+import org.enhance.redis.slowlog.RedisSlowLogEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 客户端慢命令日志自动配置，dynamic.redis.slow-log.enabled=true 时生效，
+ * 存在actuator时同时注册 redisslowlog 端点
+ *
+ * @author wenpan 2026/10/19 17:30
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".slow-log", name = "enabled", havingValue = "true")
+public class RedisSlowLogAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisSlowLog redisSlowLog(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.SlowLog slowLog = dynamicRedisProperties.getSlowLog();
+        return new RedisSlowLog(slowLog.getThreshold(), slowLog.getCapacity(),
+                slowLog.getSampleRate(), slowLog.getMaxKeyLength());
+    }
+
+    /**
+     * actuator可选，由使用方决定是否引入
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"org.springframework.boot.actuate.endpoint.annotation.Endpoint"})
+    static class RedisSlowLogEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisSlowLogEndpoint redisSlowLogEndpoint(RedisSlowLog redisSlowLog) {
+            return new RedisSlowLogEndpoint(redisSlowLog);
+        }
+    }
+}
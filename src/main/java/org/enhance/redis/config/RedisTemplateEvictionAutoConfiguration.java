@@ -0,0 +1,29 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.template.IdleRedisTemplateEvictor;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 空闲db淘汰自动配置，dynamic.redis.template-eviction.enabled=true 时生效
+ *
+ * @author wenpan 2026/10/19 23:30
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".template-eviction", name = "enabled", havingValue = "true")
+public class RedisTemplateEvictionAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdleRedisTemplateEvictor idleRedisTemplateEvictor(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.TemplateEviction eviction = dynamicRedisProperties.getTemplateEviction();
+        return new IdleRedisTemplateEvictor(eviction.getIdleTimeout(), eviction.getInterval());
+    }
+}
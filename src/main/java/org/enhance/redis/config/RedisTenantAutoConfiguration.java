@@ -0,0 +1,55 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.config.properties.RedisDataSourceProperties;
+import org.enhance.redis.tenant.TenantRedisDataSourceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.JedisClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 多租户数据源自动配置，dynamic.redis.tenant.enabled=true 时生效
+ *
+ * @author wenpan 2026/10/19 23:00
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".tenant", name = "enabled", havingValue = "true")
+public class RedisTenantAutoConfiguration {
+
+    /**
+     * 租户数据源的哨兵和集群配置只取租户自己的 RedisProperties，不使用容器中默认数据源的哨兵和集群配置
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantRedisDataSourceRegistry tenantRedisDataSourceRegistry(
+            DynamicRedisProperties dynamicRedisProperties,
+            RedisDataSourceProperties redisDataSourceProperties,
+            ObjectProvider<JedisClientConfigurationBuilderCustomizer> jedisBuilderCustomizers,
+            ObjectProvider<LettuceClientConfigurationBuilderCustomizer> lettuceBuilderCustomizers) {
+        DynamicRedisProperties.Tenant tenant = dynamicRedisProperties.getTenant();
+        List<JedisClientConfigurationBuilderCustomizer> jedisCustomizers =
+                jedisBuilderCustomizers.orderedStream().collect(Collectors.toList());
+        List<LettuceClientConfigurationBuilderCustomizer> lettuceCustomizers =
+                lettuceBuilderCustomizers.orderedStream().collect(Collectors.toList());
+        return new TenantRedisDataSourceRegistry(tenant.getMaxActive(), tenant.getIdleTimeout(),
+                tenant.getEvictionInterval(), tenant.getCloseDelay(), redisDataSourceProperties.getDynamicDatabase(),
+                (name, redisProperties) -> {
+                    DynamicRedisTemplateFactory<String, String> factory = new DynamicRedisTemplateFactory<>(name,
+                            redisProperties, null, null, jedisCustomizers, lettuceCustomizers);
+                    factory.setJedisSharedPool(dynamicRedisProperties.getJedisSharedPool());
+                    factory.setConnectionSharing(dynamicRedisProperties.getConnectionSharing().isEnabled());
+                    return factory;
+                });
+    }
+}
@@ -0,0 +1,28 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.helper.RedisHelper;
+import org.enhance.redis.topology.RedisDataSourcesEndpoint;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 数据源拓扑端点自动配置，存在actuator时注册 redisdatasources 端点
+ *
+ * @author wenpan 2026/10/19 18:00
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory",
+        "org.springframework.boot.actuate.endpoint.annotation.Endpoint"})
+public class RedisTopologyAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisDataSourcesEndpoint redisDataSourcesEndpoint(ObjectProvider<RedisHelper> redisHelper) {
+        return new RedisDataSourcesEndpoint(redisHelper.getIfAvailable());
+    }
+}
@@ -0,0 +1,40 @@
+package org.enhance.redis.config;
+
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.lifecycle.RedisConnectionWarmer;
+import org.enhance.redis.lifecycle.RedisWarmupProfileRecorder;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * 启动时连接预热自动配置，dynamic.redis.warmup.enabled=true 时生效，配置了 profile-file 时记录预热档案
+ *
+ * @author wenpan 2026/10/20 01:00
+ */
+@Configuration
+@AutoConfigureAfter(RedisDynamicDatasourceAutoConfiguration.class)
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory"})
+@ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".warmup", name = "enabled", havingValue = "true")
+public class RedisWarmupAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisConnectionWarmer redisConnectionWarmer(DynamicRedisProperties dynamicRedisProperties) {
+        return new RedisConnectionWarmer(dynamicRedisProperties.getWarmup());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = DynamicRedisProperties.PREFIX + ".warmup", name = "profile-file")
+    public RedisWarmupProfileRecorder redisWarmupProfileRecorder(DynamicRedisProperties dynamicRedisProperties) {
+        DynamicRedisProperties.Warmup warmup = dynamicRedisProperties.getWarmup();
+        return new RedisWarmupProfileRecorder(Paths.get(warmup.getProfileFile()), warmup.getProfileSampleInterval(),
+                warmup.getProfileRetention());
+    }
+}
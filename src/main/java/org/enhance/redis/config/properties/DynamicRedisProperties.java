@@ -2,6 +2,13 @@ package org.enhance.redis.config.properties;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 动态Redis相关配置
@@ -19,6 +26,86 @@ public class DynamicRedisProperties {
      */
     private boolean dynamicDatabase = true;
 
+    /**
+     * 运行在 JDK 21+ 上时，组件内部的并发任务和后台任务是否使用虚拟线程，默认开启
+     */
+    private boolean virtualThreadsEnabled = true;
+
+    /**
+     * 命令指标配置
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 客户端慢命令日志配置
+     */
+    private SlowLog slowLog = new SlowLog();
+
+    /**
+     * 多数据源健康检查配置
+     */
+    private Health health = new Health();
+
+    /**
+     * 热点key检测配置
+     */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * 大value检测配置
+     */
+    private BigValue bigValue = new BigValue();
+
+    /**
+     * 连接池自适应调整配置
+     */
+    private PoolSizing poolSizing = new PoolSizing();
+
+    /**
+     * jedis 共享连接池配置
+     */
+    private JedisSharedPool jedisSharedPool = new JedisSharedPool();
+
+    /**
+     * 多数据源并行初始化配置
+     */
+    private ParallelInit parallelInit = new ParallelInit();
+
+    /**
+     * 多租户数据源配置
+     */
+    private Tenant tenant = new Tenant();
+
+    /**
+     * 空闲db淘汰配置
+     */
+    private TemplateEviction templateEviction = new TemplateEviction();
+
+    /**
+     * 数据源配置重新加载配置
+     */
+    private Reload reload = new Reload();
+
+    /**
+     * 注销数据源配置
+     */
+    private Unregister unregister = new Unregister();
+
+    /**
+     * 相同连接配置的连接工厂共用配置
+     */
+    private ConnectionSharing connectionSharing = new ConnectionSharing();
+
+    /**
+     * 容器关闭时关闭连接工厂配置
+     */
+    private Shutdown shutdown = new Shutdown();
+
+    /**
+     * 启动时连接预热配置
+     */
+    private Warmup warmup = new Warmup();
+
     public boolean isDynamicDatabase() {
         return dynamicDatabase;
     }
@@ -27,4 +114,488 @@ public class DynamicRedisProperties {
         return dynamicDatabase;
     }
 
+    /**
+     * 命令指标配置，前缀 dynamic.redis.metrics
+     */
+    @Data
+    public static class Metrics {
+
+        /**
+         * 是否按（数据源, db, 命令）统计调用次数、失败次数和耗时分布，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 输出到micrometer的百分位耗时
+         */
+        private double[] percentiles = {0.5, 0.95, 0.99};
+
+        /**
+         * 百分位和最大耗时只统计最近这段时间内的命令，与 micrometer 的 distributionStatisticExpiry 相同
+         */
+        private Duration distributionExpiry = Duration.ofMinutes(2);
+
+        /**
+         * distributionExpiry 内的时间窗口数，窗口逐个过期
+         */
+        private int distributionBufferLength = 3;
+    }
+
+    /**
+     * 客户端慢命令日志配置，前缀 dynamic.redis.slow-log
+     */
+    @Data
+    public static class SlowLog {
+
+        /**
+         * 是否开启客户端慢命令日志，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 慢命令阈值（获取连接耗时 + 命令执行耗时）
+         */
+        private Duration threshold = Duration.ofMillis(10);
+
+        /**
+         * 保留的慢命令条数，向上取整为2的幂
+         */
+        private int capacity = 128;
+
+        /**
+         * 慢命令的采样率，取值 (0, 1]，慢命令非常多时可以调低
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * 记录的key的最大长度，超过时截断
+         */
+        private int maxKeyLength = 128;
+    }
+
+    /**
+     * 多数据源健康检查配置，前缀 dynamic.redis.health
+     */
+    @Data
+    public static class Health {
+
+        /**
+         * 是否注册多数据源健康检查（需要引入actuator），默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 单个检查目标的超时时间，从该目标的PING开始执行时计算
+         */
+        private Duration timeout = Duration.ofMillis(500);
+
+        /**
+         * 检查结果的缓存时间，避免频繁的健康检查请求放大到每个redis节点
+         */
+        private Duration cacheTtl = Duration.ofSeconds(2);
+
+        /**
+         * 是否检查每个已创建RedisTemplate的db，默认每个数据源只检查一个连接工厂
+         */
+        private boolean allDatabases = false;
+
+        /**
+         * 执行检查的最大线程数（使用虚拟线程时不限制）
+         */
+        private int threads = 16;
+    }
+
+    /**
+     * 热点key检测配置，前缀 dynamic.redis.hot-key
+     */
+    @Data
+    public static class HotKey {
+
+        /**
+         * 是否开启热点key检测，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 滑动窗口长度
+         */
+        private Duration window = Duration.ofSeconds(10);
+
+        /**
+         * 窗口划分的时间片个数，每个时间片结束时检测一次热点key
+         */
+        private int slices = 10;
+
+        /**
+         * 每个数据源每个时间片保留的key计数器个数（top-K中的K）
+         */
+        private int capacity = 100;
+
+        /**
+         * 命令采样率，取值 (0, 1]
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * 窗口内访问次数估计值达到该值时认为是热点key
+         */
+        private long threshold = 1000;
+    }
+
+    /**
+     * 大value检测配置，前缀 dynamic.redis.big-value
+     */
+    @Data
+    public static class BigValue {
+
+        /**
+         * 是否开启大value检测，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 请求或返回值超过该大小时告警
+         */
+        private DataSize warnSize = DataSize.ofMegabytes(1);
+
+        /**
+         * 请求超过该大小时拒绝执行，为空时不拒绝
+         */
+        private DataSize rejectSize;
+
+        /**
+         * 请求或返回值的元素个数（如hash的字段数、list的元素数）超过该值时告警
+         */
+        private long warnElements = 5000;
+
+        /**
+         * key前缀分隔符，key中第一个分隔符之前的部分作为前缀
+         */
+        private String prefixDelimiter = ":";
+
+        /**
+         * 每个数据源最多统计的key前缀个数
+         */
+        private int maxPrefixes = 512;
+
+        /**
+         * 保留的大value记录条数，向上取整为2的幂
+         */
+        private int capacity = 128;
+
+        /**
+         * 记录的key的最大长度，超过时截断
+         */
+        private int maxKeyLength = 128;
+    }
+
+    /**
+     * 连接池自适应调整配置，前缀 dynamic.redis.pool-sizing
+     * <p>
+     * 只调整已开启连接池（spring.redis.jedis.pool / spring.redis.lettuce.pool）的连接工厂
+     */
+    @Data
+    public static class PoolSizing {
+
+        /**
+         * 是否开启连接池自适应调整，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 采样和调整的间隔
+         */
+        private Duration interval = Duration.ofSeconds(5);
+
+        /**
+         * maxTotal 的下限
+         */
+        private int minTotal = 8;
+
+        /**
+         * maxTotal 的上限
+         */
+        private int maxTotal = 64;
+
+        /**
+         * 平均借用等待时间达到该值时扩容
+         */
+        private Duration growWaitThreshold = Duration.ofMillis(5);
+
+        /**
+         * 扩容倍数
+         */
+        private double growFactor = 1.5;
+
+        /**
+         * 使用率（活跃连接数 / maxTotal）低于该值时计为一次低使用率
+         */
+        private double shrinkUtilization = 0.3;
+
+        /**
+         * 连续低使用率的采样次数达到该值时缩容
+         */
+        private int shrinkAfter = 6;
+
+        /**
+         * 缩容倍数
+         */
+        private double shrinkFactor = 0.75;
+
+        /**
+         * minIdle 取采样到的活跃连接数峰值乘以该比例，不低于配置的 min-idle
+         */
+        private double minIdleRatio = 0.5;
+    }
+
+    /**
+     * jedis 共享连接池配置，前缀 dynamic.redis.jedis-shared-pool
+     * <p>
+     * 开启后同一个数据源动态切换db时创建的所有连接工厂共用一个连接池，连接记录自己当前所在的db，
+     * 借出的连接所在db与目标db不同时才发送SELECT。只对jedis单机模式生效，哨兵和集群模式仍然每个db一个连接池
+     */
+    @Data
+    public static class JedisSharedPool {
+
+        /**
+         * 是否开启共享连接池，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 借出的连接不在目标db上时，最多再从空闲连接中试探借出几个连接寻找已经在目标db上的连接，0表示不试探
+         */
+        private int affinityProbes = 2;
+    }
+
+    /**
+     * 多数据源并行初始化配置，前缀 dynamic.redis.parallel-init
+     * <p>
+     * 开启后第一个数据源的RedisTemplate被创建时，并行创建所有 spring.redis.datasource 数据源的连接工厂并建立第一个连接，
+     * 其余数据源的RedisTemplate直接使用已经创建好的结果
+     */
+    @Data
+    public static class ParallelInit {
+
+        /**
+         * 是否开启并行初始化，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 并行初始化的最大线程数
+         */
+        private int threads = 8;
+
+        /**
+         * 每个数据源建立第一个连接的超时时间，从开始连接时计算
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /**
+         * 有数据源在 timeout 内无法连接时是否启动失败，默认不失败，无法连接的数据源在第一次使用时再连接
+         */
+        private boolean failFast = false;
+    }
+
+    /**
+     * 多租户数据源配置，前缀 dynamic.redis.tenant
+     * <p>
+     * 租户数据源注册后只保存配置，第一次使用时才创建连接工厂；存活的租户数据源超过 max-active 时淘汰最久未使用的，
+     * 空闲超过 idle-timeout 的租户数据源也会被淘汰，淘汰后再次使用时重新创建
+     */
+    @Data
+    public static class Tenant {
+
+        /**
+         * 是否开启多租户数据源，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 同时存活（已创建连接工厂）的租户数据源上限
+         */
+        private int maxActive = 256;
+
+        /**
+         * 空闲超过该时间的租户数据源被淘汰
+         */
+        private Duration idleTimeout = Duration.ofMinutes(10);
+
+        /**
+         * 检查空闲租户数据源的间隔
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /**
+         * 淘汰后延迟关闭连接工厂的时间，让淘汰前已经开始执行的命令执行完
+         */
+        private Duration closeDelay = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 空闲db淘汰配置，前缀 dynamic.redis.template-eviction
+     * <p>
+     * 开启动态切换db后，切换到非默认db时懒加载创建的RedisTemplate空闲超过 idle-timeout 后被淘汰并销毁连接工厂，
+     * 再次切换到该db时重新创建。正在执行命令的db不会被淘汰
+     */
+    @Data
+    public static class TemplateEviction {
+
+        /**
+         * 是否开启空闲db淘汰，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 空闲超过该时间的db被淘汰
+         */
+        private Duration idleTimeout = Duration.ofMinutes(10);
+
+        /**
+         * 检查空闲db的间隔
+         */
+        private Duration interval = Duration.ofMinutes(1);
+    }
+
+    /**
+     * 数据源配置重新加载配置，前缀 dynamic.redis.reload
+     * <p>
+     * 通过 RedisDataSourceReloader 或监听外部配置文件重新加载数据源，新的连接工厂替换旧的连接工厂后，
+     * 旧的连接池中借出的连接全部归还再关闭
+     */
+    @Data
+    public static class Reload {
+
+        /**
+         * 是否开启数据源配置重新加载，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 等待旧的连接池中借出的连接归还的最长时间，没有连接池的连接工厂等待该时间后关闭
+         */
+        private Duration drainTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 监听的外部配置文件（properties或yaml），为空时不监听
+         */
+        private String watchFile;
+    }
+
+    /**
+     * 注销数据源配置，前缀 dynamic.redis.unregister
+     * <p>
+     * 通过 {@code RedisMultiDataSourceRegistrarExtension#unregisterRedisDataSource(String)} 注销数据源时，
+     * 等待连接池中借出的连接归还后再关闭连接工厂
+     */
+    @Data
+    public static class Unregister {
+
+        /**
+         * 等待借出的连接归还的最长时间，没有连接池的连接工厂（如lettuce默认的共享连接）直接关闭
+         */
+        private Duration drainTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 相同连接配置的连接工厂共用配置，前缀 dynamic.redis.connection-sharing
+     * <p>
+     * 开启后连接地址、db和客户端配置（超时、连接池、客户端定制等）都相同的数据源共用同一个连接工厂和连接池，
+     * 通过引用计数管理，最后一个使用方销毁时才关闭；开启jedis共享连接池时，连接配置相同的数据源共用同一个共享连接池。
+     * 容器中默认数据源的连接工厂由spring管理，不参与共用
+     */
+    @Data
+    public static class ConnectionSharing {
+
+        /**
+         * 是否开启连接工厂共用，默认关闭
+         */
+        private boolean enabled = false;
+    }
+
+    /**
+     * 容器关闭时关闭连接工厂配置，前缀 dynamic.redis.shutdown
+     * <p>
+     * 容器关闭时并行销毁多数据源、懒加载db、租户等由组件创建的连接工厂，并关闭lettuce的clientResources
+     */
+    @Data
+    public static class Shutdown {
+
+        /**
+         * 是否在容器关闭时关闭组件创建的连接工厂，默认开启
+         */
+        private boolean enabled = true;
+
+        /**
+         * 关闭每个连接工厂的最长等待时间，从开始关闭时计算，超时后不再等待
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * 并行关闭的最大线程数
+         */
+        private int threads = 8;
+    }
+
+    /**
+     * 启动时连接预热配置，前缀 dynamic.redis.warmup
+     * <p>
+     * 开启后在所有单例bean创建完成、应用就绪之前，并行为每个数据源创建 dbs（以及预热档案）中各个db的RedisTemplate并建立连接，
+     * 再把各个连接池中的连接补充到 min-idle 个，避免发布后第一批请求承担建连和创建连接工厂的耗时
+     */
+    @Data
+    public static class Warmup {
+
+        /**
+         * 是否开启启动时连接预热，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每个数据源除默认db外需要预热的db，未开启动态切换db时忽略
+         */
+        private List<Integer> dbs = new ArrayList<>();
+
+        /**
+         * 数据源名称 -> 该数据源需要预热的db，覆盖 dbs，默认数据源的名称为 defaultSource
+         */
+        private Map<String, List<Integer>> datasourceDbs = new LinkedHashMap<>();
+
+        /**
+         * 每个连接池预先建立的连接数，不超过连接池的 max-active；为0时使用连接池自身的 min-idle
+         */
+        private int minIdle = 0;
+
+        /**
+         * 并行预热的最大线程数
+         */
+        private int threads = 8;
+
+        /**
+         * 每个db建连、每个连接池补充连接的超时时间，从开始执行时计算，超时后不再等待，应用继续启动
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /**
+         * 有db在 timeout 内预热失败时是否启动失败，默认不失败，预热失败的db在第一次使用时再连接
+         */
+        private boolean failFast = false;
+
+        /**
+         * 预热档案文件，配置后记录实际使用过的（数据源, db）和连接池活跃连接数峰值，容器关闭时写入该文件，
+         * 下次启动时与 dbs 合并预热，连接池预先建立的连接数取档案中的峰值与 min-idle 的较大值。为空时不记录
+         */
+        private String profileFile;
+
+        /**
+         * 预热档案的采样间隔
+         */
+        private Duration profileSampleInterval = Duration.ofSeconds(1);
+
+        /**
+         * 本次运行没有使用的（数据源, db）在预热档案中的保留时间
+         */
+        private Duration profileRetention = Duration.ofDays(7);
+    }
 }
@@ -52,6 +52,16 @@ public class RedisDataSourceProperties {
         datasource.put(datasourceName, redisProperties);
     }
 
+    /**
+     * 移除数据源配置
+     *
+     * @param datasourceName Redis数据源名称
+     * @return 被移除的Redis配置，不存在时返回null
+     */
+    public RedisProperties removeRedisProperties(String datasourceName) {
+        return datasourceName == null ? null : datasource.remove(datasourceName);
+    }
+
     /**
      * 根据数据源名称获取Redis数据源配置
      *
@@ -0,0 +1,165 @@
+package org.enhance.redis.health;
+
+import org.enhance.redis.infra.concurrent.TimedTasks;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 多数据源健康检查，并发PING所有数据源（可选每个已创建RedisTemplate的db）
+ * <ul>
+ *     <li>每个目标的超时时间从它的PING开始执行时计算，排队等待线程的目标不会因为排队被判定为超时（见 {@link TimedTasks}）</li>
+ *     <li>超时的PING不会被取消，下次检查时如果它还没结束则继续等待它，不会为同一个目标重复占用线程</li>
+ *     <li>检查结果缓存 cacheTtl，缓存期内的请求直接返回上一次的结果</li>
+ * </ul>
+ * 任意一个目标不可用时整体状态为DOWN，details中按 数据源 或 数据源/db 列出每个目标的状态
+ *
+ * @author wenpan 2026/10/19 18:30
+ */
+public class RedisDataSourcesHealthIndicator implements HealthIndicator, DisposableBean {
+
+    private final Duration cacheTtl;
+
+    private final boolean allDatabases;
+
+    private final TimedTasks tasks;
+
+    /**
+     * 检查目标 -> 正在执行或最近一次执行的PING
+     */
+    private final Map<InstrumentedRedisConnectionFactory, TimedTasks.TimedTask<Health>> pings = new ConcurrentHashMap<>();
+
+    private final Lock refreshLock = new ReentrantLock();
+
+    private volatile CachedHealth cached;
+
+    public RedisDataSourcesHealthIndicator(Duration timeout, Duration cacheTtl, boolean allDatabases, int threads) {
+        this.cacheTtl = cacheTtl;
+        this.allDatabases = allDatabases;
+        this.tasks = new TimedTasks("redis-health", threads, timeout);
+    }
+
+    @Override
+    public Health health() {
+        CachedHealth current = cached;
+        if (current != null && current.isValid()) {
+            return current.health;
+        }
+        refreshLock.lock();
+        try {
+            current = cached;
+            if (current != null && current.isValid()) {
+                return current.health;
+            }
+            Health health = check();
+            cached = new CachedHealth(health, System.nanoTime() + cacheTtl.toNanos());
+            return health;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Health check() {
+        Map<String, InstrumentedRedisConnectionFactory> targets = targets();
+        if (targets.isEmpty()) {
+            return Health.unknown().withDetail("reason", "no redis connection factory created").build();
+        }
+        Map<String, TimedTasks.TimedTask<Health>> running = new TreeMap<>();
+        targets.forEach((name, factory) -> running.put(name, submit(factory)));
+        // 清理已经销毁的连接工厂
+        pings.keySet().retainAll(targets.values());
+
+        boolean allUp = true;
+        Map<String, Object> details = new TreeMap<>();
+        for (Map.Entry<String, TimedTasks.TimedTask<Health>> entry : running.entrySet()) {
+            Health health = await(entry.getValue());
+            allUp &= Status.UP.equals(health.getStatus());
+            details.put(entry.getKey(), health);
+        }
+        return (allUp ? Health.up() : Health.down()).withDetails(details).build();
+    }
+
+    /**
+     * 检查目标，默认每个数据源取最早创建的连接工厂（即数据源默认db的连接工厂）
+     */
+    private Map<String, InstrumentedRedisConnectionFactory> targets() {
+        Map<String, InstrumentedRedisConnectionFactory> targets = new TreeMap<>();
+        for (InstrumentedRedisConnectionFactory factory : RedisConnectionFactoryRegister.getFactories()) {
+            if (allDatabases) {
+                targets.put(factory.getDataSourceName() + "/" + factory.getDatabase(), factory);
+                continue;
+            }
+            targets.merge(factory.getDataSourceName(), factory,
+                    (current, candidate) -> candidate.getCreatedAt() < current.getCreatedAt() ? candidate : current);
+        }
+        return targets;
+    }
+
+    private TimedTasks.TimedTask<Health> submit(InstrumentedRedisConnectionFactory factory) {
+        return pings.compute(factory, (key, running) -> {
+            if (running != null && !running.isDone()) {
+                return running;
+            }
+            return tasks.submit(() -> ping(key));
+        });
+    }
+
+    private static Health await(TimedTasks.TimedTask<Health> ping) {
+        TimedTasks.Result<Health> result = ping.await();
+        if (result.isSuccess()) {
+            return result.getValue();
+        }
+        if (result.getError() instanceof Exception) {
+            return Health.down((Exception) result.getError()).build();
+        }
+        return Health.down().withDetail("error", "PING " + result.getFailure()).build();
+    }
+
+    /**
+     * 直接使用原始连接工厂，健康检查的PING不计入命令指标和慢命令日志
+     */
+    private static Health ping(InstrumentedRedisConnectionFactory factory) {
+        long start = System.nanoTime();
+        try (RedisConnection connection = factory.getDelegate().getConnection()) {
+            String pong = connection.ping();
+            return Health.up()
+                    .withDetail("db", factory.getDatabase())
+                    .withDetail("response", pong)
+                    .withDetail("latencyMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .build();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        tasks.shutdownNow();
+    }
+
+    private static class CachedHealth {
+
+        private final Health health;
+
+        private final long expiresAt;
+
+        CachedHealth(Health health, long expiresAt) {
+            this.health = health;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isValid() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+    }
+}
@@ -8,29 +8,47 @@ import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.support.AbstractRefreshableApplicationContext;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.lang.NonNull;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * spring工厂调用辅助类
+ * <p>
+ * 启动期间需要注入的静态字段在容器刷新完成事件中一次性设置，静态方法可通过 {@link #awaitContext(Duration)} 等待容器可用
  *
  * @author Mr_wenpan@163.com 2021/8/11 8:19 下午
  */
-public class ApplicationContextHelper implements ApplicationContextAware {
+public class ApplicationContextHelper implements ApplicationContextAware, ApplicationListener<ContextRefreshedEvent> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationContextHelper.class);
 
     private static DefaultListableBeanFactory springFactory;
 
-    private static ApplicationContext context;
+    private static volatile ApplicationContext context;
+
+    /**
+     * 容器可用后放行，用于静态方法在容器启动期间等待容器
+     */
+    private static final CountDownLatch CONTEXT_READY = new CountDownLatch(1);
+
+    /**
+     * 等待容器刷新完成后执行一次的回调
+     */
+    private static final List<Consumer<ApplicationContext>> PENDING_CALLBACKS = new ArrayList<>();
+
+    private static boolean refreshed;
 
     @Override
     public void setApplicationContext(@NonNull ApplicationContext applicationContext) {
@@ -46,6 +64,7 @@ public class ApplicationContextHelper implements ApplicationContextAware {
 
     private static void setContext(ApplicationContext applicationContext) {
         ApplicationContextHelper.context = applicationContext;
+        CONTEXT_READY.countDown();
     }
 
     private static void setFactory(DefaultListableBeanFactory springFactory) {
@@ -127,7 +146,8 @@ public class ApplicationContextHelper implements ApplicationContextAware {
     }
 
     /**
-     * 异步从 ApplicationContextHelper 获取 bean 对象并设置到目标对象中，在某些启动期间需要初始化的bean可采用此方法。
+     * 容器刷新完成后从 ApplicationContextHelper 获取 bean 对象并设置到目标对象中，在某些启动期间需要初始化的bean可采用此方法。
+     * 容器已经刷新完成时立即设置
      * <p>
      * 适用于实例方法注入。
      *
@@ -137,27 +157,12 @@ public class ApplicationContextHelper implements ApplicationContextAware {
      * @param <T>          type
      */
     public static <T> void asyncInstanceSetter(Class<T> type, Object target, String setterMethod) {
-        if (setByMethod(type, target, setterMethod)) {
-            return;
-        }
-
-        AtomicInteger counter = new AtomicInteger(0);
-        ScheduledExecutorService executorService = new ScheduledThreadPoolExecutor(1, r -> new Thread(r, "sync-setter"));
-        executorService.scheduleAtFixedRate(() -> {
-            boolean success = setByMethod(type, target, setterMethod);
-            if (success) {
-                executorService.shutdown();
-            } else {
-                if (counter.addAndGet(1) > 240) {
-                    LOGGER.error("Setter field [{}] in [{}] failure because timeout.", setterMethod, target.getClass().getName());
-                    executorService.shutdown();
-                }
-            }
-        }, 0, 1, TimeUnit.SECONDS);
+        onRefreshed(applicationContext -> setByMethod(type, target, setterMethod));
     }
 
     /**
-     * 异步从 ApplicationContextHelper 获取 bean 对象并设置到目标对象中，在某些启动期间需要初始化的bean可采用此方法。
+     * 容器刷新完成后从 ApplicationContextHelper 获取 bean 对象并设置到目标对象中，在某些启动期间需要初始化的bean可采用此方法。
+     * 容器已经刷新完成时立即设置
      * <br>
      * 一般可用于向静态类注入实例对象。
      *
@@ -166,26 +171,68 @@ public class ApplicationContextHelper implements ApplicationContextAware {
      * @param targetField 目标字段
      */
     public static void asyncStaticSetter(Class<?> type, Class<?> target, String targetField) {
+        onRefreshed(applicationContext -> setByField(type, target, targetField));
+    }
 
-        if (setByField(type, target, targetField)) {
-            return;
+    /**
+     * 容器刷新完成后执行一次回调，容器已经刷新完成时在当前线程立即执行
+     *
+     * @param callback 回调，参数为刷新完成的容器
+     */
+    public static void onRefreshed(@NonNull Consumer<ApplicationContext> callback) {
+        synchronized (PENDING_CALLBACKS) {
+            if (!refreshed) {
+                PENDING_CALLBACKS.add(callback);
+                return;
+            }
         }
+        runCallback(callback);
+    }
 
-        AtomicInteger counter = new AtomicInteger(0);
-        ScheduledExecutorService executorService = new ScheduledThreadPoolExecutor(1, r -> new Thread(r, "sync-setter"));
-
-        executorService.scheduleAtFixedRate(() -> {
-            boolean success = setByField(type, target, targetField);
-            if (success) {
-                executorService.shutdown();
-            } else {
-                if (counter.addAndGet(1) > 240) {
-                    LOGGER.error("Setter field [{}] in [{}] failure because timeout.", targetField, target.getName());
-                    executorService.shutdown();
-                }
+    /**
+     * 等待容器可用，容器已经可用时直接返回，不加锁
+     *
+     * @param timeout 最长等待时间
+     * @return 容器
+     * @throws IllegalStateException 超时或被中断时
+     */
+    public static ApplicationContext awaitContext(@NonNull Duration timeout) {
+        ApplicationContext applicationContext = context;
+        if (applicationContext != null) {
+            return applicationContext;
+        }
+        try {
+            if (!CONTEXT_READY.await(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("spring application context is not available within " + timeout.toMillis() + "ms.");
             }
-        }, 0, 1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for spring application context.", ex);
+        }
+        return context;
+    }
 
+    @Override
+    public void onApplicationEvent(@NonNull ContextRefreshedEvent event) {
+        // 只处理当前容器的刷新事件，忽略子容器
+        if (event.getApplicationContext() != context) {
+            return;
+        }
+        List<Consumer<ApplicationContext>> callbacks;
+        synchronized (PENDING_CALLBACKS) {
+            refreshed = true;
+            callbacks = new ArrayList<>(PENDING_CALLBACKS);
+            PENDING_CALLBACKS.clear();
+        }
+        callbacks.forEach(ApplicationContextHelper::runCallback);
+    }
+
+    private static void runCallback(Consumer<ApplicationContext> callback) {
+        try {
+            callback.accept(context);
+        } catch (Exception ex) {
+            LOGGER.error("run context refreshed callback [{}] failed.", callback, ex);
+        }
     }
 
     private static boolean setByMethod(Class<?> type, Object target, String targetMethod) {
@@ -195,7 +242,7 @@ public class ApplicationContextHelper implements ApplicationContextAware {
                 Method method = target.getClass().getDeclaredMethod(targetMethod, type);
                 method.setAccessible(true);
                 method.invoke(target, obj);
-                LOGGER.info("Async set field [{}] in [{}] success by method.", targetMethod, target.getClass().getName());
+                LOGGER.debug("Set field [{}] in [{}] success by method.", targetMethod, target.getClass().getName());
                 return true;
             } catch (NoSuchMethodException e) {
                 LOGGER.error("Not found method [{}] in [{}].", targetMethod, target.getClass().getName(), e);
@@ -215,7 +262,7 @@ public class ApplicationContextHelper implements ApplicationContextAware {
                 Field field = target.getDeclaredField(targetField);
                 field.setAccessible(true);
                 field.set(target, obj);
-                LOGGER.info("Async set field [{}] in [{}] success by field.", targetField, target.getName());
+                LOGGER.debug("Set field [{}] in [{}] success by field.", targetField, target.getName());
                 return true;
             } catch (NoSuchFieldException e) {
                 LOGGER.error("Not found field [{}] in [{}].", targetField, target.getName(), e);
@@ -1,8 +1,16 @@
 package org.enhance.redis.helper;
 
+import org.enhance.redis.infra.concurrent.RedisExecutors;
 import org.enhance.redis.infra.function.Execute;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -14,11 +22,36 @@ import java.util.function.Supplier;
  */
 public class EasyRedisHelper {
 
-    private static RedisHelper redisHelper;
+    /**
+     * 静态方法在容器启动期间等待容器可用的最长时间
+     */
+    private static final Duration CONTEXT_WAIT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static volatile RedisHelper redisHelper;
+
+    /**
+     * 并发操作多个db时使用的线程池，第一次使用时按当前的线程模型创建，JDK 21+ 上默认为虚拟线程
+     */
+    private static volatile ScatterExecutor scatterExecutor;
 
     static {
-        final String redisHelper = "redisHelper";
-        ApplicationContextHelper.asyncStaticSetter(RedisHelper.class, EasyRedisHelper.class, redisHelper);
+        ApplicationContextHelper.onRefreshed(context -> {
+            redisHelper = context.getBean(RedisHelper.class);
+            // 容器刷新后 dynamic.redis.virtual-threads-enabled 已经生效，之前按默认线程模型创建的线程池在这里重建
+            getScatterExecutor();
+        });
+    }
+
+    /**
+     * 获取默认的redisHelper，容器刷新完成前调用时等待容器可用后直接从容器中获取
+     */
+    private static RedisHelper getRedisHelper() {
+        RedisHelper helper = redisHelper;
+        if (helper == null) {
+            helper = ApplicationContextHelper.awaitContext(CONTEXT_WAIT_TIMEOUT).getBean(RedisHelper.class);
+            redisHelper = helper;
+        }
+        return helper;
     }
 
     /**
@@ -36,6 +69,7 @@ public class EasyRedisHelper {
     }
 
     public static RedisTemplate<String, String> getRedisTemplate(int db) {
+        RedisHelper redisHelper = getRedisHelper();
         setCurrentDatabase(db);
         return redisHelper.getRedisTemplate();
     }
@@ -48,6 +82,7 @@ public class EasyRedisHelper {
      * @author Mr_wenpan@163.com 2021/8/11 9:28 下午
      */
     public static void execute(int db, Execute execute) {
+        RedisHelper redisHelper = getRedisHelper();
         try {
             redisHelper.setCurrentDatabase(db);
             execute.execute();
@@ -98,6 +133,7 @@ public class EasyRedisHelper {
      * @author Mr_wenpan@163.com 2021/8/12 3:16 下午
      */
     public static void execute(int db, Consumer<RedisTemplate<String, String>> consumer) {
+        RedisHelper redisHelper = getRedisHelper();
         try {
             redisHelper.setCurrentDatabase(db);
             consumer.accept(redisHelper.getRedisTemplate());
@@ -115,6 +151,7 @@ public class EasyRedisHelper {
      * @author Mr_wenpan@163.com 2021/8/11 9:28 下午
      */
     public static <T> T executeWithResult(int db, Supplier<T> supplier) {
+        RedisHelper redisHelper = getRedisHelper();
         try {
             redisHelper.setCurrentDatabase(db);
             return supplier.get();
@@ -151,6 +188,7 @@ public class EasyRedisHelper {
      */
     public static <T> T executeWithResult(int db, Function<RedisTemplate<String, String>, T> function) {
         T result;
+        RedisHelper redisHelper = getRedisHelper();
         setCurrentDatabase(db);
         try {
             result = function.apply(redisHelper.getRedisTemplate());
@@ -170,6 +208,7 @@ public class EasyRedisHelper {
      * @since 1.7
      */
     public static <T> T execute(int db, WithResultExecutor<T> executor) {
+        RedisHelper redisHelper = getRedisHelper();
         try {
             redisHelper.setCurrentDatabase(db);
             return executor.get(redisHelper);
@@ -178,6 +217,136 @@ public class EasyRedisHelper {
         }
     }
 
+    /**
+     * 在指定db上以pipeline方式执行代码块中的redis操作，代码块中的操作返回 {@link PipelinedResult}，
+     * 方法返回后即可通过 {@link PipelinedResult#get()} 获取结果
+     *
+     * @param db    redis db
+     * @param block 使用 {@link PipelinedRedisHelper} 记录redis操作的代码块
+     * @author Mr_wenpan@163.com 2026/10/19 3:35 下午
+     */
+    public static void pipelined(int db, Consumer<PipelinedRedisHelper> block) {
+        pipelined(db, getRedisHelper(), block);
+    }
+
+    /**
+     * 在指定db上以pipeline方式执行代码块中的redis操作
+     *
+     * @param db          redis db
+     * @param redisHelper 自定义redisHelper
+     * @param block       使用 {@link PipelinedRedisHelper} 记录redis操作的代码块
+     * @author Mr_wenpan@163.com 2026/10/19 3:35 下午
+     */
+    public static void pipelined(int db, RedisHelper redisHelper, Consumer<PipelinedRedisHelper> block) {
+        try {
+            redisHelper.setCurrentDatabase(db);
+            redisHelper.pipelined(block);
+        } finally {
+            redisHelper.clearCurrentDatabase();
+        }
+    }
+
+    /**
+     * 并发的在多个db上执行同一个操作，每个db在独立的线程中切换db并执行，所有db执行完毕后返回
+     *
+     * @param dbs      redis db集合
+     * @param executor Redis 操作
+     * @param <T>      返回类型
+     * @return key: db, value: 该db上的操作返回值，顺序与dbs一致
+     * @author Mr_wenpan@163.com 2026/10/19 10:12 上午
+     */
+    public static <T> Map<Integer, T> scatter(Collection<Integer> dbs, WithResultExecutor<T> executor) {
+        return scatter(dbs, getRedisHelper(), executor);
+    }
+
+    /**
+     * 并发的在多个db上执行同一个操作，每个db在独立的线程中切换db并执行，所有db执行完毕后返回
+     * 任意一个db执行失败则抛出该异常
+     *
+     * @param dbs         redis db集合
+     * @param redisHelper 自定义redisHelper
+     * @param executor    Redis 操作
+     * @param <T>         返回类型
+     * @return key: db, value: 该db上的操作返回值，顺序与dbs一致
+     * @author Mr_wenpan@163.com 2026/10/19 10:12 上午
+     */
+    public static <T> Map<Integer, T> scatter(Collection<Integer> dbs, RedisHelper redisHelper, WithResultExecutor<T> executor) {
+        Map<Integer, Future<T>> futures = new LinkedHashMap<>(dbs.size() * 2);
+        for (Integer db : dbs) {
+            futures.put(db, submitScatter(() -> {
+                try {
+                    redisHelper.setCurrentDatabase(db);
+                    return executor.get(redisHelper);
+                } finally {
+                    redisHelper.clearCurrentDatabase();
+                }
+            }));
+        }
+        Map<Integer, T> results = new LinkedHashMap<>(futures.size() * 2);
+        for (Map.Entry<Integer, Future<T>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("scatter redis operation interrupted.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("scatter redis operation failed on db " + entry.getKey(), cause);
+            }
+        }
+        return results;
+    }
+
+    private static <T> Future<T> submitScatter(Callable<T> task) {
+        try {
+            return getScatterExecutor().submit(task);
+        } catch (RejectedExecutionException ex) {
+            // 线程池刚好因为线程模型变化被重建
+            return getScatterExecutor().submit(task);
+        }
+    }
+
+    /**
+     * 获取并发操作多个db时使用的线程池，线程模型（虚拟线程或平台线程）与当前配置不一致时重建，旧的线程池执行完已提交的任务后关闭
+     */
+    private static ExecutorService getScatterExecutor() {
+        ScatterExecutor current = scatterExecutor;
+        boolean virtual = RedisExecutors.isUsingVirtualThreads();
+        if (current != null && current.virtual == virtual) {
+            return current.executor;
+        }
+        synchronized (EasyRedisHelper.class) {
+            current = scatterExecutor;
+            if (current != null && current.virtual == virtual) {
+                return current.executor;
+            }
+            scatterExecutor = new ScatterExecutor(RedisExecutors.newTaskExecutor("redis-scatter",
+                    Math.max(4, Runtime.getRuntime().availableProcessors() * 2)), virtual);
+            if (current != null) {
+                current.executor.shutdown();
+            }
+            return scatterExecutor.executor;
+        }
+    }
+
+    private static final class ScatterExecutor {
+
+        private final ExecutorService executor;
+
+        /**
+         * 创建时是否使用虚拟线程
+         */
+        private final boolean virtual;
+
+        ScatterExecutor(ExecutorService executor, boolean virtual) {
+            this.executor = executor;
+            this.virtual = virtual;
+        }
+    }
+
     @FunctionalInterface
     public interface NoneResultExecutor {
         void accept(RedisHelper helper);
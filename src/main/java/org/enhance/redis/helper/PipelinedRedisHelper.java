@@ -0,0 +1,408 @@
+package org.enhance.redis.helper;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.lang.NonNull;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 以pipeline方式执行的RedisHelper，方法名与 {@link RedisHelper} 保持一致
+ * <p>
+ * 调用方法时并不会真正执行命令，只是将命令记录下来并返回 {@link PipelinedResult} 占位对象，
+ * 代码块执行结束后所有命令通过一次 executePipelined 发送到redis，再按顺序填充各个占位对象。
+ * 由于命令不是立即执行的，所以不能依赖前一个命令的结果来决定后一个命令，阻塞式命令（如 BLPOP）也不支持
+ *
+ * @author wenpan 2026/10/19 15:20
+ */
+public class PipelinedRedisHelper {
+
+    /**
+     * 记录下来的命令，按调用顺序执行
+     */
+    private final List<RecordedCommand> commands = new ArrayList<>();
+
+    PipelinedRedisHelper() {
+    }
+
+    /**
+     * 以pipeline方式执行代码块中记录的所有命令，执行完成后填充各个 {@link PipelinedResult}
+     *
+     * @param redisTemplate redisTemplate，动态redisTemplate会在此时根据当前线程的db路由
+     */
+    @SuppressWarnings("unchecked")
+    void execute(RedisTemplate<String, String> redisTemplate) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(@NonNull RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (RecordedCommand command : commands) {
+                    command.command.accept(ops);
+                }
+                return null;
+            }
+        });
+        long expected = commands.stream().filter(command -> command.result != null).count();
+        if (replies.size() != expected) {
+            throw new IllegalStateException(String.format("pipeline returned %s replies, but %s were expected.",
+                    replies.size(), expected));
+        }
+        int index = 0;
+        for (RecordedCommand command : commands) {
+            if (command.result != null) {
+                command.result.complete(replies.get(index++));
+            }
+        }
+    }
+
+    /**
+     * 记录有返回值的命令
+     */
+    private <T> PipelinedResult<T> record(Consumer<RedisOperations<String, String>> command, Function<Object, T> converter) {
+        PipelinedResult<T> result = new PipelinedResult<>(converter);
+        commands.add(new RecordedCommand(command, result));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> PipelinedResult<T> record(Consumer<RedisOperations<String, String>> command) {
+        return record(command, reply -> (T) reply);
+    }
+
+    /**
+     * 记录没有返回值的命令（redis返回状态码，如 HMSET、LSET、LTRIM，pipeline中不会产生结果）
+     */
+    private void recordStatus(Consumer<RedisOperations<String, String>> command) {
+        commands.add(new RecordedCommand(command, null));
+    }
+
+    private void expireIfNecessary(String key, long expire, TimeUnit timeUnit) {
+        if (expire != RedisHelper.NOT_EXPIRE) {
+            setExpire(key, expire, timeUnit);
+        }
+    }
+
+    // =======================================key操作===================================
+
+    public PipelinedResult<Boolean> delKey(String key) {
+        return record(ops -> ops.delete(key), reply -> ((Number) reply).longValue() > 0);
+    }
+
+    public PipelinedResult<Long> delKeys(Collection<String> keys) {
+        Set<String> distinctKeys = new HashSet<>(keys);
+        return record(ops -> ops.delete(distinctKeys));
+    }
+
+    public PipelinedResult<Boolean> hasKey(String key) {
+        return record(ops -> ops.hasKey(key));
+    }
+
+    public PipelinedResult<Long> getExpire(String key) {
+        return record(ops -> ops.getExpire(key));
+    }
+
+    public PipelinedResult<Boolean> setExpire(String key) {
+        return setExpire(key, RedisHelper.DEFAULT_EXPIRE, TimeUnit.SECONDS);
+    }
+
+    public PipelinedResult<Boolean> setExpire(String key, long expire) {
+        return setExpire(key, expire, TimeUnit.SECONDS);
+    }
+
+    public PipelinedResult<Boolean> setExpire(String key, long expire, TimeUnit timeUnit) {
+        TimeUnit unit = timeUnit == null ? TimeUnit.SECONDS : timeUnit;
+        return record(ops -> ops.expire(key, expire, unit));
+    }
+
+    // =======================================String===================================
+
+    public PipelinedResult<Boolean> strSet(String key, String value) {
+        return record(ops -> ops.opsForValue().set(key, value));
+    }
+
+    public PipelinedResult<Boolean> strSet(String key, String value, long expire, TimeUnit timeUnit) {
+        PipelinedResult<Boolean> result = strSet(key, value);
+        expireIfNecessary(key, expire, timeUnit);
+        return result;
+    }
+
+    public PipelinedResult<String> strGet(String key) {
+        return record(ops -> ops.opsForValue().get(key));
+    }
+
+    public PipelinedResult<String> strGet(String key, long expire, TimeUnit timeUnit) {
+        PipelinedResult<String> result = strGet(key);
+        expireIfNecessary(key, expire, timeUnit);
+        return result;
+    }
+
+    public <T> PipelinedResult<T> strGet(String key, Class<T> clazz) {
+        return record(ops -> ops.opsForValue().get(key), reply -> RedisHelper.fromJson((String) reply, clazz));
+    }
+
+    public <T> PipelinedResult<T> strGet(String key, Class<T> clazz, long expire, TimeUnit timeUnit) {
+        PipelinedResult<T> result = strGet(key, clazz);
+        expireIfNecessary(key, expire, timeUnit);
+        return result;
+    }
+
+    public PipelinedResult<String> strGet(String key, Long start, Long end) {
+        return record(ops -> ops.opsForValue().get(key, start, end));
+    }
+
+    public PipelinedResult<Boolean> strSetIfAbsent(String key, String value) {
+        return record(ops -> ops.opsForValue().setIfAbsent(key, value));
+    }
+
+    public PipelinedResult<Long> strIncrement(String key, Long delta) {
+        return record(ops -> ops.opsForValue().increment(key, delta));
+    }
+
+    public <T> PipelinedResult<Boolean> objectSet(String key, T object) {
+        String json = RedisHelper.toJson(object);
+        return record(ops -> ops.opsForValue().set(key, json));
+    }
+
+    // =======================================List===================================
+
+    public PipelinedResult<Long> lstLeftPush(String key, String value) {
+        return record(ops -> ops.opsForList().leftPush(key, value));
+    }
+
+    public PipelinedResult<Long> lstLeftPushAll(String key, Collection<String> values) {
+        return record(ops -> ops.opsForList().leftPushAll(key, values));
+    }
+
+    public PipelinedResult<Long> lstRightPush(String key, String value) {
+        return record(ops -> ops.opsForList().rightPush(key, value));
+    }
+
+    public PipelinedResult<Long> lstRightPushAll(String key, Collection<String> values) {
+        return record(ops -> ops.opsForList().rightPushAll(key, values));
+    }
+
+    public PipelinedResult<List<String>> lstRange(String key, long start, long end) {
+        return record(ops -> ops.opsForList().range(key, start, end));
+    }
+
+    public PipelinedResult<List<String>> lstAll(String key) {
+        return lstRange(key, 0, -1);
+    }
+
+    public PipelinedResult<String> lstLeftPop(String key) {
+        return record(ops -> ops.opsForList().leftPop(key));
+    }
+
+    public PipelinedResult<String> lstRightPop(String key) {
+        return record(ops -> ops.opsForList().rightPop(key));
+    }
+
+    public PipelinedResult<Long> lstLen(String key) {
+        return record(ops -> ops.opsForList().size(key));
+    }
+
+    public void lstSet(String key, long index, String value) {
+        recordStatus(ops -> ops.opsForList().set(key, index, value));
+    }
+
+    public PipelinedResult<Long> lstRemove(String key, long index, String value) {
+        return record(ops -> ops.opsForList().remove(key, index, value));
+    }
+
+    public PipelinedResult<String> lstIndex(String key, long index) {
+        return record(ops -> ops.opsForList().index(key, index));
+    }
+
+    public void lstTrim(String key, long start, long end) {
+        recordStatus(ops -> ops.opsForList().trim(key, start, end));
+    }
+
+    // =======================================Set===================================
+
+    public PipelinedResult<Long> setAdd(String key, String[] values) {
+        return record(ops -> ops.opsForSet().add(key, values));
+    }
+
+    public PipelinedResult<Long> setIrt(String key, String... values) {
+        return setAdd(key, values);
+    }
+
+    public PipelinedResult<Set<String>> setMembers(String key) {
+        return record(ops -> ops.opsForSet().members(key));
+    }
+
+    public PipelinedResult<Boolean> setIsmember(String key, String o) {
+        return record(ops -> ops.opsForSet().isMember(key, o));
+    }
+
+    public PipelinedResult<Long> setSize(String key) {
+        return record(ops -> ops.opsForSet().size(key));
+    }
+
+    public PipelinedResult<Set<String>> setIntersect(String key, String otherKey) {
+        return record(ops -> ops.opsForSet().intersect(key, otherKey));
+    }
+
+    public PipelinedResult<Set<String>> setUnion(String key, String otherKey) {
+        return record(ops -> ops.opsForSet().union(key, otherKey));
+    }
+
+    public PipelinedResult<Set<String>> setUnion(String key, Collection<String> otherKeys) {
+        return record(ops -> ops.opsForSet().union(key, otherKeys));
+    }
+
+    public PipelinedResult<Set<String>> setDifference(String key, String otherKey) {
+        return record(ops -> ops.opsForSet().difference(key, otherKey));
+    }
+
+    public PipelinedResult<Set<String>> setDifference(String key, Collection<String> otherKeys) {
+        return record(ops -> ops.opsForSet().difference(key, otherKeys));
+    }
+
+    public PipelinedResult<Long> setDel(String key, String value) {
+        return record(ops -> ops.opsForSet().remove(key, value));
+    }
+
+    public PipelinedResult<Long> setRemove(String key, Object[] value) {
+        return record(ops -> ops.opsForSet().remove(key, value));
+    }
+
+    // =======================================ZSet===================================
+
+    public PipelinedResult<Boolean> zSetAdd(String key, String value, double score) {
+        return record(ops -> ops.opsForZSet().add(key, value, score));
+    }
+
+    public PipelinedResult<Double> zSetScore(String key, String value) {
+        return record(ops -> ops.opsForZSet().score(key, value));
+    }
+
+    public PipelinedResult<Double> zSetIncrementScore(String key, String value, double delta) {
+        return record(ops -> ops.opsForZSet().incrementScore(key, value, delta));
+    }
+
+    public PipelinedResult<Long> zSetRank(String key, String value) {
+        return record(ops -> ops.opsForZSet().rank(key, value));
+    }
+
+    public PipelinedResult<Long> zSetReverseRank(String key, String value) {
+        return record(ops -> ops.opsForZSet().reverseRank(key, value));
+    }
+
+    public PipelinedResult<Long> zSetSize(String key) {
+        return record(ops -> ops.opsForZSet().size(key));
+    }
+
+    public PipelinedResult<Long> zSetRemove(String key, String value) {
+        return record(ops -> ops.opsForZSet().remove(key, value));
+    }
+
+    public PipelinedResult<Long> zSetRemoveByScore(String key, double min, double max) {
+        return record(ops -> ops.opsForZSet().removeRangeByScore(key, min, max));
+    }
+
+    public PipelinedResult<Set<String>> zSetRange(String key, Long start, Long end) {
+        return record(ops -> ops.opsForZSet().range(key, start, end));
+    }
+
+    public PipelinedResult<Set<String>> zSetReverseRange(String key, Long start, Long end) {
+        return record(ops -> ops.opsForZSet().reverseRange(key, start, end));
+    }
+
+    public PipelinedResult<Set<String>> zSetRangeByScore(String key, Double min, Double max) {
+        return record(ops -> ops.opsForZSet().rangeByScore(key, min, max));
+    }
+
+    public PipelinedResult<Set<String>> zSetReverseRangeByScore(String key, Double min, Double max) {
+        return record(ops -> ops.opsForZSet().reverseRangeByScore(key, min, max));
+    }
+
+    public PipelinedResult<Set<String>> zSetRangeByScore(String key, Double min, Double max, Long offset, Long count) {
+        return record(ops -> ops.opsForZSet().rangeByScore(key, min, max, offset, count));
+    }
+
+    public PipelinedResult<Set<String>> zSetReverseRangeByScore(String key, Double min, Double max, Long offset, Long count) {
+        return record(ops -> ops.opsForZSet().reverseRangeByScore(key, min, max, offset, count));
+    }
+
+    public PipelinedResult<Long> zSetCount(String key, Double min, Double max) {
+        return record(ops -> ops.opsForZSet().count(key, min, max));
+    }
+
+    // =======================================Hash===================================
+
+    public PipelinedResult<Boolean> hshPut(String key, String hashKey, String value) {
+        return record(ops -> ops.opsForHash().put(key, hashKey, value));
+    }
+
+    public void hshPutAll(String key, Map<String, String> map) {
+        recordStatus(ops -> ops.opsForHash().putAll(key, map));
+    }
+
+    public PipelinedResult<String> hshGet(String key, String hashKey) {
+        return record(ops -> ops.opsForHash().get(key, hashKey));
+    }
+
+    public PipelinedResult<List<String>> hshMultiGet(String key, Collection<String> hashKeys) {
+        List<Object> fields = new ArrayList<>(hashKeys);
+        return record(ops -> ops.opsForHash().multiGet(key, fields));
+    }
+
+    public PipelinedResult<Map<String, String>> hshGetAll(String key) {
+        return record(ops -> ops.opsForHash().entries(key));
+    }
+
+    public PipelinedResult<Boolean> hshHasKey(String key, String hashKey) {
+        return record(ops -> ops.opsForHash().hasKey(key, hashKey));
+    }
+
+    public PipelinedResult<Set<String>> hshKeys(String key) {
+        return record(ops -> ops.opsForHash().keys(key));
+    }
+
+    public PipelinedResult<List<String>> hshVals(String key) {
+        return record(ops -> ops.opsForHash().values(key));
+    }
+
+    public PipelinedResult<List<String>> hshVals(String key, Collection<String> hashKeys) {
+        return hshMultiGet(key, hashKeys);
+    }
+
+    public PipelinedResult<Long> hshSize(String key) {
+        return record(ops -> ops.opsForHash().size(key));
+    }
+
+    public PipelinedResult<Long> hshDelete(String key, Object... hashKeys) {
+        return record(ops -> ops.opsForHash().delete(key, hashKeys));
+    }
+
+    public PipelinedResult<Long> hshRemove(String key, Object[] hashKeys) {
+        return hshDelete(key, hashKeys);
+    }
+
+    /**
+     * 记录下来的单个命令
+     */
+    private static final class RecordedCommand {
+
+        private final Consumer<RedisOperations<String, String>> command;
+
+        /**
+         * 为null表示该命令在pipeline中不产生返回值
+         */
+        private final PipelinedResult<?> result;
+
+        private RecordedCommand(Consumer<RedisOperations<String, String>> command, PipelinedResult<?> result) {
+            this.command = command;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.enhance.redis.helper;
+
+import java.util.function.Function;
+
+/**
+ * pipeline中单个命令的执行结果占位对象，pipeline执行结束后才会被填充
+ * <p>
+ * 在 {@link RedisHelper#pipelined(java.util.function.Consumer)} 的代码块内部调用 {@link #get()} 会抛出异常，
+ * 因为此时命令只是被记录下来，还没有发送到redis
+ *
+ * @param <T> 结果类型
+ * @author wenpan 2026/10/19 15:20
+ */
+public final class PipelinedResult<T> {
+
+    /**
+     * 原始返回值到结果类型的转换器
+     */
+    private final Function<Object, T> converter;
+
+    private T value;
+
+    private boolean done;
+
+    PipelinedResult(Function<Object, T> converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * 获取命令的执行结果
+     *
+     * @return 命令执行结果
+     * @throws IllegalStateException pipeline还没有执行
+     */
+    public T get() {
+        if (!done) {
+            throw new IllegalStateException("pipeline has not been executed yet, result is only available after the pipelined block.");
+        }
+        return value;
+    }
+
+    /**
+     * pipeline是否已经执行完成并填充了结果
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    void complete(Object reply) {
+        value = reply == null ? null : converter.apply(reply);
+        done = true;
+    }
+
+    @Override
+    public String toString() {
+        return done ? "PipelinedResult[" + value + "]" : "PipelinedResult[pending]";
+    }
+}
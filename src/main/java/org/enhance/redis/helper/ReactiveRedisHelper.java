@@ -0,0 +1,688 @@
+package org.enhance.redis.helper;
+
+import org.enhance.redis.template.AbstractRoutingRedisTemplate;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式Redis操作工具类，对外提供与 {@link RedisHelper} 同名的操作，返回值为 {@link Mono} / {@link Flux}
+ * <p>
+ * 集合类读取（hash entries、set members、zset range、scan 等）以 {@link Flux} 逐个元素下发，由订阅方按需拉取（背压），
+ * 不会像阻塞版本一样先把整个集合读入内存
+ * <p>
+ * 响应式操作依赖 {@link ReactiveRedisConnectionFactory}（即lettuce客户端），
+ * 这里直接复用同数据源阻塞 {@link RedisHelper} 所使用的连接工厂，不会额外创建连接池
+ * <p>
+ * 响应式命令直接使用lettuce的响应式连接，不经过命令指标、慢日志和热点key的监听，这些统计中不包含响应式命令
+ *
+ * @author wenpan 2026/10/19 10:12
+ */
+public class ReactiveRedisHelper {
+
+    /**
+     * 同数据源的阻塞redisHelper，用于获取指定db的连接工厂
+     */
+    private final RedisHelper redisHelper;
+
+    /**
+     * 该helper操作的响应式redisTemplate，连接工厂不支持响应式时为null
+     */
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+
+    /**
+     * 各个db对应的ReactiveRedisHelper（懒加载）
+     */
+    private final Map<Integer, ReactiveRedisHelper> dbReactiveRedisHelpers = new ConcurrentHashMap<>(16);
+
+    public ReactiveRedisHelper(RedisHelper redisHelper) {
+        this(redisHelper, getDefaultConnectionFactory(redisHelper));
+    }
+
+    private ReactiveRedisHelper(RedisHelper redisHelper, RedisConnectionFactory connectionFactory) {
+        this.redisHelper = redisHelper;
+        this.reactiveRedisTemplate = connectionFactory instanceof ReactiveRedisConnectionFactory
+                ? new ReactiveStringRedisTemplate((ReactiveRedisConnectionFactory) connectionFactory) : null;
+    }
+
+    /**
+     * 获取数据源默认db的连接工厂，动态RedisTemplate不能直接调用getConnectionFactory()，因为会受到当前线程db的影响
+     */
+    private static RedisConnectionFactory getDefaultConnectionFactory(RedisHelper redisHelper) {
+        RedisTemplate<String, String> redisTemplate = redisHelper.getRedisTemplate();
+        if (redisTemplate instanceof AbstractRoutingRedisTemplate) {
+            return ((AbstractRoutingRedisTemplate<String, String>) redisTemplate).getDefaultRedisTemplate().getConnectionFactory();
+        }
+        return redisTemplate.getConnectionFactory();
+    }
+
+    /**
+     * 获取响应式RedisTemplate对象
+     *
+     * @return ReactiveRedisTemplate
+     */
+    public ReactiveRedisTemplate<String, String> getReactiveRedisTemplate() {
+        if (reactiveRedisTemplate == null) {
+            throw new IllegalStateException("reactive redis operations require a ReactiveRedisConnectionFactory, please use lettuce client.");
+        }
+        return reactiveRedisTemplate;
+    }
+
+    /**
+     * 操作指定的db，由于响应式调用不在同一个线程内执行，所以不能像阻塞版本那样通过ThreadLocal切换db，
+     * 这里为每个db返回一个独立的ReactiveRedisHelper，静态RedisHelper不支持切换db。
+     * 响应式命令在订阅后才执行，无法按命令借用，返回的ReactiveRedisHelper缓存了该db的连接工厂，所以该db会被固定，不会被空闲淘汰
+     *
+     * @param db db号
+     * @return 操作该db的ReactiveRedisHelper
+     */
+    public ReactiveRedisHelper opsDb(int db) {
+        return dbReactiveRedisHelpers.computeIfAbsent(db, key -> new ReactiveRedisHelper(redisHelper, pinConnectionFactory(key)));
+    }
+
+    private RedisConnectionFactory pinConnectionFactory(int db) {
+        RedisTemplate<String, String> redisTemplate = redisHelper.getRedisTemplate();
+        if (redisTemplate instanceof AbstractRoutingRedisTemplate) {
+            return ((AbstractRoutingRedisTemplate<String, String>) redisTemplate).pinRedisTemplate(db).getConnectionFactory();
+        }
+        return redisHelper.opsOtherDb(db).getConnectionFactory();
+    }
+
+    protected ReactiveValueOperations<String, String> getValueOperations() {
+        return getReactiveRedisTemplate().opsForValue();
+    }
+
+    protected ReactiveHashOperations<String, String, String> getHashOperations() {
+        return getReactiveRedisTemplate().opsForHash();
+    }
+
+    protected ReactiveListOperations<String, String> getListOperations() {
+        return getReactiveRedisTemplate().opsForList();
+    }
+
+    protected ReactiveSetOperations<String, String> getSetOperations() {
+        return getReactiveRedisTemplate().opsForSet();
+    }
+
+    protected ReactiveZSetOperations<String, String> getZSetOperations() {
+        return getReactiveRedisTemplate().opsForZSet();
+    }
+
+    /**
+     * 执行 Lua 脚本
+     *
+     * @param redisScript Lua 脚本
+     * @param keys        脚本中对应的key
+     * @param args        脚本中用到的参数
+     * @param <T>         返回类型
+     * @return Flux<T>
+     */
+    public <T> Flux<T> executeScript(RedisScript<T> redisScript, List<String> keys, List<?> args) {
+        return getReactiveRedisTemplate().execute(redisScript, keys, args);
+    }
+
+    // =======================================以下是基于reactiveRedisTemplate封装的redis操作===================================
+
+    /**
+     * 删除key
+     *
+     * @param key key
+     */
+    public Mono<Long> delKey(String key) {
+        return getReactiveRedisTemplate().delete(key);
+    }
+
+    /**
+     * 批量删除Key
+     *
+     * @param keys 待删除的keys
+     */
+    public Mono<Long> delKeys(Collection<String> keys) {
+        return getReactiveRedisTemplate().delete(Flux.fromIterable(new HashSet<>(keys)));
+    }
+
+    /**
+     * 判断key是否存在
+     *
+     * @param key key
+     */
+    public Mono<Boolean> hasKey(String key) {
+        return getReactiveRedisTemplate().hasKey(key);
+    }
+
+    /**
+     * 获取key的剩余存活时长
+     *
+     * @param key key
+     */
+    public Mono<Duration> getExpire(String key) {
+        return getReactiveRedisTemplate().getExpire(key);
+    }
+
+    /**
+     * 设置过期时间,默认一天
+     *
+     * @param key key
+     */
+    public Mono<Boolean> setExpire(String key) {
+        return setExpire(key, RedisHelper.DEFAULT_EXPIRE, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 设置过期时间,默认时间单位:秒
+     *
+     * @param key    key
+     * @param expire 存活时长
+     */
+    public Mono<Boolean> setExpire(String key, long expire) {
+        return setExpire(key, expire, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 设置过期时间
+     *
+     * @param key      key
+     * @param expire   存活时长
+     * @param timeUnit 时间单位
+     */
+    public Mono<Boolean> setExpire(String key, long expire, TimeUnit timeUnit) {
+        return getReactiveRedisTemplate().expire(key, toDuration(expire, timeUnit));
+    }
+
+    /**
+     * 按前缀/表达式增量扫描key，结果逐个下发
+     *
+     * @param pattern 表达式
+     */
+    public Flux<String> scan(String pattern) {
+        return getReactiveRedisTemplate().scan(ScanOptions.scanOptions().match(pattern).build());
+    }
+
+    /**
+     * String 设置值
+     *
+     * @param key   key
+     * @param value value
+     */
+    public Mono<Boolean> strSet(String key, String value) {
+        return getValueOperations().set(key, value);
+    }
+
+    /**
+     * String 设置值
+     *
+     * @param key    key
+     * @param value  value
+     * @param expire 过期时间
+     */
+    public Mono<Boolean> strSet(String key, String value, long expire, TimeUnit timeUnit) {
+        if (expire == RedisHelper.NOT_EXPIRE) {
+            return strSet(key, value);
+        }
+        return getValueOperations().set(key, value, toDuration(expire, timeUnit));
+    }
+
+    /**
+     * String 获取值
+     *
+     * @param key key
+     */
+    public Mono<String> strGet(String key) {
+        return getValueOperations().get(key);
+    }
+
+    /**
+     * String 获取值
+     *
+     * @param key   key
+     * @param clazz 待转换的类Class
+     */
+    public <T> Mono<T> strGet(String key, Class<T> clazz) {
+        return strGet(key).flatMap(value -> Mono.justOrEmpty(RedisHelper.fromJson(value, clazz)));
+    }
+
+    /**
+     * String 获取值
+     *
+     * @param key   key
+     * @param start 开始的位置
+     * @param end   结束的位置
+     */
+    public Mono<String> strGet(String key, long start, long end) {
+        return getValueOperations().get(key, start, end);
+    }
+
+    /**
+     * 如果值不存在则设置（原子操作）
+     *
+     * @param key   key
+     * @param value value
+     */
+    public Mono<Boolean> strSetIfAbsent(String key, String value) {
+        return getValueOperations().setIfAbsent(key, value);
+    }
+
+    /**
+     * String 获取自增字段，递减字段可使用delta为负数的方式
+     *
+     * @param key   key
+     * @param delta delta
+     */
+    public Mono<Long> strIncrement(String key, long delta) {
+        return getValueOperations().increment(key, delta);
+    }
+
+    /**
+     * 将对象直接以json数据不设置过期时间的方式保存
+     *
+     * @param key    键
+     * @param object object
+     */
+    public <T> Mono<Boolean> objectSet(String key, T object) {
+        return strSet(key, RedisHelper.toJson(object));
+    }
+
+    /**
+     * List 推入数据至列表左端
+     */
+    public Mono<Long> lstLeftPush(String key, String value) {
+        return getListOperations().leftPush(key, value);
+    }
+
+    /**
+     * List 推入数据至列表左端
+     */
+    public Mono<Long> lstLeftPushAll(String key, Collection<String> values) {
+        return getListOperations().leftPushAll(key, values);
+    }
+
+    /**
+     * List 推入数据至列表右端
+     */
+    public Mono<Long> lstRightPush(String key, String value) {
+        return getListOperations().rightPush(key, value);
+    }
+
+    /**
+     * List 推入数据至列表右端
+     */
+    public Mono<Long> lstRightPushAll(String key, Collection<String> values) {
+        return getListOperations().rightPushAll(key, values);
+    }
+
+    /**
+     * List 返回列表键key中，从索引start至索引end范围的所有列表项，结果逐个下发
+     */
+    public Flux<String> lstRange(String key, long start, long end) {
+        return getListOperations().range(key, start, end);
+    }
+
+    /**
+     * List 返回列表键key中所有的元素，结果逐个下发
+     */
+    public Flux<String> lstAll(String key) {
+        return lstRange(key, 0, -1);
+    }
+
+    /**
+     * List 移除并返回列表最左端的项
+     */
+    public Mono<String> lstLeftPop(String key) {
+        return getListOperations().leftPop(key);
+    }
+
+    /**
+     * List 移除并返回列表最右端的项
+     */
+    public Mono<String> lstRightPop(String key) {
+        return getListOperations().rightPop(key);
+    }
+
+    /**
+     * List 移除并返回列表最左端的项，列表为空时最多等待timeout
+     */
+    public Mono<String> lstLeftPop(String key, long timeout, TimeUnit timeUnit) {
+        return getListOperations().leftPop(key, toDuration(timeout, timeUnit));
+    }
+
+    /**
+     * List 移除并返回列表最右端的项，列表为空时最多等待timeout
+     */
+    public Mono<String> lstRightPop(String key, long timeout, TimeUnit timeUnit) {
+        return getListOperations().rightPop(key, toDuration(timeout, timeUnit));
+    }
+
+    /**
+     * List 返回指定key的长度
+     */
+    public Mono<Long> lstLen(String key) {
+        return getListOperations().size(key);
+    }
+
+    /**
+     * List 设置指定索引上的列表项
+     */
+    public Mono<Boolean> lstSet(String key, long index, String value) {
+        return getListOperations().set(key, index, value);
+    }
+
+    /**
+     * List 根据参数 count的值，移除列表中与参数value相等的元素
+     */
+    public Mono<Long> lstRemove(String key, long index, String value) {
+        return getListOperations().remove(key, index, value);
+    }
+
+    /**
+     * List 返回列表键key中，指定索引index上的列表项
+     */
+    public Mono<String> lstIndex(String key, long index) {
+        return getListOperations().index(key, index);
+    }
+
+    /**
+     * List 对一个列表进行修剪(trim)，让列表只保留指定索引范围内的列表项
+     */
+    public Mono<Boolean> lstTrim(String key, long start, long end) {
+        return getListOperations().trim(key, start, end);
+    }
+
+    /**
+     * Set 将一个或多个元素添加到给定的集合里面，命令返回新添加到集合的元素数量
+     */
+    public Mono<Long> setIrt(String key, String... values) {
+        return getSetOperations().add(key, values);
+    }
+
+    /**
+     * Set 将数组添加到给定的集合里面，命令返回新添加到集合的元素数量
+     */
+    public Mono<Long> setAdd(String key, String[] values) {
+        return getSetOperations().add(key, values);
+    }
+
+    /**
+     * Set 返回集合中所有的元素，结果逐个下发
+     */
+    public Flux<String> setMembers(String key) {
+        return getSetOperations().members(key);
+    }
+
+    /**
+     * Set 使用SSCAN增量遍历集合中的元素，适用于大集合
+     */
+    public Flux<String> setScan(String key, String pattern) {
+        return getSetOperations().scan(key, ScanOptions.scanOptions().match(pattern).build());
+    }
+
+    /**
+     * Set 检查给定的元素是否存在于集合
+     */
+    public Mono<Boolean> setIsmember(String key, String o) {
+        return getSetOperations().isMember(key, o);
+    }
+
+    /**
+     * Set 返回集合包含的元素数量
+     */
+    public Mono<Long> setSize(String key) {
+        return getSetOperations().size(key);
+    }
+
+    /**
+     * Set 计算所有给定集合的交集
+     */
+    public Flux<String> setIntersect(String key, String otherKey) {
+        return getSetOperations().intersect(key, otherKey);
+    }
+
+    /**
+     * Set 计算所有的并集
+     */
+    public Flux<String> setUnion(String key, String otherKey) {
+        return getSetOperations().union(key, otherKey);
+    }
+
+    /**
+     * Set 计算所有的并集
+     */
+    public Flux<String> setUnion(String key, Collection<String> otherKeys) {
+        return getSetOperations().union(key, otherKeys);
+    }
+
+    /**
+     * Set 返回所有给定集合之间的差集
+     */
+    public Flux<String> setDifference(String key, String otherKey) {
+        return getSetOperations().difference(key, otherKey);
+    }
+
+    /**
+     * Set 返回所有给定集合之间的差集
+     */
+    public Flux<String> setDifference(String key, Collection<String> otherKeys) {
+        return getSetOperations().difference(key, otherKeys);
+    }
+
+    /**
+     * set 删除数据
+     */
+    public Mono<Long> setDel(String key, String value) {
+        return getSetOperations().remove(key, value);
+    }
+
+    /**
+     * Set 批量删除数据
+     */
+    public Mono<Long> setRemove(String key, Object[] value) {
+        return getSetOperations().remove(key, value);
+    }
+
+    /**
+     * ZSet 将成员元素及其分数值加入到有序集当中
+     */
+    public Mono<Boolean> zSetAdd(String key, String value, double score) {
+        return getZSetOperations().add(key, value, score);
+    }
+
+    /**
+     * ZSet 返回有序集合中，指定元素的分值
+     */
+    public Mono<Double> zSetScore(String key, String value) {
+        return getZSetOperations().score(key, value);
+    }
+
+    /**
+     * ZSet 为有序集合指定元素的分值加上增量increment
+     */
+    public Mono<Double> zSetIncrementScore(String key, String value, double delta) {
+        return getZSetOperations().incrementScore(key, value, delta);
+    }
+
+    /**
+     * ZSet 返回指定元素在有序集合中的排名（从小到大）
+     */
+    public Mono<Long> zSetRank(String key, String value) {
+        return getZSetOperations().rank(key, value);
+    }
+
+    /**
+     * ZSet 返回成员在有序集合中的逆序排名
+     */
+    public Mono<Long> zSetReverseRank(String key, String value) {
+        return getZSetOperations().reverseRank(key, value);
+    }
+
+    /**
+     * ZSet 返回有序集合的基数
+     */
+    public Mono<Long> zSetSize(String key) {
+        return getZSetOperations().size(key);
+    }
+
+    /**
+     * ZSet 删除数据
+     */
+    public Mono<Long> zSetRemove(String key, String value) {
+        return getZSetOperations().remove(key, value);
+    }
+
+    /**
+     * ZSet 根据score区间删除数据
+     */
+    public Mono<Long> zSetRemoveByScore(String key, double min, double max) {
+        return getZSetOperations().removeRangeByScore(key, Range.closed(min, max));
+    }
+
+    /**
+     * ZSet 返回有序集中指定下标区间内的成员，结果逐个下发
+     */
+    public Flux<String> zSetRange(String key, long start, long end) {
+        return getZSetOperations().range(key, Range.closed(start, end));
+    }
+
+    /**
+     * ZSet 按分值从大到小返回指定下标区间内的成员，结果逐个下发
+     */
+    public Flux<String> zSetReverseRange(String key, long start, long end) {
+        return getZSetOperations().reverseRange(key, Range.closed(start, end));
+    }
+
+    /**
+     * ZSet 返回分值在 min 和 max范围之内的所有元素（升序），结果逐个下发
+     */
+    public Flux<String> zSetRangeByScore(String key, double min, double max) {
+        return getZSetOperations().rangeByScore(key, Range.closed(min, max));
+    }
+
+    /**
+     * ZSet 返回分值在 min 和 max范围之内的所有元素（降序），结果逐个下发
+     */
+    public Flux<String> zSetReverseRangeByScore(String key, double min, double max) {
+        return getZSetOperations().reverseRangeByScore(key, Range.closed(min, max));
+    }
+
+    /**
+     * ZSet 分页返回分值在 min 和 max范围之内的元素（升序），结果逐个下发
+     */
+    public Flux<String> zSetRangeByScore(String key, double min, double max, long offset, long count) {
+        return getZSetOperations().rangeByScore(key, Range.closed(min, max), toLimit(offset, count));
+    }
+
+    /**
+     * ZSet 分页返回分值在 min 和 max范围之内的元素（降序），结果逐个下发
+     */
+    public Flux<String> zSetReverseRangeByScore(String key, double min, double max, long offset, long count) {
+        return getZSetOperations().reverseRangeByScore(key, Range.closed(min, max), toLimit(offset, count));
+    }
+
+    /**
+     * ZSet 返回分值在 min和 max范围内的元素数量
+     */
+    public Mono<Long> zSetCount(String key, double min, double max) {
+        return getZSetOperations().count(key, Range.closed(min, max));
+    }
+
+    /**
+     * ZSet 使用ZSCAN增量遍历有序集合，适用于大集合
+     */
+    public Flux<ZSetOperations.TypedTuple<String>> zSetScan(String key, String pattern) {
+        return getZSetOperations().scan(key, ScanOptions.scanOptions().match(pattern).build());
+    }
+
+    /**
+     * Hash 将哈希表 key 中的域 field的值设为 value
+     */
+    public Mono<Boolean> hshPut(String key, String hashKey, String value) {
+        return getHashOperations().put(key, hashKey, value);
+    }
+
+    /**
+     * Hash 批量插入值，Map的key代表Field
+     */
+    public Mono<Boolean> hshPutAll(String key, Map<String, String> map) {
+        return getHashOperations().putAll(key, map);
+    }
+
+    /**
+     * Hash 返回哈希表 key 中给定域 field的值
+     */
+    public Mono<String> hshGet(String key, String hashKey) {
+        return getHashOperations().get(key, hashKey);
+    }
+
+    /**
+     * Hash 返回散列键 key 中，一个或多个域的值
+     */
+    public Mono<List<String>> hshMultiGet(String key, Collection<String> hashKeys) {
+        return getHashOperations().multiGet(key, hashKeys);
+    }
+
+    /**
+     * Hash 获取散列Key中所有的键值对，结果逐个下发
+     */
+    public Flux<Map.Entry<String, String>> hshGetAll(String key) {
+        return getHashOperations().entries(key);
+    }
+
+    /**
+     * Hash 使用HSCAN增量遍历散列键，适用于大hash
+     */
+    public Flux<Map.Entry<String, String>> hshScan(String key, String pattern) {
+        return getHashOperations().scan(key, ScanOptions.scanOptions().match(pattern).build());
+    }
+
+    /**
+     * Hash 查看哈希表 key 中，给定域 field是否存在
+     */
+    public Mono<Boolean> hshHasKey(String key, String hashKey) {
+        return getHashOperations().hasKey(key, hashKey);
+    }
+
+    /**
+     * Hash 返回哈希表 key 中的所有域，结果逐个下发
+     */
+    public Flux<String> hshKeys(String key) {
+        return getHashOperations().keys(key);
+    }
+
+    /**
+     * Hash 返回散列键 key 中，所有域的值，结果逐个下发
+     */
+    public Flux<String> hshVals(String key) {
+        return getHashOperations().values(key);
+    }
+
+    /**
+     * Hash 散列键 key的数量
+     */
+    public Mono<Long> hshSize(String key) {
+        return getHashOperations().size(key);
+    }
+
+    /**
+     * Hash 删除散列键 key 中的一个或多个指定域
+     */
+    public Mono<Long> hshDelete(String key, Object... hashKeys) {
+        return getHashOperations().remove(key, hashKeys);
+    }
+
+    private static Duration toDuration(long time, TimeUnit timeUnit) {
+        return Duration.ofMillis((timeUnit == null ? TimeUnit.SECONDS : timeUnit).toMillis(time));
+    }
+
+    private static RedisZSetCommands.Limit toLimit(long offset, long count) {
+        return RedisZSetCommands.Limit.limit().offset((int) offset).count((int) count);
+    }
+
+}
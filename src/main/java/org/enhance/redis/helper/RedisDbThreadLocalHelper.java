@@ -2,6 +2,9 @@ package org.enhance.redis.helper;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
 
 /**
  * redis动态切换数据库帮助器
@@ -15,6 +18,29 @@ public class RedisDbThreadLocalHelper {
 
     private static final ThreadLocal<Deque<Integer>> THREAD_DB = new ThreadLocal<>();
 
+    /**
+     * db切换监听（如各个容器的指标统计），为空时不做任何处理
+     */
+    private static final List<IntConsumer> DB_SWITCH_LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * 添加db切换监听，当前线程切换到与当前db不同的db时回调
+     *
+     * @param listener 监听器，参数为切换到的db
+     */
+    public static void addDbSwitchListener(IntConsumer listener) {
+        DB_SWITCH_LISTENERS.add(listener);
+    }
+
+    /**
+     * 移除db切换监听，只移除传入的监听器，不影响其他容器添加的监听
+     *
+     * @param listener 添加时传入的同一个监听器
+     */
+    public static void removeDbSwitchListener(IntConsumer listener) {
+        DB_SWITCH_LISTENERS.remove(listener);
+    }
+
     /**
      * 更改当前线程 RedisTemplate db
      *
@@ -25,6 +51,11 @@ public class RedisDbThreadLocalHelper {
         if (deque == null) {
             deque = new ArrayDeque<>();
         }
+        if (!DB_SWITCH_LISTENERS.isEmpty() && (deque.isEmpty() || deque.getFirst() != db)) {
+            for (IntConsumer listener : DB_SWITCH_LISTENERS) {
+                listener.accept(db);
+            }
+        }
         deque.addFirst(db);
         THREAD_DB.set(deque);
     }
@@ -23,6 +23,7 @@ import org.springframework.util.Assert;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis操作工具类 集成封装一些常用方法
@@ -230,6 +231,22 @@ public class RedisHelper implements InitializingBean {
         return getRedisTemplate().execute(redisScript, keys, args.toArray());
     }
 
+    /**
+     * 以pipeline方式执行代码块中的所有redis操作，所有命令在代码块结束后通过一次网络往返发送到redis
+     * <pre>
+     * List&lt;PipelinedResult&lt;String&gt;&gt; names = new ArrayList&lt;&gt;();
+     * redisHelper.pipelined(pipeline -&gt; userIds.forEach(id -&gt; names.add(pipeline.hshGet("user:" + id, "name"))));
+     * names.get(0).get();
+     * </pre>
+     *
+     * @param block 使用 {@link PipelinedRedisHelper} 记录redis操作的代码块
+     */
+    public void pipelined(Consumer<PipelinedRedisHelper> block) {
+        PipelinedRedisHelper pipeline = new PipelinedRedisHelper();
+        block.accept(pipeline);
+        pipeline.execute(getRedisTemplate());
+    }
+
     // =======================================以下是基于redisTemplate封装的redis操作===================================
 
     /**
@@ -0,0 +1,83 @@
+package org.enhance.redis.hotkey;
+
+import java.util.Objects;
+
+/**
+ * 热点key，计数为滑动窗口内按采样率还原后的访问次数估计值
+ *
+ * @author wenpan 2026/10/19 19:00
+ */
+public class HotKey {
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    private final String key;
+
+    private final long count;
+
+    private final long error;
+
+    HotKey(String dataSourceName, int database, String key, long count, long error) {
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.key = key;
+        this.count = count;
+        this.error = error;
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 窗口内的访问次数估计值（上界）
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 估计值的最大误差，count - error 为访问次数的下界
+     */
+    public long getError() {
+        return error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HotKey hotKey = (HotKey) o;
+        return database == hotKey.database && dataSourceName.equals(hotKey.dataSourceName) && key.equals(hotKey.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataSourceName, database, key);
+    }
+
+    @Override
+    public String toString() {
+        return "HotKey{" +
+                "dataSourceName='" + dataSourceName + '\'' +
+                ", database=" + database +
+                ", key='" + key + '\'' +
+                ", count=" + count +
+                ", error=" + error +
+                '}';
+    }
+}
@@ -0,0 +1,24 @@
+package org.enhance.redis.hotkey;
+
+/**
+ * 热点key监听器，可以在key变热时开启本地缓存等。回调在检测线程中执行，不要做耗时操作
+ *
+ * @author wenpan 2026/10/19 19:00
+ */
+public interface HotKeyListener {
+
+    /**
+     * key的访问次数估计值在窗口内达到阈值
+     *
+     * @param hotKey 热点key
+     */
+    void onHotKey(HotKey hotKey);
+
+    /**
+     * 热点key在窗口内的访问次数降到阈值以下
+     *
+     * @param hotKey 热点key（计数为降温前最后一次检测的值）
+     */
+    default void onHotKeyCooled(HotKey hotKey) {
+    }
+}
@@ -0,0 +1,289 @@
+package org.enhance.redis.hotkey;
+
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.enhance.redis.instrument.RedisCommandEvent;
+import org.enhance.redis.instrument.RedisCommandListener;
+import org.enhance.redis.instrument.RedisCommandListeners;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端热点key检测
+ * <p>
+ * 按采样率抽取命令，每个数据源维护一个由 slices 个时间片组成的滑动窗口，每个时间片是一个
+ * {@link SpaceSavingSketch}。查询时合并窗口内所有时间片得到 top-K；每个时间片结束时检测一次，
+ * 访问次数估计值达到阈值的key回调 {@link HotKeyListener#onHotKey}，降到阈值以下时回调 {@link HotKeyListener#onHotKeyCooled}
+ * <p>
+ * 命令在连接层统计，RedisHelper、RedisTemplate以及动态切换db的路由模板都会被统计到；
+ * 多key命令（如MGET）只统计第一个key，管道中的命令不单独统计
+ *
+ * @author wenpan 2026/10/19 19:00
+ */
+public class RedisHotKeyDetector implements RedisCommandListener, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisHotKeyDetector.class);
+
+    private final Duration window;
+
+    private final int slices;
+
+    private final int capacity;
+
+    private final double sampleRate;
+
+    private final long threshold;
+
+    private final List<HotKeyListener> listeners;
+
+    /**
+     * 数据源 -> 滑动窗口
+     */
+    private final Map<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * 当前写入的时间片下标，所有数据源共用
+     */
+    private volatile int current;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param window     滑动窗口长度
+     * @param slices     窗口划分的时间片个数
+     * @param capacity   每个时间片保留的计数器个数
+     * @param sampleRate 采样率 (0, 1]
+     * @param threshold  窗口内访问次数估计值达到该值时认为是热点key
+     * @param listeners  热点key监听器
+     */
+    public RedisHotKeyDetector(Duration window, int slices, int capacity, double sampleRate, long threshold,
+                               List<HotKeyListener> listeners) {
+        if (slices <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("hot key slices and capacity must be positive.");
+        }
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("hot key sample rate must be in (0, 1].");
+        }
+        if (window.toMillis() < slices) {
+            throw new IllegalArgumentException("hot key window is too short for " + slices + " slices.");
+        }
+        this.window = window;
+        this.slices = slices;
+        this.capacity = capacity;
+        this.sampleRate = sampleRate;
+        this.threshold = threshold;
+        this.listeners = listeners == null ? Collections.emptyList() : new ArrayList<>(listeners);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long sliceMillis = window.toMillis() / slices;
+        scheduler = Executors.newSingleThreadScheduledExecutor(RedisExecutors.threadFactory("redis-hotkey"));
+        scheduler.scheduleAtFixedRate(this::rotate, sliceMillis, sliceMillis, TimeUnit.MILLISECONDS);
+        RedisCommandListeners.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        RedisCommandListeners.unregister(this);
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onCommand(RedisCommandEvent event) {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String key = event.getKey();
+        if (key == null) {
+            return;
+        }
+        windows.computeIfAbsent(event.getDataSourceName(), name -> new SlidingWindow(slices, capacity))
+                .slices[current]
+                .offer(new DbKey(event.getDatabase(), key));
+    }
+
+    /**
+     * 切换到下一个时间片并检测热点key，先清空下一个时间片再切换，写入线程不会写到被清空的时间片
+     */
+    void rotate() {
+        try {
+            int next = (current + 1) % slices;
+            windows.values().forEach(window -> window.slices[next].clear());
+            current = next;
+            windows.forEach(this::detect);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("hot key detection failed.", ex);
+        }
+    }
+
+    private void detect(String dataSourceName, SlidingWindow window) {
+        Set<HotKey> hotKeys = new HashSet<>();
+        for (HotKey hotKey : topKeys(dataSourceName, window, capacity)) {
+            if (hotKey.getCount() < threshold) {
+                break;
+            }
+            hotKeys.add(hotKey);
+        }
+        Set<HotKey> previous = window.hotKeys;
+        window.hotKeys = hotKeys;
+        for (HotKey hotKey : hotKeys) {
+            if (!previous.contains(hotKey)) {
+                notifyListeners(hotKey, true);
+            }
+        }
+        for (HotKey hotKey : previous) {
+            if (!hotKeys.contains(hotKey)) {
+                notifyListeners(hotKey, false);
+            }
+        }
+    }
+
+    private void notifyListeners(HotKey hotKey, boolean hot) {
+        if (hot) {
+            LOGGER.info("redis hot key detected: {}", hotKey);
+        }
+        for (HotKeyListener listener : listeners) {
+            try {
+                if (hot) {
+                    listener.onHotKey(hotKey);
+                } else {
+                    listener.onHotKeyCooled(hotKey);
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.warn("hot key listener [{}] failed.", listener, ex);
+            }
+        }
+    }
+
+    private List<HotKey> topKeys(String dataSourceName, SlidingWindow window, int limit) {
+        Map<DbKey, long[]> merged = new HashMap<>(capacity * 2);
+        for (SpaceSavingSketch<DbKey> slice : window.slices) {
+            slice.mergeInto(merged);
+        }
+        List<HotKey> result = new ArrayList<>(merged.size());
+        merged.forEach((dbKey, counts) -> result.add(new HotKey(dataSourceName, dbKey.database, dbKey.key,
+                Math.round(counts[0] / sampleRate), Math.round(counts[1] / sampleRate))));
+        result.sort(Comparator.comparingLong(HotKey::getCount).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * 获取指定数据源在当前窗口内访问最多的key
+     *
+     * @param dataSourceName 数据源名称
+     * @param limit          最多返回的个数
+     * @return 按访问次数估计值降序
+     */
+    public List<HotKey> getTopKeys(String dataSourceName, int limit) {
+        SlidingWindow window = windows.get(dataSourceName);
+        return window == null ? Collections.emptyList() : topKeys(dataSourceName, window, limit);
+    }
+
+    /**
+     * 获取所有数据源在当前窗口内访问最多的key
+     *
+     * @param limit 每个数据源最多返回的个数
+     * @return 数据源 -> 按访问次数估计值降序的key
+     */
+    public Map<String, List<HotKey>> getTopKeys(int limit) {
+        Map<String, List<HotKey>> result = new TreeMap<>();
+        windows.forEach((name, window) -> result.put(name, topKeys(name, window, limit)));
+        return result;
+    }
+
+    /**
+     * 获取指定数据源最近一次检测出的热点key
+     */
+    public Set<HotKey> getHotKeys(String dataSourceName) {
+        SlidingWindow window = windows.get(dataSourceName);
+        return window == null ? Collections.emptySet() : Collections.unmodifiableSet(window.hotKeys);
+    }
+
+    /**
+     * 最近一次检测时该key是否是热点key
+     */
+    public boolean isHotKey(String dataSourceName, int database, String key) {
+        return getHotKeys(dataSourceName).contains(new HotKey(dataSourceName, database, key, 0, 0));
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static final class SlidingWindow {
+
+        private final SpaceSavingSketch<DbKey>[] slices;
+
+        private volatile Set<HotKey> hotKeys = Collections.emptySet();
+
+        @SuppressWarnings("unchecked")
+        SlidingWindow(int slices, int capacity) {
+            this.slices = (SpaceSavingSketch<DbKey>[]) new SpaceSavingSketch<?>[slices];
+            for (int i = 0; i < slices; i++) {
+                this.slices[i] = new SpaceSavingSketch<>(capacity);
+            }
+        }
+    }
+
+    private static final class DbKey {
+
+        private final int database;
+
+        private final String key;
+
+        DbKey(int database, String key) {
+            this.database = database;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DbKey)) {
+                return false;
+            }
+            DbKey dbKey = (DbKey) o;
+            return database == dbKey.database && key.equals(dbKey.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(database, key);
+        }
+    }
+}
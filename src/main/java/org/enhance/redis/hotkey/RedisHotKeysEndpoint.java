@@ -0,0 +1,58 @@
+package org.enhance.redis.hotkey;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 热点key端点：/actuator/redishotkeys
+ *
+ * @author wenpan 2026/10/19 19:00
+ */
+@Endpoint(id = "redishotkeys")
+public class RedisHotKeysEndpoint {
+
+    private final RedisHotKeyDetector detector;
+
+    public RedisHotKeysEndpoint(RedisHotKeyDetector detector) {
+        this.detector = detector;
+    }
+
+    /**
+     * 查询所有数据源当前窗口内访问最多的key
+     *
+     * @param limit 每个数据源最多返回的个数，为空时返回全部计数器
+     */
+    @ReadOperation
+    public Map<String, Object> hotKeys(@Nullable Integer limit) {
+        Map<String, Object> result = header();
+        result.put("dataSources", detector.getTopKeys(limit == null ? detector.getCapacity() : limit));
+        return result;
+    }
+
+    /**
+     * 查询指定数据源当前窗口内访问最多的key
+     *
+     * @param name  数据源名称，默认数据源为 defaultSource
+     * @param limit 最多返回的个数，为空时返回全部计数器
+     */
+    @ReadOperation
+    public Map<String, Object> dataSourceHotKeys(@Selector String name, @Nullable Integer limit) {
+        Map<String, Object> result = header();
+        result.put("hotKeys", detector.getHotKeys(name));
+        result.put("topKeys", detector.getTopKeys(name, limit == null ? detector.getCapacity() : limit));
+        return result;
+    }
+
+    private Map<String, Object> header() {
+        Map<String, Object> result = new LinkedHashMap<>(8);
+        result.put("windowSeconds", detector.getWindow().getSeconds());
+        result.put("sampleRate", detector.getSampleRate());
+        result.put("threshold", detector.getThreshold());
+        return result;
+    }
+}
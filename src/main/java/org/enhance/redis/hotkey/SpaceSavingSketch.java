@@ -0,0 +1,168 @@
+package org.enhance.redis.hotkey;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-Saving 算法的 top-K 计数器：最多保留 capacity 个计数器，计数器用完时新元素替换计数最小的元素，
+ * 并继承它的计数作为误差上界。访问频率高于 N/capacity 的元素一定会被保留
+ * <p>
+ * 计数器按计数挂在有序的桶链表上（Stream-Summary），同一个桶内的计数器计数相同，桶按计数从小到大排列，
+ * 计数加一只需要把计数器移到下一个桶，替换时直接取第一个桶中的计数器，offer 的时间复杂度为 O(1)
+ *
+ * @author wenpan 2026/10/19 19:00
+ */
+final class SpaceSavingSketch<K> {
+
+    private final int capacity;
+
+    private final Map<K, Counter<K>> counters;
+
+    /**
+     * 计数最小的桶
+     */
+    private Bucket<K> head;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void offer(K item) {
+        Counter<K> counter = counters.get(item);
+        if (counter != null) {
+            increment(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter<>(item);
+            counters.put(item, counter);
+            // 已有计数器的计数都不小于1，计数为1的桶只能是第一个桶
+            if (head == null || head.count != 1) {
+                Bucket<K> bucket = new Bucket<>(1);
+                bucket.next = head;
+                if (head != null) {
+                    head.prev = bucket;
+                }
+                head = bucket;
+            }
+            head.add(counter);
+            return;
+        }
+        counter = head.first;
+        counters.remove(counter.item);
+        counter.item = item;
+        counter.error = head.count;
+        counters.put(item, counter);
+        increment(counter);
+    }
+
+    /**
+     * 计数器移到计数加一的桶，没有时在当前桶之后插入一个
+     */
+    private void increment(Counter<K> counter) {
+        Bucket<K> bucket = counter.bucket;
+        Bucket<K> next = bucket.next;
+        long count = bucket.count + 1;
+        bucket.remove(counter);
+        if (next == null || next.count != count) {
+            Bucket<K> inserted = new Bucket<>(count);
+            inserted.prev = bucket;
+            inserted.next = next;
+            bucket.next = inserted;
+            if (next != null) {
+                next.prev = inserted;
+            }
+            next = inserted;
+        }
+        next.add(counter);
+        if (bucket.first == null) {
+            unlink(bucket);
+        }
+    }
+
+    private void unlink(Bucket<K> bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            head = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    /**
+     * 将计数累加到 target 中，value 为 {计数, 误差}
+     */
+    synchronized void mergeInto(Map<K, long[]> target) {
+        counters.forEach((item, counter) -> {
+            long[] merged = target.computeIfAbsent(item, key -> new long[2]);
+            merged[0] += counter.bucket.count;
+            merged[1] += counter.error;
+        });
+    }
+
+    synchronized void clear() {
+        counters.clear();
+        head = null;
+    }
+
+    private static final class Counter<K> {
+
+        private K item;
+
+        private long error;
+
+        private Bucket<K> bucket;
+
+        private Counter<K> prev;
+
+        private Counter<K> next;
+
+        private Counter(K item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * 计数相同的计数器组成的双向链表
+     */
+    private static final class Bucket<K> {
+
+        private final long count;
+
+        private Bucket<K> prev;
+
+        private Bucket<K> next;
+
+        private Counter<K> first;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+        private void add(Counter<K> counter) {
+            counter.bucket = this;
+            counter.prev = null;
+            counter.next = first;
+            if (first != null) {
+                first.prev = counter;
+            }
+            first = counter;
+        }
+
+        private void remove(Counter<K> counter) {
+            if (counter.prev != null) {
+                counter.prev.next = counter.next;
+            } else {
+                first = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.prev = counter.prev;
+            }
+            counter.prev = null;
+            counter.next = null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.enhance.redis.infra.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 平台线程（普通线程）的创建方式，{@link RedisExecutors} 的各个版本实现在不支持或关闭虚拟线程时都回退到这里
+ *
+ * @author wenpan 2026/10/19 14:05
+ */
+final class PlatformThreads {
+
+    private PlatformThreads() {
+    }
+
+    /**
+     * 创建守护线程工厂，线程名称为 namePrefix-序号
+     */
+    static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger(0);
+        return r -> {
+            Thread thread = new Thread(r, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 创建有界线程池，空闲线程60秒后回收
+     */
+    static ExecutorService newTaskExecutor(String namePrefix, int maxThreads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory(namePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,68 @@
+package org.enhance.redis.infra.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 组件内部后台任务、并发任务使用的线程创建入口
+ * <p>
+ * 该类是多版本jar（Multi-Release）中的java8版本，始终使用平台线程；
+ * 在 JDK 21+ 上运行时会加载 META-INF/versions/21 下的同名类，使用虚拟线程执行阻塞的jedis/lettuce调用，
+ * 并发度不再受限于线程池大小
+ * <p>
+ * 组件内的加锁约定：临界区内有阻塞IO（创建或关闭连接工厂、连接池，发送命令）时使用 {@link java.util.concurrent.locks.ReentrantLock}，
+ * 虚拟线程在 synchronized 块内阻塞会钉住（pin）载体线程；只读写内存的短临界区可以继续使用 synchronized
+ *
+ * @author wenpan 2026/10/19 14:05
+ */
+public final class RedisExecutors {
+
+    private static volatile boolean virtualThreadsEnabled = true;
+
+    private RedisExecutors() {
+    }
+
+    /**
+     * 当前运行环境是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadSupported() {
+        return false;
+    }
+
+    /**
+     * 是否实际使用虚拟线程（运行环境支持且没有通过配置关闭）
+     */
+    public static boolean isUsingVirtualThreads() {
+        return isVirtualThreadSupported() && virtualThreadsEnabled;
+    }
+
+    /**
+     * 开启或关闭虚拟线程，对之后创建的线程生效
+     *
+     * @param enabled 是否开启
+     */
+    public static void setVirtualThreadsEnabled(boolean enabled) {
+        virtualThreadsEnabled = enabled;
+    }
+
+    /**
+     * 获取线程工厂
+     *
+     * @param namePrefix 线程名称前缀
+     * @return ThreadFactory
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        return PlatformThreads.threadFactory(namePrefix);
+    }
+
+    /**
+     * 创建执行并发任务的线程池
+     *
+     * @param namePrefix 线程名称前缀
+     * @param maxThreads 平台线程模式下的最大线程数
+     * @return ExecutorService
+     */
+    public static ExecutorService newTaskExecutor(String namePrefix, int maxThreads) {
+        return PlatformThreads.newTaskExecutor(namePrefix, maxThreads);
+    }
+}
@@ -0,0 +1,210 @@
+package org.enhance.redis.infra.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在 {@link RedisExecutors} 创建的线程池中执行有超时时间的任务（PING、建连、关闭连接工厂等）
+ * <ul>
+ *     <li>每个任务的超时时间从该任务开始执行时计算，在有界线程池中排队等待线程的时间不计入</li>
+ *     <li>排队的任务最多等待前面未结束的任务各执行一轮 timeout（按线程数分轮），超过后仍没有开始执行的视为超时</li>
+ *     <li>超时的任务不会被取消，由客户端的连接超时、命令超时结束</li>
+ * </ul>
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+public final class TimedTasks {
+
+    private final ExecutorService executor;
+
+    /**
+     * 同时执行的最大任务数，使用虚拟线程时不限制
+     */
+    private final int parallelism;
+
+    private final Duration timeout;
+
+    /**
+     * 已提交还没有执行结束的任务数（排队中和正在执行的）
+     */
+    private final AtomicInteger unfinished = new AtomicInteger();
+
+    /**
+     * @param namePrefix 线程名称前缀
+     * @param maxThreads 平台线程模式下的最大线程数
+     * @param timeout    每个任务的超时时间
+     */
+    public TimedTasks(String namePrefix, int maxThreads, Duration timeout) {
+        int threads = Math.max(1, maxThreads);
+        this.parallelism = RedisExecutors.isUsingVirtualThreads() ? Integer.MAX_VALUE : threads;
+        this.executor = RedisExecutors.newTaskExecutor(namePrefix, threads);
+        this.timeout = timeout;
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param task 任务
+     * @return 可以等待结果的任务
+     */
+    public <T> TimedTask<T> submit(Callable<T> task) {
+        int ahead = unfinished.getAndIncrement();
+        long submittedAt = System.nanoTime();
+        TimedTask<T> timed = new TimedTask<>(submittedAt, submittedAt + (ahead / parallelism + 1L) * timeout.toNanos());
+        try {
+            timed.future = executor.submit(() -> {
+                timed.startedAt = System.nanoTime();
+                timed.started.countDown();
+                try {
+                    return task.call();
+                } finally {
+                    unfinished.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            unfinished.decrementAndGet();
+            throw ex;
+        }
+        return timed;
+    }
+
+    /**
+     * 不再接收新任务，已提交的任务继续执行
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 不再接收新任务，还没有开始执行的任务不再执行，并中断正在执行的任务
+     */
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 已提交的任务
+     */
+    public final class TimedTask<T> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final long submittedAt;
+
+        /**
+         * 最晚开始执行的时间，超过后还没有开始执行的视为超时
+         */
+        private final long latestStart;
+
+        private volatile long startedAt;
+
+        private Future<T> future;
+
+        private TimedTask(long submittedAt, long latestStart) {
+            this.submittedAt = submittedAt;
+            this.latestStart = latestStart;
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * 等待任务结束，最多等到开始执行后的 timeout，任务已经结束或超时时立即返回
+         *
+         * @return 任务结果
+         */
+        public Result<T> await() {
+            try {
+                if (!started.await(latestStart - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    return Result.timedOut("not started within " + TimeUnit.NANOSECONDS.toMillis(latestStart - submittedAt) + "ms");
+                }
+                return Result.success(future.get(startedAt + timeout.toNanos() - System.nanoTime(), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException ex) {
+                return Result.timedOut("timed out after " + timeout.toMillis() + "ms");
+            } catch (ExecutionException ex) {
+                return Result.failed(ex.getCause());
+            } catch (CancellationException ex) {
+                return Result.timedOut("cancelled");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return Result.timedOut("interrupted");
+            }
+        }
+    }
+
+    /**
+     * 任务结果
+     */
+    public static final class Result<T> {
+
+        private final T value;
+
+        private final Throwable error;
+
+        private final String failure;
+
+        private Result(T value, Throwable error, String failure) {
+            this.value = value;
+            this.error = error;
+            this.failure = failure;
+        }
+
+        static <T> Result<T> success(T value) {
+            return new Result<>(value, null, null);
+        }
+
+        static <T> Result<T> failed(Throwable error) {
+            return new Result<>(null, error, String.valueOf(error));
+        }
+
+        static <T> Result<T> timedOut(String failure) {
+            return new Result<>(null, null, failure);
+        }
+
+        public boolean isSuccess() {
+            return failure == null;
+        }
+
+        /**
+         * 超时、没有开始执行或等待被中断，任务本身没有抛出异常
+         */
+        public boolean isTimedOut() {
+            return failure != null && error == null;
+        }
+
+        /**
+         * @return 任务的返回值，失败时为null
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return 任务抛出的异常，成功或超时时为null
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * @return 失败原因，成功时为null
+         */
+        public String getFailure() {
+            return failure;
+        }
+    }
+}
@@ -20,11 +20,17 @@ public interface DynamicRedisConstants {
 
         String REDIS_HELPER = "RedisHelper";
 
+        String REACTIVE_REDIS_HELPER = "ReactiveRedisHelper";
+
         String DEFAULT_SOURCE = "defaultSource";
 
         String DEFAULT_SOURCE_HELPER = "defaultSourceRedisHelper";
 
         String DEFAULT_SOURCE_TEMPLATE = "defaultSourceRedisTemplate";
+
+        String DEFAULT_SOURCE_REACTIVE_HELPER = "defaultSourceReactiveRedisHelper";
+
+        String PARALLEL_INITIALIZER = "redisDataSourceParallelInitializer";
     }
 
     /**
@@ -37,6 +43,8 @@ public interface DynamicRedisConstants {
         String DEFAULT = "default";
 
         String DEFAULT_REDIS_HELPER = "default-helper";
+
+        String REACTIVE_REDIS_HELPER = "reactiveRedisHelper";
     }
 
     /**
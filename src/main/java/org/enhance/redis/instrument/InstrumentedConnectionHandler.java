@@ -0,0 +1,201 @@
+package org.enhance.redis.instrument;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * redis连接代理，记录连接上执行的每个命令并通知 {@link RedisCommandListeners}
+ * <p>
+ * pipeline和事务中的命令只是入队，不单独记录，分别在 closePipeline、exec 时作为一个整体记录；
+ * 命令执行前的回调对入队的命令同样生效
+ *
+ * @author wenpan 2026/10/19 16:10
+ */
+class InstrumentedConnectionHandler implements InvocationHandler {
+
+    /**
+     * 不属于redis命令的方法，直接透传
+     */
+    private static final Set<String> PASS_THROUGH = new HashSet<>(Arrays.asList(
+            "close", "isClosed", "getNativeConnection", "isQueueing", "isPipelined", "openPipeline",
+            "getSentinelConnection", "isSubscribed", "getSubscription", "getClusterCommandExecutor"));
+
+    /**
+     * 方法对应的命令名称缓存，null值用空字符串表示透传
+     */
+    private static final Map<Method, String> COMMAND_NAMES = new ConcurrentHashMap<>(256);
+
+    private static final String NOT_A_COMMAND = "";
+
+    private static final String COMMANDS_ACCESSOR = "COMMANDS_ACCESSOR";
+
+    private final Object target;
+
+    private final ConnectionState state;
+
+    private InstrumentedConnectionHandler(Object target, ConnectionState state) {
+        this.target = target;
+        this.state = state;
+    }
+
+    /**
+     * 创建连接代理，代理实现目标连接的所有接口
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(T target, String dataSourceName, int database, long acquireNanos) {
+        return (T) newProxy(target, new ConnectionState(dataSourceName, database, acquireNanos));
+    }
+
+    private static Object newProxy(Object target, ConnectionState state) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(target.getClass(), target.getClass().getClassLoader());
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces,
+                new InstrumentedConnectionHandler(target, state));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+        String command = COMMAND_NAMES.computeIfAbsent(method, InstrumentedConnectionHandler::commandName);
+        if (command == NOT_A_COMMAND) {
+            return trackState(method.getName(), invokeTarget(method, args));
+        }
+        // xxxCommands() 返回的命令对象同样需要代理
+        if (command == COMMANDS_ACCESSOR) {
+            Object commands = invokeTarget(method, args);
+            return commands == null ? null : newProxy(commands, state);
+        }
+        // execute(String command, byte[]... args) 以实际执行的命令命名
+        if ("execute".equals(method.getName()) && args != null && args.length > 0 && args[0] instanceof String) {
+            command = ((String) args[0]).toUpperCase(Locale.ROOT);
+        }
+        boolean batch = "closePipeline".equals(method.getName()) || "exec".equals(method.getName());
+        if (!batch) {
+            RedisCommandListeners.fireBefore(state.dataSourceName, state.database, command, args, state.queued());
+        }
+        if (state.queued() && !batch) {
+            return trackState(method.getName(), invokeTarget(method, args));
+        }
+
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = invokeTarget(method, args);
+            return result;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            trackState(method.getName(), null);
+            RedisCommandListeners.fire(new RedisCommandEvent(state.dataSourceName, state.database, command,
+                    args, result, error, duration, state.takeAcquireNanos()));
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * 跟踪pipeline和事务状态
+     */
+    private Object trackState(String methodName, Object result) {
+        switch (methodName) {
+            case "openPipeline":
+                state.pipelined = true;
+                break;
+            case "closePipeline":
+                state.pipelined = false;
+                break;
+            case "multi":
+                state.queueing = true;
+                break;
+            case "exec":
+            case "discard":
+                state.queueing = false;
+                break;
+            default:
+        }
+        return result;
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Instrumented[" + target + "]";
+            default:
+                return invokeTarget(method, args);
+        }
+    }
+
+    private static boolean isCommandsAccessor(Method method) {
+        return method.getParameterCount() == 0 && method.getName().endsWith("Commands")
+                && method.getReturnType().isInterface();
+    }
+
+    private static String commandName(Method method) {
+        if (PASS_THROUGH.contains(method.getName())) {
+            return NOT_A_COMMAND;
+        }
+        if ("closePipeline".equals(method.getName())) {
+            return RedisCommandEvent.PIPELINE;
+        }
+        if (isCommandsAccessor(method)) {
+            return COMMANDS_ACCESSOR;
+        }
+        return method.getName().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 一个连接（以及它的命令对象）共享的状态
+     */
+    private static final class ConnectionState {
+
+        private final String dataSourceName;
+
+        private final int database;
+
+        private long acquireNanos;
+
+        private boolean pipelined;
+
+        private boolean queueing;
+
+        private ConnectionState(String dataSourceName, int database, long acquireNanos) {
+            this.dataSourceName = dataSourceName;
+            this.database = database;
+            this.acquireNanos = acquireNanos;
+        }
+
+        private boolean queued() {
+            return pipelined || queueing;
+        }
+
+        private long takeAcquireNanos() {
+            long nanos = acquireNanos;
+            acquireNanos = 0;
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.enhance.redis.instrument;
+
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.register.SharedRedisConnectionFactoryRegister;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReactiveRedisClusterConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 可观测的redis连接工厂，包装jedis或lettuce的连接工厂，记录该工厂所属的数据源和db
+ * <p>
+ * 注册了 {@link RedisCommandListener} 时返回代理连接，每个命令执行完成后通知监听器；
+ * 没有监听器时直接返回原始连接。响应式连接不做记录，直接透传
+ *
+ * @author wenpan 2026/10/19 16:10
+ */
+public class InstrumentedRedisConnectionFactory implements RedisConnectionFactory, DisposableBean {
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    /**
+     * 原始连接工厂，数据源配置重新加载时被替换
+     */
+    private volatile RedisConnectionFactory delegate;
+
+    /**
+     * 是否由该包装类负责销毁原始连接工厂，容器中的连接工厂由spring负责销毁
+     */
+    private final boolean ownsDelegate;
+
+    /**
+     * 替换原始连接工厂和销毁互斥，避免替换进来的连接工厂在包装工厂销毁后泄漏
+     */
+    private final Lock lifecycleLock = new ReentrantLock();
+
+    private boolean destroyed;
+
+    /**
+     * 创建时间（毫秒时间戳）
+     */
+    private final long createdAt = System.currentTimeMillis();
+
+    /**
+     * 是否通过该包装工厂获取过连接，直接使用原始连接工厂（如启动预热）不计入
+     */
+    private volatile boolean used;
+
+    InstrumentedRedisConnectionFactory(String dataSourceName, int database,
+                                       RedisConnectionFactory delegate, boolean ownsDelegate) {
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.delegate = delegate;
+        this.ownsDelegate = ownsDelegate;
+    }
+
+    /**
+     * 包装连接工厂，原始连接工厂实现了 {@link ReactiveRedisConnectionFactory} 时，包装后的工厂同样实现该接口。
+     * 包装后的工厂注册到 {@link RedisConnectionFactoryRegister}。不由包装工厂销毁的原始连接工厂（容器中的连接工厂）多次包装返回同一个实例，
+     * 由包装工厂销毁的原始连接工厂可能被多个使用方共用，每次包装都返回新的实例
+     *
+     * @param dataSourceName 数据源名称
+     * @param database       db
+     * @param delegate       原始连接工厂
+     * @param ownsDelegate   销毁包装工厂时是否销毁原始连接工厂
+     * @return 包装后的连接工厂
+     */
+    public static InstrumentedRedisConnectionFactory wrap(String dataSourceName, int database,
+                                                          RedisConnectionFactory delegate, boolean ownsDelegate) {
+        if (delegate instanceof InstrumentedRedisConnectionFactory) {
+            return (InstrumentedRedisConnectionFactory) delegate;
+        }
+        if (ownsDelegate) {
+            // 共用的原始连接工厂被多个数据源/db使用，每个使用方各自一个包装工厂
+            InstrumentedRedisConnectionFactory factory = create(dataSourceName, database, delegate, true);
+            RedisConnectionFactoryRegister.register(factory);
+            return factory;
+        }
+        return RedisConnectionFactoryRegister.computeIfAbsent(delegate, key -> create(dataSourceName, database, key, false));
+    }
+
+    private static InstrumentedRedisConnectionFactory create(String dataSourceName, int database,
+                                                             RedisConnectionFactory delegate, boolean ownsDelegate) {
+        if (delegate instanceof ReactiveRedisConnectionFactory) {
+            return new Reactive(dataSourceName, database, delegate, ownsDelegate);
+        }
+        return new InstrumentedRedisConnectionFactory(dataSourceName, database, delegate, ownsDelegate);
+    }
+
+    @Override
+    @NonNull
+    public RedisConnection getConnection() {
+        markUsed();
+        if (!RedisCommandListeners.hasListeners()) {
+            return delegate.getConnection();
+        }
+        long start = System.nanoTime();
+        RedisConnection connection = delegate.getConnection();
+        return InstrumentedConnectionHandler.proxy(connection, dataSourceName, database, System.nanoTime() - start);
+    }
+
+    @Override
+    @NonNull
+    public RedisClusterConnection getClusterConnection() {
+        markUsed();
+        if (!RedisCommandListeners.hasListeners()) {
+            return delegate.getClusterConnection();
+        }
+        long start = System.nanoTime();
+        RedisClusterConnection connection = delegate.getClusterConnection();
+        return InstrumentedConnectionHandler.proxy(connection, dataSourceName, database, System.nanoTime() - start);
+    }
+
+    /**
+     * 先读再写，已经使用过时不再写volatile字段
+     */
+    void markUsed() {
+        if (!used) {
+            used = true;
+        }
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return delegate.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    @NonNull
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(@NonNull RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        lifecycleLock.lock();
+        try {
+            // 容器关闭时可能已经被统一关闭过，不能重复释放原始连接工厂
+            if (destroyed) {
+                return;
+            }
+            destroyed = true;
+            RedisConnectionFactoryRegister.unregister(this);
+            if (ownsDelegate) {
+                // 与其他数据源/db共用的连接工厂在最后一个使用方释放时才销毁
+                SharedRedisConnectionFactoryRegister.release(delegate);
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * 替换原始连接工厂，之后获取的连接都来自新的连接工厂，已经获取到的连接不受影响。
+     * 只能替换由该包装类负责销毁的原始连接工厂，被替换下来的连接工厂由调用方在连接归还后通过
+     * {@link SharedRedisConnectionFactoryRegister#release(RedisConnectionFactory)} 释放
+     *
+     * @param newDelegate 新的原始连接工厂
+     * @return 被替换下来的原始连接工厂；该包装工厂已经销毁时不替换，返回 newDelegate
+     */
+    public RedisConnectionFactory swapDelegate(RedisConnectionFactory newDelegate) {
+        if (!ownsDelegate) {
+            throw new IllegalStateException("connection factory of datasource [" + dataSourceName
+                    + "] is managed by spring and can not be replaced.");
+        }
+        if (newDelegate instanceof InstrumentedRedisConnectionFactory
+                || this instanceof ReactiveRedisConnectionFactory && !(newDelegate instanceof ReactiveRedisConnectionFactory)) {
+            throw new IllegalArgumentException("connection factory of datasource [" + dataSourceName
+                    + "] can not be replaced with " + newDelegate.getClass().getName());
+        }
+        lifecycleLock.lock();
+        try {
+            if (destroyed) {
+                return newDelegate;
+            }
+            RedisConnectionFactory oldDelegate = delegate;
+            delegate = newDelegate;
+            return oldDelegate;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * 是否通过该包装工厂获取过连接
+     */
+    public boolean isUsed() {
+        return used;
+    }
+
+    /**
+     * 是否由该包装类负责销毁原始连接工厂
+     */
+    public boolean isOwnsDelegate() {
+        return ownsDelegate;
+    }
+
+    /**
+     * 获取原始的jedis或lettuce连接工厂
+     */
+    public RedisConnectionFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedRedisConnectionFactory{" +
+                "dataSourceName='" + dataSourceName + '\'' +
+                ", database=" + database +
+                ", delegate=" + delegate.getClass().getSimpleName() +
+                '}';
+    }
+
+    /**
+     * 支持响应式连接的包装工厂（lettuce）
+     */
+    static class Reactive extends InstrumentedRedisConnectionFactory implements ReactiveRedisConnectionFactory {
+
+        Reactive(String dataSourceName, int database, RedisConnectionFactory delegate, boolean ownsDelegate) {
+            super(dataSourceName, database, delegate, ownsDelegate);
+        }
+
+        @Override
+        @NonNull
+        public ReactiveRedisConnection getReactiveConnection() {
+            markUsed();
+            return ((ReactiveRedisConnectionFactory) getDelegate()).getReactiveConnection();
+        }
+
+        @Override
+        @NonNull
+        public ReactiveRedisClusterConnection getReactiveClusterConnection() {
+            markUsed();
+            return ((ReactiveRedisConnectionFactory) getDelegate()).getReactiveClusterConnection();
+        }
+    }
+}
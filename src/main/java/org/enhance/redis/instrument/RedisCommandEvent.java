@@ -0,0 +1,174 @@
+package org.enhance.redis.instrument;
+
+import org.springframework.data.redis.connection.ReturnType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * redis命令执行事件
+ *
+ * @author wenpan 2026/10/19 16:10
+ */
+public final class RedisCommandEvent {
+
+    /**
+     * pipeline关闭时（一次性发送所有命令）记录的命令名称
+     */
+    public static final String PIPELINE = "PIPELINE";
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    private final String command;
+
+    private final Object[] args;
+
+    private final Object result;
+
+    private final Throwable error;
+
+    private final long durationNanos;
+
+    private final long connectionAcquireNanos;
+
+    private String key;
+
+    RedisCommandEvent(String dataSourceName, int database, String command, Object[] args, Object result,
+                      Throwable error, long durationNanos, long connectionAcquireNanos) {
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.command = command;
+        this.args = args;
+        this.result = result;
+        this.error = error;
+        this.durationNanos = durationNanos;
+        this.connectionAcquireNanos = connectionAcquireNanos;
+    }
+
+    /**
+     * 数据源名称，默认数据源为 defaultSource
+     */
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    /**
+     * 命令执行的db
+     */
+    public int getDatabase() {
+        return database;
+    }
+
+    /**
+     * 命令名称（大写），如 GET、HSET、PIPELINE
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * 命令参数（序列化后的原始参数），不要修改
+     */
+    public Object[] getArgs() {
+        return args;
+    }
+
+    /**
+     * 命令返回值，pipeline或事务中的命令为null
+     */
+    public Object getResult() {
+        return result;
+    }
+
+    /**
+     * 命令执行异常，成功时为null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * 命令耗时（纳秒），不包含获取连接的耗时
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * 获取该命令所用连接的耗时（纳秒），只有连接上的第一个命令会带上该值，其余为0
+     */
+    public long getConnectionAcquireNanos() {
+        return connectionAcquireNanos;
+    }
+
+    /**
+     * 命令操作的第一个key，没有key的命令返回null
+     */
+    public String getKey() {
+        if (key == null) {
+            key = firstKey(args);
+        }
+        return key;
+    }
+
+    /**
+     * 解析命令参数中的第一个key，没有key的命令返回null；execute(String, byte[]...) 取命令名之后的第一个参数，
+     * eval/evalSha(script, ReturnType, numKeys, keysAndArgs...) 在 numKeys 大于0时取 keysAndArgs 的第一个
+     *
+     * @param args 命令参数
+     */
+    public static String firstKey(Object[] args) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        if (isScript(args)) {
+            int numKeys = (Integer) args[2];
+            return numKeys > 0 ? toKey(args[3]) : null;
+        }
+        if (args[0] instanceof String) {
+            return args.length > 1 ? toKey(args[1]) : null;
+        }
+        return toKey(args[0]);
+    }
+
+    private static boolean isScript(Object[] args) {
+        return args.length == 4 && args[1] instanceof ReturnType && args[2] instanceof Integer;
+    }
+
+    private static String toKey(Object arg) {
+        if (arg instanceof byte[]) {
+            return new String((byte[]) arg, StandardCharsets.UTF_8);
+        }
+        if (arg instanceof byte[][]) {
+            byte[][] keys = (byte[][]) arg;
+            return keys.length == 0 ? null : toKey(keys[0]);
+        }
+        if (arg instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) arg;
+            return map.isEmpty() ? null : toKey(map.keySet().iterator().next());
+        }
+        if (arg instanceof Collection) {
+            Collection<?> collection = (Collection<?>) arg;
+            return collection.isEmpty() ? null : toKey(collection.iterator().next());
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisCommandEvent{" +
+                "dataSourceName='" + dataSourceName + '\'' +
+                ", database=" + database +
+                ", command='" + command + '\'' +
+                ", durationNanos=" + durationNanos +
+                ", success=" + isSuccess() +
+                '}';
+    }
+}
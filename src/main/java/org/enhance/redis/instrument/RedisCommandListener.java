@@ -0,0 +1,44 @@
+package org.enhance.redis.instrument;
+
+/**
+ * redis命令监听器，通过 {@link RedisCommandListeners#register(RedisCommandListener)} 注册后，
+ * 组件创建的所有连接工厂上执行的命令都会回调该监听器
+ * <p>
+ * 回调发生在执行命令的线程上，实现类需要保证线程安全且足够轻量，否则会直接增加命令的耗时
+ *
+ * @author wenpan 2026/10/19 16:10
+ */
+public interface RedisCommandListener {
+
+    /**
+     * 命令执行前回调，pipeline和事务中入队的命令同样会回调。抛出异常时命令不会执行，异常直接抛给调用方
+     *
+     * @param dataSourceName 数据源名称
+     * @param database       db
+     * @param command        命令名称（大写）
+     * @param args           命令参数
+     */
+    default void beforeCommand(String dataSourceName, int database, String command, Object[] args) {
+    }
+
+    /**
+     * 命令执行前回调，默认调用 {@link #beforeCommand(String, int, String, Object[])}。
+     * 入队的命令抛出异常时，之前入队的命令仍留在pipeline或事务中，需要区分时重写该方法
+     *
+     * @param dataSourceName 数据源名称
+     * @param database       db
+     * @param command        命令名称（大写）
+     * @param args           命令参数
+     * @param queued         命令是否只是在pipeline或事务中入队
+     */
+    default void beforeCommand(String dataSourceName, int database, String command, Object[] args, boolean queued) {
+        beforeCommand(dataSourceName, database, command, args);
+    }
+
+    /**
+     * 命令执行完成（成功或失败）后回调
+     *
+     * @param event 命令执行事件
+     */
+    void onCommand(RedisCommandEvent event);
+}
@@ -0,0 +1,76 @@
+package org.enhance.redis.instrument;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * redis命令监听器注册
+ * <p>
+ * 没有注册任何监听器时，连接工厂直接返回原始连接，不会产生任何额外开销
+ *
+ * @author wenpan 2026/10/19 16:10
+ */
+public class RedisCommandListeners {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisCommandListeners.class);
+
+    private static final RedisCommandListener[] EMPTY = new RedisCommandListener[0];
+
+    /**
+     * 写时复制，命令执行时只做一次volatile读
+     */
+    private static volatile RedisCommandListener[] listeners = EMPTY;
+
+    private RedisCommandListeners() {
+    }
+
+    /**
+     * 注册监听器，重复注册同一个监听器无效
+     */
+    public static synchronized void register(RedisCommandListener listener) {
+        if (listener == null || Arrays.asList(listeners).contains(listener)) {
+            return;
+        }
+        RedisCommandListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+        copy[listeners.length] = listener;
+        listeners = copy;
+    }
+
+    /**
+     * 移除监听器
+     */
+    public static synchronized void unregister(RedisCommandListener listener) {
+        listeners = Arrays.stream(listeners).filter(l -> l != listener).toArray(RedisCommandListener[]::new);
+    }
+
+    /**
+     * 是否注册了监听器
+     */
+    public static boolean hasListeners() {
+        return listeners.length > 0;
+    }
+
+    /**
+     * 命令执行前通知所有监听器，监听器抛出的异常会中止命令的执行
+     */
+    static void fireBefore(String dataSourceName, int database, String command, Object[] args, boolean queued) {
+        for (RedisCommandListener listener : listeners) {
+            listener.beforeCommand(dataSourceName, database, command, args, queued);
+        }
+    }
+
+    /**
+     * 通知所有监听器，监听器抛出的异常不会影响命令的执行结果
+     */
+    static void fire(RedisCommandEvent event) {
+        for (RedisCommandListener listener : listeners) {
+            try {
+                listener.onCommand(event);
+            } catch (RuntimeException e) {
+                LOGGER.debug("redis command listener [{}] failed.", listener, e);
+            }
+        }
+    }
+}
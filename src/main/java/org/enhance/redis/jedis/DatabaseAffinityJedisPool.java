@@ -0,0 +1,206 @@
+package org.enhance.redis.jedis;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPoolAbstract;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 同一个数据源所有db共用的jedis连接池
+ * <p>
+ * 连接归还时保留所在的db，借出时按目标db选择连接：先按连接池原有的顺序借出一个连接，
+ * 不在目标db上时再从空闲连接中最多试探借出 affinityProbes 个连接，找到已经在目标db上的连接就使用它，
+ * 其余的连接立即归还；都不在目标db上时使用第一个借出的连接，由 JedisConnection 在创建时SELECT到目标db。
+ * 试探只借出已有的空闲连接，不创建新连接，也不逐个校验，只校验最终选中的连接
+ * <p>
+ * 连接池被多个db的连接工厂共用，通过 {@link #retain()} 和 {@link #release()} 计数，最后一个连接工厂销毁时关闭连接池
+ *
+ * @author wenpan 2026/10/19 22:00
+ */
+public class DatabaseAffinityJedisPool extends JedisPoolAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseAffinityJedisPool.class);
+
+    private final DatabaseTrackingJedisFactory factory;
+
+    private final int affinityProbes;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 保护引用计数，最后一个使用方释放时在锁内关闭连接池
+     */
+    private final Lock lock = new ReentrantLock();
+
+    private int references;
+
+    private volatile Runnable closeCallback;
+
+    /**
+     * @param poolConfig     连接池配置
+     * @param factory        连接创建工厂
+     * @param affinityProbes 第一个借出的连接不在目标db上时，最多再试探借出的空闲连接个数
+     */
+    public DatabaseAffinityJedisPool(GenericObjectPoolConfig<Jedis> poolConfig, DatabaseTrackingJedisFactory factory,
+                                     int affinityProbes) {
+        super(poolConfig, factory);
+        this.factory = factory;
+        this.affinityProbes = Math.max(affinityProbes, 0);
+    }
+
+    @Override
+    public Jedis getResource() {
+        Jedis jedis = super.getResource();
+        jedis.setDataSource(this);
+        return jedis;
+    }
+
+    /**
+     * 借出一个连接，优先选择已经在目标db上的连接。返回的连接不一定在目标db上，调用方需要检查 {@link Jedis#getDB()}
+     *
+     * @param database 目标db
+     * @return jedis连接
+     */
+    public Jedis getResource(int database) {
+        Jedis jedis = getResource();
+        if (jedis.getDB() == database) {
+            hits.increment();
+            return jedis;
+        }
+        List<Jedis> probed = null;
+        Jedis matched = null;
+        factory.beginProbe();
+        try {
+            for (int i = 0; i < affinityProbes; i++) {
+                Jedis candidate;
+                try {
+                    // 不等待、不创建，没有空闲连接时直接结束试探
+                    candidate = internalPool.borrowObject(0);
+                } catch (Exception ex) {
+                    break;
+                }
+                if (candidate.getDB() == database) {
+                    matched = candidate;
+                    break;
+                }
+                if (probed == null) {
+                    probed = new ArrayList<>(affinityProbes);
+                }
+                probed.add(candidate);
+            }
+        } finally {
+            factory.endProbe();
+        }
+        if (probed != null) {
+            probed.forEach(this::returnResourceObject);
+        }
+        if (matched != null && internalPool.getTestOnBorrow() && !factory.validate(matched)) {
+            returnBrokenResourceObject(matched);
+            matched = null;
+        }
+        if (matched == null) {
+            misses.increment();
+            return jedis;
+        }
+        hits.increment();
+        returnResourceObject(jedis);
+        matched.setDataSource(this);
+        return matched;
+    }
+
+    @Override
+    protected void returnResource(Jedis resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.resetState();
+            returnResourceObject(resource);
+        } catch (RuntimeException ex) {
+            returnBrokenResource(resource);
+            throw new JedisException("Resource is returned to the pool as broken", ex);
+        }
+    }
+
+    /**
+     * 增加一个使用方
+     *
+     * @return 连接池已经关闭时返回false
+     */
+    public boolean retain() {
+        lock.lock();
+        try {
+            if (isClosed()) {
+                return false;
+            }
+            references++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 减少一个使用方，没有使用方时关闭连接池
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (references <= 0 || --references > 0) {
+                return;
+            }
+            LOGGER.debug("closing shared jedis pool, affinity hits [{}], misses [{}].", getHits(), getMisses());
+            close();
+        } finally {
+            lock.unlock();
+        }
+        // 在锁外回调，回调方可能持有自己的锁再调用 retain
+        Runnable callback = closeCallback;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * 设置最后一个使用方释放、连接池关闭后的回调
+     */
+    public void setCloseCallback(Runnable closeCallback) {
+        this.closeCallback = closeCallback;
+    }
+
+    /**
+     * 借出的连接已经在目标db上的次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 借出的连接不在目标db上、需要SELECT的次数
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getAffinityProbes() {
+        return affinityProbes;
+    }
+
+    /**
+     * 内部的连接池，用于读取连接池状态和调整连接池大小
+     */
+    public GenericObjectPool<Jedis> getInternalPool() {
+        return internalPool;
+    }
+}
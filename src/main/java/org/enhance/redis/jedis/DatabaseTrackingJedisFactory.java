@@ -0,0 +1,149 @@
+package org.enhance.redis.jedis;
+
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.springframework.util.StringUtils;
+import redis.clients.jedis.Jedis;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocketFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+/**
+ * 共享连接池使用的jedis连接创建工厂
+ * <p>
+ * 与jedis自带的 JedisFactory 不同，借出连接时不会把连接SELECT回连接池配置的db，连接保持上一次使用时所在的db，
+ * 由 {@link Jedis#getDB()} 记录，使用方只在目标db不同时才SELECT
+ * <p>
+ * 试探空闲连接期间（{@link #beginProbe()} 到 {@link #endProbe()}）不创建新连接、不校验连接，
+ * 试探只从空闲连接中借出，由连接池在选定连接后再校验
+ *
+ * @author wenpan 2026/10/19 22:00
+ */
+public class DatabaseTrackingJedisFactory implements PooledObjectFactory<Jedis> {
+
+    private final String host;
+
+    private final int port;
+
+    private final int connectionTimeout;
+
+    private final int soTimeout;
+
+    private final String username;
+
+    private final String password;
+
+    private final String clientName;
+
+    private final boolean ssl;
+
+    private final SSLSocketFactory sslSocketFactory;
+
+    private final SSLParameters sslParameters;
+
+    private final HostnameVerifier hostnameVerifier;
+
+    private final ThreadLocal<Boolean> probing = new ThreadLocal<>();
+
+    public DatabaseTrackingJedisFactory(String host, int port, int connectionTimeout, int soTimeout,
+                                        String username, String password, String clientName, boolean ssl,
+                                        SSLSocketFactory sslSocketFactory, SSLParameters sslParameters,
+                                        HostnameVerifier hostnameVerifier) {
+        this.host = host;
+        this.port = port;
+        this.connectionTimeout = connectionTimeout;
+        this.soTimeout = soTimeout;
+        this.username = username;
+        this.password = password;
+        this.clientName = clientName;
+        this.ssl = ssl;
+        this.sslSocketFactory = sslSocketFactory;
+        this.sslParameters = sslParameters;
+        this.hostnameVerifier = hostnameVerifier;
+    }
+
+    /**
+     * 当前线程开始试探空闲连接
+     */
+    void beginProbe() {
+        probing.set(Boolean.TRUE);
+    }
+
+    /**
+     * 当前线程结束试探空闲连接
+     */
+    void endProbe() {
+        probing.remove();
+    }
+
+    @Override
+    public PooledObject<Jedis> makeObject() {
+        if (probing.get() != null) {
+            // 连接池在没有空闲连接时会尝试创建，试探期间直接失败
+            throw new NoSuchElementException("no idle jedis connection to probe.");
+        }
+        Jedis jedis = new Jedis(host, port, connectionTimeout, soTimeout, ssl, sslSocketFactory, sslParameters,
+                hostnameVerifier);
+        try {
+            jedis.connect();
+            if (StringUtils.hasText(password)) {
+                if (StringUtils.hasText(username)) {
+                    jedis.auth(username, password);
+                } else {
+                    jedis.auth(password);
+                }
+            }
+            if (StringUtils.hasText(clientName)) {
+                jedis.clientSetname(clientName.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (RuntimeException ex) {
+            jedis.close();
+            throw ex;
+        }
+        return new DefaultPooledObject<>(jedis);
+    }
+
+    @Override
+    public void destroyObject(PooledObject<Jedis> pooledObject) {
+        Jedis jedis = pooledObject.getObject();
+        if (!jedis.isConnected()) {
+            return;
+        }
+        try {
+            jedis.quit();
+        } catch (RuntimeException ignored) {
+            // 连接可能已经断开，直接关闭socket
+        }
+        jedis.disconnect();
+    }
+
+    @Override
+    public boolean validateObject(PooledObject<Jedis> pooledObject) {
+        return probing.get() != null || validate(pooledObject.getObject());
+    }
+
+    /**
+     * 校验连接是否可用
+     */
+    boolean validate(Jedis jedis) {
+        try {
+            return jedis.isConnected() && "PONG".equals(jedis.ping());
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void activateObject(PooledObject<Jedis> pooledObject) {
+        // 不切换db，保留连接当前所在的db
+    }
+
+    @Override
+    public void passivateObject(PooledObject<Jedis> pooledObject) {
+        // 归还时不切换db，下次借出到同一个db时省掉一次SELECT
+    }
+}
@@ -0,0 +1,104 @@
+package org.enhance.redis.jedis;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.ExceptionTranslationStrategy;
+import org.springframework.data.redis.PassThroughExceptionTranslationStrategy;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.jedis.JedisConnection;
+import org.springframework.data.redis.connection.jedis.JedisConverters;
+import org.springframework.lang.NonNull;
+import redis.clients.jedis.Jedis;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 使用共享连接池的jedis连接工厂，一个db一个实例，同一个数据源的所有实例共用一个 {@link DatabaseAffinityJedisPool}
+ * <p>
+ * 获取连接时优先借出已经在该db上的连接，JedisConnection 创建时只在连接所在db与该db不同时才SELECT
+ *
+ * @author wenpan 2026/10/19 22:00
+ */
+public class SharedPoolJedisConnectionFactory implements RedisConnectionFactory, DisposableBean {
+
+    private static final ExceptionTranslationStrategy EXCEPTION_TRANSLATION =
+            new PassThroughExceptionTranslationStrategy(JedisConverters.exceptionConverter());
+
+    private final DatabaseAffinityJedisPool pool;
+
+    private final int database;
+
+    private boolean convertPipelineAndTxResults = true;
+
+    private final AtomicBoolean destroyed = new AtomicBoolean();
+
+    /**
+     * @param pool     共享连接池，调用方需要先 {@link DatabaseAffinityJedisPool#retain()}，该工厂销毁时释放
+     * @param database db
+     */
+    public SharedPoolJedisConnectionFactory(DatabaseAffinityJedisPool pool, int database) {
+        this.pool = pool;
+        this.database = database;
+    }
+
+    @Override
+    @NonNull
+    public RedisConnection getConnection() {
+        Jedis jedis;
+        try {
+            jedis = pool.getResource(database);
+        } catch (Exception ex) {
+            throw new RedisConnectionFailureException("Cannot get Jedis connection", ex);
+        }
+        // 连接所在db与目标db不同时，JedisConnection在构造时SELECT
+        JedisConnection connection = new JedisConnection(jedis, pool, database);
+        connection.setConvertPipelineAndTxResults(convertPipelineAndTxResults);
+        return connection;
+    }
+
+    @Override
+    @NonNull
+    public RedisClusterConnection getClusterConnection() {
+        throw new InvalidDataAccessApiUsageException("Cluster is not configured!");
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return convertPipelineAndTxResults;
+    }
+
+    public void setConvertPipelineAndTxResults(boolean convertPipelineAndTxResults) {
+        this.convertPipelineAndTxResults = convertPipelineAndTxResults;
+    }
+
+    @Override
+    @NonNull
+    public RedisSentinelConnection getSentinelConnection() {
+        throw new InvalidDataAccessApiUsageException("No Sentinels configured");
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(@NonNull RuntimeException ex) {
+        return EXCEPTION_TRANSLATION.translate(ex);
+    }
+
+    @Override
+    public void destroy() {
+        if (destroyed.compareAndSet(false, true)) {
+            pool.release();
+        }
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public DatabaseAffinityJedisPool getPool() {
+        return pool;
+    }
+}
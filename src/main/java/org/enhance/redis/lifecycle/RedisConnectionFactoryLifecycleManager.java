@@ -0,0 +1,180 @@
+package org.enhance.redis.lifecycle;
+
+import org.enhance.redis.infra.concurrent.TimedTasks;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 组件创建的连接工厂的生命周期管理
+ * <p>
+ * 多数据源、懒加载db、租户等由组件创建的连接工厂不是spring bean，容器关闭时spring不会销毁它们，lettuce的clientResources
+ * 中的线程会阻止进程退出，重新部署时线程泄漏。容器关闭时在最后一个阶段（web容器优雅停机之后）并行销毁这些连接工厂，
+ * 每个连接工厂从开始销毁时计算超时时间 timeout（见 {@link TimedTasks}），并按数据源打印耗时。容器中默认数据源的连接工厂仍然由spring负责销毁
+ * <p>
+ * 销毁后不能再恢复，只有容器关闭（收到本容器的 {@link ContextClosedEvent}）时才销毁；
+ * 单独调用 ConfigurableApplicationContext#stop() 只标记为停止，之后可以再 start()
+ *
+ * @author wenpan 2026/10/20 00:45
+ */
+public class RedisConnectionFactoryLifecycleManager implements SmartLifecycle, ApplicationListener<ContextClosedEvent>,
+        ApplicationContextAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisConnectionFactoryLifecycleManager.class);
+
+    /**
+     * 关闭超时的数据源在关闭结果中的耗时
+     */
+    public static final long TIMED_OUT = -1L;
+
+    private final Duration timeout;
+
+    private final int threads;
+
+    private volatile boolean running;
+
+    /**
+     * 容器正在关闭，ContextClosedEvent 在停止各个 Lifecycle 之前发布
+     */
+    private volatile boolean closing;
+
+    private ApplicationContext applicationContext;
+
+    /**
+     * @param timeout 关闭每个连接工厂的最长等待时间
+     * @param threads 并行关闭的最大线程数
+     */
+    public RedisConnectionFactoryLifecycleManager(Duration timeout, int threads) {
+        this.timeout = timeout;
+        this.threads = threads;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (closing) {
+                closeAll();
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull ContextClosedEvent event) {
+        // 子容器关闭的事件也会发布到父容器，只处理本容器的关闭
+        if (event.getApplicationContext() == applicationContext) {
+            closing = true;
+        }
+    }
+
+    @Override
+    public void setApplicationContext(@NonNull ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 最后停止，此时web容器已经优雅停机，不再有使用redis的请求
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * 并行销毁所有由组件负责销毁的连接工厂
+     *
+     * @return 数据源名称 -> 该数据源所有连接工厂关闭完成的耗时（毫秒），超时未关闭完的为 {@link #TIMED_OUT}
+     */
+    public Map<String, Long> closeAll() {
+        List<InstrumentedRedisConnectionFactory> factories = RedisConnectionFactoryRegister.getFactories().stream()
+                .filter(InstrumentedRedisConnectionFactory::isOwnsDelegate)
+                .collect(Collectors.toList());
+        if (factories.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        long start = System.nanoTime();
+        TimedTasks tasks = new TimedTasks("redis-shutdown", Math.min(threads, factories.size()), timeout);
+        Map<String, List<TimedTasks.TimedTask<?>>> closing = new TreeMap<>();
+        for (InstrumentedRedisConnectionFactory factory : factories) {
+            closing.computeIfAbsent(factory.getDataSourceName(), name -> new ArrayList<>())
+                    .add(tasks.submit(() -> close(factory)));
+        }
+        tasks.shutdown();
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        closing.forEach((name, pending) -> {
+            int timedOut = await(pending);
+            if (timedOut > 0) {
+                LOGGER.warn("{} of {} connection factories of redis datasource [{}] not closed within {}ms.",
+                        timedOut, pending.size(), name, timeout.toMillis());
+                result.put(name, TIMED_OUT);
+            } else {
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                LOGGER.info("closed {} connection factories of redis datasource [{}] in {}ms.", pending.size(), name, elapsed);
+                result.put(name, elapsed);
+            }
+        });
+        // 超时未关闭完的连接工厂不再等待，线程池为守护线程，不会阻止进程退出
+        tasks.shutdownNow();
+        LOGGER.info("closed {} redis connection factories of {} datasources in {}ms.", factories.size(), closing.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * @return 超时未完成的个数
+     */
+    private static int await(List<TimedTasks.TimedTask<?>> tasks) {
+        int timedOut = 0;
+        for (TimedTasks.TimedTask<?> task : tasks) {
+            if (task.await().isTimedOut()) {
+                timedOut++;
+            }
+        }
+        return timedOut;
+    }
+
+    /**
+     * 销毁连接工厂，不会抛出异常
+     */
+    private static Void close(InstrumentedRedisConnectionFactory factory) {
+        try {
+            factory.destroy();
+        } catch (Exception ex) {
+            LOGGER.warn("destroy connection factory [{}] failed.", factory, ex);
+        }
+        return null;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
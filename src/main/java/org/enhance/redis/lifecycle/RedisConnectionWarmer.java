@@ -0,0 +1,275 @@
+package org.enhance.redis.lifecycle;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.enhance.redis.RedisDataSourceContext;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.config.properties.RedisDataSourceProperties;
+import org.enhance.redis.helper.RedisHelper;
+import org.enhance.redis.infra.concurrent.TimedTasks;
+import org.enhance.redis.infra.constant.DynamicRedisConstants;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.template.AbstractRoutingRedisTemplate;
+import org.enhance.redis.topology.ConnectionPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动时连接预热
+ * <p>
+ * 在所有单例bean创建完成后（web容器启动、应用就绪之前）执行，每个建连任务从开始执行时计算超时时间 timeout（见 {@link TimedTasks}）：
+ * <ol>
+ *     <li>并行为每个数据源创建需要预热的db的RedisTemplate，并直接使用原始连接工厂PING一次建立第一个连接</li>
+ *     <li>找到这些连接工厂使用的连接池（共用的连接池只处理一次），并行补充连接直到连接池中有 min-idle 个连接</li>
+ * </ol>
+ * 需要预热的db为配置的 dbs 与预热档案（{@link RedisWarmupProfile}，由 {@link RedisWarmupProfileRecorder} 在上次运行关闭时记录）的合集，
+ * 连接池预先建立的连接数取档案中的活跃连接数峰值与 min-idle 的较大值。
+ * 同一个数据源的各个db的RedisTemplate仍然在该数据源的锁内依次创建，创建连接工厂本身不建立连接，建连都在锁外并行进行。
+ * 预热失败的db在第一次使用时再连接，fail-fast 时启动失败
+ *
+ * @author wenpan 2026/10/20 01:00
+ */
+public class RedisConnectionWarmer extends RedisDataSourceContext implements SmartInitializingSingleton {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisConnectionWarmer.class);
+
+    private final DynamicRedisProperties.Warmup warmup;
+
+    public RedisConnectionWarmer(DynamicRedisProperties.Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, String> failures = warmUp(resolveTargets());
+        if (!failures.isEmpty() && warmup.isFailFast()) {
+            throw new IllegalStateException("redis connections can not be warmed up within "
+                    + warmup.getTimeout().toMillis() + "ms: " + failures);
+        }
+    }
+
+    /**
+     * 根据配置和预热档案解析需要预热的db
+     *
+     * @return 数据源名称 -> (除默认db外需要预热的db -> 该db的连接池需要预先建立的连接数，0表示使用 min-idle)
+     */
+    protected Map<String, Map<Integer, Integer>> resolveTargets() {
+        Set<String> dataSourceNames = new LinkedHashSet<>();
+        dataSourceNames.add(DynamicRedisConstants.MultiSource.DEFAULT_SOURCE);
+        RedisDataSourceProperties dataSourceProperties = applicationContext.getBeanProvider(RedisDataSourceProperties.class).getIfAvailable();
+        if (dataSourceProperties != null && dataSourceProperties.getDatasource() != null) {
+            dataSourceNames.addAll(dataSourceProperties.getDatasource().keySet());
+        }
+        Map<String, Map<Integer, Integer>> targets = new LinkedHashMap<>();
+        for (String name : dataSourceNames) {
+            Map<Integer, Integer> dbs = new LinkedHashMap<>();
+            List<Integer> configured = warmup.getDatasourceDbs().getOrDefault(name, warmup.getDbs());
+            if (configured != null) {
+                configured.forEach(db -> dbs.put(db, 0));
+            }
+            targets.put(name, dbs);
+        }
+        // 档案中已经不存在的数据源（如已经注销的数据源、租户数据源）直接忽略
+        loadProfile().forEach((name, dbs) -> {
+            if (targets.containsKey(name) || getRedisHelper(name) != null) {
+                Map<Integer, Integer> merged = targets.computeIfAbsent(name, key -> new LinkedHashMap<>());
+                dbs.forEach((db, minIdle) -> merged.merge(db, minIdle, Math::max));
+            }
+        });
+        return targets;
+    }
+
+    /**
+     * 读取预热档案，没有配置档案文件或读取失败时返回空集合
+     */
+    private Map<String, Map<Integer, Integer>> loadProfile() {
+        if (!StringUtils.hasText(warmup.getProfileFile())) {
+            return Collections.emptyMap();
+        }
+        Path file = Paths.get(warmup.getProfileFile());
+        try {
+            RedisWarmupProfile profile = RedisWarmupProfile.read(file);
+            if (profile == null) {
+                LOGGER.info("redis warm-up profile [{}] not found, warm up configured dbs only.", file);
+                return Collections.emptyMap();
+            }
+            return profile.toTargets();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("read redis warm-up profile [{}] failed, warm up configured dbs only.", file, ex);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 预热指定数据源的默认db和指定的db，不存在的数据源忽略
+     *
+     * @param targets 数据源名称 -> (除默认db外需要预热的db -> 该db的连接池需要预先建立的连接数，0表示使用 min-idle)，
+     *                未开启动态切换db的数据源只预热默认db
+     * @return 预热失败的 数据源/db -> 失败原因，全部成功时返回空集合
+     */
+    public Map<String, String> warmUp(Map<String, ? extends Map<Integer, Integer>> targets) {
+        Map<String, Warming> warmings = new LinkedHashMap<>();
+        targets.forEach((name, dbs) -> {
+            RedisHelper redisHelper = getRedisHelper(name);
+            if (redisHelper == null) {
+                LOGGER.warn("redis datasource [{}] not found, skip warming up.", name);
+                return;
+            }
+            warmings.put(name + "/default", new Warming(redisHelper.getRedisTemplate(), null, 0));
+            if (!(redisHelper.getRedisTemplate() instanceof AbstractRoutingRedisTemplate) || dbs == null) {
+                return;
+            }
+            dbs.forEach((db, minIdle) -> warmings.putIfAbsent(name + "/" + db,
+                    new Warming(redisHelper.getRedisTemplate(), db, minIdle == null ? 0 : minIdle)));
+        });
+        if (warmings.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        long start = System.nanoTime();
+        TimedTasks tasks = new TimedTasks("redis-warmup", warmup.getThreads(), warmup.getTimeout());
+        Map<String, String> failures = new TreeMap<>();
+        try {
+            // 1. 创建各个db的RedisTemplate并建立第一个连接
+            Map<String, TimedTasks.TimedTask<List<GenericObjectPool<?>>>> connecting = new LinkedHashMap<>();
+            warmings.forEach((target, warming) -> connecting.put(target, tasks.submit(warming::connect)));
+            Map<GenericObjectPool<?>, String> pools = new IdentityHashMap<>();
+            Map<GenericObjectPool<?>, Integer> minIdles = new IdentityHashMap<>();
+            connecting.forEach((target, task) -> {
+                List<GenericObjectPool<?>> found = await(task, target, failures);
+                if (found != null) {
+                    found.forEach(pool -> {
+                        pools.putIfAbsent(pool, target);
+                        // 共用的连接池取各个使用方的最大值
+                        minIdles.merge(pool, warmings.get(target).minIdle, Math::max);
+                    });
+                }
+            });
+
+            // 2. 补充连接池中的连接，每个连接一个任务
+            Map<String, List<TimedTasks.TimedTask<GenericObjectPool<?>>>> filling = new LinkedHashMap<>();
+            pools.forEach((pool, target) -> {
+                int missing = getMinIdle(pool, minIdles.get(pool)) - pool.getNumIdle() - pool.getNumActive();
+                for (int i = 0; i < missing; i++) {
+                    filling.computeIfAbsent(target, key -> new ArrayList<>()).add(tasks.submit(() -> {
+                        pool.addObject();
+                        return pool;
+                    }));
+                }
+            });
+            int connections = 0;
+            for (Map.Entry<String, List<TimedTasks.TimedTask<GenericObjectPool<?>>>> entry : filling.entrySet()) {
+                for (TimedTasks.TimedTask<GenericObjectPool<?>> task : entry.getValue()) {
+                    if (await(task, entry.getKey(), failures) != null) {
+                        connections++;
+                    }
+                }
+            }
+
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (failures.isEmpty()) {
+                LOGGER.info("warmed up {} redis dbs and {} pooled connections of {} pools in {}ms.",
+                        warmings.size(), connections, pools.size(), elapsed);
+            } else {
+                LOGGER.warn("warmed up {} redis dbs and {} pooled connections of {} pools in {}ms, {} failed and will be connected on first use: {}",
+                        warmings.size(), connections, pools.size(), elapsed, failures.size(), failures);
+            }
+            return failures;
+        } finally {
+            // 超时未结束的建连不再等待，由连接超时结束
+            tasks.shutdownNow();
+        }
+    }
+
+    /**
+     * @return 任务结果，失败或超时时记录失败原因并返回null
+     */
+    private static <T> T await(TimedTasks.TimedTask<T> task, String target, Map<String, String> failures) {
+        TimedTasks.Result<T> result = task.await();
+        if (!result.isSuccess()) {
+            failures.putIfAbsent(target, result.getFailure());
+        }
+        return result.getValue();
+    }
+
+    /**
+     * 连接池需要预先建立的连接数，不超过连接池的最大连接数
+     *
+     * @param requested 预热档案中记录的连接数
+     */
+    private int getMinIdle(GenericObjectPool<?> pool, int requested) {
+        int minIdle = Math.max(requested, warmup.getMinIdle() > 0 ? warmup.getMinIdle() : pool.getMinIdle());
+        return pool.getMaxTotal() < 0 ? minIdle : Math.min(minIdle, pool.getMaxTotal());
+    }
+
+    private RedisHelper getRedisHelper(String dataSourceName) {
+        String beanName = DynamicRedisConstants.MultiSource.DEFAULT_SOURCE.equals(dataSourceName)
+                ? DynamicRedisConstants.DefaultRedisHelperName.REDIS_HELPER
+                : dataSourceName + DynamicRedisConstants.MultiSource.REDIS_HELPER;
+        return applicationContext.containsBean(beanName) ? applicationContext.getBean(beanName, RedisHelper.class) : null;
+    }
+
+    /**
+     * 一个需要预热的db
+     */
+    private static final class Warming {
+
+        private final RedisTemplate<String, String> redisTemplate;
+
+        /**
+         * 为null时预热默认db
+         */
+        private final Integer db;
+
+        /**
+         * 连接池需要预先建立的连接数，0表示使用 min-idle
+         */
+        private final int minIdle;
+
+        Warming(RedisTemplate<String, String> redisTemplate, Integer db, int minIdle) {
+            this.redisTemplate = redisTemplate;
+            this.db = db;
+            this.minIdle = minIdle;
+        }
+
+        /**
+         * 创建RedisTemplate并直接使用原始连接工厂PING一次，不计入命令指标
+         *
+         * @return 该db的连接工厂使用的连接池
+         */
+        List<GenericObjectPool<?>> connect() {
+            RedisTemplate<String, String> target = redisTemplate;
+            if (redisTemplate instanceof AbstractRoutingRedisTemplate) {
+                AbstractRoutingRedisTemplate<String, String> routing = (AbstractRoutingRedisTemplate<String, String>) redisTemplate;
+                target = db == null ? routing.getDefaultRedisTemplate() : routing.getOrCreateRedisTemplate(db);
+            }
+            RedisConnectionFactory connectionFactory = target.getRequiredConnectionFactory();
+            if (connectionFactory instanceof InstrumentedRedisConnectionFactory) {
+                connectionFactory = ((InstrumentedRedisConnectionFactory) connectionFactory).getDelegate();
+            }
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.ping();
+            }
+            return ConnectionPools.find(connectionFactory);
+        }
+    }
+}
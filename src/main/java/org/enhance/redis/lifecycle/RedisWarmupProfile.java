@@ -0,0 +1,163 @@
+package org.enhance.redis.lifecycle;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 连接预热档案，记录上一次运行中实际使用过的（数据源, db）以及各自连接池的活跃连接数峰值，下次启动时按档案预热
+ * <p>
+ * 以json格式保存在本地文件中，写入时先写临时文件再替换，进程在写入过程中退出不会留下不完整的档案
+ *
+ * @author wenpan 2026/10/20 01:15
+ */
+public class RedisWarmupProfile {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * 记录时间（毫秒时间戳）
+     */
+    private long recordedAt;
+
+    private List<Entry> entries = new ArrayList<>();
+
+    /**
+     * 读取档案
+     *
+     * @param file 档案文件
+     * @return 档案，文件不存在时返回null
+     */
+    public static RedisWarmupProfile read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        return OBJECT_MAPPER.readValue(file.toFile(), RedisWarmupProfile.class);
+    }
+
+    /**
+     * 写入档案，父目录不存在时创建
+     *
+     * @param file 档案文件
+     */
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(temp.toFile(), this);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 转换为预热目标
+     *
+     * @return 数据源名称 -> (db -> 连接池需要预先建立的连接数)
+     */
+    public Map<String, Map<Integer, Integer>> toTargets() {
+        Map<String, Map<Integer, Integer>> targets = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            if (entry.getDatasource() == null) {
+                continue;
+            }
+            targets.computeIfAbsent(entry.getDatasource(), name -> new LinkedHashMap<>())
+                    .merge(entry.getDb(), Math.max(entry.getPeakConnections(), 0), Math::max);
+        }
+        return targets;
+    }
+
+    public long getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(long recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<Entry> entries) {
+        this.entries = entries == null ? new ArrayList<>() : entries;
+    }
+
+    /**
+     * 一个使用过的（数据源, db）
+     */
+    public static class Entry {
+
+        private String datasource;
+
+        private int db;
+
+        /**
+         * 连接池活跃连接数的采样峰值，没有连接池时为0
+         */
+        private int peakConnections;
+
+        /**
+         * 最后一次运行中使用过的时间（毫秒时间戳）
+         */
+        private long lastUsedAt;
+
+        public Entry() {
+        }
+
+        public Entry(String datasource, int db) {
+            this.datasource = datasource;
+            this.db = db;
+        }
+
+        public String getDatasource() {
+            return datasource;
+        }
+
+        public void setDatasource(String datasource) {
+            this.datasource = datasource;
+        }
+
+        public int getDb() {
+            return db;
+        }
+
+        public void setDb(int db) {
+            this.db = db;
+        }
+
+        public int getPeakConnections() {
+            return peakConnections;
+        }
+
+        public void setPeakConnections(int peakConnections) {
+            this.peakConnections = peakConnections;
+        }
+
+        public long getLastUsedAt() {
+            return lastUsedAt;
+        }
+
+        public void setLastUsedAt(long lastUsedAt) {
+            this.lastUsedAt = lastUsedAt;
+        }
+    }
+}
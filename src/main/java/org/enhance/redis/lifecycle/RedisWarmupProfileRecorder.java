@@ -0,0 +1,167 @@
+package org.enhance.redis.lifecycle;
+
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.topology.ConnectionPoolStats;
+import org.enhance.redis.topology.ConnectionPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接预热档案记录
+ * <p>
+ * 按固定间隔采样所有连接工厂，记录通过包装工厂获取过连接的（数据源, db）以及连接池活跃连接数的峰值。
+ * 容器关闭时在关闭连接工厂之前（web容器优雅停机之后）把档案写入本地文件，本次没有使用但在 retention 内使用过的（数据源, db）继续保留，
+ * 避免一次很短的运行丢失之前的档案。活跃连接数是采样值，比采样间隔更短的突发峰值可能采样不到
+ *
+ * @author wenpan 2026/10/20 01:15
+ */
+public class RedisWarmupProfileRecorder implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisWarmupProfileRecorder.class);
+
+    private final Path file;
+
+    private final Duration sampleInterval;
+
+    private final Duration retention;
+
+    /**
+     * 数据源/db -> 本次运行的记录，只在持有锁时修改
+     */
+    private final Map<String, RedisWarmupProfile.Entry> observed = new LinkedHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+
+    /**
+     * @param file           档案文件
+     * @param sampleInterval 采样间隔
+     * @param retention      本次没有使用的（数据源, db）在档案中的保留时间
+     */
+    public RedisWarmupProfileRecorder(Path file, Duration sampleInterval, Duration retention) {
+        this.file = file;
+        this.sampleInterval = sampleInterval;
+        this.retention = retention;
+    }
+
+    @Override
+    public void start() {
+        long millis = Math.max(sampleInterval.toMillis(), 1);
+        scheduler = Executors.newSingleThreadScheduledExecutor(RedisExecutors.threadFactory("redis-warmup-profile"));
+        scheduler.scheduleWithFixedDelay(this::sample, millis, millis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+            sample();
+            persist();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 在 {@link RedisConnectionFactoryLifecycleManager} 关闭连接工厂之前停止
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1;
+    }
+
+    /**
+     * 采样所有存活的连接工厂，只有读取连接池状态，不会有网络IO
+     */
+    synchronized void sample() {
+        try {
+            for (InstrumentedRedisConnectionFactory factory : RedisConnectionFactoryRegister.getFactories()) {
+                if (!factory.isUsed()) {
+                    continue;
+                }
+                RedisWarmupProfile.Entry entry = observed.computeIfAbsent(factory.getDataSourceName() + "/" + factory.getDatabase(),
+                        key -> new RedisWarmupProfile.Entry(factory.getDataSourceName(), factory.getDatabase()));
+                ConnectionPoolStats stats = ConnectionPools.stats(factory);
+                if (stats != null) {
+                    entry.setPeakConnections(Math.max(entry.getPeakConnections(), stats.getActive()));
+                }
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("sample redis warm-up profile failed.", ex);
+        }
+    }
+
+    /**
+     * 合并之前的档案并写入文件
+     *
+     * @return 写入的档案，写入失败时返回null
+     */
+    public RedisWarmupProfile persist() {
+        long now = System.currentTimeMillis();
+        Map<String, RedisWarmupProfile.Entry> merged = new LinkedHashMap<>();
+        int used;
+        synchronized (this) {
+            used = observed.size();
+            observed.forEach((key, entry) -> {
+                RedisWarmupProfile.Entry copy = new RedisWarmupProfile.Entry(entry.getDatasource(), entry.getDb());
+                copy.setPeakConnections(entry.getPeakConnections());
+                copy.setLastUsedAt(now);
+                merged.put(key, copy);
+            });
+        }
+        try {
+            RedisWarmupProfile previous = RedisWarmupProfile.read(file);
+            if (previous != null) {
+                for (RedisWarmupProfile.Entry entry : previous.getEntries()) {
+                    if (entry.getDatasource() != null && now - entry.getLastUsedAt() <= retention.toMillis()) {
+                        merged.putIfAbsent(entry.getDatasource() + "/" + entry.getDb(), entry);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("read previous redis warm-up profile [{}] failed, overwrite it.", file, ex);
+        }
+
+        List<RedisWarmupProfile.Entry> entries = new ArrayList<>(merged.values());
+        entries.sort(Comparator.comparing(RedisWarmupProfile.Entry::getDatasource).thenComparingInt(RedisWarmupProfile.Entry::getDb));
+        RedisWarmupProfile profile = new RedisWarmupProfile();
+        profile.setRecordedAt(now);
+        profile.setEntries(entries);
+        try {
+            profile.write(file);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("write redis warm-up profile [{}] failed.", file, ex);
+            return null;
+        }
+        LOGGER.info("recorded redis warm-up profile of {} dbs ({} used in this run) to [{}].", entries.size(), used, file);
+        return profile;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
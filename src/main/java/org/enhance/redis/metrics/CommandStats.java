@@ -0,0 +1,69 @@
+package org.enhance.redis.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个（数据源, db, 命令）的统计信息
+ *
+ * @author wenpan 2026/10/19 16:40
+ */
+public class CommandStats {
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    private final String command;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LatencyHistogram latency;
+
+    CommandStats(String dataSourceName, int database, String command, LatencyHistogram latency) {
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.command = command;
+        this.latency = latency;
+    }
+
+    void record(long durationNanos, boolean success) {
+        count.increment();
+        if (!success) {
+            errors.increment();
+        }
+        latency.record(durationNanos);
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTotalMicros() {
+        return latency.getTotalMicros();
+    }
+
+    /**
+     * 最近一段时间（见 {@link LatencyHistogram}）的耗时分布，次数和总耗时从创建开始累计
+     */
+    public LatencySnapshot getLatency() {
+        return latency.snapshot();
+    }
+}
@@ -0,0 +1,213 @@
+package org.enhance.redis.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 分段（striped）的对数-线性直方图，思路与 HdrHistogram 相同：
+ * 以微秒为单位，每个2的幂区间再等分为 {@value #SUB_BUCKETS} 个子桶，相对误差不超过 1/{@value #SUB_BUCKETS}
+ * <p>
+ * 不同线程按线程id落到不同的分段上，避免多个线程竞争同一个计数器的缓存行；分段在第一次使用时才分配，
+ * 读取时合并所有分段得到快照。记录一次只有一次数组下标计算和一次 getAndIncrement
+ * <p>
+ * 与 micrometer Timer 的 distributionStatisticExpiry 相同，百分位和最大值只统计最近 expiry 内的记录：
+ * expiry 等分为 bufferLength 个时间窗口，记录写入当前窗口，快照合并没有过期的窗口，
+ * 过期的窗口在下一次写入时重置。快照会缓存 {@link #SNAPSHOT_CACHE_NANOS}，同一次采集的多个百分位只合并一次
+ *
+ * @author wenpan 2026/10/19 16:40
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 最大记录值 2^32 微秒（约71分钟），超过的记录到最后一个桶
+     */
+    private static final int MAX_EXPONENT = 32;
+
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private static final int STRIPES = stripeCount();
+
+    static final long SNAPSHOT_CACHE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicReferenceArray<Window> windows;
+
+    private final long windowNanos;
+
+    private final LongSupplier clock;
+
+    /**
+     * 从创建开始的总耗时（微秒），不过期，用于累计的计时指标
+     */
+    private final LongAdder totalMicros = new LongAdder();
+
+    private volatile CachedSnapshot cached;
+
+    /**
+     * @param expiry       百分位和最大值的统计时长
+     * @param bufferLength 统计时长内的时间窗口数，越大过期越平滑，快照时合并的窗口越多
+     */
+    public LatencyHistogram(Duration expiry, int bufferLength) {
+        this(expiry, bufferLength, System::nanoTime);
+    }
+
+    LatencyHistogram(Duration expiry, int bufferLength, LongSupplier clock) {
+        int length = Math.max(bufferLength, 1);
+        this.windows = new AtomicReferenceArray<>(length);
+        this.windowNanos = Math.max(expiry.toNanos() / length, 1);
+        this.clock = clock;
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        window(Math.floorDiv(clock.getAsLong(), windowNanos)).record(micros);
+        totalMicros.add(micros);
+    }
+
+    /**
+     * 从创建开始的总耗时（微秒），不需要合并分段
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    /**
+     * 合并没有过期的时间窗口得到快照，快照之间不保证原子性
+     */
+    public LatencySnapshot snapshot() {
+        long now = clock.getAsLong();
+        CachedSnapshot snapshot = cached;
+        if (snapshot != null && now - snapshot.takenAt < SNAPSHOT_CACHE_NANOS) {
+            return snapshot.snapshot;
+        }
+        long epoch = Math.floorDiv(now, windowNanos);
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        long max = 0;
+        for (int i = 0; i < windows.length(); i++) {
+            Window window = windows.get(i);
+            if (window == null || window.epoch <= epoch - windows.length() || window.epoch > epoch) {
+                continue;
+            }
+            window.addTo(counts);
+            total += window.totalMicros.sum();
+            max = Math.max(max, window.maxMicros.get());
+        }
+        LatencySnapshot result = new LatencySnapshot(counts, total, max);
+        cached = new CachedSnapshot(now, result);
+        return result;
+    }
+
+    private Window window(long epoch) {
+        int index = (int) Math.floorMod(epoch, (long) windows.length());
+        Window window = windows.get(index);
+        while (window == null || window.epoch < epoch) {
+            // 过期的窗口替换为新窗口，并发替换时只有一个成功，其他线程使用成功的那个
+            if (windows.compareAndSet(index, window, new Window(epoch))) {
+                return windows.get(index);
+            }
+            window = windows.get(index);
+        }
+        return window;
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 桶的上界（微秒，不包含）
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index + 1;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static int stripeCount() {
+        int cpus = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        return Integer.highestOneBit(Math.max(cpus, 1) * 2 - 1);
+    }
+
+    /**
+     * 一个时间窗口内的记录
+     */
+    private static final class Window {
+
+        private final long epoch;
+
+        private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+
+        private final LongAdder totalMicros = new LongAdder();
+
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        private Window(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void record(long micros) {
+            stripe().getAndIncrement(bucketIndex(micros));
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+        }
+
+        private void addTo(long[] counts) {
+            for (int i = 0; i < STRIPES; i++) {
+                AtomicLongArray stripe = stripes.get(i);
+                if (stripe == null) {
+                    continue;
+                }
+                for (int j = 0; j < BUCKET_COUNT; j++) {
+                    counts[j] += stripe.get(j);
+                }
+            }
+        }
+
+        private AtomicLongArray stripe() {
+            int index = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            AtomicLongArray stripe = stripes.get(index);
+            if (stripe == null) {
+                stripes.compareAndSet(index, null, new AtomicLongArray(BUCKET_COUNT));
+                stripe = stripes.get(index);
+            }
+            return stripe;
+        }
+    }
+
+    private static final class CachedSnapshot {
+
+        private final long takenAt;
+
+        private final LatencySnapshot snapshot;
+
+        private CachedSnapshot(long takenAt, LatencySnapshot snapshot) {
+            this.takenAt = takenAt;
+            this.snapshot = snapshot;
+        }
+    }
+}
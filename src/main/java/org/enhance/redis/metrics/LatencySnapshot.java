@@ -0,0 +1,65 @@
+package org.enhance.redis.metrics;
+
+/**
+ * 耗时直方图快照，单位：微秒
+ *
+ * @author wenpan 2026/10/19 16:40
+ */
+public class LatencySnapshot {
+
+    private final long[] counts;
+
+    private final long count;
+
+    private final long totalMicros;
+
+    private final long maxMicros;
+
+    LatencySnapshot(long[] counts, long totalMicros, long maxMicros) {
+        this.counts = counts;
+        long sum = 0;
+        for (long c : counts) {
+            sum += c;
+        }
+        this.count = sum;
+        this.totalMicros = totalMicros;
+        this.maxMicros = maxMicros;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public double getMeanMicros() {
+        return count == 0 ? 0 : (double) totalMicros / count;
+    }
+
+    /**
+     * 获取百分位耗时（微秒），返回所在桶的上界，不会超过最大值
+     *
+     * @param percentile 百分位，取值 (0, 1]，如 0.99
+     * @return 耗时（微秒）
+     */
+    public long getPercentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 1) * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+}
@@ -0,0 +1,185 @@
+package org.enhance.redis.metrics;
+
+import org.enhance.redis.helper.RedisDbThreadLocalHelper;
+import org.enhance.redis.instrument.RedisCommandEvent;
+import org.enhance.redis.instrument.RedisCommandListener;
+import org.enhance.redis.instrument.RedisCommandListeners;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * redis命令指标：按（数据源, db, 命令）统计调用次数、失败次数和耗时分布，以及各个db的切换次数
+ * <p>
+ * 初始化时注册为 {@link RedisCommandListener} 和db切换监听，销毁时只移除自己，未开启时不会产生任何开销
+ *
+ * @author wenpan 2026/10/19 16:40
+ */
+public class RedisCommandMetrics implements RedisCommandListener, InitializingBean, DisposableBean {
+
+    /**
+     * 数据源 -> db -> 命令 -> 统计，逐层查找避免每次记录都创建组合key对象
+     */
+    private final Map<String, Map<Integer, Map<String, CommandStats>>> stats = new ConcurrentHashMap<>();
+
+    /**
+     * db -> 切换到该db的次数
+     */
+    private final Map<Integer, LongAdder> dbSwitches = new ConcurrentHashMap<>();
+
+    /**
+     * 新的统计项创建时的回调（如注册到 micrometer）
+     */
+    private final List<Consumer<CommandStats>> statsCreatedCallbacks = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<Integer>> dbSwitchCreatedCallbacks = new CopyOnWriteArrayList<>();
+
+    /**
+     * 注册到 {@link RedisDbThreadLocalHelper} 的监听，移除时使用同一个实例
+     */
+    private final IntConsumer dbSwitchListener = this::recordDbSwitch;
+
+    private final Duration latencyExpiry;
+
+    private final int latencyBufferLength;
+
+    public RedisCommandMetrics() {
+        this(Duration.ofMinutes(2), 3);
+    }
+
+    /**
+     * @param latencyExpiry       百分位和最大耗时的统计时长
+     * @param latencyBufferLength 统计时长内的时间窗口数
+     */
+    public RedisCommandMetrics(Duration latencyExpiry, int latencyBufferLength) {
+        this.latencyExpiry = latencyExpiry;
+        this.latencyBufferLength = latencyBufferLength;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        RedisCommandListeners.register(this);
+        RedisDbThreadLocalHelper.addDbSwitchListener(dbSwitchListener);
+    }
+
+    @Override
+    public void destroy() {
+        RedisCommandListeners.unregister(this);
+        RedisDbThreadLocalHelper.removeDbSwitchListener(dbSwitchListener);
+    }
+
+    @Override
+    public void onCommand(RedisCommandEvent event) {
+        getOrCreateStats(event.getDataSourceName(), event.getDatabase(), event.getCommand())
+                .record(event.getDurationNanos(), event.isSuccess());
+    }
+
+    /**
+     * 记录一次db切换
+     *
+     * @param db 切换到的db
+     */
+    public void recordDbSwitch(int db) {
+        LongAdder adder = dbSwitches.get(db);
+        if (adder == null) {
+            LongAdder created = new LongAdder();
+            adder = dbSwitches.putIfAbsent(db, created);
+            if (adder == null) {
+                adder = created;
+                dbSwitchCreatedCallbacks.forEach(callback -> callback.accept(db));
+            }
+        }
+        adder.increment();
+    }
+
+    private CommandStats getOrCreateStats(String dataSourceName, int database, String command) {
+        Map<Integer, Map<String, CommandStats>> dbStats = stats.get(dataSourceName);
+        if (dbStats == null) {
+            dbStats = stats.computeIfAbsent(dataSourceName, key -> new ConcurrentHashMap<>(16));
+        }
+        Map<String, CommandStats> commandStats = dbStats.get(database);
+        if (commandStats == null) {
+            commandStats = dbStats.computeIfAbsent(database, key -> new ConcurrentHashMap<>(32));
+        }
+        CommandStats commandStat = commandStats.get(command);
+        if (commandStat == null) {
+            CommandStats created = new CommandStats(dataSourceName, database, command,
+                    new LatencyHistogram(latencyExpiry, latencyBufferLength));
+            commandStat = commandStats.putIfAbsent(command, created);
+            if (commandStat == null) {
+                commandStat = created;
+                for (Consumer<CommandStats> callback : statsCreatedCallbacks) {
+                    callback.accept(created);
+                }
+            }
+        }
+        return commandStat;
+    }
+
+    /**
+     * 获取所有统计项
+     */
+    public List<CommandStats> getCommandStats() {
+        List<CommandStats> result = new ArrayList<>();
+        stats.values().forEach(dbStats -> dbStats.values().forEach(commandStats -> result.addAll(commandStats.values())));
+        return result;
+    }
+
+    /**
+     * 获取指定数据源的统计项
+     *
+     * @param dataSourceName 数据源名称
+     */
+    public List<CommandStats> getCommandStats(String dataSourceName) {
+        Map<Integer, Map<String, CommandStats>> dbStats = stats.get(dataSourceName);
+        if (dbStats == null) {
+            return Collections.emptyList();
+        }
+        List<CommandStats> result = new ArrayList<>();
+        dbStats.values().forEach(commandStats -> result.addAll(commandStats.values()));
+        return result;
+    }
+
+    /**
+     * 获取指定db的切换次数
+     */
+    public long getDbSwitchCount(int db) {
+        LongAdder adder = dbSwitches.get(db);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * 获取所有db的切换次数
+     */
+    public Map<Integer, Long> getDbSwitchCounts() {
+        Map<Integer, Long> result = new ConcurrentHashMap<>(dbSwitches.size() * 2 + 1);
+        dbSwitches.forEach((db, adder) -> result.put(db, adder.sum()));
+        return result;
+    }
+
+    /**
+     * 监听新统计项的创建，注册时会对已存在的统计项立即回调一次
+     */
+    public void onStatsCreated(Consumer<CommandStats> callback) {
+        statsCreatedCallbacks.add(callback);
+        getCommandStats().forEach(callback);
+    }
+
+    /**
+     * 监听新db切换计数的创建，注册时会对已存在的db立即回调一次
+     */
+    public void onDbSwitchCreated(Consumer<Integer> callback) {
+        dbSwitchCreatedCallbacks.add(callback);
+        dbSwitches.keySet().forEach(callback);
+    }
+}
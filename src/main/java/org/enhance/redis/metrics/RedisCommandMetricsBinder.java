@@ -0,0 +1,71 @@
+package org.enhance.redis.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将 {@link RedisCommandMetrics} 输出到 micrometer，统计项在第一次出现时注册
+ * <ul>
+ *     <li>redis.client.commands：命令次数和总耗时（FunctionTimer）</li>
+ *     <li>redis.client.commands.errors：失败次数</li>
+ *     <li>redis.client.commands.latency：最近一段时间（dynamic.redis.metrics.distribution-expiry）的百分位耗时和最大耗时，单位毫秒</li>
+ *     <li>redis.client.db.switches：db切换次数</li>
+ * </ul>
+ *
+ * @author wenpan 2026/10/19 16:40
+ */
+public class RedisCommandMetricsBinder implements MeterBinder {
+
+    private final RedisCommandMetrics metrics;
+
+    private final double[] percentiles;
+
+    public RedisCommandMetricsBinder(RedisCommandMetrics metrics, double[] percentiles) {
+        this.metrics = metrics;
+        this.percentiles = percentiles == null ? new double[0] : percentiles.clone();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        metrics.onStatsCreated(stats -> bindStats(registry, stats));
+        metrics.onDbSwitchCreated(db -> FunctionCounter
+                .builder("redis.client.db.switches", metrics, m -> m.getDbSwitchCount(db))
+                .tag("db", String.valueOf(db))
+                .description("number of times threads switched to this db")
+                .register(registry));
+    }
+
+    private void bindStats(MeterRegistry registry, CommandStats stats) {
+        Tags tags = Tags.of("datasource", stats.getDataSourceName(),
+                "db", String.valueOf(stats.getDatabase()),
+                "command", stats.getCommand());
+        FunctionTimer.builder("redis.client.commands", stats,
+                CommandStats::getCount, CommandStats::getTotalMicros, TimeUnit.MICROSECONDS)
+                .tags(tags)
+                .description("redis commands executed by the client")
+                .register(registry);
+        FunctionCounter.builder("redis.client.commands.errors", stats, CommandStats::getErrors)
+                .tags(tags)
+                .register(registry);
+        for (double percentile : percentiles) {
+            Gauge.builder("redis.client.commands.latency", stats,
+                    s -> s.getLatency().getPercentileMicros(percentile) / 1000.0)
+                    .tags(tags)
+                    .tag("percentile", String.valueOf(percentile))
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+        Gauge.builder("redis.client.commands.latency", stats, s -> s.getLatency().getMaxMicros() / 1000.0)
+                .tags(tags)
+                .tag("percentile", "max")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
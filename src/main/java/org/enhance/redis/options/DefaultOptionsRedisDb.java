@@ -116,20 +116,8 @@ public class DefaultOptionsRedisDb extends AbstractOptionsRedisDb<String, String
 
         // 获取到该RedisHelper的redisTemplate(一定有，在创建redisHelper的时候就赋值了)
         DynamicRedisTemplate<String, String> dynamicRedisTemplate = (DynamicRedisTemplate<String, String>) redisHelper.getRedisTemplate();
-        RedisTemplate<String, String> redisTemplate = redisTemplates.get(db);
-
-        // 双重检查，这里直接使用synchronized锁，因为创建redisTemplate不会很频繁，一般整个生命周期只有几次，不会有性能问题
-        if (null == redisTemplate) {
-            synchronized (DynamicRedisTemplate.class) {
-                if (null == redisTemplates.get(db)) {
-                    // 创建到该db的RedisTemplate并缓存起来
-                    RedisTemplate<String, String> redisTemplateOnMissing = dynamicRedisTemplate.createRedisTemplateOnMissing(db);
-                    redisTemplates.put(db, redisTemplateOnMissing);
-                }
-            }
-        }
-
-        return redisTemplates.get(db);
+        // 与动态路由共用同一套双重检查逻辑，不存在时创建到该db的RedisTemplate并缓存起来
+        return dynamicRedisTemplate.getOrCreateRedisTemplate(db);
     }
 
 }
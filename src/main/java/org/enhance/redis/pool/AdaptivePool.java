@@ -0,0 +1,110 @@
+package org.enhance.redis.pool;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 被自适应调整的一个连接池及其采样状态，采样状态只在调整线程中读写
+ *
+ * @author wenpan 2026/10/19 21:30
+ */
+public class AdaptivePool {
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    private final int index;
+
+    private final GenericObjectPool<?> pool;
+
+    /**
+     * 配置的 minIdle，调整后的 minIdle 不低于该值
+     */
+    final int baseMinIdle;
+
+    /**
+     * 配置的 maxIdle / maxTotal，调整 maxTotal 时 maxIdle 按该比例跟随
+     */
+    final double idleRatio;
+
+    final AtomicLong grows = new AtomicLong();
+
+    final AtomicLong shrinks = new AtomicLong();
+
+    long lastBorrowed;
+
+    /**
+     * 上次调整之后的借用次数，超过连接池平均等待时间的统计窗口后，平均等待时间才反映调整后的情况
+     */
+    long borrowsSinceResize = Long.MAX_VALUE;
+
+    int peakActive;
+
+    int lowUtilizationTicks;
+
+    AdaptivePool(String dataSourceName, int database, int index, GenericObjectPool<?> pool) {
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.index = index;
+        this.pool = pool;
+        this.baseMinIdle = pool.getMinIdle();
+        int maxTotal = pool.getMaxTotal();
+        this.idleRatio = maxTotal <= 0 ? 1 : Math.min(1, (double) pool.getMaxIdle() / maxTotal);
+        this.lastBorrowed = pool.getBorrowedCount();
+    }
+
+    GenericObjectPool<?> getObjectPool() {
+        return pool;
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    /**
+     * 连接工厂内第几个连接池
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public int getMaxTotal() {
+        return pool.getMaxTotal();
+    }
+
+    public int getMaxIdle() {
+        return pool.getMaxIdle();
+    }
+
+    public int getMinIdle() {
+        return pool.getMinIdle();
+    }
+
+    public int getActive() {
+        return pool.getNumActive();
+    }
+
+    public int getWaiters() {
+        return pool.getNumWaiters();
+    }
+
+    /**
+     * 扩容次数
+     */
+    public long getGrowCount() {
+        return grows.get();
+    }
+
+    /**
+     * 缩容次数
+     */
+    public long getShrinkCount() {
+        return shrinks.get();
+    }
+}
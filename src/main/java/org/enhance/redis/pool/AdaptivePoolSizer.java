@@ -0,0 +1,267 @@
+package org.enhance.redis.pool;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.topology.ConnectionPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 连接池自适应调整
+ * <p>
+ * 按固定间隔采样所有连接工厂的连接池（{@link ConnectionPools#find}），在 [minTotal, maxTotal] 范围内调整 maxTotal，
+ * maxIdle 按配置的 maxIdle/maxTotal 比例跟随，minIdle 取活跃连接数峰值乘以 minIdleRatio（不低于配置值）：
+ * <ul>
+ *     <li>扩容：有线程在等待连接，或平均借用等待时间达到 growWaitThreshold 时，maxTotal 乘以 growFactor</li>
+ *     <li>缩容：没有等待线程且使用率连续 shrinkAfter 次低于 shrinkUtilization 时，maxTotal 乘以 shrinkFactor，
+ *     不低于采样到的活跃连接数峰值的2倍</li>
+ * </ul>
+ * 连接池的平均借用等待时间是最近100次借用的平均值，扩容后借用次数超过100次才会再次按等待时间扩容，避免同一批等待被重复计算
+ *
+ * @author wenpan 2026/10/19 21:30
+ */
+public class AdaptivePoolSizer implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    /**
+     * commons-pool2 统计平均借用等待时间使用的样本数
+     */
+    private static final int WAIT_STATS_WINDOW = 100;
+
+    private static final int DECISION_CAPACITY = 64;
+
+    private final Duration interval;
+
+    private final int minTotal;
+
+    private final int maxTotal;
+
+    private final long growWaitMillis;
+
+    private final double growFactor;
+
+    private final double shrinkUtilization;
+
+    private final int shrinkAfter;
+
+    private final double shrinkFactor;
+
+    private final double minIdleRatio;
+
+    /**
+     * 连接池 -> 采样状态，只在调整线程中修改
+     */
+    private final Map<GenericObjectPool<?>, AdaptivePool> pools = new IdentityHashMap<>();
+
+    private final List<Consumer<AdaptivePool>> poolAddedCallbacks = new CopyOnWriteArrayList<>();
+
+    private final List<PoolResizeDecision> decisions = new ArrayList<>(DECISION_CAPACITY);
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param interval          采样和调整的间隔
+     * @param minTotal          maxTotal 的下限
+     * @param maxTotal          maxTotal 的上限
+     * @param growWaitThreshold 平均借用等待时间达到该值时扩容
+     * @param growFactor        扩容倍数，大于1
+     * @param shrinkUtilization 使用率低于该值时计为一次低使用率
+     * @param shrinkAfter       连续低使用率的次数达到该值时缩容
+     * @param shrinkFactor      缩容倍数 (0, 1)
+     * @param minIdleRatio      minIdle 相对活跃连接数峰值的比例
+     */
+    public AdaptivePoolSizer(Duration interval, int minTotal, int maxTotal, Duration growWaitThreshold,
+                             double growFactor, double shrinkUtilization, int shrinkAfter, double shrinkFactor,
+                             double minIdleRatio) {
+        if (minTotal <= 0 || maxTotal < minTotal) {
+            throw new IllegalArgumentException("pool sizing requires 0 < min-total <= max-total.");
+        }
+        if (growFactor <= 1 || shrinkFactor <= 0 || shrinkFactor >= 1) {
+            throw new IllegalArgumentException("pool sizing requires grow-factor > 1 and 0 < shrink-factor < 1.");
+        }
+        this.interval = interval;
+        this.minTotal = minTotal;
+        this.maxTotal = maxTotal;
+        this.growWaitMillis = growWaitThreshold.toMillis();
+        this.growFactor = growFactor;
+        this.shrinkUtilization = shrinkUtilization;
+        this.shrinkAfter = Math.max(shrinkAfter, 1);
+        this.shrinkFactor = shrinkFactor;
+        this.minIdleRatio = minIdleRatio;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long millis = interval.toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(RedisExecutors.threadFactory("redis-pool-sizer"));
+        scheduler.scheduleWithFixedDelay(this::adjust, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 采样并调整所有连接池
+     */
+    void adjust() {
+        try {
+            Map<GenericObjectPool<?>, AdaptivePool> alive = new IdentityHashMap<>();
+            for (InstrumentedRedisConnectionFactory factory : RedisConnectionFactoryRegister.getFactories()) {
+                List<GenericObjectPool<?>> found = ConnectionPools.find(factory);
+                for (int i = 0; i < found.size(); i++) {
+                    GenericObjectPool<?> pool = found.get(i);
+                    if (alive.containsKey(pool)) {
+                        // jedis共享连接池被同一个数据源的多个db共用，每轮只调整一次
+                        continue;
+                    }
+                    AdaptivePool state = pools.get(pool);
+                    if (state == null) {
+                        state = new AdaptivePool(factory.getDataSourceName(), factory.getDatabase(), i, pool);
+                        onPoolAdded(state);
+                    }
+                    alive.put(pool, state);
+                    adjust(state);
+                }
+            }
+            // 移除已经销毁的连接工厂的连接池
+            synchronized (pools) {
+                pools.clear();
+                pools.putAll(alive);
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("adaptive pool sizing failed.", ex);
+        }
+    }
+
+    void adjust(AdaptivePool state) {
+        GenericObjectPool<?> pool = state.getObjectPool();
+        int currentMaxTotal = pool.getMaxTotal();
+        if (currentMaxTotal <= 0) {
+            // 不限制连接数的连接池不需要调整
+            return;
+        }
+        int active = pool.getNumActive();
+        int waiters = pool.getNumWaiters();
+        long borrowed = pool.getBorrowedCount();
+        long borrows = borrowed - state.lastBorrowed;
+        state.lastBorrowed = borrowed;
+        state.borrowsSinceResize = state.borrowsSinceResize == Long.MAX_VALUE
+                ? Long.MAX_VALUE : state.borrowsSinceResize + borrows;
+        state.peakActive = Math.max(state.peakActive, active);
+        long meanWait = pool.getMeanBorrowWaitTimeMillis();
+
+        boolean waitTooLong = borrows > 0 && state.borrowsSinceResize >= WAIT_STATS_WINDOW && meanWait >= growWaitMillis;
+        if ((waiters > 0 || waitTooLong) && currentMaxTotal < maxTotal) {
+            int target = Math.min(maxTotal, Math.max(currentMaxTotal + 1, (int) Math.ceil(currentMaxTotal * growFactor)));
+            String reason = waiters > 0 ? "waiters=" + waiters : "meanBorrowWait=" + meanWait + "ms";
+            resize(state, PoolResizeDecision.GROW, target, reason);
+            return;
+        }
+        double utilization = (double) active / currentMaxTotal;
+        if (waiters > 0 || utilization >= shrinkUtilization || currentMaxTotal <= minTotal) {
+            state.lowUtilizationTicks = 0;
+            return;
+        }
+        if (++state.lowUtilizationTicks < shrinkAfter) {
+            return;
+        }
+        int target = Math.max(minTotal, Math.max(state.peakActive * 2, (int) (currentMaxTotal * shrinkFactor)));
+        if (target < currentMaxTotal) {
+            resize(state, PoolResizeDecision.SHRINK, target,
+                    String.format("utilization=%.2f,peakActive=%d", utilization, state.peakActive));
+        } else {
+            state.lowUtilizationTicks = 0;
+            state.peakActive = active;
+        }
+    }
+
+    private void resize(AdaptivePool state, String direction, int targetMaxTotal, String reason) {
+        GenericObjectPool<?> pool = state.getObjectPool();
+        int fromMaxTotal = pool.getMaxTotal();
+        int fromMinIdle = pool.getMinIdle();
+        int maxIdle = Math.max(1, (int) Math.round(targetMaxTotal * state.idleRatio));
+        int minIdle = Math.min(maxIdle, Math.max(state.baseMinIdle, (int) Math.ceil(state.peakActive * minIdleRatio)));
+        if (PoolResizeDecision.GROW.equals(direction)) {
+            pool.setMaxTotal(targetMaxTotal);
+            pool.setMaxIdle(maxIdle);
+            pool.setMinIdle(minIdle);
+            state.grows.incrementAndGet();
+        } else {
+            pool.setMinIdle(minIdle);
+            pool.setMaxIdle(maxIdle);
+            pool.setMaxTotal(targetMaxTotal);
+            state.shrinks.incrementAndGet();
+        }
+        state.borrowsSinceResize = 0;
+        state.lowUtilizationTicks = 0;
+        state.peakActive = pool.getNumActive();
+
+        PoolResizeDecision decision = new PoolResizeDecision(System.currentTimeMillis(), state.getDataSourceName(),
+                state.getDatabase(), state.getIndex(), direction, fromMaxTotal, targetMaxTotal, fromMinIdle, minIdle,
+                reason);
+        synchronized (decisions) {
+            if (decisions.size() == DECISION_CAPACITY) {
+                decisions.remove(0);
+            }
+            decisions.add(decision);
+        }
+        LOGGER.info("redis connection pool resized: {}", decision);
+    }
+
+    private void onPoolAdded(AdaptivePool state) {
+        for (Consumer<AdaptivePool> callback : poolAddedCallbacks) {
+            try {
+                callback.accept(state);
+            } catch (RuntimeException ex) {
+                LOGGER.warn("pool added callback failed.", ex);
+            }
+        }
+    }
+
+    /**
+     * 监听新发现的连接池，注册时会对已发现的连接池立即回调一次
+     */
+    public void onPoolAdded(Consumer<AdaptivePool> callback) {
+        poolAddedCallbacks.add(callback);
+        getPools().forEach(callback);
+    }
+
+    /**
+     * 当前被调整的连接池
+     */
+    public List<AdaptivePool> getPools() {
+        synchronized (pools) {
+            return new ArrayList<>(pools.values());
+        }
+    }
+
+    /**
+     * 最近的调整记录，最新的在后
+     */
+    public List<PoolResizeDecision> getDecisions() {
+        synchronized (decisions) {
+            return Collections.unmodifiableList(new ArrayList<>(decisions));
+        }
+    }
+}
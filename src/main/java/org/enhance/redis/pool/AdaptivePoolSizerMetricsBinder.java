@@ -0,0 +1,60 @@
+package org.enhance.redis.pool;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+/**
+ * 将连接池自适应调整的状态和决策输出到 micrometer，连接池在第一次被发现时注册
+ * <ul>
+ *     <li>redis.pool.max.total / redis.pool.min.idle：调整后的连接池大小</li>
+ *     <li>redis.pool.active / redis.pool.waiters：活跃连接数和等待连接的线程数</li>
+ *     <li>redis.pool.resizes：调整次数，direction 标签为 GROW 或 SHRINK</li>
+ * </ul>
+ *
+ * @author wenpan 2026/10/19 21:30
+ */
+public class AdaptivePoolSizerMetricsBinder implements MeterBinder {
+
+    private final AdaptivePoolSizer sizer;
+
+    public AdaptivePoolSizerMetricsBinder(AdaptivePoolSizer sizer) {
+        this.sizer = sizer;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        sizer.onPoolAdded(pool -> bindPool(registry, pool));
+    }
+
+    private void bindPool(MeterRegistry registry, AdaptivePool pool) {
+        Tags tags = Tags.of("datasource", pool.getDataSourceName(),
+                "db", String.valueOf(pool.getDatabase()),
+                "pool", String.valueOf(pool.getIndex()));
+        Gauge.builder("redis.pool.max.total", pool, AdaptivePool::getMaxTotal)
+                .tags(tags)
+                .description("maxTotal of the connection pool after adaptive sizing")
+                .register(registry);
+        Gauge.builder("redis.pool.min.idle", pool, AdaptivePool::getMinIdle)
+                .tags(tags)
+                .description("minIdle of the connection pool after adaptive sizing")
+                .register(registry);
+        Gauge.builder("redis.pool.active", pool, AdaptivePool::getActive)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("redis.pool.waiters", pool, AdaptivePool::getWaiters)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("redis.pool.resizes", pool, AdaptivePool::getGrowCount)
+                .tags(tags)
+                .tag("direction", PoolResizeDecision.GROW)
+                .register(registry);
+        FunctionCounter.builder("redis.pool.resizes", pool, AdaptivePool::getShrinkCount)
+                .tags(tags)
+                .tag("direction", PoolResizeDecision.SHRINK)
+                .register(registry);
+    }
+}
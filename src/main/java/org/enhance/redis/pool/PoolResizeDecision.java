@@ -0,0 +1,115 @@
+package org.enhance.redis.pool;
+
+/**
+ * 一次连接池调整记录
+ *
+ * @author wenpan 2026/10/19 21:30
+ */
+public class PoolResizeDecision {
+
+    /**
+     * 扩容
+     */
+    public static final String GROW = "GROW";
+
+    /**
+     * 缩容
+     */
+    public static final String SHRINK = "SHRINK";
+
+    private final long timestamp;
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    private final int pool;
+
+    private final String direction;
+
+    private final int fromMaxTotal;
+
+    private final int toMaxTotal;
+
+    private final int fromMinIdle;
+
+    private final int toMinIdle;
+
+    private final String reason;
+
+    PoolResizeDecision(long timestamp, String dataSourceName, int database, int pool, String direction,
+                       int fromMaxTotal, int toMaxTotal, int fromMinIdle, int toMinIdle, String reason) {
+        this.timestamp = timestamp;
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.pool = pool;
+        this.direction = direction;
+        this.fromMaxTotal = fromMaxTotal;
+        this.toMaxTotal = toMaxTotal;
+        this.fromMinIdle = fromMinIdle;
+        this.toMinIdle = toMinIdle;
+        this.reason = reason;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    /**
+     * 连接工厂内第几个连接池，通常只有一个
+     */
+    public int getPool() {
+        return pool;
+    }
+
+    /**
+     * {@link #GROW} 或 {@link #SHRINK}
+     */
+    public String getDirection() {
+        return direction;
+    }
+
+    public int getFromMaxTotal() {
+        return fromMaxTotal;
+    }
+
+    public int getToMaxTotal() {
+        return toMaxTotal;
+    }
+
+    public int getFromMinIdle() {
+        return fromMinIdle;
+    }
+
+    public int getToMinIdle() {
+        return toMinIdle;
+    }
+
+    /**
+     * 触发调整的采样值，如 waiters=3、meanBorrowWait=12ms、utilization=0.05
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolResizeDecision{" +
+                "dataSourceName='" + dataSourceName + '\'' +
+                ", database=" + database +
+                ", pool=" + pool +
+                ", direction='" + direction + '\'' +
+                ", maxTotal=" + fromMaxTotal + "->" + toMaxTotal +
+                ", minIdle=" + fromMinIdle + "->" + toMinIdle +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+}
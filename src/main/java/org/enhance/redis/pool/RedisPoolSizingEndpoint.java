@@ -0,0 +1,30 @@
+package org.enhance.redis.pool;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 连接池自适应调整端点：/actuator/redispoolsizing，列出被调整的连接池当前大小和最近的调整记录
+ *
+ * @author wenpan 2026/10/19 21:30
+ */
+@Endpoint(id = "redispoolsizing")
+public class RedisPoolSizingEndpoint {
+
+    private final AdaptivePoolSizer sizer;
+
+    public RedisPoolSizingEndpoint(AdaptivePoolSizer sizer) {
+        this.sizer = sizer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> poolSizing() {
+        Map<String, Object> result = new LinkedHashMap<>(4);
+        result.put("pools", sizer.getPools());
+        result.put("decisions", sizer.getDecisions());
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package org.enhance.redis.register;
+
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 连接工厂注册，记录所有由本组件包装过的连接工厂（包括容器中默认数据源的连接工厂和各个db懒加载创建的连接工厂）
+ * <p>
+ * 容器中的连接工厂以原始连接工厂为key，同一个原始连接工厂只会对应一个包装工厂；由包装工厂负责销毁的原始连接工厂可能被多个数据源/db共用，
+ * 每个包装工厂单独注册
+ *
+ * @author wenpan 2026/10/19 18:00
+ */
+public class RedisConnectionFactoryRegister {
+
+    /**
+     * 容器中的原始连接工厂 -> 包装后的连接工厂
+     */
+    private final static Map<RedisConnectionFactory, InstrumentedRedisConnectionFactory> FACTORY_REGISTER = new ConcurrentHashMap<>();
+
+    /**
+     * 由包装工厂负责销毁原始连接工厂的包装工厂
+     */
+    private final static Set<InstrumentedRedisConnectionFactory> OWNING_FACTORY_REGISTER = ConcurrentHashMap.newKeySet();
+
+    private RedisConnectionFactoryRegister() {
+
+    }
+
+    /**
+     * 获取原始连接工厂对应的包装工厂，不存在时创建并注册
+     *
+     * @param delegate 原始连接工厂
+     * @param creator  包装工厂的创建方法
+     * @return 包装后的连接工厂
+     */
+    public static InstrumentedRedisConnectionFactory computeIfAbsent(RedisConnectionFactory delegate,
+                                                                     Function<RedisConnectionFactory, InstrumentedRedisConnectionFactory> creator) {
+        return FACTORY_REGISTER.computeIfAbsent(delegate, creator);
+    }
+
+    /**
+     * 注册由包装工厂负责销毁原始连接工厂的包装工厂
+     */
+    public static void register(InstrumentedRedisConnectionFactory factory) {
+        OWNING_FACTORY_REGISTER.add(factory);
+    }
+
+    /**
+     * 移除包装工厂（连接工厂销毁时调用）
+     */
+    public static void unregister(InstrumentedRedisConnectionFactory factory) {
+        if (factory == null) {
+            return;
+        }
+        if (!OWNING_FACTORY_REGISTER.remove(factory)) {
+            FACTORY_REGISTER.remove(factory.getDelegate(), factory);
+        }
+    }
+
+    /**
+     * 获取所有存活的连接工厂
+     */
+    public static Collection<InstrumentedRedisConnectionFactory> getFactories() {
+        List<InstrumentedRedisConnectionFactory> result = new ArrayList<>(FACTORY_REGISTER.values());
+        result.addAll(OWNING_FACTORY_REGISTER);
+        return result;
+    }
+
+    /**
+     * 获取指定数据源下存活的连接工厂
+     *
+     * @param dataSourceName 数据源名称
+     */
+    public static List<InstrumentedRedisConnectionFactory> getFactories(String dataSourceName) {
+        List<InstrumentedRedisConnectionFactory> result = new ArrayList<>();
+        for (InstrumentedRedisConnectionFactory factory : getFactories()) {
+            if (factory.getDataSourceName().equals(dataSourceName)) {
+                result.add(factory);
+            }
+        }
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package org.enhance.redis.register;
 
+import org.enhance.redis.helper.ReactiveRedisHelper;
 import org.enhance.redis.helper.RedisHelper;
 import org.springframework.data.redis.core.RedisTemplate;
 
@@ -23,6 +24,11 @@ public class RedisDataSourceRegister {
      */
     private final static Map<String, RedisHelper> REDIS_HELPER_REGISTER = new ConcurrentHashMap<>();
 
+    /**
+     * 多数据源reactiveRedisHelper注册（仅lettuce客户端时存在）
+     */
+    private final static Map<String, ReactiveRedisHelper> REACTIVE_REDIS_HELPER_REGISTER = new ConcurrentHashMap<>();
+
     public RedisDataSourceRegister() {
 
     }
@@ -47,6 +53,37 @@ public class RedisDataSourceRegister {
         REDIS_HELPER_REGISTER.put(name, redisHelper);
     }
 
+    /**
+     * 注册ReactiveRedisHelper
+     */
+    public static void registerReactiveRedisHelper(String name, ReactiveRedisHelper reactiveRedisHelper) {
+        if (reactiveRedisHelper == null || name == null) {
+            return;
+        }
+        REACTIVE_REDIS_HELPER_REGISTER.put(name, reactiveRedisHelper);
+    }
+
+    /**
+     * 移除RedisTemplate
+     */
+    public static RedisTemplate<String, String> unregisterRedisTemplate(String name) {
+        return name == null ? null : REDIS_TEMPLATE_REGISTER.remove(name);
+    }
+
+    /**
+     * 移除RedisHelper
+     */
+    public static RedisHelper unregisterRedisHelper(String name) {
+        return name == null ? null : REDIS_HELPER_REGISTER.remove(name);
+    }
+
+    /**
+     * 移除ReactiveRedisHelper
+     */
+    public static ReactiveRedisHelper unregisterReactiveRedisHelper(String name) {
+        return name == null ? null : REACTIVE_REDIS_HELPER_REGISTER.remove(name);
+    }
+
     /**
      * 获取指定数据源的RedisTemplate
      */
@@ -61,6 +98,13 @@ public class RedisDataSourceRegister {
         return REDIS_HELPER_REGISTER.get(name);
     }
 
+    /**
+     * 获取指定数据源的ReactiveRedisHelper
+     */
+    public static ReactiveRedisHelper getReactiveRedisHelper(String name) {
+        return REACTIVE_REDIS_HELPER_REGISTER.get(name);
+    }
+
     /**
      * 获取多数据源的RedisTemplate注册器
      */
@@ -75,4 +119,11 @@ public class RedisDataSourceRegister {
         return REDIS_HELPER_REGISTER;
     }
 
+    /**
+     * 获取多数据源的ReactiveRedisHelper注册器
+     */
+    public static Map<String, ReactiveRedisHelper> getReactiveRedisHelperRegister() {
+        return REACTIVE_REDIS_HELPER_REGISTER;
+    }
+
 }
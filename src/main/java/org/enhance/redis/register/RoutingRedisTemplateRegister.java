@@ -0,0 +1,46 @@
+package org.enhance.redis.register;
+
+import org.enhance.redis.template.AbstractRoutingRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 动态路由RedisTemplate注册，记录所有创建过的 {@link AbstractRoutingRedisTemplate}（包括多租户数据源的），用于后台淘汰空闲的db
+ * <p>
+ * 弱引用持有，不再使用的路由RedisTemplate被回收后自动移除
+ *
+ * @author wenpan 2026/10/19 23:30
+ */
+public class RoutingRedisTemplateRegister {
+
+    private final static Set<AbstractRoutingRedisTemplate<?, ?>> TEMPLATE_REGISTER =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private RoutingRedisTemplateRegister() {
+
+    }
+
+    public static void register(AbstractRoutingRedisTemplate<?, ?> redisTemplate) {
+        TEMPLATE_REGISTER.add(redisTemplate);
+    }
+
+    /**
+     * 移除路由RedisTemplate（所属数据源销毁时调用）
+     */
+    public static void unregister(AbstractRoutingRedisTemplate<?, ?> redisTemplate) {
+        TEMPLATE_REGISTER.remove(redisTemplate);
+    }
+
+    /**
+     * 获取所有存活的路由RedisTemplate的快照
+     */
+    public static List<AbstractRoutingRedisTemplate<?, ?>> getTemplates() {
+        synchronized (TEMPLATE_REGISTER) {
+            return new ArrayList<>(TEMPLATE_REGISTER);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.enhance.redis.register;
+
+import org.enhance.redis.jedis.DatabaseAffinityJedisPool;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 共用的原始连接工厂注册，连接配置相同的数据源/db共用同一个原始连接工厂（连接池）
+ * <p>
+ * 每个使用方通过 {@link #retain(Object, Supplier)} 获取时引用计数加一，通过 {@link #release(RedisConnectionFactory)} 释放时减一，
+ * 最后一个使用方释放时销毁连接工厂。不是从这里获取的连接工厂释放时直接销毁
+ *
+ * @author wenpan 2026/10/20 00:30
+ */
+public class SharedRedisConnectionFactoryRegister {
+
+    /**
+     * 连接配置 -> 共用的连接工厂
+     */
+    private static final Map<Object, SharedFactory> SHARED_FACTORIES = new ConcurrentHashMap<>();
+
+    /**
+     * 已经创建的原始连接工厂 -> 共用的连接工厂
+     */
+    private static final Map<RedisConnectionFactory, SharedFactory> RETAINED_FACTORIES = new ConcurrentHashMap<>();
+
+    /**
+     * 连接配置 -> jedis共享连接池，连接池自己维护引用计数，关闭时移除
+     */
+    private static final Map<Object, DatabaseAffinityJedisPool> SHARED_JEDIS_POOLS = new ConcurrentHashMap<>();
+
+    private SharedRedisConnectionFactoryRegister() {
+
+    }
+
+    /**
+     * 获取连接配置对应的原始连接工厂并增加一个使用方，不存在时创建
+     *
+     * @param key     连接配置，相同的连接配置共用同一个连接工厂
+     * @param creator 连接工厂的创建方法，同一个连接配置同时只有一个线程创建
+     * @return 原始连接工厂，使用完毕后调用 {@link #release(RedisConnectionFactory)} 释放
+     */
+    public static RedisConnectionFactory retain(Object key, Supplier<RedisConnectionFactory> creator) {
+        for (; ; ) {
+            SharedFactory sharedFactory = SHARED_FACTORIES.computeIfAbsent(key, SharedFactory::new);
+            RedisConnectionFactory connectionFactory = sharedFactory.retain(creator);
+            if (connectionFactory != null) {
+                return connectionFactory;
+            }
+            // 刚好被最后一个使用方释放，重新创建
+            SHARED_FACTORIES.remove(key, sharedFactory);
+        }
+    }
+
+    /**
+     * 释放一个使用方，最后一个使用方释放时销毁连接工厂；不是共用的连接工厂直接销毁
+     *
+     * @param connectionFactory 原始连接工厂
+     */
+    public static void release(RedisConnectionFactory connectionFactory) throws Exception {
+        SharedFactory sharedFactory = RETAINED_FACTORIES.get(connectionFactory);
+        if (sharedFactory != null) {
+            sharedFactory.release();
+        } else if (connectionFactory instanceof DisposableBean) {
+            ((DisposableBean) connectionFactory).destroy();
+        }
+    }
+
+    /**
+     * 连接工厂当前是否还有其他使用方
+     *
+     * @param connectionFactory 原始连接工厂
+     */
+    public static boolean isShared(RedisConnectionFactory connectionFactory) {
+        return getReferenceCount(connectionFactory) > 1;
+    }
+
+    /**
+     * 获取连接工厂的使用方个数，不是共用的连接工厂返回0
+     *
+     * @param connectionFactory 原始连接工厂
+     */
+    public static int getReferenceCount(RedisConnectionFactory connectionFactory) {
+        SharedFactory sharedFactory = RETAINED_FACTORIES.get(connectionFactory);
+        return sharedFactory == null ? 0 : sharedFactory.getReferences();
+    }
+
+    /**
+     * 获取连接配置对应的jedis共享连接池并增加一个使用方，不存在或已经关闭时创建
+     *
+     * @param key     连接配置（不包含db）
+     * @param creator 连接池的创建方法
+     * @return 共享连接池，由使用方调用 {@link DatabaseAffinityJedisPool#release()} 释放
+     */
+    public static DatabaseAffinityJedisPool retainJedisPool(Object key, Supplier<DatabaseAffinityJedisPool> creator) {
+        return SHARED_JEDIS_POOLS.compute(key, (k, pool) -> {
+            if (pool != null && pool.retain()) {
+                return pool;
+            }
+            DatabaseAffinityJedisPool created = creator.get();
+            created.retain();
+            // 最后一个使用方释放后移除，不再持有已经关闭的连接池
+            created.setCloseCallback(() -> SHARED_JEDIS_POOLS.remove(k, created));
+            return created;
+        });
+    }
+
+    /**
+     * 当前缓存的jedis共享连接池个数
+     */
+    static int getJedisPoolCount() {
+        return SHARED_JEDIS_POOLS.size();
+    }
+
+    /**
+     * 共用的连接工厂，第一个使用方获取时创建
+     */
+    private static final class SharedFactory {
+
+        private final Object key;
+
+        /**
+         * 保护连接工厂的创建、引用计数和关闭
+         */
+        private final Lock lock = new ReentrantLock();
+
+        private RedisConnectionFactory connectionFactory;
+
+        private int references;
+
+        private boolean closed;
+
+        SharedFactory(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * @return 连接工厂，已经被最后一个使用方释放时返回null
+         */
+        RedisConnectionFactory retain(Supplier<RedisConnectionFactory> creator) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return null;
+                }
+                if (connectionFactory == null) {
+                    try {
+                        connectionFactory = creator.get();
+                    } catch (RuntimeException | Error ex) {
+                        // 创建失败不缓存，下次获取时重新创建
+                        closed = true;
+                        SHARED_FACTORIES.remove(key, this);
+                        throw ex;
+                    }
+                    RETAINED_FACTORIES.put(connectionFactory, this);
+                }
+                references++;
+                return connectionFactory;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release() throws Exception {
+            lock.lock();
+            try {
+                if (closed || --references > 0) {
+                    return;
+                }
+                closed = true;
+                SHARED_FACTORIES.remove(key, this);
+                RETAINED_FACTORIES.remove(connectionFactory, this);
+            } finally {
+                lock.unlock();
+            }
+            if (connectionFactory instanceof DisposableBean) {
+                ((DisposableBean) connectionFactory).destroy();
+            }
+        }
+
+        int getReferences() {
+            lock.lock();
+            try {
+                return references;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.enhance.redis.reload;
+
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监听外部配置文件，文件中某个数据源的配置变化时重新加载该数据源
+ * <p>
+ * 配置文件为 properties 或 yaml 格式，数据源配置与 application 配置文件中的格式相同（spring.redis.datasource.数据源名称.xxx），
+ * 每个数据源需要写完整的配置。启动时读取一次作为基准，之后只重新加载配置有变化的数据源，文件中未注册的数据源会被忽略。
+ * 文件在短时间内多次修改时只在最后一次修改后读取一次
+ * <p>
+ * 数据源重新加载成功后才更新它的基准配置，加载失败或当时未注册的数据源在文件下一次变化时重试
+ *
+ * @author wenpan 2026/10/19 23:45
+ */
+public class RedisDataSourceConfigWatcher implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisDataSourceConfigWatcher.class);
+
+    private static final String PREFIX = "spring.redis.datasource";
+
+    /**
+     * 文件最后一次修改后等待的时间
+     */
+    private static final long QUIET_PERIOD_MILLIS = 500;
+
+    private final Path file;
+
+    private final RedisDataSourceReloader reloader;
+
+    /**
+     * 数据源名称 -> 该数据源当前生效的配置（启动时读取的或最后一次重新加载成功的）
+     */
+    private final Map<String, Map<String, String>> snapshot = new ConcurrentHashMap<>();
+
+    /**
+     * 数据源名称 -> 正在重新加载的配置，相同的配置不重复加载
+     */
+    private final Map<String, Map<String, String>> reloading = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+
+    private ExecutorService executor;
+
+    public RedisDataSourceConfigWatcher(Path file, RedisDataSourceReloader reloader) {
+        this.file = file.toAbsolutePath().normalize();
+        this.reloader = reloader;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (Files.exists(file)) {
+            snapshot.putAll(load());
+        }
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        executor = Executors.newSingleThreadExecutor(RedisExecutors.threadFactory("redis-config-watcher"));
+        executor.execute(this::watch);
+        LOGGER.info("watching redis datasource configuration file [{}].", file);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            for (; ; ) {
+                if (!isChanged(watchService.take())) {
+                    continue;
+                }
+                // 编辑器保存文件时可能触发多次事件，等待文件不再变化
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isChanged(key);
+                }
+                reloadChanged();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // 已经关闭
+        }
+    }
+
+    private boolean isChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * 重新读取配置文件，重新加载配置有变化的数据源
+     */
+    void reloadChanged() {
+        Map<String, Map<String, String>> current;
+        try {
+            current = load();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("read redis datasource configuration file [{}] failed, ignore this change.", file, ex);
+            return;
+        }
+        Map<String, String> properties = new HashMap<>();
+        current.forEach((name, values) -> values.forEach((key, value) -> properties.put(PREFIX + "." + name + "." + key, value)));
+        Binder binder = new Binder(new MapConfigurationPropertySource(properties));
+        current.forEach((name, values) -> {
+            if (Objects.equals(values, snapshot.get(name)) || Objects.equals(values, reloading.get(name))) {
+                return;
+            }
+            if (!reloader.isReloadable(name)) {
+                LOGGER.warn("redis datasource [{}] in configuration file [{}] is not registered, ignore it.", name, file);
+                return;
+            }
+            RedisProperties redisProperties = binder.bind(PREFIX + "." + name, RedisProperties.class).orElseGet(RedisProperties::new);
+            LOGGER.info("configuration of redis datasource [{}] changed, reloading.", name);
+            reloading.put(name, values);
+            CompletableFuture<Void> reloaded;
+            try {
+                reloaded = reloader.reload(name, redisProperties);
+            } catch (RuntimeException ex) {
+                reloaded = new CompletableFuture<>();
+                reloaded.completeExceptionally(ex);
+            }
+            reloaded.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    snapshot.put(name, values);
+                } else {
+                    LOGGER.warn("reload redis datasource [{}] from configuration file [{}] failed, retry on the next change.",
+                            name, file);
+                }
+                reloading.remove(name, values);
+            });
+        });
+    }
+
+    private Map<String, Map<String, String>> load() throws IOException {
+        String fileName = file.getFileName().toString();
+        PropertySourceLoader loader = fileName.endsWith(".yml") || fileName.endsWith(".yaml")
+                ? new YamlPropertySourceLoader() : new PropertiesPropertySourceLoader();
+        Map<String, Map<String, String>> dataSources = new TreeMap<>();
+        for (PropertySource<?> propertySource : loader.load(fileName, new FileSystemResource(file))) {
+            if (!(propertySource instanceof EnumerablePropertySource)) {
+                continue;
+            }
+            for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                if (!name.startsWith(PREFIX + ".")) {
+                    continue;
+                }
+                String key = name.substring(PREFIX.length() + 1);
+                int index = key.indexOf('.');
+                if (index <= 0) {
+                    continue;
+                }
+                dataSources.computeIfAbsent(key.substring(0, index), k -> new TreeMap<>())
+                        .put(key.substring(index + 1), String.valueOf(propertySource.getProperty(name)));
+            }
+        }
+        return dataSources;
+    }
+}
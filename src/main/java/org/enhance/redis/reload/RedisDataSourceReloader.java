@@ -0,0 +1,198 @@
+package org.enhance.redis.reload;
+
+import org.enhance.redis.RedisDataSourceContext;
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.config.properties.RedisDataSourceProperties;
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.register.RoutingRedisTemplateRegister;
+import org.enhance.redis.register.SharedRedisConnectionFactoryRegister;
+import org.enhance.redis.template.AbstractRoutingRedisTemplate;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.enhance.redis.topology.ConnectionPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 数据源配置重新加载，修改数据源的地址、连接池等配置后不需要重启
+ * <p>
+ * 重新加载在后台线程中进行，多次重新加载按提交顺序依次执行：
+ * <ol>
+ *     <li>使用新的配置为该数据源每个存活的db创建连接工厂并PING一次，任何一个失败则销毁已经创建的连接工厂，继续使用旧的配置</li>
+ *     <li>更新数据源配置，替换该数据源所有 {@link DynamicRedisTemplate} 的工厂，之后懒加载创建的db使用新的配置</li>
+ *     <li>替换每个db的包装连接工厂中的原始连接工厂，容器中的 RedisTemplate、RedisHelper 不需要重新创建</li>
+ *     <li>旧的连接池中借出的连接全部归还（或超过 drainTimeout）后销毁旧的连接工厂；没有连接池的连接工厂等待 drainTimeout 后销毁</li>
+ * </ol>
+ * 只能重新加载 spring.redis.datasource 下配置或通过 {@link org.enhance.redis.RedisMultiDataSourceRegistrarExtension} 注册的数据源，
+ * 容器中默认数据源的连接工厂由spring管理，不能重新加载
+ *
+ * @author wenpan 2026/10/19 23:45
+ */
+public class RedisDataSourceReloader extends RedisDataSourceContext implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisDataSourceReloader.class);
+
+    private static final long DRAIN_CHECK_INTERVAL_MILLIS = 100;
+
+    private final Duration drainTimeout;
+
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(RedisExecutors.threadFactory("redis-reload"));
+
+    /**
+     * 已经被替换下来、等待连接归还后销毁的连接工厂
+     */
+    private final Map<RedisConnectionFactory, String> draining = new ConcurrentHashMap<>();
+
+    /**
+     * @param drainTimeout 等待旧连接池中借出的连接归还的最长时间
+     */
+    public RedisDataSourceReloader(Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * 使用新的配置重新加载数据源
+     *
+     * @param dataSourceName  数据源名称
+     * @param redisProperties 新的配置
+     * @return 新的连接工厂替换完成时结束，新的配置无法连接时异常结束
+     */
+    public CompletableFuture<Void> reload(String dataSourceName, RedisProperties redisProperties) {
+        if (redisProperties == null) {
+            throw new IllegalArgumentException("redisProperties can not be null, please check.");
+        }
+        if (!isReloadable(dataSourceName)) {
+            throw new IllegalArgumentException("redis datasource [" + dataSourceName + "] is not registered and can not be reloaded.");
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                doReload(dataSourceName, redisProperties);
+                result.complete(null);
+            } catch (RuntimeException ex) {
+                LOGGER.error("reload redis datasource [{}] failed, keep using the old configuration.", dataSourceName, ex);
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 数据源是否可以重新加载
+     */
+    public boolean isReloadable(String dataSourceName) {
+        return dataSourceName != null
+                && applicationContext.getBean(RedisDataSourceProperties.class).getRedisProperties(dataSourceName) != null;
+    }
+
+    private void doReload(String dataSourceName, RedisProperties redisProperties) {
+        long start = System.nanoTime();
+        DynamicRedisTemplateFactory<String, String> templateFactory =
+                getDynamicRedisTemplateFactory(dataSourceName, redisProperties);
+        Map<InstrumentedRedisConnectionFactory, RedisConnectionFactory> replacements = new LinkedHashMap<>();
+        try {
+            for (InstrumentedRedisConnectionFactory factory : getReplaceableFactories(dataSourceName)) {
+                RedisConnectionFactory connectionFactory = templateFactory.createRedisConnectionFactory(factory.getDatabase());
+                replacements.put(factory, connectionFactory);
+                ping(connectionFactory);
+            }
+        } catch (RuntimeException ex) {
+            replacements.values().forEach(connectionFactory -> destroy(dataSourceName, connectionFactory));
+            throw ex;
+        }
+
+        applicationContext.getBean(RedisDataSourceProperties.class).addRedisProperties(dataSourceName, redisProperties);
+        for (AbstractRoutingRedisTemplate<?, ?> redisTemplate : RoutingRedisTemplateRegister.getTemplates()) {
+            if (redisTemplate instanceof DynamicRedisTemplate && dataSourceName.equals(
+                    ((DynamicRedisTemplate<?, ?>) redisTemplate).getDynamicRedisTemplateFactory().getDataSourceName())) {
+                @SuppressWarnings("unchecked")
+                DynamicRedisTemplate<String, String> dynamicRedisTemplate = (DynamicRedisTemplate<String, String>) redisTemplate;
+                dynamicRedisTemplate.setDynamicRedisTemplateFactory(templateFactory);
+            }
+        }
+        // 替换工厂前使用旧的配置懒加载创建的db
+        for (InstrumentedRedisConnectionFactory factory : getReplaceableFactories(dataSourceName)) {
+            if (!replacements.containsKey(factory)) {
+                replacements.put(factory, templateFactory.createRedisConnectionFactory(factory.getDatabase()));
+            }
+        }
+
+        List<RedisConnectionFactory> retired = new ArrayList<>(replacements.size());
+        replacements.forEach((factory, connectionFactory) -> retired.add(factory.swapDelegate(connectionFactory)));
+        retired.forEach(connectionFactory -> draining.put(connectionFactory, dataSourceName));
+        LOGGER.info("reloaded redis datasource [{}] ({} connection factories) in {}ms, draining old connections.",
+                dataSourceName, retired.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        drain(dataSourceName, retired, System.nanoTime() + drainTimeout.toNanos());
+    }
+
+    private static List<InstrumentedRedisConnectionFactory> getReplaceableFactories(String dataSourceName) {
+        return RedisConnectionFactoryRegister.getFactories(dataSourceName).stream()
+                .filter(InstrumentedRedisConnectionFactory::isOwnsDelegate)
+                .collect(Collectors.toList());
+    }
+
+    private static void ping(RedisConnectionFactory connectionFactory) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        }
+    }
+
+    /**
+     * 旧的连接池中借出的连接全部归还或超时后销毁旧的连接工厂
+     */
+    private void drain(String dataSourceName, List<RedisConnectionFactory> retired, long deadline) {
+        // 没有连接池的连接工厂无法判断是否还有正在执行的命令，等待到超时；还有其他使用方的共用连接工厂只释放引用，不需要等待
+        if (!retired.stream().allMatch(RedisDataSourceReloader::isDrained) && System.nanoTime() < deadline) {
+            try {
+                executor.schedule(() -> drain(dataSourceName, retired, deadline), DRAIN_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException ex) {
+                // 已经关闭，直接销毁
+            }
+        }
+        retired.forEach(connectionFactory -> destroy(dataSourceName, connectionFactory));
+        LOGGER.info("closed {} old connection factories of redis datasource [{}].", retired.size(), dataSourceName);
+    }
+
+    private static boolean isDrained(RedisConnectionFactory connectionFactory) {
+        return SharedRedisConnectionFactoryRegister.isShared(connectionFactory) || ConnectionPools.isIdle(connectionFactory);
+    }
+
+    private void destroy(String dataSourceName, RedisConnectionFactory connectionFactory) {
+        draining.remove(connectionFactory);
+        try {
+            SharedRedisConnectionFactoryRegister.release(connectionFactory);
+        } catch (Exception ex) {
+            LOGGER.warn("destroy old connection factory of redis datasource [{}] failed.", dataSourceName, ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        new LinkedHashMap<>(draining).forEach((connectionFactory, dataSourceName) -> destroy(dataSourceName, connectionFactory));
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+}
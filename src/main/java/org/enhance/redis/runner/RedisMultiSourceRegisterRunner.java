@@ -1,6 +1,7 @@
 package org.enhance.redis.runner;
 
 import org.enhance.redis.helper.ApplicationContextHelper;
+import org.enhance.redis.helper.ReactiveRedisHelper;
 import org.enhance.redis.helper.RedisHelper;
 import org.enhance.redis.infra.constant.DynamicRedisConstants;
 import org.enhance.redis.infra.util.EnvironmentUtil;
@@ -47,6 +48,11 @@ public class RedisMultiSourceRegisterRunner implements CommandLineRunner, Enviro
                 .getBean(DynamicRedisConstants.DefaultRedisTemplateName.REDIS_TEMPLATE, RedisTemplate.class);
         RedisDataSourceRegister.registerRedisHelper(DynamicRedisConstants.MultiSource.DEFAULT_SOURCE_HELPER, defaultRedisHelper);
         RedisDataSourceRegister.registerRedisTemplate(DynamicRedisConstants.MultiSource.DEFAULT_SOURCE_TEMPLATE, defaultRedisTemplate);
+        if (ApplicationContextHelper.getContext().containsBean(DynamicRedisConstants.DefaultRedisHelperName.REACTIVE_REDIS_HELPER)) {
+            RedisDataSourceRegister.registerReactiveRedisHelper(DynamicRedisConstants.MultiSource.DEFAULT_SOURCE_REACTIVE_HELPER,
+                    ApplicationContextHelper.getContext().getBean(
+                            DynamicRedisConstants.DefaultRedisHelperName.REACTIVE_REDIS_HELPER, ReactiveRedisHelper.class));
+        }
 
         // 注册多数据源的RedisHelper
         dataSourceNames.forEach(name -> {
@@ -60,6 +66,12 @@ public class RedisMultiSourceRegisterRunner implements CommandLineRunner, Enviro
             RedisDataSourceRegister.registerRedisTemplate(realTemplateName, redisTemplate);
             // 注册RedisHelper
             RedisDataSourceRegister.registerRedisHelper(realHelperName, redisHelper);
+            // 注册ReactiveRedisHelper（仅lettuce客户端时存在）
+            String realReactiveHelperName = name + DynamicRedisConstants.MultiSource.REACTIVE_REDIS_HELPER;
+            if (ApplicationContextHelper.getContext().containsBean(realReactiveHelperName)) {
+                RedisDataSourceRegister.registerReactiveRedisHelper(realReactiveHelperName,
+                        ApplicationContextHelper.getContext().getBean(realReactiveHelperName, ReactiveRedisHelper.class));
+            }
         });
 
     }
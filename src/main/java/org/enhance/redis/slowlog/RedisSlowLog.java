@@ -0,0 +1,143 @@
+package org.enhance.redis.slowlog;
+
+import org.enhance.redis.instrument.RedisCommandEvent;
+import org.enhance.redis.instrument.RedisCommandListener;
+import org.enhance.redis.instrument.RedisCommandListeners;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 客户端慢命令日志
+ * <p>
+ * redis服务端的 SLOWLOG 只包含服务端执行耗时，客户端感知到的耗时还包括连接池等待和网络，
+ * 这里记录 获取连接耗时 + 命令执行耗时 超过阈值的命令。
+ * 记录保存在固定大小的环形缓冲区中：写入时只有一次 getAndIncrement 和一次数组写，不加锁，
+ * 缓冲区写满后覆盖最旧的记录
+ *
+ * @author wenpan 2026/10/19 17:30
+ */
+public class RedisSlowLog implements RedisCommandListener, InitializingBean, DisposableBean {
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private final int maxKeyLength;
+
+    private final AtomicReferenceArray<SlowCommand> buffer;
+
+    private final int mask;
+
+    /**
+     * 下一个写入位置，同时也是已记录的慢命令总数
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param threshold    慢命令阈值
+     * @param capacity     缓冲区大小，向上取整为2的幂
+     * @param sampleRate   慢命令采样率 (0, 1]
+     * @param maxKeyLength 记录的key最大长度
+     */
+    public RedisSlowLog(Duration threshold, int capacity, double sampleRate, int maxKeyLength) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("slow log capacity must be positive.");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxKeyLength = maxKeyLength;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        RedisCommandListeners.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        RedisCommandListeners.unregister(this);
+    }
+
+    @Override
+    public void onCommand(RedisCommandEvent event) {
+        long total = event.getConnectionAcquireNanos() + event.getDurationNanos();
+        if (total < thresholdNanos) {
+            return;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long id = sequence.getAndIncrement();
+        Throwable error = event.getError();
+        buffer.set((int) (id & mask), new SlowCommand(id, System.currentTimeMillis(),
+                event.getDataSourceName(), event.getDatabase(), event.getCommand(), truncate(event.getKey()),
+                TimeUnit.NANOSECONDS.toMicros(event.getConnectionAcquireNanos()),
+                TimeUnit.NANOSECONDS.toMicros(event.getDurationNanos()),
+                Thread.currentThread().getName(),
+                error == null ? null : error.getClass().getSimpleName() + ": " + error.getMessage()));
+    }
+
+    /**
+     * 获取缓冲区中的慢命令，最新的在前
+     */
+    public List<SlowCommand> getSlowCommands() {
+        return getSlowCommands(buffer.length());
+    }
+
+    /**
+     * 获取最近的limit条慢命令，最新的在前
+     *
+     * @param limit 最多返回的条数，限制在 [0, 容量] 之间
+     */
+    public List<SlowCommand> getSlowCommands(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.max(0, Math.min(limit, buffer.length())));
+        List<SlowCommand> result = new ArrayList<>((int) (end - start));
+        for (long id = end - 1; id >= start; id--) {
+            SlowCommand slowCommand = buffer.get((int) (id & mask));
+            // 并发写入时该位置可能还是旧记录，或者已经被更新的记录覆盖
+            if (slowCommand != null && slowCommand.getId() == id) {
+                result.add(slowCommand);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 已记录的慢命令总数（包括已被覆盖的）
+     */
+    public long getTotalCount() {
+        return sequence.get();
+    }
+
+    /**
+     * 清空缓冲区，总数不清零
+     */
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    private String truncate(String key) {
+        if (key == null || key.length() <= maxKeyLength) {
+            return key;
+        }
+        return key.substring(0, maxKeyLength) + "...";
+    }
+}
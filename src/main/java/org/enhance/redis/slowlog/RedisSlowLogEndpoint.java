@@ -0,0 +1,46 @@
+package org.enhance.redis.slowlog;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 客户端慢命令日志端点：/actuator/redisslowlog
+ *
+ * @author wenpan 2026/10/19 17:30
+ */
+@Endpoint(id = "redisslowlog")
+public class RedisSlowLogEndpoint {
+
+    private final RedisSlowLog redisSlowLog;
+
+    public RedisSlowLogEndpoint(RedisSlowLog redisSlowLog) {
+        this.redisSlowLog = redisSlowLog;
+    }
+
+    /**
+     * 查询最近的慢命令
+     *
+     * @param limit 最多返回的条数，为空时返回缓冲区中的全部记录，小于0时按0处理
+     */
+    @ReadOperation
+    public Map<String, Object> slowCommands(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>(4);
+        result.put("thresholdMillis", redisSlowLog.getThreshold().toMillis());
+        result.put("totalCount", redisSlowLog.getTotalCount());
+        result.put("commands", limit == null ? redisSlowLog.getSlowCommands() : redisSlowLog.getSlowCommands(limit));
+        return result;
+    }
+
+    /**
+     * 清空慢命令记录
+     */
+    @DeleteOperation
+    public void clear() {
+        redisSlowLog.clear();
+    }
+}
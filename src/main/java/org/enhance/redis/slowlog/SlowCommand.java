@@ -0,0 +1,108 @@
+package org.enhance.redis.slowlog;
+
+/**
+ * 一条慢命令记录，耗时单位：微秒
+ *
+ * @author wenpan 2026/10/19 17:30
+ */
+public class SlowCommand {
+
+    private final long id;
+
+    private final long timestamp;
+
+    private final String dataSourceName;
+
+    private final int database;
+
+    private final String command;
+
+    private final String key;
+
+    private final long poolWaitMicros;
+
+    private final long executeMicros;
+
+    private final String thread;
+
+    private final String error;
+
+    SlowCommand(long id, long timestamp, String dataSourceName, int database, String command, String key,
+                long poolWaitMicros, long executeMicros, String thread, String error) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.dataSourceName = dataSourceName;
+        this.database = database;
+        this.command = command;
+        this.key = key;
+        this.poolWaitMicros = poolWaitMicros;
+        this.executeMicros = executeMicros;
+        this.thread = thread;
+        this.error = error;
+    }
+
+    /**
+     * 递增的序号
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * 命令完成的时间戳（毫秒）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * 命令操作的第一个key（超长时截断）
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 获取连接（等待连接池）的耗时
+     */
+    public long getPoolWaitMicros() {
+        return poolWaitMicros;
+    }
+
+    /**
+     * 命令执行耗时（网络往返 + 服务端执行）
+     */
+    public long getExecuteMicros() {
+        return executeMicros;
+    }
+
+    /**
+     * 总耗时 = 获取连接耗时 + 命令执行耗时
+     */
+    public long getTotalMicros() {
+        return poolWaitMicros + executeMicros;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    /**
+     * 命令失败时的异常信息，成功为null
+     */
+    public String getError() {
+        return error;
+    }
+}
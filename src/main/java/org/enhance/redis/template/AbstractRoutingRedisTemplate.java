@@ -1,5 +1,6 @@
 package org.enhance.redis.template;
 
+import org.enhance.redis.register.RoutingRedisTemplateRegister;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.data.redis.connection.DataType;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -12,8 +13,12 @@ import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.lang.NonNull;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * RedisTemplate 动态路由
@@ -27,13 +32,37 @@ public abstract class AbstractRoutingRedisTemplate<K, V> extends RedisTemplate<K
      */
     private Map<Object, RedisTemplate<K, V>> redisTemplates;
 
+    /**
+     * 与redisTemplates一一对应，记录各个db的RedisTemplate的使用情况，只有懒加载创建的可以被淘汰
+     */
+    private final Map<Object, RoutedRedisTemplate<K, V>> routedTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * 懒加载创建的db -> 固定到该db、每条命令借用一次的RedisTemplate，db被淘汰后继续使用，只在 {@link #setRedisTemplates(Map)} 时清空
+     */
+    private final Map<Object, DbBoundRedisTemplate<K, V>> boundTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * 创建redisTemplate时使用的锁，每个数据源一把锁，不同数据源之间创建连接互不阻塞
+     */
+    private final Lock createLock = new ReentrantLock();
+
     /**
      * 当不指定库时默认使用的redisTemplate
      */
     private RedisTemplate<K, V> defaultRedisTemplate;
 
+    private RoutedRedisTemplate<K, V> defaultRoutedTemplate;
+
     /**
-     * 当类被加载到容器中属性设置完毕后检查redisTemplates和defaultRedisTemplate是否为空
+     * 数据源注销后关闭，之后不再懒加载创建db，只在持有createLock时修改
+     */
+    private volatile boolean closed;
+
+    /**
+     * 当类被加载到容器中属性设置完毕后检查redisTemplates和defaultRedisTemplate是否为空，
+     * 检查通过后注册到 {@link RoutingRedisTemplateRegister}，之后才会被后台淘汰空闲的db、重新加载和注销。
+     * 不在容器中创建时需要设置完属性后手动调用
      *
      * @author Mr_wenpan@163.com 2021/8/4 12:27 下午
      */
@@ -45,10 +74,11 @@ public abstract class AbstractRoutingRedisTemplate<K, V> extends RedisTemplate<K
         if (defaultRedisTemplate == null) {
             throw new IllegalArgumentException("Property 'defaultRedisTemplate' is required");
         }
+        RoutingRedisTemplateRegister.register(this);
     }
 
     /**
-     * 获取要操作的RedisTemplate
+     * 获取要操作的RedisTemplate，返回的是目标db的RedisTemplate本身，只用于读取和修改配置，执行命令使用 {@link #determineTargetOperations()}
      */
     protected RedisTemplate<K, V> determineTargetRedisTemplate() {
         // 当前要操作的DB
@@ -57,18 +87,158 @@ public abstract class AbstractRoutingRedisTemplate<K, V> extends RedisTemplate<K
         if (lookupKey == null) {
             return defaultRedisTemplate;
         }
-        RedisTemplate<K, V> redisTemplate = redisTemplates.get(lookupKey);
-        // 如果当前要操作的db还没有维护到redisTemplates中，则创建一个对该库的连接并缓存起来
-        if (redisTemplate == null) {
-            // 双重检查，这里直接使用synchronized锁，因为创建redisTemplate不会很频繁，一般整个生命周期只有几次，不会有性能问题
-            synchronized (DynamicRedisTemplate.class) {
-                if (null == redisTemplates.get(lookupKey)) {
-                    redisTemplate = createRedisTemplateOnMissing(lookupKey);
-                    redisTemplates.put(lookupKey, redisTemplate);
+        RoutedRedisTemplate<K, V> routed = getOrCreateRoutedTemplate(lookupKey);
+        routed.touch();
+        return routed.getRedisTemplate();
+    }
+
+    /**
+     * 获取要执行命令的RedisTemplate，懒加载创建的db返回每条命令借用一次的RedisTemplate，
+     * 通过它执行的命令（包括 opsForXxx、boundXxxOps 返回的操作对象）执行期间该db不会被淘汰
+     */
+    protected RedisTemplate<K, V> determineTargetOperations() {
+        Object lookupKey = determineCurrentLookupKey();
+        if (lookupKey == null) {
+            return defaultRedisTemplate;
+        }
+        return getOrCreateRedisTemplate(lookupKey);
+    }
+
+    /**
+     * 借用要执行命令的RedisTemplate，命令执行完毕后必须调用 {@link RoutedRedisTemplate#release()}，
+     * 借用期间该RedisTemplate不会被淘汰
+     */
+    private RoutedRedisTemplate<K, V> acquireTargetRedisTemplate() {
+        Object lookupKey = determineCurrentLookupKey();
+        if (lookupKey == null) {
+            return defaultRoutedTemplate;
+        }
+        return acquireRedisTemplate(lookupKey);
+    }
+
+    /**
+     * 借用指定db的RedisTemplate，命令执行完毕后必须调用 {@link RoutedRedisTemplate#release()}
+     */
+    RoutedRedisTemplate<K, V> acquireRedisTemplate(Object lookupKey) {
+        for (; ; ) {
+            RoutedRedisTemplate<K, V> routed = getOrCreateRoutedTemplate(lookupKey);
+            // 刚好被淘汰时重新创建
+            if (routed.tryAcquire()) {
+                return routed;
+            }
+        }
+    }
+
+    /**
+     * 获取指定db的RedisTemplate，如果当前要操作的db还没有维护到redisTemplates中，则创建一个对该库的连接并缓存起来
+     * <p>
+     * 懒加载创建的db返回的是固定到该db的RedisTemplate，每条命令执行时借用该db当前的RedisTemplate，
+     * 可以长期持有，持有期间该db仍然可以被空闲淘汰，淘汰后的命令使用重新创建的RedisTemplate
+     *
+     * @param lookupKey RedisDB
+     * @return RedisTemplate
+     */
+    public RedisTemplate<K, V> getOrCreateRedisTemplate(Object lookupKey) {
+        RoutedRedisTemplate<K, V> routed = getOrCreateRoutedTemplate(lookupKey);
+        routed.touch();
+        if (!routed.isEvictable()) {
+            return routed.getRedisTemplate();
+        }
+        DbBoundRedisTemplate<K, V> bound = boundTemplates.get(lookupKey);
+        if (bound == null) {
+            bound = boundTemplates.computeIfAbsent(lookupKey, key -> new DbBoundRedisTemplate<>(this, key, routed.getRedisTemplate()));
+        }
+        return bound;
+    }
+
+    /**
+     * 获取指定db的RedisTemplate并固定下来，之后该RedisTemplate不会被空闲淘汰，适合长期持有
+     * <p>
+     * 固定相当于一次永不归还的借用，同一个db固定多次不会创建多个RedisTemplate
+     *
+     * @param lookupKey RedisDB
+     * @return RedisTemplate
+     */
+    public RedisTemplate<K, V> pinRedisTemplate(Object lookupKey) {
+        for (; ; ) {
+            RoutedRedisTemplate<K, V> routed = getOrCreateRoutedTemplate(lookupKey);
+            // 刚好被淘汰时重新创建
+            if (routed.tryAcquire()) {
+                return routed.getRedisTemplate();
+            }
+        }
+    }
+
+    RoutedRedisTemplate<K, V> getOrCreateRoutedTemplate(Object lookupKey) {
+        RoutedRedisTemplate<K, V> routed = routedTemplates.get(lookupKey);
+        if (routed != null && !routed.isRetired()) {
+            return routed;
+        }
+        // 双重检查，创建redisTemplate不会很频繁，一般整个生命周期只有几次，不会有性能问题
+        createLock.lock();
+        try {
+            routed = routedTemplates.get(lookupKey);
+            if (routed == null || routed.isRetired()) {
+                if (closed) {
+                    throw new IllegalStateException("routing redis template is closed, can not create redis template of db [" + lookupKey + "].");
                 }
+                RedisTemplate<K, V> redisTemplate = createRedisTemplateOnMissing(lookupKey);
+                routed = new RoutedRedisTemplate<>(redisTemplate, true);
+                redisTemplates.put(lookupKey, redisTemplate);
+                routedTemplates.put(lookupKey, routed);
+            }
+            return routed;
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    /**
+     * 淘汰空闲超过指定时间的懒加载创建的RedisTemplate，再次使用该db时重新创建。
+     * 正在执行命令的RedisTemplate不会被淘汰，通过 {@link #setRedisTemplates(Map)} 设置的RedisTemplate不会被淘汰。
+     * <p>
+     * 所有命令（包括 opsForXxx、boundXxxOps 返回的操作对象执行的命令）都会借用目标db的RedisTemplate，
+     * 只有 {@link #executeWithStickyConnection} 返回的游标和直接从 getConnectionFactory 获取的连接不计入借用
+     *
+     * @param idleTimeout 空闲时间
+     * @return 被淘汰的db -> RedisTemplate
+     */
+    public Map<Object, RedisTemplate<K, V>> evictIdleRedisTemplates(Duration idleTimeout) {
+        long idleNanos = idleTimeout.toNanos();
+        Map<Object, RedisTemplate<K, V>> evicted = new HashMap<>(4);
+        for (Map.Entry<Object, RoutedRedisTemplate<K, V>> entry : routedTemplates.entrySet()) {
+            RoutedRedisTemplate<K, V> routed = entry.getValue();
+            if (!routed.tryRetire(idleNanos, System.nanoTime())) {
+                continue;
+            }
+            createLock.lock();
+            try {
+                // 标记淘汰后可能已经被重新创建，只移除自己
+                routedTemplates.remove(entry.getKey(), routed);
+                redisTemplates.remove(entry.getKey(), routed.getRedisTemplate());
+            } finally {
+                createLock.unlock();
             }
+            evicted.put(entry.getKey(), routed.getRedisTemplate());
         }
-        return redisTemplate;
+        return evicted;
+    }
+
+    /**
+     * 关闭，之后不再懒加载创建db，已经创建的db不受影响。
+     * 返回时正在创建的db已经创建完成，其连接工厂已经注册到 {@link org.enhance.redis.register.RedisConnectionFactoryRegister}，由调用方一并销毁
+     */
+    public void close() {
+        createLock.lock();
+        try {
+            closed = true;
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
     }
 
     /**
@@ -87,11 +257,20 @@ public abstract class AbstractRoutingRedisTemplate<K, V> extends RedisTemplate<K
     public abstract RedisTemplate<K, V> createRedisTemplateOnMissing(Object lookupKey);
 
     public void setRedisTemplates(Map<Object, RedisTemplate<K, V>> redisTemplates) {
-        this.redisTemplates = redisTemplates;
+        // 会被多个线程并发读写（懒加载创建），统一转换为ConcurrentHashMap
+        this.redisTemplates = redisTemplates == null || redisTemplates instanceof ConcurrentHashMap
+                ? redisTemplates : new ConcurrentHashMap<>(redisTemplates);
+        routedTemplates.clear();
+        boundTemplates.clear();
+        if (redisTemplates != null) {
+            redisTemplates.forEach((lookupKey, redisTemplate) ->
+                    routedTemplates.put(lookupKey, new RoutedRedisTemplate<>(redisTemplate, false)));
+        }
     }
 
     public void setDefaultRedisTemplate(RedisTemplate<K, V> defaultRedisTemplate) {
         this.defaultRedisTemplate = defaultRedisTemplate;
+        this.defaultRoutedTemplate = new RoutedRedisTemplate<>(defaultRedisTemplate, false);
     }
 
     public Map<Object, RedisTemplate<K, V>> getRedisTemplates() {
@@ -106,51 +285,96 @@ public abstract class AbstractRoutingRedisTemplate<K, V> extends RedisTemplate<K
 
     @Override
     public <T> T execute(@NonNull RedisCallback<T> action) {
-        return determineTargetRedisTemplate().execute(action);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().execute(action);
+        } finally {
+            target.release();
+        }
     }
 
     @Override
     public <T> T execute(@NonNull RedisCallback<T> action, boolean exposeConnection) {
-        return determineTargetRedisTemplate().execute(action, exposeConnection);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().execute(action, exposeConnection);
+        } finally {
+            target.release();
+        }
     }
 
     @Override
     public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
-        return determineTargetRedisTemplate().execute(action, exposeConnection, pipeline);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().execute(action, exposeConnection, pipeline);
+        } finally {
+            target.release();
+        }
     }
 
     @Override
     public <T> T execute(SessionCallback<T> session) {
-        return determineTargetRedisTemplate().execute(session);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().execute(session);
+        } finally {
+            target.release();
+        }
     }
 
     @NonNull
     @Override
     public List<Object> executePipelined(@NonNull SessionCallback<?> session) {
-        return determineTargetRedisTemplate().executePipelined(session);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().executePipelined(session);
+        } finally {
+            target.release();
+        }
     }
 
     @NonNull
     @Override
     public List<Object> executePipelined(SessionCallback<?> session, RedisSerializer<?> resultSerializer) {
-        return determineTargetRedisTemplate().executePipelined(session, resultSerializer);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().executePipelined(session, resultSerializer);
+        } finally {
+            target.release();
+        }
     }
 
     @NonNull
     @Override
     public List<Object> executePipelined(@NonNull RedisCallback<?> action) {
-        return determineTargetRedisTemplate().executePipelined(action);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().executePipelined(action);
+        } finally {
+            target.release();
+        }
     }
 
     @NonNull
     @Override
     public List<Object> executePipelined(RedisCallback<?> action, RedisSerializer<?> resultSerializer) {
-        return determineTargetRedisTemplate().executePipelined(action, resultSerializer);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().executePipelined(action, resultSerializer);
+        } finally {
+            target.release();
+        }
     }
 
     @Override
     public <T> T execute(@NonNull RedisScript<T> script, @NonNull List<K> keys, @NonNull Object... args) {
-        return determineTargetRedisTemplate().execute(script, keys, args);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().execute(script, keys, args);
+        } finally {
+            target.release();
+        }
     }
 
     @Override
@@ -158,12 +382,25 @@ public abstract class AbstractRoutingRedisTemplate<K, V> extends RedisTemplate<K
                          @NonNull RedisSerializer<?> argsSerializer,
                          @NonNull RedisSerializer<T> resultSerializer,
                          @NonNull List<K> keys, @NonNull Object... args) {
-        return determineTargetRedisTemplate().execute(script, argsSerializer, resultSerializer, keys, args);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().execute(script, argsSerializer, resultSerializer, keys, args);
+        } finally {
+            target.release();
+        }
     }
 
+    /**
+     * 返回的游标关闭前一直占用连接，但只在创建游标期间计入借用，游标不要持有超过空闲淘汰时间
+     */
     @Override
     public <T extends Closeable> T executeWithStickyConnection(RedisCallback<T> callback) {
-        return determineTargetRedisTemplate().executeWithStickyConnection(callback);
+        RoutedRedisTemplate<K, V> target = acquireTargetRedisTemplate();
+        try {
+            return target.getRedisTemplate().executeWithStickyConnection(callback);
+        } finally {
+            target.release();
+        }
     }
 
     @Override
@@ -259,254 +496,254 @@ public abstract class AbstractRoutingRedisTemplate<K, V> extends RedisTemplate<K
     @NonNull
     @Override
     public List<Object> exec() {
-        return determineTargetRedisTemplate().exec();
+        return determineTargetOperations().exec();
     }
 
     @NonNull
     @Override
     public List<Object> exec(@NonNull RedisSerializer<?> valueSerializer) {
-        return determineTargetRedisTemplate().exec(valueSerializer);
+        return determineTargetOperations().exec(valueSerializer);
     }
 
     @Override
     public Boolean delete(K key) {
-        return determineTargetRedisTemplate().delete(key);
+        return determineTargetOperations().delete(key);
     }
 
     @Override
     public Long delete(@NonNull Collection<K> keys) {
-        return determineTargetRedisTemplate().delete(keys);
+        return determineTargetOperations().delete(keys);
     }
 
     @Override
     public Boolean hasKey(K key) {
-        return determineTargetRedisTemplate().hasKey(key);
+        return determineTargetOperations().hasKey(key);
     }
 
     @Override
     public Boolean expire(K key, long timeout, TimeUnit unit) {
-        return determineTargetRedisTemplate().expire(key, timeout, unit);
+        return determineTargetOperations().expire(key, timeout, unit);
     }
 
     @Override
     public Boolean expireAt(K key, Date date) {
-        return determineTargetRedisTemplate().expireAt(key, date);
+        return determineTargetOperations().expireAt(key, date);
     }
 
     @Override
     public void convertAndSend(@NonNull String channel, @NonNull Object message) {
-        determineTargetRedisTemplate().convertAndSend(channel, message);
+        determineTargetOperations().convertAndSend(channel, message);
     }
 
     @Override
     public Long getExpire(K key) {
-        return determineTargetRedisTemplate().getExpire(key);
+        return determineTargetOperations().getExpire(key);
     }
 
     @Override
     public Long getExpire(K key, @NonNull TimeUnit timeUnit) {
-        return determineTargetRedisTemplate().getExpire(key, timeUnit);
+        return determineTargetOperations().getExpire(key, timeUnit);
     }
 
     @Override
     public Set<K> keys(K pattern) {
-        return determineTargetRedisTemplate().keys(pattern);
+        return determineTargetOperations().keys(pattern);
     }
 
     @Override
     public Boolean persist(K key) {
-        return determineTargetRedisTemplate().persist(key);
+        return determineTargetOperations().persist(key);
     }
 
     @Override
     public Boolean move(K key, int dbIndex) {
-        return determineTargetRedisTemplate().move(key, dbIndex);
+        return determineTargetOperations().move(key, dbIndex);
     }
 
     @Override
     public K randomKey() {
-        return determineTargetRedisTemplate().randomKey();
+        return determineTargetOperations().randomKey();
     }
 
     @Override
     public void rename(K oldKey, K newKey) {
-        determineTargetRedisTemplate().rename(oldKey, newKey);
+        determineTargetOperations().rename(oldKey, newKey);
     }
 
     @Override
     public Boolean renameIfAbsent(K oldKey, K newKey) {
-        return determineTargetRedisTemplate().renameIfAbsent(oldKey, newKey);
+        return determineTargetOperations().renameIfAbsent(oldKey, newKey);
     }
 
     @Override
     public DataType type(K key) {
-        return determineTargetRedisTemplate().type(key);
+        return determineTargetOperations().type(key);
     }
 
     @Override
     public byte[] dump(K key) {
-        return determineTargetRedisTemplate().dump(key);
+        return determineTargetOperations().dump(key);
     }
 
     @Override
     public void restore(@NonNull K key, @NonNull byte[] value, long timeToLive, @NonNull TimeUnit unit) {
-        determineTargetRedisTemplate().restore(key, value, timeToLive, unit);
+        determineTargetOperations().restore(key, value, timeToLive, unit);
     }
 
     @Override
     public void multi() {
-        determineTargetRedisTemplate().multi();
+        determineTargetOperations().multi();
     }
 
     @Override
     public void discard() {
-        determineTargetRedisTemplate().discard();
+        determineTargetOperations().discard();
     }
 
     @Override
     public void watch(K key) {
-        determineTargetRedisTemplate().watch(key);
+        determineTargetOperations().watch(key);
     }
 
     @Override
     public void watch(Collection<K> keys) {
-        determineTargetRedisTemplate().watch(keys);
+        determineTargetOperations().watch(keys);
     }
 
     @Override
     public void unwatch() {
-        determineTargetRedisTemplate().unwatch();
+        determineTargetOperations().unwatch();
     }
 
     @Override
     public List<V> sort(@NonNull SortQuery<K> query) {
-        return determineTargetRedisTemplate().sort(query);
+        return determineTargetOperations().sort(query);
     }
 
     @Override
     public <T> List<T> sort(SortQuery<K> query, RedisSerializer<T> resultSerializer) {
-        return determineTargetRedisTemplate().sort(query, resultSerializer);
+        return determineTargetOperations().sort(query, resultSerializer);
     }
 
     @Override
     public <T> List<T> sort(@NonNull SortQuery<K> query, @NonNull BulkMapper<T, V> bulkMapper) {
-        return determineTargetRedisTemplate().sort(query, bulkMapper);
+        return determineTargetOperations().sort(query, bulkMapper);
     }
 
     @Override
     public <T, S> List<T> sort(@NonNull SortQuery<K> query,
                                @NonNull BulkMapper<T, S> bulkMapper,
                                RedisSerializer<S> resultSerializer) {
-        return determineTargetRedisTemplate().sort(query, bulkMapper, resultSerializer);
+        return determineTargetOperations().sort(query, bulkMapper, resultSerializer);
     }
 
     @Override
     public Long sort(SortQuery<K> query, K storeKey) {
-        return determineTargetRedisTemplate().sort(query, storeKey);
+        return determineTargetOperations().sort(query, storeKey);
     }
 
     @NonNull
     @Override
     public BoundValueOperations<K, V> boundValueOps(@NonNull K key) {
-        return determineTargetRedisTemplate().boundValueOps(key);
+        return determineTargetOperations().boundValueOps(key);
     }
 
     @NonNull
     @Override
     public ValueOperations<K, V> opsForValue() {
-        return determineTargetRedisTemplate().opsForValue();
+        return determineTargetOperations().opsForValue();
     }
 
     @NonNull
     @Override
     public ListOperations<K, V> opsForList() {
-        return determineTargetRedisTemplate().opsForList();
+        return determineTargetOperations().opsForList();
     }
 
     @NonNull
     @Override
     public BoundListOperations<K, V> boundListOps(@NonNull K key) {
-        return determineTargetRedisTemplate().boundListOps(key);
+        return determineTargetOperations().boundListOps(key);
     }
 
     @NonNull
     @Override
     public BoundSetOperations<K, V> boundSetOps(@NonNull K key) {
-        return determineTargetRedisTemplate().boundSetOps(key);
+        return determineTargetOperations().boundSetOps(key);
     }
 
     @NonNull
     @Override
     public SetOperations<K, V> opsForSet() {
-        return determineTargetRedisTemplate().opsForSet();
+        return determineTargetOperations().opsForSet();
     }
 
     @NonNull
     @Override
     public BoundZSetOperations<K, V> boundZSetOps(@NonNull K key) {
-        return determineTargetRedisTemplate().boundZSetOps(key);
+        return determineTargetOperations().boundZSetOps(key);
     }
 
     @NonNull
     @Override
     public ZSetOperations<K, V> opsForZSet() {
-        return determineTargetRedisTemplate().opsForZSet();
+        return determineTargetOperations().opsForZSet();
     }
 
     @NonNull
     @Override
     public GeoOperations<K, V> opsForGeo() {
-        return determineTargetRedisTemplate().opsForGeo();
+        return determineTargetOperations().opsForGeo();
     }
 
     @NonNull
     @Override
     public BoundGeoOperations<K, V> boundGeoOps(@NonNull K key) {
-        return determineTargetRedisTemplate().boundGeoOps(key);
+        return determineTargetOperations().boundGeoOps(key);
     }
 
     @NonNull
     @Override
     public HyperLogLogOperations<K, V> opsForHyperLogLog() {
-        return determineTargetRedisTemplate().opsForHyperLogLog();
+        return determineTargetOperations().opsForHyperLogLog();
     }
 
     @NonNull
     @Override
     public <HK, HV> BoundHashOperations<K, HK, HV> boundHashOps(@NonNull K key) {
-        return determineTargetRedisTemplate().boundHashOps(key);
+        return determineTargetOperations().boundHashOps(key);
     }
 
     @NonNull
     @Override
     public <HK, HV> HashOperations<K, HK, HV> opsForHash() {
-        return determineTargetRedisTemplate().opsForHash();
+        return determineTargetOperations().opsForHash();
     }
 
     @NonNull
     @Override
     public ClusterOperations<K, V> opsForCluster() {
-        return determineTargetRedisTemplate().opsForCluster();
+        return determineTargetOperations().opsForCluster();
     }
 
     @Override
     public void killClient(@NonNull String host, int port) {
-        determineTargetRedisTemplate().killClient(host, port);
+        determineTargetOperations().killClient(host, port);
     }
 
     @Override
     public List<RedisClientInfo> getClientList() {
-        return determineTargetRedisTemplate().getClientList();
+        return determineTargetOperations().getClientList();
     }
 
     @Override
     public void slaveOf(@NonNull String host, int port) {
-        determineTargetRedisTemplate().slaveOf(host, port);
+        determineTargetOperations().slaveOf(host, port);
     }
 
     @Override
     public void slaveOfNoOne() {
-        determineTargetRedisTemplate().slaveOfNoOne();
+        determineTargetOperations().slaveOfNoOne();
     }
 
     @Override
@@ -0,0 +1,138 @@
+package org.enhance.redis.template;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 固定到路由RedisTemplate中某个db的RedisTemplate，每条命令执行时借用该db当前的RedisTemplate，执行完毕后归还
+ * <p>
+ * opsForXxx、boundXxxOps 返回的操作对象绑定在本对象上，delete、hasKey 等方法也通过 execute 执行，
+ * 所以命令执行期间该db不会被淘汰；持有期间该db被淘汰时，下一条命令使用重新创建的RedisTemplate。
+ * 序列化器和连接工厂在创建时从该db的RedisTemplate复制，同一个路由RedisTemplate下所有db的序列化器相同
+ *
+ * @author wenpan 2026/10/20 01:30
+ */
+final class DbBoundRedisTemplate<K, V> extends RedisTemplate<K, V> {
+
+    private final AbstractRoutingRedisTemplate<K, V> routingRedisTemplate;
+
+    private final Object lookupKey;
+
+    DbBoundRedisTemplate(AbstractRoutingRedisTemplate<K, V> routingRedisTemplate, Object lookupKey, RedisTemplate<K, V> target) {
+        this.routingRedisTemplate = routingRedisTemplate;
+        this.lookupKey = lookupKey;
+        super.setConnectionFactory(target.getConnectionFactory());
+        super.setEnableDefaultSerializer(target.isEnableDefaultSerializer());
+        if (target.getDefaultSerializer() != null) {
+            super.setDefaultSerializer(target.getDefaultSerializer());
+        }
+        super.setKeySerializer(target.getKeySerializer());
+        super.setValueSerializer(target.getValueSerializer());
+        super.setHashKeySerializer(target.getHashKeySerializer());
+        super.setHashValueSerializer(target.getHashValueSerializer());
+        super.setStringSerializer(target.getStringSerializer());
+        super.setExposeConnection(target.isExposeConnection());
+    }
+
+    Object getLookupKey() {
+        return lookupKey;
+    }
+
+    private <T> T borrow(Function<RedisTemplate<K, V>, T> action) {
+        RoutedRedisTemplate<K, V> target = routingRedisTemplate.acquireRedisTemplate(lookupKey);
+        try {
+            return action.apply(target.getRedisTemplate());
+        } finally {
+            target.release();
+        }
+    }
+
+    @Override
+    public <T> T execute(@NonNull RedisCallback<T> action) {
+        return borrow(target -> target.execute(action));
+    }
+
+    @Override
+    public <T> T execute(@NonNull RedisCallback<T> action, boolean exposeConnection) {
+        return borrow(target -> target.execute(action, exposeConnection));
+    }
+
+    @Override
+    public <T> T execute(@NonNull RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        return borrow(target -> target.execute(action, exposeConnection, pipeline));
+    }
+
+    @Override
+    public <T> T execute(@NonNull SessionCallback<T> session) {
+        return borrow(target -> target.execute(session));
+    }
+
+    @NonNull
+    @Override
+    public List<Object> executePipelined(@NonNull SessionCallback<?> session) {
+        return borrow(target -> target.executePipelined(session));
+    }
+
+    @NonNull
+    @Override
+    public List<Object> executePipelined(@NonNull SessionCallback<?> session, RedisSerializer<?> resultSerializer) {
+        return borrow(target -> target.executePipelined(session, resultSerializer));
+    }
+
+    @NonNull
+    @Override
+    public List<Object> executePipelined(@NonNull RedisCallback<?> action) {
+        return borrow(target -> target.executePipelined(action));
+    }
+
+    @NonNull
+    @Override
+    public List<Object> executePipelined(@NonNull RedisCallback<?> action, RedisSerializer<?> resultSerializer) {
+        return borrow(target -> target.executePipelined(action, resultSerializer));
+    }
+
+    @Override
+    public <T> T execute(@NonNull RedisScript<T> script, @NonNull List<K> keys, @NonNull Object... args) {
+        return borrow(target -> target.execute(script, keys, args));
+    }
+
+    @Override
+    public <T> T execute(@NonNull RedisScript<T> script,
+                         @NonNull RedisSerializer<?> argsSerializer,
+                         @NonNull RedisSerializer<T> resultSerializer,
+                         @NonNull List<K> keys, @NonNull Object... args) {
+        return borrow(target -> target.execute(script, argsSerializer, resultSerializer, keys, args));
+    }
+
+    /**
+     * 返回的游标关闭前一直占用连接，但只在创建游标期间计入借用，游标不要持有超过空闲淘汰时间
+     */
+    @Override
+    public <T extends Closeable> T executeWithStickyConnection(@NonNull RedisCallback<T> callback) {
+        return borrow(target -> target.executeWithStickyConnection(callback));
+    }
+
+    /**
+     * 该db当前的连接工厂，不计入借用，不要长期持有
+     */
+    @Override
+    public RedisConnectionFactory getConnectionFactory() {
+        return routingRedisTemplate.getOrCreateRoutedTemplate(lookupKey).getRedisTemplate().getConnectionFactory();
+    }
+
+    /**
+     * 不做任何处理，该db的连接工厂由路由RedisTemplate管理（淘汰后重新创建），{@link #getConnectionFactory()} 总是返回当前的连接工厂
+     */
+    @Override
+    public void setConnectionFactory(@NonNull RedisConnectionFactory connectionFactory) {
+    }
+}
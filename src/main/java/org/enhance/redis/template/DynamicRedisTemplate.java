@@ -12,9 +12,9 @@ import org.springframework.data.redis.core.RedisTemplate;
 public class DynamicRedisTemplate<K, V> extends AbstractRoutingRedisTemplate<K, V> {
 
     /**
-     * 动态RedisTemplate工厂，用于创建管理动态DynamicRedisTemplate
+     * 动态RedisTemplate工厂，用于创建管理动态DynamicRedisTemplate，数据源配置重新加载时被替换
      */
-    private final DynamicRedisTemplateFactory<K, V> dynamicRedisTemplateFactory;
+    private volatile DynamicRedisTemplateFactory<K, V> dynamicRedisTemplateFactory;
 
     public DynamicRedisTemplate(DynamicRedisTemplateFactory<K, V> dynamicRedisTemplateFactory) {
         this.dynamicRedisTemplateFactory = dynamicRedisTemplateFactory;
@@ -37,4 +37,15 @@ public class DynamicRedisTemplate<K, V> extends AbstractRoutingRedisTemplate<K,
         return dynamicRedisTemplateFactory.createRedisTemplate((Integer) lookupKey);
     }
 
+    public DynamicRedisTemplateFactory<K, V> getDynamicRedisTemplateFactory() {
+        return dynamicRedisTemplateFactory;
+    }
+
+    /**
+     * 替换动态RedisTemplate工厂，之后懒加载创建的db使用新的工厂，已经创建的db不受影响
+     */
+    public void setDynamicRedisTemplateFactory(DynamicRedisTemplateFactory<K, V> dynamicRedisTemplateFactory) {
+        this.dynamicRedisTemplateFactory = dynamicRedisTemplateFactory;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package org.enhance.redis.template;
+
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.enhance.redis.register.RoutingRedisTemplateRegister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 后台淘汰各个数据源中空闲的懒加载db的RedisTemplate
+ * <p>
+ * 每隔 interval 检查所有注册的路由RedisTemplate，空闲超过 idleTimeout 且没有正在执行的命令的db会被淘汰并销毁连接工厂，
+ * 再次切换到该db时重新创建。配置文件中指定的默认db不会被淘汰。
+ * <p>
+ * 执行中的命令（包括 opsForXxx 等操作对象发起的命令）都会借用目标db，不会被淘汰。被淘汰的db延迟一个 interval 后才销毁连接工厂，
+ * 让淘汰前通过 executeWithStickyConnection 创建的游标有时间关闭
+ *
+ * @author wenpan 2026/10/19 23:30
+ */
+public class IdleRedisTemplateEvictor implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdleRedisTemplateEvictor.class);
+
+    private final Duration idleTimeout;
+
+    private final Duration interval;
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 已经淘汰、等待销毁连接工厂的RedisTemplate
+     */
+    private final Map<RedisTemplate<?, ?>, Object> pendingDestroy = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param idleTimeout 空闲超过该时间的db被淘汰
+     * @param interval    检查空闲db的间隔
+     */
+    public IdleRedisTemplateEvictor(Duration idleTimeout, Duration interval) {
+        if (idleTimeout.isNegative() || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("redis template eviction idle timeout and interval must be positive.");
+        }
+        this.idleTimeout = idleTimeout;
+        this.interval = interval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(RedisExecutors.threadFactory("redis-template-evictor"));
+        long intervalMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::evictIdle, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        pendingDestroy.forEach((redisTemplate, lookupKey) -> destroy(lookupKey, redisTemplate));
+    }
+
+    /**
+     * 淘汰所有数据源中空闲的db
+     *
+     * @return 本次淘汰的数量
+     */
+    public int evictIdle() {
+        int evicted = 0;
+        for (AbstractRoutingRedisTemplate<?, ?> redisTemplate : RoutingRedisTemplateRegister.getTemplates()) {
+            Map<Object, ? extends RedisTemplate<?, ?>> templates;
+            try {
+                templates = redisTemplate.evictIdleRedisTemplates(idleTimeout);
+            } catch (RuntimeException ex) {
+                // 单个数据源失败不影响其他数据源，也不能让调度线程退出
+                LOGGER.warn("evict idle redis templates failed.", ex);
+                continue;
+            }
+            templates.forEach(this::scheduleDestroy);
+            evicted += templates.size();
+        }
+        evictionCount.addAndGet(evicted);
+        return evicted;
+    }
+
+    private void scheduleDestroy(Object lookupKey, RedisTemplate<?, ?> redisTemplate) {
+        pendingDestroy.put(redisTemplate, lookupKey);
+        try {
+            scheduler.schedule(() -> destroy(lookupKey, redisTemplate), interval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // 已经关闭，直接销毁
+            destroy(lookupKey, redisTemplate);
+        }
+    }
+
+    private void destroy(Object lookupKey, RedisTemplate<?, ?> redisTemplate) {
+        if (pendingDestroy.remove(redisTemplate) == null) {
+            return;
+        }
+        RedisConnectionFactory connectionFactory = redisTemplate.getConnectionFactory();
+        if (!(connectionFactory instanceof DisposableBean)) {
+            return;
+        }
+        try {
+            ((DisposableBean) connectionFactory).destroy();
+            LOGGER.info("evicted idle redis template of db [{}].", lookupKey);
+        } catch (Exception ex) {
+            LOGGER.warn("destroy connection factory of idle redis template of db [{}] failed.", lookupKey, ex);
+        }
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+}
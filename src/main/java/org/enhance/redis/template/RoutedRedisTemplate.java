@@ -0,0 +1,90 @@
+package org.enhance.redis.template;
+
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 路由到的某个db的RedisTemplate，记录最后使用时间和正在执行的命令数
+ * <p>
+ * 只有懒加载创建的RedisTemplate可以被淘汰，正在执行命令数为 -1 表示已经被淘汰，之后不能再借用
+ *
+ * @author wenpan 2026/10/19 23:30
+ */
+final class RoutedRedisTemplate<K, V> {
+
+    private static final int RETIRED = -1;
+
+    private final RedisTemplate<K, V> redisTemplate;
+
+    private final boolean evictable;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile long lastUsedNanos = System.nanoTime();
+
+    RoutedRedisTemplate(RedisTemplate<K, V> redisTemplate, boolean evictable) {
+        this.redisTemplate = redisTemplate;
+        this.evictable = evictable;
+    }
+
+    RedisTemplate<K, V> getRedisTemplate() {
+        return redisTemplate;
+    }
+
+    boolean isEvictable() {
+        return evictable;
+    }
+
+    /**
+     * 借用该RedisTemplate执行命令，已经被淘汰时返回false
+     */
+    boolean tryAcquire() {
+        if (!evictable) {
+            return true;
+        }
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current == RETIRED) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 命令执行完毕，归还借用
+     */
+    void release() {
+        if (evictable) {
+            lastUsedNanos = System.nanoTime();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 只更新最后使用时间，不借用
+     */
+    void touch() {
+        if (evictable) {
+            lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * 空闲超过指定时间且没有正在执行的命令时标记为已淘汰，标记成功后不会再有新的命令借用
+     *
+     * @param idleNanos 空闲时间
+     * @param nowNanos  当前时间
+     * @return 是否标记成功
+     */
+    boolean tryRetire(long idleNanos, long nowNanos) {
+        return evictable && nowNanos - lastUsedNanos >= idleNanos && inFlight.compareAndSet(0, RETIRED);
+    }
+
+    boolean isRetired() {
+        return inFlight.get() == RETIRED;
+    }
+}
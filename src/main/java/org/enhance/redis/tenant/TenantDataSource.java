@@ -0,0 +1,138 @@
+package org.enhance.redis.tenant;
+
+import org.enhance.redis.helper.RedisHelper;
+import org.enhance.redis.register.RoutingRedisTemplateRegister;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一个已经创建了连接工厂的租户数据源
+ * <p>
+ * 通过 {@link #tryAcquire()} 和 {@link #release()} 记录正在使用的借用方个数，淘汰（{@link #retire()}）后不能再借用，
+ * 最后一个借用方归还后才能关闭
+ *
+ * @author wenpan 2026/10/19 23:00
+ */
+class TenantDataSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantDataSource.class);
+
+    private final String name;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 开启动态切换db时各个db的RedisTemplate，未开启时为null
+     */
+    private final DynamicRedisTemplate<String, String> dynamicRedisTemplate;
+
+    private final RedisHelper redisHelper;
+
+    /**
+     * 大于等于0时为借用方个数；淘汰后为 -(借用方个数 + 1)，-1 表示已经淘汰且没有借用方
+     */
+    private final AtomicInteger borrowers = new AtomicInteger();
+
+    TenantDataSource(String name, RedisTemplate<String, String> redisTemplate,
+                     DynamicRedisTemplate<String, String> dynamicRedisTemplate, RedisHelper redisHelper) {
+        this.name = name;
+        this.redisTemplate = redisTemplate;
+        this.dynamicRedisTemplate = dynamicRedisTemplate;
+        this.redisHelper = redisHelper;
+    }
+
+    RedisTemplate<String, String> getRedisTemplate() {
+        return redisTemplate;
+    }
+
+    RedisHelper getRedisHelper() {
+        return redisHelper;
+    }
+
+    /**
+     * 借用该租户数据源，已经被淘汰时返回false
+     */
+    boolean tryAcquire() {
+        for (; ; ) {
+            int current = borrowers.get();
+            if (current < 0) {
+                return false;
+            }
+            if (borrowers.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还借用
+     *
+     * @return 已经被淘汰且这是最后一个借用方，需要由调用方关闭
+     */
+    boolean release() {
+        for (; ; ) {
+            int current = borrowers.get();
+            int next = current > 0 ? current - 1 : current + 1;
+            if (borrowers.compareAndSet(current, next)) {
+                return next == -1;
+            }
+        }
+    }
+
+    /**
+     * 标记为已淘汰，之后不能再借用
+     *
+     * @return 没有借用方，需要由调用方立即关闭；否则由最后一个借用方归还时关闭
+     */
+    boolean retire() {
+        for (; ; ) {
+            int current = borrowers.get();
+            if (current < 0) {
+                return false;
+            }
+            if (borrowers.compareAndSet(current, -current - 1)) {
+                return current == 0;
+            }
+        }
+    }
+
+    /**
+     * 是否有正在使用的借用方
+     */
+    boolean isBorrowed() {
+        int current = borrowers.get();
+        return current > 0 || current < -1;
+    }
+
+    /**
+     * 销毁该租户所有db的连接工厂，关闭连接池
+     */
+    void close() {
+        Set<RedisConnectionFactory> factories = Collections.newSetFromMap(new IdentityHashMap<>());
+        factories.add(redisTemplate.getConnectionFactory());
+        if (dynamicRedisTemplate != null) {
+            RoutingRedisTemplateRegister.unregister(dynamicRedisTemplate);
+            dynamicRedisTemplate.getRedisTemplates().values()
+                    .forEach(template -> factories.add(template.getConnectionFactory()));
+        }
+        for (RedisConnectionFactory factory : factories) {
+            if (!(factory instanceof DisposableBean)) {
+                continue;
+            }
+            try {
+                ((DisposableBean) factory).destroy();
+            } catch (Exception ex) {
+                LOGGER.warn("destroy connection factory [{}] of redis tenant [{}] failed.", factory, name, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package org.enhance.redis.tenant;
+
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.helper.RedisHelper;
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 多租户数据源注册
+ * <p>
+ * 与 {@link org.enhance.redis.RedisMultiDataSourceRegistrarExtension} 不同，注册租户数据源时只保存配置，不会向容器注册bean，
+ * 也不会创建连接工厂。第一次获取租户的 RedisHelper 或 RedisTemplate 时才创建连接工厂，之后：
+ * <ul>
+ *     <li>存活的租户数据源超过 maxActive 时，淘汰最久未使用且没有借用方的租户数据源</li>
+ *     <li>后台线程每隔 evictionInterval 淘汰空闲超过 idleTimeout 且没有借用方的租户数据源</li>
+ *     <li>淘汰的租户数据源延迟 closeDelay 后销毁所有db的连接工厂，再次使用时重新创建</li>
+ * </ul>
+ * 通过 {@link #execute(String, Function)} 使用时，执行期间计入借用：不会被淘汰，被移除或覆盖时等最后一个借用方执行完毕后才关闭。
+ * {@link #getRedisHelper(String)} 和 {@link #getRedisTemplate(String)} 返回的对象不计入借用，淘汰后不再可用，
+ * 使用方不要长期持有，每次使用时从注册中获取
+ *
+ * @author wenpan 2026/10/19 23:00
+ */
+public class TenantRedisDataSourceRegistry implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantRedisDataSourceRegistry.class);
+
+    private final int maxActive;
+
+    private final Duration idleTimeout;
+
+    private final Duration evictionInterval;
+
+    private final Duration closeDelay;
+
+    private final boolean dynamicDatabase;
+
+    /**
+     * 根据租户名称和配置创建 DynamicRedisTemplateFactory
+     */
+    private final BiFunction<String, RedisProperties, DynamicRedisTemplateFactory<String, String>> templateFactoryCreator;
+
+    /**
+     * 租户名称 -> 租户
+     */
+    private final Map<String, TenantEntry> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * 已经淘汰、等待延迟关闭的租户数据源
+     */
+    private final Set<TenantDataSource> pendingCloses = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param maxActive              同时存活的租户数据源上限
+     * @param idleTimeout            空闲超过该时间的租户数据源被淘汰
+     * @param evictionInterval       检查空闲租户数据源的间隔
+     * @param closeDelay             淘汰后延迟关闭连接工厂的时间
+     * @param dynamicDatabase        是否开启动态切换db
+     * @param templateFactoryCreator 根据租户名称和配置创建 DynamicRedisTemplateFactory
+     */
+    public TenantRedisDataSourceRegistry(int maxActive, Duration idleTimeout, Duration evictionInterval,
+                                         Duration closeDelay, boolean dynamicDatabase,
+                                         BiFunction<String, RedisProperties, DynamicRedisTemplateFactory<String, String>> templateFactoryCreator) {
+        if (maxActive <= 0) {
+            throw new IllegalArgumentException("redis tenant max active must be positive.");
+        }
+        this.maxActive = maxActive;
+        this.idleTimeout = idleTimeout;
+        this.evictionInterval = evictionInterval;
+        this.closeDelay = closeDelay;
+        this.dynamicDatabase = dynamicDatabase;
+        this.templateFactoryCreator = templateFactoryCreator;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(RedisExecutors.threadFactory("redis-tenant-evictor"));
+        long intervalMillis = evictionInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::evictIdle, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        // 还没到时间的延迟关闭立即执行
+        for (TenantDataSource dataSource : pendingCloses) {
+            closePending(dataSource);
+        }
+        // 调度线程已经关闭，淘汰的租户数据源立即关闭
+        tenants.values().forEach(entry -> evict(entry, "shutdown"));
+    }
+
+    /**
+     * 注册租户数据源，已经存在同名租户时抛出异常
+     *
+     * @param tenant          租户名称
+     * @param redisProperties 租户数据源配置
+     */
+    public void register(String tenant, RedisProperties redisProperties) {
+        register(tenant, redisProperties, false);
+    }
+
+    /**
+     * 注册租户数据源，只保存配置，第一次使用时才创建连接工厂
+     *
+     * @param tenant          租户名称
+     * @param redisProperties 租户数据源配置
+     * @param allowOverwrite  已经存在同名租户时是否覆盖，覆盖时淘汰原来的租户数据源
+     */
+    public void register(String tenant, RedisProperties redisProperties, boolean allowOverwrite) {
+        if (tenant == null || tenant.isEmpty()) {
+            throw new IllegalArgumentException("redis tenant name can not be empty.");
+        }
+        if (redisProperties == null) {
+            throw new IllegalArgumentException("redisProperties of redis tenant [" + tenant + "] can not be null.");
+        }
+        TenantEntry entry = new TenantEntry(tenant, redisProperties);
+        TenantEntry previous = allowOverwrite ? tenants.put(tenant, entry) : tenants.putIfAbsent(tenant, entry);
+        if (previous == null) {
+            return;
+        }
+        if (!allowOverwrite) {
+            throw new IllegalArgumentException("redis tenant [" + tenant + "] already exists.");
+        }
+        evict(previous, "overwritten");
+    }
+
+    /**
+     * 移除租户数据源，已经创建的连接工厂延迟关闭
+     *
+     * @param tenant 租户名称
+     * @return 租户是否存在
+     */
+    public boolean unregister(String tenant) {
+        TenantEntry entry = tenants.remove(tenant);
+        if (entry == null) {
+            return false;
+        }
+        evict(entry, "unregistered");
+        return true;
+    }
+
+    /**
+     * 借用租户数据源执行操作，租户数据源没有存活时创建。执行期间租户数据源不会被淘汰和关闭
+     *
+     * @param tenant 租户名称
+     * @param action 操作，开启动态切换db时参数为 {@link DynamicRedisHelper}
+     * @return 操作的返回值
+     */
+    public <T> T execute(String tenant, Function<RedisHelper, T> action) {
+        TenantEntry entry = getEntry(tenant);
+        TenantDataSource dataSource = acquire(entry);
+        try {
+            return action.apply(dataSource.getRedisHelper());
+        } finally {
+            release(entry, dataSource);
+        }
+    }
+
+    /**
+     * 获取租户数据源的RedisHelper，租户数据源没有存活时创建。返回的RedisHelper不计入借用，淘汰后不再可用
+     *
+     * @param tenant 租户名称
+     * @return 开启动态切换db时为 {@link DynamicRedisHelper}
+     */
+    public RedisHelper getRedisHelper(String tenant) {
+        return activate(getEntry(tenant)).getRedisHelper();
+    }
+
+    /**
+     * 获取租户数据源默认db的RedisTemplate，租户数据源没有存活时创建。返回的RedisTemplate不计入借用，淘汰后不再可用
+     *
+     * @param tenant 租户名称
+     */
+    public RedisTemplate<String, String> getRedisTemplate(String tenant) {
+        return activate(getEntry(tenant)).getRedisTemplate();
+    }
+
+    private TenantEntry getEntry(String tenant) {
+        TenantEntry entry = tenants.get(tenant);
+        if (entry == null) {
+            throw new IllegalArgumentException("redis tenant [" + tenant + "] is not registered.");
+        }
+        return entry;
+    }
+
+    /**
+     * 获取存活的租户数据源，只更新最后使用时间，不计入借用
+     */
+    private TenantDataSource activate(TenantEntry entry) {
+        TenantDataSource dataSource = acquire(entry);
+        release(entry, dataSource);
+        return dataSource;
+    }
+
+    /**
+     * 借用租户数据源，没有存活时创建，使用完毕后调用 {@link #release(TenantEntry, TenantDataSource)} 归还
+     */
+    private TenantDataSource acquire(TenantEntry entry) {
+        TenantDataSource dataSource;
+        for (; ; ) {
+            entry.lastAccess = System.nanoTime();
+            dataSource = entry.active;
+            if (dataSource != null && dataSource.tryAcquire()) {
+                return dataSource;
+            }
+            if (dataSource == null) {
+                break;
+            }
+            // 刚好被淘汰，重新获取
+        }
+        // 同一个租户只创建一次数据源
+        entry.lock.lock();
+        try {
+            dataSource = entry.active;
+            if (dataSource == null) {
+                dataSource = create(entry);
+                // 创建可能比较耗时，从创建完成开始计算空闲时间
+                entry.lastAccess = System.nanoTime();
+                entry.active = dataSource;
+                activeCount.incrementAndGet();
+                LOGGER.info("redis tenant [{}] activated, active tenants [{}].", entry.name, activeCount.get());
+            }
+            // 持有锁时 entry.active 还没有被淘汰，一定能借用成功
+            dataSource.tryAcquire();
+        } finally {
+            entry.lock.unlock();
+        }
+        if (tenants.get(entry.name) != entry) {
+            // 创建期间租户被移除或覆盖，归还时关闭
+            evict(entry, "unregistered");
+            return dataSource;
+        }
+        evictOverflow(entry);
+        return dataSource;
+    }
+
+    private void release(TenantEntry entry, TenantDataSource dataSource) {
+        entry.lastAccess = System.nanoTime();
+        if (dataSource.release()) {
+            // 淘汰时还有借用方，由最后一个借用方关闭
+            close(dataSource);
+        }
+    }
+
+    private TenantDataSource create(TenantEntry entry) {
+        DynamicRedisTemplateFactory<String, String> factory = templateFactoryCreator.apply(entry.name, entry.properties);
+        RedisTemplate<String, String> redisTemplate = factory.createRedisTemplate(entry.properties.getDatabase());
+        if (!dynamicDatabase) {
+            return new TenantDataSource(entry.name, redisTemplate, null, new RedisHelper(redisTemplate));
+        }
+        DynamicRedisTemplate<String, String> dynamicRedisTemplate = new DynamicRedisTemplate<>(factory);
+        dynamicRedisTemplate.setDefaultRedisTemplate(redisTemplate);
+        Map<Object, RedisTemplate<String, String>> redisTemplates = new HashMap<>(8);
+        redisTemplates.put(entry.properties.getDatabase(), redisTemplate);
+        dynamicRedisTemplate.setRedisTemplates(redisTemplates);
+        dynamicRedisTemplate.afterPropertiesSet();
+        return new TenantDataSource(entry.name, redisTemplate, dynamicRedisTemplate,
+                new DynamicRedisHelper(dynamicRedisTemplate));
+    }
+
+    /**
+     * 存活的租户数据源超过上限时，淘汰最久未使用的租户数据源（不包括刚刚创建的和有借用方的），
+     * 都有借用方时暂时超过上限，下一次创建时再淘汰
+     */
+    private void evictOverflow(TenantEntry current) {
+        while (activeCount.get() > maxActive) {
+            TenantEntry eldest = null;
+            for (TenantEntry entry : tenants.values()) {
+                TenantDataSource dataSource = entry.active;
+                if (entry != current && dataSource != null && !dataSource.isBorrowed()
+                        && (eldest == null || entry.lastAccess - eldest.lastAccess < 0)) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null || !evict(eldest, "exceeds max active " + maxActive)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 淘汰空闲超过 idleTimeout 且没有借用方的租户数据源
+     */
+    void evictIdle() {
+        try {
+            long now = System.nanoTime();
+            long idleNanos = idleTimeout.toNanos();
+            for (TenantEntry entry : tenants.values()) {
+                TenantDataSource dataSource = entry.active;
+                if (dataSource != null && !dataSource.isBorrowed() && now - entry.lastAccess > idleNanos) {
+                    evict(entry, "idle");
+                }
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("evict idle redis tenants failed.", ex);
+        }
+    }
+
+    /**
+     * 淘汰租户数据源，延迟关闭连接工厂；还有借用方时由最后一个借用方归还后关闭
+     *
+     * @return 租户数据源是否存活
+     */
+    private boolean evict(TenantEntry entry, String reason) {
+        TenantDataSource dataSource;
+        entry.lock.lock();
+        try {
+            dataSource = entry.active;
+            if (dataSource == null) {
+                return false;
+            }
+            entry.active = null;
+            activeCount.decrementAndGet();
+        } finally {
+            entry.lock.unlock();
+        }
+        evictionCount.incrementAndGet();
+        LOGGER.info("redis tenant [{}] evicted ({}), active tenants [{}].", entry.name, reason, activeCount.get());
+        if (dataSource.retire()) {
+            close(dataSource);
+        }
+        return true;
+    }
+
+    private void close(TenantDataSource dataSource) {
+        ScheduledExecutorService current = scheduler;
+        if (current != null && !current.isShutdown()) {
+            pendingCloses.add(dataSource);
+            try {
+                current.schedule(() -> closePending(dataSource), closeDelay.toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException ex) {
+                pendingCloses.remove(dataSource);
+                LOGGER.debug("redis tenant evictor is shut down, close connection factories now.");
+            }
+        }
+        dataSource.close();
+    }
+
+    /**
+     * 关闭等待延迟关闭的租户数据源，延迟关闭和销毁注册同时执行时只关闭一次
+     */
+    private void closePending(TenantDataSource dataSource) {
+        if (pendingCloses.remove(dataSource)) {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * 是否注册了该租户
+     */
+    public boolean contains(String tenant) {
+        return tenants.containsKey(tenant);
+    }
+
+    /**
+     * 租户数据源是否存活（已经创建连接工厂）
+     */
+    public boolean isActive(String tenant) {
+        TenantEntry entry = tenants.get(tenant);
+        return entry != null && entry.active != null;
+    }
+
+    /**
+     * 所有注册的租户名称
+     */
+    public Set<String> getTenants() {
+        return Collections.unmodifiableSet(tenants.keySet());
+    }
+
+    /**
+     * 存活的租户数据源个数
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * 累计淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    private static final class TenantEntry {
+
+        private final String name;
+
+        private final RedisProperties properties;
+
+        private final Lock lock = new ReentrantLock();
+
+        private volatile TenantDataSource active;
+
+        private volatile long lastAccess = System.nanoTime();
+
+        TenantEntry(String name, RedisProperties properties) {
+            this.name = name;
+            this.properties = properties;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.enhance.redis.topology;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.util.List;
+
+/**
+ * 连接池状态快照，一个连接工厂有多个连接池时（如lettuce按连接类型分池）为所有连接池的合计
+ *
+ * @author wenpan 2026/10/19 18:00
+ */
+public class ConnectionPoolStats {
+
+    private int active;
+
+    private int idle;
+
+    private int waiters;
+
+    private int maxTotal;
+
+    private int maxIdle;
+
+    private int minIdle;
+
+    private long created;
+
+    private long destroyed;
+
+    private long borrowed;
+
+    private long meanBorrowWaitMillis;
+
+    private long maxBorrowWaitMillis;
+
+    static ConnectionPoolStats of(List<GenericObjectPool<?>> pools) {
+        ConnectionPoolStats stats = new ConnectionPoolStats();
+        for (GenericObjectPool<?> pool : pools) {
+            stats.active += pool.getNumActive();
+            stats.idle += pool.getNumIdle();
+            stats.waiters += pool.getNumWaiters();
+            stats.maxTotal += pool.getMaxTotal();
+            stats.maxIdle += pool.getMaxIdle();
+            stats.minIdle += pool.getMinIdle();
+            stats.created += pool.getCreatedCount();
+            stats.destroyed += pool.getDestroyedCount();
+            stats.borrowed += pool.getBorrowedCount();
+            stats.meanBorrowWaitMillis = Math.max(stats.meanBorrowWaitMillis, pool.getMeanBorrowWaitTimeMillis());
+            stats.maxBorrowWaitMillis = Math.max(stats.maxBorrowWaitMillis, pool.getMaxBorrowWaitTimeMillis());
+        }
+        return stats;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiters() {
+        return waiters;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getDestroyed() {
+        return destroyed;
+    }
+
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    public long getMeanBorrowWaitMillis() {
+        return meanBorrowWaitMillis;
+    }
+
+    public long getMaxBorrowWaitMillis() {
+        return maxBorrowWaitMillis;
+    }
+}
@@ -0,0 +1,253 @@
+package org.enhance.redis.topology;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.jedis.SharedPoolJedisConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.util.Pool;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 查找连接工厂内部的连接池
+ * <p>
+ * 先通过公开的配置判断连接工厂是否使用连接池（JedisConnectionFactory#getUsePool、LettucePoolingClientConfiguration），
+ * 没有连接池的直接返回空集合。使用连接池时，jedis和lettuce的连接工厂都没有对外暴露连接池，只能按固定的路径读取私有字段：
+ * <ul>
+ *     <li>jedis：JedisConnectionFactory.pool(Pool).internalPool；集群模式为 JedisConnectionFactory.cluster 的
+ *     {@code getClusterNodes()} 中各个节点连接池的 internalPool，每次读取当前的节点</li>
+ *     <li>lettuce：LettuceConnectionFactory.connectionProvider/reactiveConnectionProvider.delegate(LettucePoolingConnectionProvider).pools，
+ *     连接池在第一次获取连接时才创建，每次读取 pools 中当前的连接池</li>
+ *     <li>jedis共享连接池：{@link SharedPoolJedisConnectionFactory#getPool()}，同一个数据源的各个db返回同一个连接池</li>
+ * </ul>
+ * 每个连接工厂只解析一次（初始化完成后），结果按连接工厂弱引用缓存；字段不存在（版本变化）时返回空集合
+ *
+ * @author wenpan 2026/10/19 18:00
+ */
+public final class ConnectionPools {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPools.class);
+
+    private static final boolean JEDIS_PRESENT = ClassUtils.isPresent("redis.clients.jedis.Jedis",
+            ConnectionPools.class.getClassLoader());
+
+    private static final boolean LETTUCE_PRESENT = ClassUtils.isPresent("io.lettuce.core.RedisClient",
+            ConnectionPools.class.getClassLoader());
+
+    private static final Supplier<List<GenericObjectPool<?>>> NONE = Collections::emptyList;
+
+    /**
+     * 原始连接工厂 -> 读取其连接池的方式，不引用连接工厂本身，连接工厂被回收后自动移除
+     */
+    private static final Map<RedisConnectionFactory, Supplier<List<GenericObjectPool<?>>>> RESOLVED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private ConnectionPools() {
+    }
+
+    /**
+     * 查找连接工厂使用的连接池，lettuce的连接池在第一次获取连接时才会创建
+     *
+     * @param connectionFactory 连接工厂，可以是包装后的连接工厂
+     * @return 连接池，未使用连接池时返回空集合
+     */
+    public static List<GenericObjectPool<?>> find(RedisConnectionFactory connectionFactory) {
+        RedisConnectionFactory target = connectionFactory instanceof InstrumentedRedisConnectionFactory
+                ? ((InstrumentedRedisConnectionFactory) connectionFactory).getDelegate() : connectionFactory;
+        if (target == null) {
+            return Collections.emptyList();
+        }
+        Supplier<List<GenericObjectPool<?>>> pools = RESOLVED.get(target);
+        if (pools == null) {
+            pools = resolve(target);
+            if (pools == null) {
+                // 还没有初始化完成，下次再解析
+                return Collections.emptyList();
+            }
+            RESOLVED.put(target, pools);
+        }
+        return pools.get();
+    }
+
+    /**
+     * 汇总连接工厂所有连接池的状态
+     *
+     * @param connectionFactory 连接工厂
+     * @return 连接池状态，未使用连接池时返回null
+     */
+    public static ConnectionPoolStats stats(RedisConnectionFactory connectionFactory) {
+        List<GenericObjectPool<?>> pools = find(connectionFactory);
+        return pools.isEmpty() ? null : ConnectionPoolStats.of(pools);
+    }
+
+    /**
+     * 连接工厂的连接池中是否没有借出的连接
+     *
+     * @param connectionFactory 连接工厂
+     * @return 没有借出的连接时返回true；未使用连接池时无法判断，返回false
+     */
+    public static boolean isIdle(RedisConnectionFactory connectionFactory) {
+        List<GenericObjectPool<?>> pools = find(connectionFactory);
+        if (pools.isEmpty()) {
+            return false;
+        }
+        for (GenericObjectPool<?> pool : pools) {
+            if (pool.getNumActive() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 读取连接池的方式，连接工厂还没有初始化完成时返回null
+     */
+    private static Supplier<List<GenericObjectPool<?>>> resolve(RedisConnectionFactory connectionFactory) {
+        try {
+            if (LETTUCE_PRESENT && connectionFactory instanceof LettuceConnectionFactory) {
+                return LettucePools.resolve((LettuceConnectionFactory) connectionFactory);
+            }
+            if (JEDIS_PRESENT) {
+                return JedisPools.resolve(connectionFactory);
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.debug("can not resolve connection pools of [{}]", connectionFactory.getClass().getName(), ex);
+        }
+        return NONE;
+    }
+
+    private static Field field(Class<?> type, String name) {
+        Field field = ReflectionUtils.findField(type, name);
+        if (field == null) {
+            LOGGER.debug("field [{}] of [{}] not found, connection pools can not be resolved.", name, type.getName());
+            return null;
+        }
+        ReflectionUtils.makeAccessible(field);
+        return field;
+    }
+
+    private static Object read(Field field, Object target) {
+        return field == null || target == null ? null : ReflectionUtils.getField(field, target);
+    }
+
+    /**
+     * lettuce连接池，LettucePoolingConnectionProvider 不是公开类，按字段名读取
+     */
+    private static final class LettucePools {
+
+        private static final Field CONNECTION_PROVIDER = field(LettuceConnectionFactory.class, "connectionProvider");
+
+        private static final Field REACTIVE_CONNECTION_PROVIDER = field(LettuceConnectionFactory.class, "reactiveConnectionProvider");
+
+        private static final String POOLING_PROVIDER = "org.springframework.data.redis.connection.lettuce.LettucePoolingConnectionProvider";
+
+        private static Supplier<List<GenericObjectPool<?>>> resolve(LettuceConnectionFactory connectionFactory) {
+            if (!(connectionFactory.getClientConfiguration() instanceof LettucePoolingClientConfiguration)) {
+                return NONE;
+            }
+            Object provider = read(CONNECTION_PROVIDER, connectionFactory);
+            if (provider == null) {
+                return null;
+            }
+            List<Map<?, ?>> poolMaps = new ArrayList<>(2);
+            addPools(provider, poolMaps);
+            addPools(read(REACTIVE_CONNECTION_PROVIDER, connectionFactory), poolMaps);
+            if (poolMaps.isEmpty()) {
+                return NONE;
+            }
+            return () -> {
+                List<GenericObjectPool<?>> pools = new ArrayList<>(2);
+                for (Map<?, ?> poolMap : poolMaps) {
+                    for (Object pool : poolMap.values()) {
+                        pools.add((GenericObjectPool<?>) pool);
+                    }
+                }
+                return pools;
+            };
+        }
+
+        private static void addPools(Object provider, List<Map<?, ?>> poolMaps) {
+            // LettuceConnectionFactory 用 ExceptionTranslatingConnectionProvider 包装了实际的 provider
+            Object current = provider;
+            if (current != null && !POOLING_PROVIDER.equals(current.getClass().getName())) {
+                current = read(field(current.getClass(), "delegate"), current);
+            }
+            if (current == null || !POOLING_PROVIDER.equals(current.getClass().getName())) {
+                return;
+            }
+            Object pools = read(field(current.getClass(), "pools"), current);
+            if (pools instanceof Map) {
+                poolMaps.add((Map<?, ?>) pools);
+            }
+        }
+    }
+
+    /**
+     * jedis连接池，jedis是可选依赖，只有存在时才加载该类
+     */
+    private static final class JedisPools {
+
+        private static final Field POOL = field(JedisConnectionFactory.class, "pool");
+
+        private static final Field CLUSTER = field(JedisConnectionFactory.class, "cluster");
+
+        private static final Field INTERNAL_POOL = field(Pool.class, "internalPool");
+
+        private static Supplier<List<GenericObjectPool<?>>> resolve(RedisConnectionFactory connectionFactory) {
+            if (connectionFactory instanceof SharedPoolJedisConnectionFactory) {
+                return of(((SharedPoolJedisConnectionFactory) connectionFactory).getPool().getInternalPool());
+            }
+            if (!(connectionFactory instanceof JedisConnectionFactory)) {
+                return NONE;
+            }
+            JedisConnectionFactory jedisConnectionFactory = (JedisConnectionFactory) connectionFactory;
+            if (jedisConnectionFactory.isRedisClusterAware()) {
+                JedisCluster cluster = (JedisCluster) read(CLUSTER, jedisConnectionFactory);
+                if (cluster == null) {
+                    return null;
+                }
+                return () -> {
+                    List<GenericObjectPool<?>> pools = new ArrayList<>();
+                    for (JedisPool pool : cluster.getClusterNodes().values()) {
+                        GenericObjectPool<?> internalPool = (GenericObjectPool<?>) read(INTERNAL_POOL, pool);
+                        if (internalPool != null) {
+                            pools.add(internalPool);
+                        }
+                    }
+                    return pools;
+                };
+            }
+            if (!jedisConnectionFactory.getUsePool()) {
+                return NONE;
+            }
+            Object pool = read(POOL, jedisConnectionFactory);
+            if (pool == null) {
+                return null;
+            }
+            return of((GenericObjectPool<?>) read(INTERNAL_POOL, pool));
+        }
+
+        private static Supplier<List<GenericObjectPool<?>>> of(GenericObjectPool<?> pool) {
+            if (pool == null) {
+                return NONE;
+            }
+            List<GenericObjectPool<?>> pools = Collections.singletonList(pool);
+            return () -> pools;
+        }
+    }
+}
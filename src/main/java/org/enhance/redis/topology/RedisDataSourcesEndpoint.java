@@ -0,0 +1,122 @@
+package org.enhance.redis.topology;
+
+import org.enhance.redis.helper.RedisHelper;
+import org.enhance.redis.infra.constant.DynamicRedisConstants;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.register.RedisDataSourceRegister;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 数据源拓扑端点：/actuator/redisdatasources
+ * <p>
+ * 列出每个数据源已经创建了RedisTemplate的db、连接工厂类型、连接池活跃/空闲/等待数以及创建时间，
+ * 用于在不做堆转储的情况下排查连接数暴涨的问题
+ *
+ * @author wenpan 2026/10/19 18:00
+ */
+@Endpoint(id = "redisdatasources")
+public class RedisDataSourcesEndpoint {
+
+    /**
+     * 默认数据源的redisHelper，未开启多数据源时 {@link RedisDataSourceRegister} 中没有默认数据源
+     */
+    private final RedisHelper defaultRedisHelper;
+
+    public RedisDataSourcesEndpoint(@Nullable RedisHelper defaultRedisHelper) {
+        this.defaultRedisHelper = defaultRedisHelper;
+    }
+
+    /**
+     * 查询所有数据源
+     */
+    @ReadOperation
+    public Map<String, Object> dataSources() {
+        Map<String, RedisHelper> helpers = collectHelpers();
+        // 只存在连接工厂的数据源（如helper尚未注册）也要列出来
+        TreeSet<String> names = new TreeSet<>(helpers.keySet());
+        RedisConnectionFactoryRegister.getFactories().forEach(factory -> names.add(factory.getDataSourceName()));
+
+        Map<String, Object> dataSources = new LinkedHashMap<>(names.size() * 2);
+        int connectionFactoryCount = 0;
+        for (String name : names) {
+            Map<String, Object> dataSource = describe(name, helpers.get(name));
+            connectionFactoryCount += ((List<?>) dataSource.get("connectionFactories")).size();
+            dataSources.put(name, dataSource);
+        }
+        Map<String, Object> result = new LinkedHashMap<>(4);
+        result.put("connectionFactoryCount", connectionFactoryCount);
+        result.put("dataSources", dataSources);
+        return result;
+    }
+
+    /**
+     * 查询指定数据源
+     *
+     * @param name 数据源名称，默认数据源为 defaultSource
+     */
+    @ReadOperation
+    public Map<String, Object> dataSource(@Selector String name) {
+        RedisHelper helper = collectHelpers().get(name);
+        if (helper == null && RedisConnectionFactoryRegister.getFactories(name).isEmpty()) {
+            return null;
+        }
+        return describe(name, helper);
+    }
+
+    private Map<String, RedisHelper> collectHelpers() {
+        Map<String, RedisHelper> helpers = new TreeMap<>();
+        String suffix = DynamicRedisConstants.MultiSource.REDIS_HELPER;
+        RedisDataSourceRegister.getRedisHelperRegister().forEach((beanName, helper) -> {
+            if (beanName.endsWith(suffix)) {
+                helpers.put(beanName.substring(0, beanName.length() - suffix.length()), helper);
+            }
+        });
+        if (defaultRedisHelper != null) {
+            helpers.putIfAbsent(DynamicRedisConstants.MultiSource.DEFAULT_SOURCE, defaultRedisHelper);
+        }
+        return helpers;
+    }
+
+    private Map<String, Object> describe(String name, RedisHelper helper) {
+        Map<String, Object> dataSource = new LinkedHashMap<>(8);
+        if (helper != null) {
+            Map<Object, ?> templates = helper.getRedisTemplates();
+            dataSource.put("dynamicDatabase", templates != null);
+            dataSource.put("materializedDbs", templates == null ? null : new TreeSet<>(templates.keySet()));
+        }
+        List<InstrumentedRedisConnectionFactory> factories = RedisConnectionFactoryRegister.getFactories(name);
+        factories.sort(Comparator.comparingInt(InstrumentedRedisConnectionFactory::getDatabase)
+                .thenComparingLong(InstrumentedRedisConnectionFactory::getCreatedAt));
+        List<Map<String, Object>> factoryViews = new ArrayList<>(factories.size());
+        for (InstrumentedRedisConnectionFactory factory : factories) {
+            factoryViews.add(describe(factory));
+        }
+        dataSource.put("connectionFactories", factoryViews);
+        return dataSource;
+    }
+
+    private Map<String, Object> describe(InstrumentedRedisConnectionFactory factory) {
+        Map<String, Object> view = new LinkedHashMap<>(8);
+        view.put("db", factory.getDatabase());
+        view.put("type", factory.getDelegate().getClass().getSimpleName());
+        view.put("ownsConnectionFactory", factory.isOwnsDelegate());
+        view.put("createdAt", Instant.ofEpochMilli(factory.getCreatedAt()).toString());
+        ConnectionPoolStats pool = ConnectionPools.stats(factory);
+        view.put("pooled", pool != null);
+        view.put("pool", pool);
+        return view;
+    }
+}
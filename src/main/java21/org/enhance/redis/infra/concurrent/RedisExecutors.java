@@ -0,0 +1,71 @@
+package org.enhance.redis.infra.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 组件内部后台任务、并发任务使用的线程创建入口
+ * <p>
+ * 该类是多版本jar（Multi-Release）中的 JDK 21 版本，默认使用虚拟线程，
+ * 可以通过 {@code dynamic.redis.virtual-threads-enabled=false} 回退到平台线程
+ *
+ * @author wenpan 2026/10/19 14:05
+ */
+public final class RedisExecutors {
+
+    private static volatile boolean virtualThreadsEnabled = true;
+
+    private RedisExecutors() {
+    }
+
+    /**
+     * 当前运行环境是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadSupported() {
+        return true;
+    }
+
+    /**
+     * 是否实际使用虚拟线程（运行环境支持且没有通过配置关闭）
+     */
+    public static boolean isUsingVirtualThreads() {
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * 开启或关闭虚拟线程，对之后创建的线程生效
+     *
+     * @param enabled 是否开启
+     */
+    public static void setVirtualThreadsEnabled(boolean enabled) {
+        virtualThreadsEnabled = enabled;
+    }
+
+    /**
+     * 获取线程工厂
+     *
+     * @param namePrefix 线程名称前缀
+     * @return ThreadFactory
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        if (!virtualThreadsEnabled) {
+            return PlatformThreads.threadFactory(namePrefix);
+        }
+        return Thread.ofVirtual().name(namePrefix + "-", 1).factory();
+    }
+
+    /**
+     * 创建执行并发任务的线程池，虚拟线程模式下每个任务一个虚拟线程，maxThreads不生效
+     *
+     * @param namePrefix 线程名称前缀
+     * @param maxThreads 平台线程模式下的最大线程数
+     * @return ExecutorService
+     */
+    public static ExecutorService newTaskExecutor(String namePrefix, int maxThreads) {
+        if (!virtualThreadsEnabled) {
+            return PlatformThreads.newTaskExecutor(namePrefix, maxThreads);
+        }
+        return Executors.newThreadPerTaskExecutor(threadFactory(namePrefix));
+    }
+}
@@ -0,0 +1,140 @@
+package org.enhance.redis;
+
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 多数据源并行初始化：所有数据源并行连接，每个数据源从开始连接时计算超时；fail-fast 时有数据源连不上则启动失败，并销毁已经创建和正在创建的连接工厂
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisDataSourceParallelInitializerTest {
+
+    private RespStubServer server;
+
+    private int refusedPort;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        try (ServerSocket socket = new ServerSocket(0)) {
+            refusedPort = socket.getLocalPort();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void unavailableDataSourceIsConnectedOnFirstUse() {
+        try (ConfigurableApplicationContext context = run(false, "parallel-a", "parallel-b")) {
+            long commands = server.getCommandCount();
+            for (String name : new String[]{"parallel-a", "parallel-b"}) {
+                assertThat(RedisConnectionFactoryRegister.getFactories(name)).isNotEmpty();
+                DynamicRedisHelper redisHelper = context.getBean(name + "RedisHelper", DynamicRedisHelper.class);
+                redisHelper.strSet(name, "value");
+                assertThat(redisHelper.strGet(name)).isEqualTo("value");
+            }
+            assertThat(server.getCommandCount() - commands).isEqualTo(4);
+            // 连不上的数据源不影响启动
+            assertThat(context.containsBean("parallel-downRedisHelper")).isTrue();
+        }
+    }
+
+    @Test
+    void failFastDestroysCreatedFactories() {
+        assertThatThrownBy(() -> run(true, "failfast-a", "failfast-b"))
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasStackTraceContaining("failfast-down");
+        assertThat(RedisConnectionFactoryRegister.getFactories("failfast-a")).isEmpty();
+        assertThat(RedisConnectionFactoryRegister.getFactories("failfast-b")).isEmpty();
+        assertThat(RedisConnectionFactoryRegister.getFactories("failfast-down")).isEmpty();
+    }
+
+    @Test
+    void queuedDataSourcesGetTheirOwnTimeout() throws IOException {
+        try (RespStubServer slowServer = new RespStubServer(0, Duration.ofMillis(200)).start()) {
+            SpringApplicationBuilder builder = builder(slowServer, "queued-a", "queued-b", "queued-c", "queued-d")
+                    .properties("dynamic.redis.parallel-init.threads=1",
+                            "dynamic.redis.parallel-init.timeout=1500ms",
+                            "dynamic.redis.parallel-init.fail-fast=true");
+            // 只有一个线程，4个数据源依次连接，总耗时超过 timeout，但每个数据源自身没有超时
+            try (ConfigurableApplicationContext context = builder.run()) {
+                assertThat(RedisConnectionFactoryRegister.getFactories("queued-d")).isNotEmpty();
+            }
+        }
+    }
+
+    @Test
+    void failFastDestroysFactoriesStillBeingCreated() throws InterruptedException {
+        AtomicBoolean slow = new AtomicBoolean(true);
+        CountDownLatch slept = new CountDownLatch(1);
+        // 第一个在并行初始化线程中创建的连接工厂创建得很慢，忽略中断，超时后才创建完成
+        LettuceClientConfigurationBuilderCustomizer customizer = configurationBuilder -> {
+            if (Thread.currentThread().getName().startsWith("redis-init") && slow.compareAndSet(true, false)) {
+                long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+                while (System.nanoTime() < until) {
+                    LockSupport.parkNanos(until - System.nanoTime());
+                }
+                Thread.interrupted();
+                slept.countDown();
+            }
+        };
+        SpringApplicationBuilder builder = builder(server, "creating-a", "creating-b")
+                .properties(StubApplication.dataSource("creating-down", refusedPort))
+                .properties("dynamic.redis.parallel-init.timeout=500ms",
+                        "dynamic.redis.parallel-init.fail-fast=true")
+                .initializers(context -> context.getBeanFactory().registerSingleton("slowCustomizer", customizer));
+
+        assertThatThrownBy(builder::run).hasRootCauseInstanceOf(IllegalStateException.class);
+
+        // 启动失败后慢的连接工厂才创建完成
+        assertThat(slept.await(5, TimeUnit.SECONDS)).isTrue();
+        TimeUnit.MILLISECONDS.sleep(500);
+        for (String name : new String[]{"creating-a", "creating-b", "creating-down"}) {
+            assertThat(RedisConnectionFactoryRegister.getFactories(name)).isEmpty();
+        }
+    }
+
+    /**
+     * 启动容器，除了指定的数据源外再配置一个连不上的数据源（名称前缀-down）
+     */
+    private ConfigurableApplicationContext run(boolean failFast, String... dataSourceNames) {
+        String down = dataSourceNames[0].substring(0, dataSourceNames[0].indexOf('-')) + "-down";
+        return builder(server, dataSourceNames)
+                .properties(StubApplication.dataSource(down, refusedPort))
+                .properties("spring.redis.datasource." + down + ".timeout=1s",
+                        "dynamic.redis.parallel-init.timeout=5s",
+                        "dynamic.redis.parallel-init.fail-fast=" + failFast)
+                .run();
+    }
+
+    private static SpringApplicationBuilder builder(RespStubServer server, String... dataSourceNames) {
+        SpringApplicationBuilder builder = StubApplication.builder(server, "dynamic.redis.parallel-init.enabled=true");
+        for (String name : dataSourceNames) {
+            builder.properties(StubApplication.dataSource(name, server.getPort()));
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,121 @@
+package org.enhance.redis;
+
+import org.enhance.redis.client.RedisMultiSourceClient;
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubApplication;
+import org.enhance.redis.stub.StubRedis;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 注册和注销数据源：只有lettuce数据源注册响应式helper；注销期间并发懒加载创建的db的连接工厂也要销毁，注销后不能再创建db
+ *
+ * @author wenpan 2026/10/20 01:30
+ */
+class RedisMultiDataSourceRegistrarExtensionTest {
+
+    private static RespStubServer server;
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        context = StubApplication.builder(server, "dynamic.redis.unregister.drain-timeout=30s").run();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        context.close();
+        server.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unregisterDestroysDbsCreatedConcurrently() throws Exception {
+        String datasource = "unregister";
+        RedisMultiDataSourceRegistrarExtension.registerRedisDataSource(datasource, StubRedis.properties(server, "lettuce"));
+        DynamicRedisTemplate<String, String> template = (DynamicRedisTemplate<String, String>)
+                context.getBean(datasource + "RedisHelper", DynamicRedisHelper.class).getRedisTemplate();
+        template.getOrCreateRedisTemplate(1).opsForValue().set("key", "value");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int offset = i;
+            threads.add(new Thread(() -> {
+                for (int db = 2 + offset; running.get() && db < 15; db += 4) {
+                    try {
+                        template.getOrCreateRedisTemplate(db);
+                    } catch (IllegalStateException ex) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable ex) {
+                        errors.add(ex);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        TimeUnit.MILLISECONDS.sleep(20);
+        RedisMultiDataSourceRegistrarExtension.unregisterRedisDataSource(datasource, Duration.ZERO).get(10, TimeUnit.SECONDS);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(errors).isEmpty();
+        assertThat(template.isClosed()).isTrue();
+        assertThat(RedisConnectionFactoryRegister.getFactories(datasource)).isEmpty();
+        assertThat(context.containsBean(datasource + "RedisHelper")).isFalse();
+        assertThatThrownBy(() -> template.getOrCreateRedisTemplate(15)).isInstanceOf(IllegalStateException.class);
+        assertThat(RedisConnectionFactoryRegister.getFactories(datasource)).isEmpty();
+    }
+
+    @Test
+    void unregisterClosesFactoriesWithoutPoolImmediatelyAndDropsHandles() throws Exception {
+        String datasource = "nopool";
+        RedisMultiDataSourceRegistrarExtension.registerRedisDataSource(datasource, StubRedis.properties(server, "lettuce"));
+        RedisMultiSourceClient client = context.getBean(RedisMultiSourceClient.class);
+        client.handle(datasource, 1).getRedisTemplate().opsForValue().set("key", "value");
+
+        long start = System.nanoTime();
+        RedisMultiDataSourceRegistrarExtension.unregisterRedisDataSource(datasource).get(10, TimeUnit.SECONDS);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(RedisConnectionFactoryRegister.getFactories(datasource)).isEmpty();
+        assertThat(client.removeHandles(datasource)).isZero();
+    }
+
+    @Test
+    void reactiveHelperOnlyRegisteredForLettuce() throws Exception {
+        RedisMultiDataSourceRegistrarExtension.registerRedisDataSource("reactive-lettuce", StubRedis.properties(server, "lettuce"));
+        RedisMultiDataSourceRegistrarExtension.registerRedisDataSource("reactive-jedis", StubRedis.properties(server, "jedis"));
+
+        assertThat(context.containsBean("reactive-lettuceReactiveRedisHelper")).isTrue();
+        assertThat(context.containsBean("reactive-jedisReactiveRedisHelper")).isFalse();
+        assertThat(context.containsBean("reactive-jedisRedisHelper")).isTrue();
+
+        RedisMultiDataSourceRegistrarExtension.unregisterRedisDataSource("reactive-lettuce", Duration.ZERO).get(10, TimeUnit.SECONDS);
+        RedisMultiDataSourceRegistrarExtension.unregisterRedisDataSource("reactive-jedis", Duration.ZERO).get(10, TimeUnit.SECONDS);
+    }
+}
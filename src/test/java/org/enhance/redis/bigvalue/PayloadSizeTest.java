@@ -0,0 +1,76 @@
+package org.enhance.redis.bigvalue;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 请求大小：单key命令不计key，mSet、多key命令、execute 完整计入；pipeline和事务中入队的命令不拒绝
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class PayloadSizeTest {
+
+    @Test
+    void singleKeyIsNotCounted() {
+        PayloadSize size = PayloadSize.ofArgs(new Object[]{bytes("key"), bytes("value")});
+        assertThat(size.getBytes()).isEqualTo(5);
+        assertThat(size.getElements()).isEqualTo(1);
+
+        // hMSet(key, map)
+        Map<byte[], byte[]> hash = new LinkedHashMap<>();
+        hash.put(bytes("f1"), bytes("v1"));
+        hash.put(bytes("f2"), bytes("v2"));
+        size = PayloadSize.ofArgs(new Object[]{bytes("key"), hash});
+        assertThat(size.getBytes()).isEqualTo(8);
+        assertThat(size.getElements()).isEqualTo(2);
+    }
+
+    @Test
+    void firstArgumentIsCountedUnlessItIsASingleKey() {
+        // mSet(map)
+        Map<byte[], byte[]> tuples = new LinkedHashMap<>();
+        tuples.put(bytes("k1"), bytes("value1"));
+        tuples.put(bytes("k2"), bytes("value2"));
+        PayloadSize size = PayloadSize.ofArgs(new Object[]{tuples});
+        assertThat(size.getBytes()).isEqualTo(16);
+        assertThat(size.getElements()).isEqualTo(2);
+
+        // execute(String, byte[]...)
+        size = PayloadSize.ofArgs(new Object[]{"SET", new byte[][]{bytes("key"), bytes("value")}});
+        assertThat(size.getBytes()).isEqualTo(8);
+        assertThat(size.getElements()).isEqualTo(2);
+
+        assertThat(PayloadSize.ofArgs(null).getBytes()).isZero();
+        assertThat(PayloadSize.ofArgs(new Object[0]).getBytes()).isZero();
+    }
+
+    @Test
+    void queuedCommandsAreNotRejected() {
+        RedisBigValueDetector detector = new RedisBigValueDetector(4, 8, 100, ":", 16, 16, 64);
+        Object[] args = {bytes("key"), bytes("large-value")};
+
+        detector.beforeCommand("default", 0, "SET", args, true);
+        assertThatThrownBy(() -> detector.beforeCommand("default", 0, "SET", args, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(detector.getBigValues()).hasSize(1).allSatisfy(bigValue -> {
+            assertThat(bigValue.isRejected()).isTrue();
+            assertThat(bigValue.getKey()).isEqualTo("key");
+        });
+
+        // mSet 的值同样计入
+        Map<byte[], byte[]> tuples = new LinkedHashMap<>();
+        tuples.put(bytes("k1"), bytes("large-value"));
+        assertThatThrownBy(() -> detector.beforeCommand("default", 0, "MSET", new Object[]{tuples}, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
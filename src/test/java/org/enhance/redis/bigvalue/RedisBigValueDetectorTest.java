@@ -0,0 +1,91 @@
+package org.enhance.redis.bigvalue;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 大value检测：pipeline中入队的命令在pipeline关闭时逐个统计
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisBigValueDetectorTest {
+
+    private static final String BIG = String.join("", Collections.nCopies(2048, "v"));
+
+    private RespStubServer server;
+
+    private RedisTemplate<String, String> redisTemplate;
+
+    private RedisBigValueDetector detector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        redisTemplate = StubRedis.templateFactory("bigvalue", StubRedis.properties(server, "lettuce")).createRedisTemplate(0);
+        detector = new RedisBigValueDetector(1024, 0, 1000, ":", 16, 8, 64);
+        detector.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        detector.destroy();
+        ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+        server.close();
+    }
+
+    @Test
+    void pipelinedCommandsAreMeasuredOneByOne() {
+        redisTemplate.opsForValue().set("big:1", BIG);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(bytes("big:2"), bytes(BIG));
+            connection.stringCommands().get(bytes("big:1"));
+            return null;
+        });
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(bytes("big:1"));
+            connection.stringCommands().get(bytes("small"));
+            connection.stringCommands().get(bytes("big:2"));
+            return null;
+        });
+
+        assertThat(detector.getBigValues())
+                .extracting(BigValue::getCommand, BigValue::getKey, BigValue::getDirection)
+                .containsExactly(tuple("GET", "big:2", BigValue.REPLY),
+                        tuple("GET", "big:1", BigValue.REPLY),
+                        tuple("GET", "big:1", BigValue.REPLY),
+                        tuple("SET", "big:2", BigValue.REQUEST),
+                        tuple("SET", "big:1", BigValue.REQUEST));
+        assertThat(detector.getPrefixStats("bigvalue")).extracting(KeyPrefixSizeStats::getPrefix)
+                .containsExactly("big");
+    }
+
+    @Test
+    void limitIsClampedToTheBuffer() {
+        for (String key : Arrays.asList("big:1", "big:2", "big:3")) {
+            redisTemplate.opsForValue().set(key, BIG);
+        }
+
+        assertThat(detector.getBigValues(-1)).isEmpty();
+        assertThat(detector.getBigValues(1)).extracting(BigValue::getKey).containsExactly("big:3");
+        assertThat(detector.getBigValues(Integer.MAX_VALUE)).hasSize(3);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
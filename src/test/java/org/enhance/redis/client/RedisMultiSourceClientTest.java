@@ -0,0 +1,76 @@
+package org.enhance.redis.client;
+
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.helper.RedisDbThreadLocalHelper;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubApplication;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 操作句柄：同一个db只有一个句柄、不经过动态路由、不被空闲淘汰
+ *
+ * @author wenpan 2026/10/20 01:30
+ */
+class RedisMultiSourceClientTest {
+
+    private static final String DATASOURCE = "handle";
+
+    private static RespStubServer server;
+
+    private static ConfigurableApplicationContext context;
+
+    private static RedisMultiSourceClient client;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        context = StubApplication.builder(server, StubApplication.dataSource(DATASOURCE, server.getPort())).run();
+        client = context.getBean(RedisMultiSourceClient.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        context.close();
+        server.close();
+    }
+
+    @AfterEach
+    void clearDatabase() {
+        RedisDbThreadLocalHelper.clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleIsCachedPinnedAndBypassesRouting() {
+        RedisHandle handle = client.handle(DATASOURCE, 3);
+        assertThat(client.handle(DATASOURCE, 3)).isSameAs(handle);
+
+        RedisDbThreadLocalHelper.set(5);
+        handle.execute(redisHelper -> {
+            redisHelper.strSet("handle-key", "db3");
+            return null;
+        });
+        // 不读写当前线程的db
+        assertThat(RedisDbThreadLocalHelper.get()).isEqualTo(5);
+        try (Jedis jedis = new Jedis("127.0.0.1", server.getPort())) {
+            jedis.select(3);
+            assertThat(jedis.get("handle-key")).isEqualTo("db3");
+        }
+
+        DynamicRedisTemplate<String, String> template = (DynamicRedisTemplate<String, String>)
+                context.getBean(DATASOURCE + "RedisHelper", DynamicRedisHelper.class).getRedisTemplate();
+        assertThat(template.evictIdleRedisTemplates(Duration.ZERO)).doesNotContainKey(3);
+        assertThat(handle.getRedisHelper().strGet("handle-key")).isEqualTo("db3");
+    }
+}
@@ -0,0 +1,103 @@
+package org.enhance.redis.health;
+
+import org.enhance.redis.config.RedisHealthAutoConfiguration;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 多数据源健康检查：每个目标的超时时间从PING开始执行时计算，排队的目标不会被误判为DOWN；默认不注册
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisDataSourcesHealthIndicatorTest {
+
+    private final List<RespStubServer> servers = new ArrayList<>();
+
+    private final List<RedisTemplate<String, String>> templates = new ArrayList<>();
+
+    private RedisDataSourcesHealthIndicator indicator;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (indicator != null) {
+            indicator.destroy();
+        }
+        for (RedisTemplate<String, String> template : templates) {
+            ((DisposableBean) template.getConnectionFactory()).destroy();
+        }
+        servers.forEach(RespStubServer::close);
+    }
+
+    @Test
+    void queuedTargetsAreNotReportedDown() throws IOException {
+        RespStubServer server = start(Duration.ofMillis(300));
+        for (int i = 0; i < 4; i++) {
+            connect("health-queued-" + i, server);
+        }
+        // 只有一个线程，4个目标依次PING，总耗时超过 timeout，但每个目标自身没有超时
+        indicator = new RedisDataSourcesHealthIndicator(Duration.ofSeconds(1), Duration.ZERO, false, 1);
+
+        Health health = indicator.health();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(detail(health, "health-queued-" + i).getStatus()).isEqualTo(Status.UP);
+        }
+    }
+
+    @Test
+    void hangingTargetIsDownAndResultIsCached() throws IOException {
+        connect("health-up", start(Duration.ZERO));
+        connect("health-hanging", start(Duration.ofSeconds(5)));
+        indicator = new RedisDataSourcesHealthIndicator(Duration.ofMillis(200), Duration.ofMinutes(1), false, 4);
+
+        Health health = indicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(detail(health, "health-up").getStatus()).isEqualTo(Status.UP);
+        Health hanging = detail(health, "health-hanging");
+        assertThat(hanging.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(hanging.getDetails()).containsEntry("error", "PING timed out after 200ms");
+        assertThat(indicator.health()).isSameAs(health);
+    }
+
+    @Test
+    void indicatorIsOptIn() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(RedisHealthAutoConfiguration.class))
+                .withBean(DynamicRedisProperties.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(RedisDataSourcesHealthIndicator.class));
+        runner.withPropertyValues("dynamic.redis.health.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(RedisDataSourcesHealthIndicator.class));
+    }
+
+    private RespStubServer start(Duration latency) throws IOException {
+        RespStubServer server = new RespStubServer(0, latency).start();
+        servers.add(server);
+        return server;
+    }
+
+    private void connect(String dataSource, RespStubServer server) {
+        templates.add(StubRedis.templateFactory(dataSource, StubRedis.properties(server, "jedis")).createRedisTemplate(0));
+    }
+
+    private static Health detail(Health health, String target) {
+        return (Health) health.getDetails().get(target);
+    }
+}
@@ -0,0 +1,80 @@
+package org.enhance.redis.helper;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * 并发操作多个db：每个db在独立的线程中切换db执行，结果顺序与db顺序一致，任意db失败时抛出该db的异常
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class EasyRedisHelperTest {
+
+    private RespStubServer server;
+
+    private DynamicRedisTemplate<String, String> template;
+
+    private RedisHelper redisHelper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        template = StubRedis.dynamicRedisTemplate("scatter", StubRedis.properties(server, "lettuce"));
+        redisHelper = new DynamicRedisHelper(template);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisTemplate<String, String> redisTemplate : template.getRedisTemplates().values()) {
+            ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+        }
+        server.close();
+    }
+
+    @Test
+    void scatterRunsOnEveryDbInOrder() {
+        for (int db : new int[]{3, 1, 2}) {
+            EasyRedisHelper.execute(db, redisHelper, helper -> helper.strSet("key", "db-" + db));
+        }
+
+        Map<Integer, String> values = EasyRedisHelper.scatter(Arrays.asList(3, 1, 2), redisHelper, helper -> helper.strGet("key"));
+
+        assertThat(values).containsExactly(entry(3, "db-3"), entry(1, "db-1"), entry(2, "db-2"));
+        assertThat(redisHelper.strGet("key")).isNull();
+    }
+
+    @Test
+    void scatterPropagatesFailureOfAnyDb() {
+        IllegalArgumentException failure = new IllegalArgumentException("db 2 failed");
+        assertThatThrownBy(() -> EasyRedisHelper.scatter(Arrays.asList(1, 2), redisHelper, helper -> {
+            if (RedisDbThreadLocalHelper.get() == 2) {
+                throw failure;
+            }
+            return helper.strGet("key");
+        })).isSameAs(failure);
+
+        assertThatThrownBy(() -> EasyRedisHelper.scatter(Arrays.asList(1, 4), redisHelper, helper -> {
+            if (RedisDbThreadLocalHelper.get() == 4) {
+                throw new AssertionError("db 4 failed");
+            }
+            return null;
+        })).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("db 4")
+                .hasCauseInstanceOf(AssertionError.class);
+    }
+}
@@ -0,0 +1,105 @@
+package org.enhance.redis.helper;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * pipeline执行：状态码命令（HMSET、LSET、LTRIM）不产生结果，其余命令的结果按顺序填充到各自的占位对象
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class PipelinedRedisHelperTest {
+
+    private RespStubServer server;
+
+    private DynamicRedisTemplate<String, String> template;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (template != null) {
+            for (RedisTemplate<String, String> redisTemplate : template.getRedisTemplates().values()) {
+                ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+            }
+        }
+        server.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"lettuce", "jedis"})
+    void statusCommandsDoNotShiftResults(String clientType) {
+        template = StubRedis.dynamicRedisTemplate("pipelined-" + clientType, StubRedis.properties(server, clientType));
+        RedisHelper redisHelper = new DynamicRedisHelper(template);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("f1", "v1");
+        fields.put("f2", "v2");
+
+        AtomicReference<PipelinedResult<Boolean>> set = new AtomicReference<>();
+        AtomicReference<PipelinedResult<Long>> pushed = new AtomicReference<>();
+        AtomicReference<PipelinedResult<Map<String, String>>> hash = new AtomicReference<>();
+        AtomicReference<PipelinedResult<List<String>>> list = new AtomicReference<>();
+        AtomicReference<PipelinedResult<Integer>> number = new AtomicReference<>();
+        AtomicReference<PipelinedResult<Long>> ttl = new AtomicReference<>();
+        AtomicReference<PipelinedResult<Boolean>> deleted = new AtomicReference<>();
+        redisHelper.pipelined(pipeline -> {
+            set.set(pipeline.strSet("number", "42", 60, TimeUnit.SECONDS));
+            pipeline.hshPutAll("hash", fields);
+            pushed.set(pipeline.lstRightPushAll("list", Arrays.asList("a", "b", "c")));
+            pipeline.lstSet("list", 0, "A");
+            pipeline.lstTrim("list", 0, 1);
+            hash.set(pipeline.hshGetAll("hash"));
+            list.set(pipeline.lstAll("list"));
+            number.set(pipeline.strGet("number", Integer.class));
+            ttl.set(pipeline.getExpire("number"));
+            deleted.set(pipeline.delKey("missing"));
+            assertThatThrownBy(() -> deleted.get().get()).isInstanceOf(IllegalStateException.class);
+        });
+
+        assertThat(set.get().get()).isTrue();
+        assertThat(pushed.get().get()).isEqualTo(3L);
+        assertThat(hash.get().get()).containsOnly(entry("f1", "v1"), entry("f2", "v2"));
+        assertThat(list.get().get()).containsExactly("A", "b");
+        assertThat(number.get().get()).isEqualTo(42);
+        assertThat(ttl.get().get()).isBetween(1L, 60L);
+        assertThat(deleted.get().get()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"lettuce", "jedis"})
+    void onlyStatusCommandsProduceNoResults(String clientType) {
+        template = StubRedis.dynamicRedisTemplate("status-" + clientType, StubRedis.properties(server, clientType));
+        RedisHelper redisHelper = new DynamicRedisHelper(template);
+        redisHelper.lstRightPushAll("list", Arrays.asList("a", "b", "c"));
+
+        redisHelper.pipelined(pipeline -> {
+            pipeline.lstSet("list", 2, "C");
+            pipeline.lstTrim("list", 1, 2);
+        });
+
+        assertThat(redisHelper.lstAll("list")).containsExactly("b", "C");
+    }
+}
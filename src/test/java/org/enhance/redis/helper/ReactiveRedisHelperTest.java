@@ -0,0 +1,56 @@
+package org.enhance.redis.helper;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 响应式操作指定db：该db被固定，空闲淘汰不会销毁缓存的连接工厂
+ *
+ * @author wenpan 2026/10/20 01:30
+ */
+class ReactiveRedisHelperTest {
+
+    private RespStubServer server;
+
+    private DynamicRedisTemplate<String, String> template;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        template = StubRedis.dynamicRedisTemplate("reactive", StubRedis.properties(server, "lettuce"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisTemplate<String, String> redisTemplate : template.getRedisTemplates().values()) {
+            ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+        }
+        server.close();
+    }
+
+    @Test
+    void dbHelperSurvivesIdleEviction() throws Exception {
+        ReactiveRedisHelper reactiveRedisHelper = new ReactiveRedisHelper(new DynamicRedisHelper(template));
+        ReactiveRedisHelper db2 = reactiveRedisHelper.opsDb(2);
+        assertThat(reactiveRedisHelper.opsDb(2)).isSameAs(db2);
+        assertThat(db2.strSet("key", "value").block()).isTrue();
+
+        for (RedisTemplate<String, String> evicted : template.evictIdleRedisTemplates(Duration.ZERO).values()) {
+            ((DisposableBean) evicted.getConnectionFactory()).destroy();
+        }
+
+        assertThat(db2.strGet("key").block()).isEqualTo("value");
+        assertThat(reactiveRedisHelper.strGet("key").block()).isNull();
+    }
+}
@@ -0,0 +1,92 @@
+package org.enhance.redis.hotkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author wenpan 2026/10/20 01:30
+ */
+class SpaceSavingSketchTest {
+
+    @Test
+    void countsExactlyWithinCapacity() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(4);
+        for (int i = 0; i < 10; i++) {
+            sketch.offer("a");
+        }
+        sketch.offer("b");
+        sketch.offer("b");
+        sketch.offer("c");
+
+        Map<String, long[]> merged = merge(sketch);
+        assertThat(merged).containsOnlyKeys("a", "b", "c");
+        assertThat(merged.get("a")).containsExactly(10, 0);
+        assertThat(merged.get("b")).containsExactly(2, 0);
+        assertThat(merged.get("c")).containsExactly(1, 0);
+    }
+
+    @Test
+    void replacesMinimumAndInheritsItsCount() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+        sketch.offer("a");
+        sketch.offer("a");
+        sketch.offer("b");
+        sketch.offer("c");
+
+        Map<String, long[]> merged = merge(sketch);
+        assertThat(merged).containsOnlyKeys("a", "c");
+        assertThat(merged.get("a")).containsExactly(2, 0);
+        assertThat(merged.get("c")).containsExactly(2, 1);
+    }
+
+    @Test
+    void keepsSpaceSavingGuaranteesOnSkewedStream() {
+        int capacity = 32;
+        int total = 200_000;
+        SpaceSavingSketch<Integer> sketch = new SpaceSavingSketch<>(capacity);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < total; i++) {
+            // 近似zipf分布：少量key占大部分访问，长尾key很多
+            int item = (int) Math.floor(Math.pow(10_000, random.nextDouble()));
+            sketch.offer(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        Map<Integer, long[]> merged = merge(sketch);
+        assertThat(merged).hasSize(capacity);
+        assertThat(merged.values().stream().mapToLong(counts -> counts[0]).sum()).isEqualTo(total);
+        merged.forEach((item, counts) -> {
+            long actual = exact.get(item);
+            assertThat(counts[0]).isGreaterThanOrEqualTo(actual);
+            assertThat(counts[0] - counts[1]).isLessThanOrEqualTo(actual);
+        });
+        exact.forEach((item, count) -> {
+            if (count > total / capacity) {
+                assertThat(merged).containsKey(item);
+            }
+        });
+    }
+
+    @Test
+    void clearRemovesAllCounters() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+        sketch.offer("a");
+        sketch.offer("b");
+        sketch.clear();
+        sketch.offer("c");
+
+        assertThat(merge(sketch)).containsOnlyKeys("c");
+    }
+
+    private static <K> Map<K, long[]> merge(SpaceSavingSketch<K> sketch) {
+        Map<K, long[]> merged = new HashMap<>();
+        sketch.mergeInto(merged);
+        return merged;
+    }
+}
@@ -0,0 +1,124 @@
+package org.enhance.redis.infra.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 线程模型选择：多版本jar在 JDK 21+ 上加载虚拟线程版本的 {@link RedisExecutors}，关闭虚拟线程或低版本JDK上使用平台线程
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisExecutorsTest {
+
+    private static final String PACKAGE_PATH = RedisExecutors.class.getPackage().getName().replace('.', '/');
+
+    @AfterEach
+    void tearDown() {
+        RedisExecutors.setVirtualThreadsEnabled(true);
+    }
+
+    @Test
+    void multiReleaseJarSelectsVersionOfRuntime(@TempDir Path tempDir) throws Exception {
+        Path classes = Paths.get(RedisExecutors.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        boolean java21Compiled = Files.exists(classes.resolve("META-INF/versions/21/" + PACKAGE_PATH + "/RedisExecutors.class"));
+        Path jar = multiReleaseJar(classes, tempDir.resolve("redis-executors.jar"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            Class<?> type = loader.loadClass(RedisExecutors.class.getName());
+            boolean supported = (Boolean) type.getMethod("isVirtualThreadSupported").invoke(null);
+            assertThat(supported).isEqualTo(java21Compiled && javaVersion() >= 21);
+
+            ThreadFactory threadFactory = (ThreadFactory) type.getMethod("threadFactory", String.class).invoke(null, "selected");
+            assertThat(isVirtual(threadFactory.newThread(() -> {
+            }))).isEqualTo(supported);
+
+            type.getMethod("setVirtualThreadsEnabled", boolean.class).invoke(null, false);
+            assertThat((Boolean) type.getMethod("isUsingVirtualThreads").invoke(null)).isFalse();
+            threadFactory = (ThreadFactory) type.getMethod("threadFactory", String.class).invoke(null, "platform");
+            Thread thread = threadFactory.newThread(() -> {
+            });
+            assertThat(isVirtual(thread)).isFalse();
+            assertThat(thread.isDaemon()).isTrue();
+            assertThat(thread.getName()).isEqualTo("platform-1");
+        }
+    }
+
+    @Test
+    void taskExecutorFollowsSwitch() throws Exception {
+        boolean virtual = RedisExecutors.isVirtualThreadSupported();
+        assertThat(RedisExecutors.isUsingVirtualThreads()).isEqualTo(virtual);
+        assertThat(runsOnVirtualThread(RedisExecutors.newTaskExecutor("switch", 1))).isEqualTo(virtual);
+
+        RedisExecutors.setVirtualThreadsEnabled(false);
+        assertThat(RedisExecutors.isUsingVirtualThreads()).isFalse();
+        assertThat(runsOnVirtualThread(RedisExecutors.newTaskExecutor("switch", 1))).isFalse();
+    }
+
+    private static boolean runsOnVirtualThread(ExecutorService executor) throws Exception {
+        try {
+            return executor.submit(() -> isVirtual(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 只打包当前包下的类，manifest 中声明 Multi-Release
+     */
+    private static Path multiReleaseJar(Path classes, Path jar) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Multi-Release", "true");
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(classes)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> classes.relativize(file).toString().replace('\\', '/').contains(PACKAGE_PATH + "/"))
+                    .collect(Collectors.toList());
+        }
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+            for (Path file : files) {
+                jarOut.putNextEntry(new JarEntry(classes.relativize(file).toString().replace('\\', '/')));
+                Files.copy(file, jarOut);
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        Method isVirtual;
+        try {
+            isVirtual = Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+        return (Boolean) isVirtual.invoke(thread);
+    }
+
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+}
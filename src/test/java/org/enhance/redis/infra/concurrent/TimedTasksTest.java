@@ -0,0 +1,80 @@
+package org.enhance.redis.infra.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 有超时时间的任务：超时时间从任务开始执行时计算，排队的任务不会因为排队被判定为超时
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class TimedTasksTest {
+
+    private TimedTasks tasks;
+
+    @BeforeEach
+    void setUp() {
+        // 使用有界的平台线程池，JDK 21+ 上也有排队
+        RedisExecutors.setVirtualThreadsEnabled(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tasks.shutdownNow();
+        RedisExecutors.setVirtualThreadsEnabled(true);
+    }
+
+    @Test
+    void queuedTasksGetTheirOwnTimeout() {
+        tasks = new TimedTasks("timed", 1, Duration.ofMillis(300));
+        List<TimedTasks.TimedTask<Integer>> submitted = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int value = i;
+            submitted.add(tasks.submit(() -> {
+                TimeUnit.MILLISECONDS.sleep(150);
+                return value;
+            }));
+        }
+
+        // 整体耗时超过一个 timeout，每个任务自身都没有超时
+        for (int i = 0; i < submitted.size(); i++) {
+            TimedTasks.Result<Integer> result = submitted.get(i).await();
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getValue()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void hangingTaskTimesOutAndBlockedTasksAreNotStarted() throws InterruptedException {
+        tasks = new TimedTasks("timed", 1, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        TimedTasks.TimedTask<Boolean> hanging = tasks.submit(() -> release.await(10, TimeUnit.SECONDS));
+        TimedTasks.TimedTask<String> blocked = tasks.submit(() -> "blocked");
+        TimedTasks.TimedTask<String> failing = tasks.submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        TimedTasks.Result<Boolean> timedOut = hanging.await();
+        assertThat(timedOut.isTimedOut()).isTrue();
+        assertThat(timedOut.getFailure()).isEqualTo("timed out after 100ms");
+        TimedTasks.Result<String> notStarted = blocked.await();
+        assertThat(notStarted.isTimedOut()).isTrue();
+        assertThat(notStarted.getFailure()).isEqualTo("not started within 200ms");
+
+        release.countDown();
+        TimedTasks.Result<String> failed = failing.await();
+        assertThat(failed.isSuccess()).isFalse();
+        assertThat(failed.isTimedOut()).isFalse();
+        assertThat(failed.getError()).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        assertThat(blocked.await().getValue()).isEqualTo("blocked");
+    }
+}
@@ -0,0 +1,111 @@
+package org.enhance.redis.instrument;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 连接代理的分发：普通命令、execute、xxxCommands() 返回的命令对象、pipeline 和事务
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class InstrumentedConnectionHandlerTest {
+
+    private final List<String> before = new CopyOnWriteArrayList<>();
+
+    private final List<RedisCommandEvent> events = new CopyOnWriteArrayList<>();
+
+    private final RedisCommandListener listener = new RedisCommandListener() {
+        @Override
+        public void beforeCommand(String dataSourceName, int database, String command, Object[] args, boolean queued) {
+            before.add(command + (queued ? "(queued)" : ""));
+        }
+
+        @Override
+        public void onCommand(RedisCommandEvent event) {
+            events.add(event);
+        }
+    };
+
+    private RespStubServer server;
+
+    private RedisConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        connectionFactory = StubRedis.templateFactory("proxy", StubRedis.properties(server, "lettuce"))
+                .createRedisTemplate(1).getConnectionFactory();
+        RedisCommandListeners.register(listener);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RedisCommandListeners.unregister(listener);
+        ((DisposableBean) connectionFactory).destroy();
+        server.close();
+    }
+
+    @Test
+    void commandsAreRecordedThroughCommandObjectsAndExecute() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            assertThat(connection.toString()).startsWith("Instrumented[");
+            assertThat(connection).isEqualTo(connection);
+            connection.stringCommands().set(bytes("key"), bytes("value"));
+            assertThat(connection.stringCommands().get(bytes("key"))).isEqualTo(bytes("value"));
+            connection.execute("ping");
+        }
+
+        assertThat(before).containsExactly("SET", "GET", "PING");
+        assertThat(events).extracting(RedisCommandEvent::getCommand).containsExactly("SET", "GET", "PING");
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getDataSourceName()).isEqualTo("proxy");
+            assertThat(event.getDatabase()).isEqualTo(1);
+            assertThat(event.isSuccess()).isTrue();
+        });
+        assertThat(events.get(0).getKey()).isEqualTo("key");
+    }
+
+    @Test
+    void pipelinedCommandsAreRecordedAsOneEvent() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.stringCommands().set(bytes("key"), bytes("value"));
+            connection.stringCommands().get(bytes("key"));
+            assertThat(connection.closePipeline()).hasSize(2);
+            connection.stringCommands().get(bytes("key"));
+        }
+
+        assertThat(before).containsExactly("SET(queued)", "GET(queued)", "GET");
+        assertThat(events).extracting(RedisCommandEvent::getCommand).containsExactly(RedisCommandEvent.PIPELINE, "GET");
+    }
+
+    @Test
+    void transactionCommandsAreRecordedWithExec() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.multi();
+            connection.stringCommands().set(bytes("key"), bytes("value"));
+            assertThat(connection.exec()).hasSize(1);
+        }
+
+        assertThat(before).containsExactly("MULTI", "SET(queued)");
+        assertThat(events).extracting(RedisCommandEvent::getCommand).containsExactly("MULTI", "EXEC");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
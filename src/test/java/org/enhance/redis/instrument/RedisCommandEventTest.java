@@ -0,0 +1,41 @@
+package org.enhance.redis.instrument;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReturnType;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 从命令参数中解析第一个key
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisCommandEventTest {
+
+    @Test
+    void firstKeyOfCommonCommands() {
+        assertThat(RedisCommandEvent.firstKey(null)).isNull();
+        assertThat(RedisCommandEvent.firstKey(new Object[]{bytes("key"), bytes("value")})).isEqualTo("key");
+        assertThat(RedisCommandEvent.firstKey(new Object[]{new byte[][]{bytes("a"), bytes("b")}})).isEqualTo("a");
+        assertThat(RedisCommandEvent.firstKey(new Object[]{"GET", bytes("key")})).isEqualTo("key");
+        assertThat(RedisCommandEvent.firstKey(new Object[]{"PING"})).isNull();
+    }
+
+    @Test
+    void firstKeyOfScriptsIsTheFirstDeclaredKey() {
+        byte[][] keysAndArgs = {bytes("key"), bytes("arg")};
+        assertThat(RedisCommandEvent.firstKey(new Object[]{bytes("return 1"), ReturnType.INTEGER, 1, keysAndArgs}))
+                .isEqualTo("key");
+        assertThat(RedisCommandEvent.firstKey(new Object[]{"sha1", ReturnType.INTEGER, 1, keysAndArgs}))
+                .isEqualTo("key");
+        assertThat(RedisCommandEvent.firstKey(new Object[]{bytes("return 1"), ReturnType.INTEGER, 0, keysAndArgs}))
+                .isNull();
+        assertThat(RedisCommandEvent.firstKey(new Object[]{"sha1", ReturnType.INTEGER, 0, new byte[0][]})).isNull();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package org.enhance.redis.jedis;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.enhance.redis.stub.RespStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 按db试探空闲连接：只借出已有的空闲连接，不创建新连接，只校验最终选中的连接
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class DatabaseAffinityJedisPoolTest {
+
+    private RespStubServer server;
+
+    private DatabaseAffinityJedisPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        GenericObjectPoolConfig<Jedis> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(8);
+        poolConfig.setTestOnBorrow(true);
+        DatabaseTrackingJedisFactory factory = new DatabaseTrackingJedisFactory("127.0.0.1", server.getPort(),
+                2000, 2000, null, null, null, false, null, null, null);
+        pool = new DatabaseAffinityJedisPool(poolConfig, factory, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+        server.close();
+    }
+
+    @Test
+    void probingDoesNotCreateConnections() {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.select(2);
+        }
+
+        try (Jedis jedis = pool.getResource(3)) {
+            assertThat(jedis.getDB()).isEqualTo(2);
+        }
+        assertThat(pool.getMisses()).isEqualTo(1);
+        assertThat(pool.getNumActive() + pool.getNumIdle()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyTheSelectedConnectionIsValidated() {
+        Jedis db2 = pool.getResource();
+        Jedis db4 = pool.getResource();
+        Jedis db5 = pool.getResource();
+        db2.select(2);
+        db4.select(4);
+        db5.select(5);
+        // 后归还的先借出：db2、db4、db5
+        db5.close();
+        db4.close();
+        db2.close();
+
+        long commands = server.getCommandCount();
+        try (Jedis jedis = pool.getResource(5)) {
+            assertThat(jedis.getDB()).isEqualTo(5);
+        }
+        // 第一个借出的连接和选中的连接各PING一次，试探未命中的db4不校验
+        assertThat(server.getCommandCount() - commands).isEqualTo(2);
+        assertThat(pool.getHits()).isEqualTo(1);
+        assertThat(pool.getNumIdle()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,60 @@
+package org.enhance.redis.lifecycle;
+
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 连接工厂只在容器关闭时销毁，单独 stop() 后还能 start() 继续使用
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisConnectionFactoryLifecycleManagerTest {
+
+    private static final String DATASOURCE = "lifecycle";
+
+    private RespStubServer server;
+
+    private ConfigurableApplicationContext context;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        context = StubApplication.builder(server, StubApplication.dataSource(DATASOURCE, server.getPort())).run();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        server.close();
+    }
+
+    @Test
+    void stopKeepsFactoriesUntilContextCloses() {
+        DynamicRedisHelper redisHelper = context.getBean(DATASOURCE + "RedisHelper", DynamicRedisHelper.class);
+        redisHelper.strSet("key", "before");
+        RedisConnectionFactoryLifecycleManager manager = context.getBean(RedisConnectionFactoryLifecycleManager.class);
+        assertThat(RedisConnectionFactoryRegister.getFactories(DATASOURCE)).isNotEmpty();
+
+        context.stop();
+        assertThat(manager.isRunning()).isFalse();
+        assertThat(RedisConnectionFactoryRegister.getFactories(DATASOURCE)).isNotEmpty();
+
+        context.start();
+        assertThat(manager.isRunning()).isTrue();
+        assertThat(redisHelper.strGet("key")).isEqualTo("before");
+
+        context.close();
+        assertThat(RedisConnectionFactoryRegister.getFactories(DATASOURCE)).isEmpty();
+    }
+}
@@ -0,0 +1,103 @@
+package org.enhance.redis.lifecycle;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * 预热档案合并：本次使用过的db覆盖之前的记录，之前的记录只保留 retention 内使用过的；转换为预热目标时同一个db取峰值的最大值
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisWarmupProfileRecorderTest {
+
+    private static final String DATASOURCE = "warmup";
+
+    @TempDir
+    Path tempDir;
+
+    private RespStubServer server;
+
+    private RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        redisTemplate = StubRedis.templateFactory(DATASOURCE, StubRedis.properties(server, "lettuce")).createRedisTemplate(3);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+        server.close();
+    }
+
+    @Test
+    void persistMergesPreviousProfileWithinRetention() throws IOException {
+        Path file = tempDir.resolve("profile/redis-warmup.json");
+        long now = System.currentTimeMillis();
+        RedisWarmupProfile previous = new RedisWarmupProfile();
+        previous.setEntries(Arrays.asList(
+                entryOf(DATASOURCE, 3, 7, now - TimeUnit.MINUTES.toMillis(1)),
+                entryOf(DATASOURCE, 5, 4, now - TimeUnit.HOURS.toMillis(1)),
+                entryOf(DATASOURCE, 6, 2, now - TimeUnit.DAYS.toMillis(2)),
+                entryOf(null, 7, 1, now)));
+        previous.write(file);
+
+        RedisWarmupProfileRecorder recorder = new RedisWarmupProfileRecorder(file, Duration.ofSeconds(1), Duration.ofDays(1));
+        redisTemplate.opsForValue().set("key", "value");
+        recorder.sample();
+        RedisWarmupProfile profile = recorder.persist();
+
+        assertThat(profile).isNotNull();
+        Map<Integer, RedisWarmupProfile.Entry> entries = RedisWarmupProfile.read(file).getEntries().stream()
+                .filter(entry -> DATASOURCE.equals(entry.getDatasource()))
+                .collect(Collectors.toMap(RedisWarmupProfile.Entry::getDb, entry -> entry));
+        // 本次使用过的db覆盖之前的记录，超过保留时间的db被丢弃
+        assertThat(entries).containsOnlyKeys(3, 5);
+        assertThat(entries.get(3).getLastUsedAt()).isGreaterThanOrEqualTo(now);
+        assertThat(entries.get(3).getPeakConnections()).isZero();
+        assertThat(entries.get(5).getPeakConnections()).isEqualTo(4);
+        assertThat(profile.getEntries()).noneMatch(entry -> entry.getDatasource() == null);
+    }
+
+    @Test
+    void toTargetsTakesMaxPeakPerDb() {
+        RedisWarmupProfile profile = new RedisWarmupProfile();
+        profile.setEntries(Arrays.asList(
+                entryOf("a", 0, 2, 0),
+                entryOf("a", 0, 5, 0),
+                entryOf("a", 1, -1, 0),
+                entryOf("b", 2, 3, 0),
+                entryOf(null, 3, 9, 0)));
+
+        Map<String, Map<Integer, Integer>> targets = profile.toTargets();
+
+        assertThat(targets).containsOnlyKeys("a", "b");
+        assertThat(targets.get("a")).containsOnly(entry(0, 5), entry(1, 0));
+        assertThat(targets.get("b")).containsOnly(entry(2, 3));
+    }
+
+    private static RedisWarmupProfile.Entry entryOf(String datasource, int db, int peakConnections, long lastUsedAt) {
+        RedisWarmupProfile.Entry entry = new RedisWarmupProfile.Entry(datasource, db);
+        entry.setPeakConnections(peakConnections);
+        entry.setLastUsedAt(lastUsedAt);
+        return entry;
+    }
+}
@@ -0,0 +1,98 @@
+package org.enhance.redis.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 直方图：对数-线性分桶的边界、百分位计算，以及按时间窗口过期
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class LatencyHistogramTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void everyValueFallsIntoTheBucketBelowItsUpperBound() {
+        assertThat(LatencyHistogram.bucketIndex(-1)).isZero();
+        assertThat(LatencyHistogram.bucketIndex(7)).isEqualTo(7);
+        assertThat(LatencyHistogram.bucketIndex(8)).isEqualTo(8);
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+        for (long micros = 0; micros < 1 << 16; micros++) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertThat(micros).isLessThan(LatencyHistogram.bucketUpperBound(index));
+            if (index > 0) {
+                assertThat(micros).isGreaterThanOrEqualTo(LatencyHistogram.bucketUpperBound(index - 1));
+            }
+        }
+        // 相对误差不超过 1/SUB_BUCKETS
+        long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(1000));
+        assertThat(upper).isBetween(1000L, 1000L + 1000L / LatencyHistogram.SUB_BUCKETS);
+    }
+
+    @Test
+    void percentilesUseBucketUpperBoundsCappedByMax() {
+        LatencyHistogram histogram = histogram(Duration.ofMinutes(1), 3);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(100);
+        assertThat(snapshot.getTotalMicros()).isEqualTo(5050);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(100);
+        assertThat(snapshot.getMeanMicros()).isEqualTo(50.5);
+        assertThat(snapshot.getPercentileMicros(0.01)).isEqualTo(2);
+        assertThat(snapshot.getPercentileMicros(0.5)).isEqualTo(52);
+        assertThat(snapshot.getPercentileMicros(0.99)).isEqualTo(100);
+        assertThat(snapshot.getPercentileMicros(1)).isEqualTo(100);
+        assertThat(histogram(Duration.ofMinutes(1), 3).snapshot().getPercentileMicros(0.99)).isZero();
+    }
+
+    @Test
+    void oldWindowsExpireButTotalKeepsAccumulating() {
+        LatencyHistogram histogram = histogram(Duration.ofSeconds(30), 3);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(500));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(500_000);
+
+        // 第一个窗口过期，第二个窗口仍在统计时长内
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(1);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(1000);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(2));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(1);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(2000);
+        assertThat(histogram.getTotalMicros()).isEqualTo(503_000);
+    }
+
+    @Test
+    void snapshotIsReusedWithinTheCacheInterval() {
+        LatencyHistogram histogram = histogram(Duration.ofMinutes(1), 3);
+        histogram.record(1000);
+        LatencySnapshot first = histogram.snapshot();
+        histogram.record(1000);
+
+        assertThat(histogram.snapshot()).isSameAs(first);
+        clock.addAndGet(LatencyHistogram.SNAPSHOT_CACHE_NANOS);
+        assertThat(histogram.snapshot().getCount()).isEqualTo(2);
+    }
+
+    private LatencyHistogram histogram(Duration expiry, int bufferLength) {
+        return new LatencyHistogram(expiry, bufferLength, clock::get);
+    }
+}
@@ -0,0 +1,112 @@
+package org.enhance.redis.metrics;
+
+import org.enhance.redis.helper.RedisDbThreadLocalHelper;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 命令指标：按（数据源, db, 命令）统计次数、失败次数和耗时，多个容器的指标互不影响
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisCommandMetricsTest {
+
+    private RespStubServer server;
+
+    private RedisTemplate<String, String> redisTemplate;
+
+    private RedisCommandMetrics metrics;
+
+    private RedisCommandMetrics other;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        redisTemplate = StubRedis.templateFactory("metrics", StubRedis.properties(server, "lettuce")).createRedisTemplate(2);
+        metrics = new RedisCommandMetrics();
+        metrics.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        metrics.destroy();
+        if (other != null) {
+            other.destroy();
+        }
+        ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+        server.close();
+    }
+
+    @Test
+    void commandsAreCountedPerDataSourceDbAndCommand() {
+        redisTemplate.opsForValue().set("key", "value");
+        redisTemplate.opsForValue().set("key", "value");
+        redisTemplate.opsForValue().get("key");
+        // 对字符串执行 HGET 返回 WRONGTYPE
+        assertThatThrownBy(() -> redisTemplate.opsForHash().get("key", "field")).isInstanceOf(DataAccessException.class);
+
+        assertThat(metrics.getCommandStats("missing")).isEmpty();
+        assertThat(metrics.getCommandStats("metrics"))
+                .extracting(CommandStats::getCommand, CommandStats::getDatabase, CommandStats::getCount, CommandStats::getErrors)
+                .contains(tuple("SET", 2, 2L, 0L),
+                        tuple("GET", 2, 1L, 0L),
+                        tuple("HGET", 2, 1L, 1L));
+        CommandStats set = stats("SET");
+        assertThat(set.getDataSourceName()).isEqualTo("metrics");
+        assertThat(set.getLatency().getCount()).isEqualTo(2);
+        assertThat(set.getTotalMicros()).isEqualTo(set.getLatency().getTotalMicros());
+    }
+
+    @Test
+    void statsCreatedCallbackReplaysExistingStats() {
+        redisTemplate.opsForValue().set("key", "value");
+        List<String> created = new CopyOnWriteArrayList<>();
+        metrics.onStatsCreated(stats -> created.add(stats.getCommand()));
+        redisTemplate.opsForValue().get("key");
+        redisTemplate.opsForValue().get("key");
+
+        assertThat(created).containsExactly("SET", "GET");
+    }
+
+    @Test
+    void destroyingOneMetricsKeepsTheOtherDbSwitchListener() {
+        other = new RedisCommandMetrics();
+        other.afterPropertiesSet();
+        switchTo(3);
+        assertThat(metrics.getDbSwitchCount(3)).isEqualTo(1);
+        assertThat(other.getDbSwitchCount(3)).isEqualTo(1);
+
+        other.destroy();
+        switchTo(3);
+        assertThat(metrics.getDbSwitchCount(3)).isEqualTo(2);
+        assertThat(other.getDbSwitchCount(3)).isEqualTo(1);
+        assertThat(metrics.getDbSwitchCounts()).containsEntry(3, 2L);
+    }
+
+    private CommandStats stats(String command) {
+        return metrics.getCommandStats("metrics").stream()
+                .filter(stats -> command.equals(stats.getCommand()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static void switchTo(int db) {
+        RedisDbThreadLocalHelper.set(db);
+        RedisDbThreadLocalHelper.clear();
+    }
+}
@@ -0,0 +1,162 @@
+package org.enhance.redis.pool;
+
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 连接池自适应调整：有等待线程或平均等待时间过长时扩容，持续低使用率时缩容，调整结果不超出 [minTotal, maxTotal]
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class AdaptivePoolSizerTest {
+
+    private final List<Object> borrowed = new ArrayList<>();
+
+    private GenericObjectPool<Object> pool;
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void growsWhileThreadsAreWaitingUpToMaxTotal() throws Exception {
+        pool = pool(4);
+        AdaptivePoolSizer sizer = sizer(2, 8, Duration.ofHours(1), 3);
+        AdaptivePool state = new AdaptivePool("pool", 0, 0, pool);
+        borrow(4);
+        Thread waiter = new Thread(() -> {
+            try {
+                pool.returnObject(pool.borrowObject(TimeUnit.SECONDS.toMillis(10)));
+            } catch (Exception ignored) {
+                // 测试结束时关闭连接池
+            }
+        });
+        waiter.start();
+        while (pool.getNumWaiters() == 0) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+
+        sizer.adjust(state);
+        sizer.adjust(state);
+
+        assertThat(pool.getMaxTotal()).isEqualTo(8);
+        assertThat(pool.getMaxIdle()).isEqualTo(8);
+        assertThat(sizer.getDecisions())
+                .extracting(PoolResizeDecision::getDirection, PoolResizeDecision::getFromMaxTotal,
+                        PoolResizeDecision::getToMaxTotal, PoolResizeDecision::getReason)
+                .containsExactly(tuple(PoolResizeDecision.GROW, 4, 8, "waiters=1"));
+        returnAll();
+        waiter.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Test
+    void growsOnMeanWaitOnlyAfterAFullWaitStatsWindow() throws Exception {
+        pool = pool(4);
+        // 等待时间阈值为0，只要借用过就满足等待时间条件
+        AdaptivePoolSizer sizer = sizer(2, 16, Duration.ZERO, 1000);
+        AdaptivePool state = new AdaptivePool("pool", 0, 0, pool);
+
+        borrowAndReturn(1);
+        sizer.adjust(state);
+        assertThat(pool.getMaxTotal()).isEqualTo(8);
+
+        // 扩容后的前100次借用仍然计入了扩容前的等待时间
+        borrowAndReturn(99);
+        sizer.adjust(state);
+        assertThat(pool.getMaxTotal()).isEqualTo(8);
+
+        borrowAndReturn(1);
+        sizer.adjust(state);
+        assertThat(pool.getMaxTotal()).isEqualTo(16);
+        assertThat(sizer.getDecisions()).extracting(PoolResizeDecision::getReason)
+                .hasSize(2).allMatch(reason -> reason.startsWith("meanBorrowWait="));
+    }
+
+    @Test
+    void shrinksAfterLowUtilizationTicksDownToMinTotal() throws Exception {
+        pool = pool(16);
+        AdaptivePoolSizer sizer = sizer(2, 16, Duration.ofHours(1), 3);
+        AdaptivePool state = new AdaptivePool("pool", 0, 0, pool);
+        borrow(3);
+
+        sizer.adjust(state);
+        sizer.adjust(state);
+        assertThat(pool.getMaxTotal()).isEqualTo(16);
+        sizer.adjust(state);
+        // 16 * 0.25 = 4 低于活跃连接数峰值的2倍
+        assertThat(pool.getMaxTotal()).isEqualTo(6);
+        assertThat(pool.getMaxIdle()).isEqualTo(6);
+
+        returnAll();
+        for (int i = 0; i < 3; i++) {
+            sizer.adjust(state);
+        }
+        // 调整后的峰值仍然是3，不能再缩容，峰值重新从当前活跃连接数开始采样
+        assertThat(pool.getMaxTotal()).isEqualTo(6);
+        for (int i = 0; i < 3; i++) {
+            sizer.adjust(state);
+        }
+        assertThat(pool.getMaxTotal()).isEqualTo(2);
+        for (int i = 0; i < 3; i++) {
+            sizer.adjust(state);
+        }
+
+        assertThat(pool.getMaxTotal()).isEqualTo(2);
+        assertThat(sizer.getDecisions())
+                .extracting(PoolResizeDecision::getDirection, PoolResizeDecision::getFromMaxTotal,
+                        PoolResizeDecision::getToMaxTotal)
+                .containsExactly(tuple(PoolResizeDecision.SHRINK, 16, 6), tuple(PoolResizeDecision.SHRINK, 6, 2));
+    }
+
+    private static AdaptivePoolSizer sizer(int minTotal, int maxTotal, Duration growWaitThreshold, int shrinkAfter) {
+        return new AdaptivePoolSizer(Duration.ofMinutes(1), minTotal, maxTotal, growWaitThreshold, 2.0, 0.5,
+                shrinkAfter, 0.25, 1.0);
+    }
+
+    private static GenericObjectPool<Object> pool(int maxTotal) {
+        GenericObjectPool<Object> pool = new GenericObjectPool<>(new BasePooledObjectFactory<Object>() {
+            @Override
+            public Object create() {
+                return new Object();
+            }
+
+            @Override
+            public PooledObject<Object> wrap(Object obj) {
+                return new DefaultPooledObject<>(obj);
+            }
+        });
+        pool.setMaxTotal(maxTotal);
+        pool.setMaxIdle(maxTotal);
+        return pool;
+    }
+
+    private void borrow(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            borrowed.add(pool.borrowObject());
+        }
+    }
+
+    private void returnAll() {
+        borrowed.forEach(pool::returnObject);
+        borrowed.clear();
+    }
+
+    private void borrowAndReturn(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            pool.returnObject(pool.borrowObject());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.enhance.redis.register;
+
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.config.properties.DynamicRedisProperties;
+import org.enhance.redis.jedis.DatabaseAffinityJedisPool;
+import org.enhance.redis.jedis.SharedPoolJedisConnectionFactory;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 共用连接工厂和jedis共享连接池的引用计数：最后一个使用方释放时销毁，销毁后不再缓存
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class SharedRedisConnectionFactoryRegisterTest {
+
+    private RespStubServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void sharedFactoryIsDestroyedByLastUser() throws Exception {
+        RedisProperties properties = StubRedis.properties(server, "lettuce");
+        DynamicRedisTemplateFactory<String, String> first = sharingFactory("shared-a", properties, false);
+        DynamicRedisTemplateFactory<String, String> second = sharingFactory("shared-b", properties, false);
+
+        RedisConnectionFactory connectionFactory = first.createRedisConnectionFactory(1);
+        assertThat(second.createRedisConnectionFactory(1)).isSameAs(connectionFactory);
+        assertThat(SharedRedisConnectionFactoryRegister.getReferenceCount(connectionFactory)).isEqualTo(2);
+
+        SharedRedisConnectionFactoryRegister.release(connectionFactory);
+        assertThat(SharedRedisConnectionFactoryRegister.isShared(connectionFactory)).isFalse();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            assertThat(connection.ping()).isEqualTo("PONG");
+        }
+
+        SharedRedisConnectionFactoryRegister.release(connectionFactory);
+        assertThat(SharedRedisConnectionFactoryRegister.getReferenceCount(connectionFactory)).isZero();
+        RedisConnectionFactory recreated = first.createRedisConnectionFactory(1);
+        assertThat(recreated).isNotSameAs(connectionFactory);
+        SharedRedisConnectionFactoryRegister.release(recreated);
+    }
+
+    @Test
+    void closedJedisPoolIsRemoved() throws Exception {
+        RedisProperties properties = StubRedis.properties(server, "jedis");
+        DynamicRedisTemplateFactory<String, String> first = sharingFactory("pool-a", properties, true);
+        DynamicRedisTemplateFactory<String, String> second = sharingFactory("pool-b", properties, true);
+        int pools = SharedRedisConnectionFactoryRegister.getJedisPoolCount();
+
+        SharedPoolJedisConnectionFactory db1 = (SharedPoolJedisConnectionFactory) first.createRedisConnectionFactory(1);
+        SharedPoolJedisConnectionFactory db2 = (SharedPoolJedisConnectionFactory) second.createRedisConnectionFactory(2);
+        DatabaseAffinityJedisPool pool = db1.getPool();
+        assertThat(db2.getPool()).isSameAs(pool);
+        assertThat(SharedRedisConnectionFactoryRegister.getJedisPoolCount()).isEqualTo(pools + 1);
+
+        SharedRedisConnectionFactoryRegister.release(db1);
+        assertThat(pool.isClosed()).isFalse();
+        try (RedisConnection connection = db2.getConnection()) {
+            assertThat(connection.ping()).isEqualTo("PONG");
+        }
+
+        SharedRedisConnectionFactoryRegister.release(db2);
+        assertThat(pool.isClosed()).isTrue();
+        assertThat(SharedRedisConnectionFactoryRegister.getJedisPoolCount()).isEqualTo(pools);
+
+        SharedPoolJedisConnectionFactory recreated = (SharedPoolJedisConnectionFactory) first.createRedisConnectionFactory(1);
+        assertThat(recreated.getPool()).isNotSameAs(pool);
+        SharedRedisConnectionFactoryRegister.release(recreated);
+        assertThat(SharedRedisConnectionFactoryRegister.getJedisPoolCount()).isEqualTo(pools);
+    }
+
+    private static DynamicRedisTemplateFactory<String, String> sharingFactory(String dataSource, RedisProperties properties,
+                                                                             boolean jedisSharedPool) {
+        DynamicRedisTemplateFactory<String, String> factory = StubRedis.templateFactory(dataSource, properties);
+        factory.setConnectionSharing(true);
+        DynamicRedisProperties.JedisSharedPool sharedPool = new DynamicRedisProperties.JedisSharedPool();
+        sharedPool.setEnabled(jedisSharedPool);
+        factory.setJedisSharedPool(sharedPool);
+        return factory;
+    }
+}
@@ -0,0 +1,95 @@
+package org.enhance.redis.reload;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 配置文件监听：只有重新加载成功的数据源才更新基准配置，失败的和当时未注册的在下一次变化时重试
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisDataSourceConfigWatcherTest {
+
+    @TempDir
+    Path dir;
+
+    private final StubReloader reloader = new StubReloader();
+
+    @AfterEach
+    void tearDown() {
+        reloader.destroy();
+    }
+
+    @Test
+    void onlySuccessfulReloadsAreRemembered() throws IOException {
+        Path file = dir.resolve("redis.properties");
+        RedisDataSourceConfigWatcher watcher = new RedisDataSourceConfigWatcher(file, reloader);
+        Files.write(file, ("spring.redis.datasource.ok.host=10.0.0.1\n"
+                + "spring.redis.datasource.failing.host=10.0.0.2\n"
+                + "spring.redis.datasource.later.host=10.0.0.3\n").getBytes(StandardCharsets.UTF_8));
+        reloader.registered.add("ok");
+        reloader.registered.add("failing");
+        reloader.failing.add("failing");
+
+        watcher.reloadChanged();
+        assertThat(reloader.reloaded).containsExactly("failing:10.0.0.2", "ok:10.0.0.1");
+
+        reloader.reloaded.clear();
+        reloader.failing.clear();
+        reloader.registered.add("later");
+        watcher.reloadChanged();
+        assertThat(reloader.reloaded).containsExactly("failing:10.0.0.2", "later:10.0.0.3");
+
+        reloader.reloaded.clear();
+        watcher.reloadChanged();
+        assertThat(reloader.reloaded).isEmpty();
+    }
+
+    /**
+     * 不连接redis，按名称决定重新加载成功或失败
+     */
+    private static final class StubReloader extends RedisDataSourceReloader {
+
+        private final Set<String> registered = new HashSet<>();
+
+        private final Set<String> failing = new HashSet<>();
+
+        private final List<String> reloaded = new ArrayList<>();
+
+        private StubReloader() {
+            super(Duration.ZERO);
+        }
+
+        @Override
+        public boolean isReloadable(String dataSourceName) {
+            return registered.contains(dataSourceName);
+        }
+
+        @Override
+        public CompletableFuture<Void> reload(String dataSourceName, RedisProperties redisProperties) {
+            reloaded.add(dataSourceName + ":" + redisProperties.getHost());
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            if (failing.contains(dataSourceName)) {
+                result.completeExceptionally(new IllegalStateException("can not connect"));
+            } else {
+                result.complete(null);
+            }
+            return result;
+        }
+    }
+}
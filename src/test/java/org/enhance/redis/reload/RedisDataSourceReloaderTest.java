@@ -0,0 +1,139 @@
+package org.enhance.redis.reload;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.enhance.redis.RedisMultiDataSourceRegistrarExtension;
+import org.enhance.redis.client.RedisHandle;
+import org.enhance.redis.client.RedisMultiSourceClient;
+import org.enhance.redis.helper.DynamicRedisHelper;
+import org.enhance.redis.instrument.InstrumentedRedisConnectionFactory;
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubApplication;
+import org.enhance.redis.stub.StubRedis;
+import org.enhance.redis.topology.ConnectionPools;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 数据源重新加载：替换包装连接工厂中的原始连接工厂，旧连接池中借出的连接归还后才销毁，已有的操作句柄继续可用；新配置连不上时继续使用旧的配置
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisDataSourceReloaderTest {
+
+    private static RespStubServer server;
+
+    private static RespStubServer reloadServer;
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        reloadServer = new RespStubServer(0, Duration.ZERO).start();
+        context = StubApplication.builder(server, "dynamic.redis.reload.enabled=true",
+                "dynamic.redis.reload.drain-timeout=10s").run();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        context.close();
+        server.close();
+        reloadServer.close();
+    }
+
+    @Test
+    void oldPoolIsClosedAfterBorrowedConnectionsReturn() throws Exception {
+        String datasource = "drain";
+        RedisMultiDataSourceRegistrarExtension.registerRedisDataSource(datasource, StubRedis.properties(server, "jedis"));
+        DynamicRedisHelper redisHelper = context.getBean(datasource + "RedisHelper", DynamicRedisHelper.class);
+        redisHelper.strSet("drain-key", "before");
+        InstrumentedRedisConnectionFactory factory = RedisConnectionFactoryRegister.getFactories(datasource).get(0);
+        RedisConnectionFactory oldDelegate = factory.getDelegate();
+        List<GenericObjectPool<?>> oldPools = ConnectionPools.find(oldDelegate);
+        assertThat(oldPools).hasSize(1);
+        GenericObjectPool<?> oldPool = oldPools.get(0);
+
+        RedisConnection held = factory.getConnection();
+        RedisMultiDataSourceRegistrarExtension.reloadRedisDataSource(datasource, StubRedis.properties(reloadServer, "jedis"))
+                .get(10, TimeUnit.SECONDS);
+
+        // 包装连接工厂不变，之后的命令使用新的连接工厂
+        assertThat(RedisConnectionFactoryRegister.getFactories(datasource)).containsExactly(factory);
+        assertThat(factory.getDelegate()).isNotSameAs(oldDelegate);
+        assertThat(redisHelper.strGet("drain-key")).isNull();
+        redisHelper.strSet("drain-key", "after");
+        try (Jedis jedis = new Jedis("127.0.0.1", reloadServer.getPort())) {
+            assertThat(jedis.get("drain-key")).isEqualTo("after");
+        }
+
+        // 借出的连接还没有归还，旧的连接池不关闭
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertThat(oldPool.isClosed()).isFalse();
+        assertThat(held.ping()).isEqualTo("PONG");
+        held.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!oldPool.isClosed() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(oldPool.isClosed()).isTrue();
+    }
+
+    @Test
+    void handleSurvivesReload() throws Exception {
+        String datasource = "handle";
+        RedisMultiDataSourceRegistrarExtension.registerRedisDataSource(datasource, StubRedis.properties(server, "lettuce"));
+        RedisMultiSourceClient client = context.getBean(RedisMultiSourceClient.class);
+        RedisHandle handle = client.handle(datasource, 4);
+        handle.getRedisHelper().strSet("reload-key", "before");
+
+        RedisMultiDataSourceRegistrarExtension.reloadRedisDataSource(datasource, StubRedis.properties(reloadServer, "lettuce"))
+                .get(10, TimeUnit.SECONDS);
+
+        // 句柄中的连接工厂就是被替换了原始连接工厂的包装连接工厂
+        assertThat(client.handle(datasource, 4)).isSameAs(handle);
+        assertThat(handle.getRedisHelper().strGet("reload-key")).isNull();
+        handle.getRedisHelper().strSet("reload-key", "after");
+        try (Jedis jedis = new Jedis("127.0.0.1", reloadServer.getPort())) {
+            jedis.select(4);
+            assertThat(jedis.get("reload-key")).isEqualTo("after");
+        }
+    }
+
+    @Test
+    void unreachableConfigurationKeepsOldDelegate() throws Exception {
+        String datasource = "unreachable";
+        RedisMultiDataSourceRegistrarExtension.registerRedisDataSource(datasource, StubRedis.properties(server, "lettuce"));
+        DynamicRedisHelper redisHelper = context.getBean(datasource + "RedisHelper", DynamicRedisHelper.class);
+        redisHelper.strSet("unreachable-key", "value");
+        InstrumentedRedisConnectionFactory factory = RedisConnectionFactoryRegister.getFactories(datasource).get(0);
+        RedisConnectionFactory oldDelegate = factory.getDelegate();
+
+        RedisProperties unreachable = StubRedis.properties(server, "lettuce");
+        try (ServerSocket socket = new ServerSocket(0)) {
+            unreachable.setPort(socket.getLocalPort());
+        }
+        CompletableFuture<Void> reload = RedisMultiDataSourceRegistrarExtension.reloadRedisDataSource(datasource, unreachable);
+
+        assertThatThrownBy(() -> reload.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(factory.getDelegate()).isSameAs(oldDelegate);
+        assertThat(redisHelper.strGet("unreachable-key")).isEqualTo("value");
+    }
+}
@@ -0,0 +1,90 @@
+package org.enhance.redis.slowlog;
+
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 慢命令环形缓冲区：写满后覆盖最旧的记录，读取时最新的在前
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class RedisSlowLogTest {
+
+    private RespStubServer server;
+
+    private RedisTemplate<String, String> redisTemplate;
+
+    private RedisSlowLog slowLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        redisTemplate = StubRedis.templateFactory("slowlog", StubRedis.properties(server, "lettuce")).createRedisTemplate(0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (slowLog != null) {
+            slowLog.destroy();
+        }
+        ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+        server.close();
+    }
+
+    @Test
+    void ringOverwritesOldestCommands() {
+        // 容量向上取整为4
+        slowLog = start(Duration.ZERO, 3, 8);
+        for (int i = 0; i < 6; i++) {
+            redisTemplate.opsForValue().set("key-" + i, "value");
+        }
+
+        assertThat(slowLog.getTotalCount()).isEqualTo(6);
+        List<SlowCommand> slowCommands = slowLog.getSlowCommands();
+        assertThat(slowCommands).extracting(SlowCommand::getKey).containsExactly("key-5", "key-4", "key-3", "key-2");
+        assertThat(slowCommands).extracting(SlowCommand::getId).containsExactly(5L, 4L, 3L, 2L);
+        assertThat(slowCommands).allSatisfy(slowCommand -> {
+            assertThat(slowCommand.getDataSourceName()).isEqualTo("slowlog");
+            assertThat(slowCommand.getCommand()).isEqualTo("SET");
+            assertThat(slowCommand.getError()).isNull();
+        });
+        assertThat(slowLog.getSlowCommands(2)).extracting(SlowCommand::getKey).containsExactly("key-5", "key-4");
+        assertThat(slowLog.getSlowCommands(-1)).isEmpty();
+        assertThat(slowLog.getSlowCommands(Integer.MAX_VALUE)).hasSize(4);
+
+        slowLog.clear();
+        assertThat(slowLog.getSlowCommands()).isEmpty();
+        assertThat(slowLog.getTotalCount()).isEqualTo(6);
+        redisTemplate.opsForValue().get("key-0");
+        assertThat(slowLog.getSlowCommands()).extracting(SlowCommand::getId).containsExactly(6L);
+    }
+
+    @Test
+    void fastCommandsAreNotRecordedAndKeysAreTruncated() {
+        slowLog = start(Duration.ofHours(1), 4, 8);
+        redisTemplate.opsForValue().set("fast", "value");
+        assertThat(slowLog.getTotalCount()).isZero();
+        slowLog.destroy();
+
+        slowLog = start(Duration.ZERO, 4, 4);
+        redisTemplate.opsForValue().set("long-key", "value");
+        assertThat(slowLog.getSlowCommands()).extracting(SlowCommand::getKey).containsExactly("long...");
+    }
+
+    private static RedisSlowLog start(Duration threshold, int capacity, int maxKeyLength) {
+        RedisSlowLog slowLog = new RedisSlowLog(threshold, capacity, 1, maxKeyLength);
+        slowLog.afterPropertiesSet();
+        return slowLog;
+    }
+}
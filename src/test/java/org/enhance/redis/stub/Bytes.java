@@ -0,0 +1,48 @@
+package org.enhance.redis.stub;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * byte[] 的不可变包装，作为 HashMap 的key以及 zset 同分值成员的排序依据
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+final class Bytes implements Comparable<Bytes> {
+
+    final byte[] value;
+
+    private final int hash;
+
+    Bytes(byte[] value) {
+        this.value = value;
+        this.hash = Arrays.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Bytes && Arrays.equals(value, ((Bytes) o).value));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public int compareTo(Bytes other) {
+        int length = Math.min(value.length, other.value.length);
+        for (int i = 0; i < length; i++) {
+            int diff = (value[i] & 0xff) - (other.value[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return value.length - other.value.length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,98 @@
+package org.enhance.redis.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * RESP2 应答编码
+ * <ul>
+ *     <li>null、byte[]、String：批量字符串，null 为 $-1</li>
+ *     <li>Long、Integer：整数；Boolean：true 为 1，false 为 $-1（与 lua 脚本返回值的转换规则一致）</li>
+ *     <li>Collection：数组，元素递归编码</li>
+ *     <li>{@link Status}、{@link Error}、{@link #NULL_ARRAY}：简单字符串、错误、*-1</li>
+ * </ul>
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+final class Resp {
+
+    static final Status OK = new Status("OK");
+
+    static final Status PONG = new Status("PONG");
+
+    static final Status QUEUED = new Status("QUEUED");
+
+    static final Object NULL_ARRAY = new Object();
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private Resp() {
+    }
+
+    static void encode(Object reply, ByteArrayOutputStream out) {
+        if (reply == null || Boolean.FALSE.equals(reply)) {
+            writeLine(out, '$', "-1");
+        } else if (reply instanceof byte[]) {
+            writeBulk(out, (byte[]) reply);
+        } else if (reply instanceof String) {
+            writeBulk(out, ((String) reply).getBytes(StandardCharsets.UTF_8));
+        } else if (reply instanceof Long || reply instanceof Integer) {
+            writeLine(out, ':', reply.toString());
+        } else if (Boolean.TRUE.equals(reply)) {
+            writeLine(out, ':', "1");
+        } else if (reply instanceof Collection) {
+            Collection<?> items = (Collection<?>) reply;
+            writeLine(out, '*', Integer.toString(items.size()));
+            for (Object item : items) {
+                encode(item, out);
+            }
+        } else if (reply instanceof Status) {
+            writeLine(out, '+', ((Status) reply).message);
+        } else if (reply instanceof Error) {
+            writeLine(out, '-', ((Error) reply).message);
+        } else if (reply == NULL_ARRAY) {
+            writeLine(out, '*', "-1");
+        } else {
+            throw new IllegalArgumentException("unsupported reply type: " + reply.getClass());
+        }
+    }
+
+    private static void writeBulk(ByteArrayOutputStream out, byte[] value) {
+        writeLine(out, '$', Integer.toString(value.length));
+        out.write(value, 0, value.length);
+        out.write(CRLF, 0, 2);
+    }
+
+    private static void writeLine(ByteArrayOutputStream out, char type, String line) {
+        out.write(type);
+        for (int i = 0; i < line.length(); i++) {
+            out.write(line.charAt(i));
+        }
+        out.write(CRLF, 0, 2);
+    }
+
+    /**
+     * 简单字符串应答，如 +OK
+     */
+    static final class Status {
+
+        final String message;
+
+        Status(String message) {
+            this.message = message;
+        }
+    }
+
+    /**
+     * 错误应答，如 -ERR unknown command
+     */
+    static final class Error {
+
+        final String message;
+
+        Error(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.enhance.redis.stub;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 增量解析客户端发送的命令，支持RESP数组（客户端使用的格式）和内联命令（telnet、redis-cli 手工输入）
+ * <p>
+ * 每个连接一个实例，只在IO线程中使用
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+final class RespDecoder {
+
+    private byte[] buffer = new byte[4096];
+
+    private int start;
+
+    private int end;
+
+    /**
+     * 追加从连接中读取到的数据
+     */
+    void feed(ByteBuffer source) {
+        int length = source.remaining();
+        if (end + length > buffer.length) {
+            int used = end - start;
+            if (used + length > buffer.length) {
+                buffer = Arrays.copyOfRange(buffer, start, start + Math.max(buffer.length * 2, used + length));
+            } else {
+                System.arraycopy(buffer, start, buffer, 0, used);
+            }
+            start = 0;
+            end = used;
+        }
+        source.get(buffer, end, length);
+        end += length;
+    }
+
+    /**
+     * 解析下一个完整的命令
+     *
+     * @return 命令及参数，数据不完整时返回null，空行返回空列表
+     */
+    List<byte[]> next() {
+        if (start >= end) {
+            return null;
+        }
+        if (buffer[start] != '*') {
+            return nextInline();
+        }
+        int lineEnd = findLineEnd(start);
+        if (lineEnd < 0) {
+            return null;
+        }
+        int count = (int) parseLong(start + 1, lineEnd);
+        int pos = lineEnd + 2;
+        List<byte[]> args = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            if (pos >= end) {
+                return null;
+            }
+            if (buffer[pos] != '$') {
+                throw new RespException("ERR Protocol error: expected '$', got '" + (char) buffer[pos] + "'");
+            }
+            lineEnd = findLineEnd(pos);
+            if (lineEnd < 0) {
+                return null;
+            }
+            int length = (int) parseLong(pos + 1, lineEnd);
+            pos = lineEnd + 2;
+            if (pos + length + 2 > end) {
+                return null;
+            }
+            args.add(Arrays.copyOfRange(buffer, pos, pos + length));
+            pos += length + 2;
+        }
+        start = pos;
+        return args;
+    }
+
+    private List<byte[]> nextInline() {
+        int newline = -1;
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == '\n') {
+                newline = i;
+                break;
+            }
+        }
+        if (newline < 0) {
+            return null;
+        }
+        String line = new String(buffer, start, newline - start, StandardCharsets.UTF_8).trim();
+        start = newline + 1;
+        if (line.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<byte[]> args = new ArrayList<>();
+        for (String arg : line.split("\\s+")) {
+            args.add(arg.getBytes(StandardCharsets.UTF_8));
+        }
+        return args;
+    }
+
+    private int findLineEnd(int from) {
+        for (int i = from; i < end - 1; i++) {
+            if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private long parseLong(int from, int to) {
+        boolean negative = from < to && buffer[from] == '-';
+        long value = 0;
+        for (int i = negative ? from + 1 : from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new RespException("ERR Protocol error: invalid length");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
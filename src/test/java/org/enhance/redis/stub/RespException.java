@@ -0,0 +1,13 @@
+package org.enhance.redis.stub;
+
+/**
+ * 命令执行失败，消息作为RESP错误返回给客户端，需要带上 ERR、WRONGTYPE 等前缀
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+class RespException extends RuntimeException {
+
+    RespException(String message) {
+        super(message);
+    }
+}
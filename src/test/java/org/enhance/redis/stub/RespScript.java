@@ -0,0 +1,35 @@
+package org.enhance.redis.stub;
+
+import java.util.List;
+
+/**
+ * 存根服务器不执行lua，EVAL/EVALSHA 执行的是通过 {@link RespStubServer#registerScript} 注册的等价java实现
+ * <p>
+ * 返回值按lua的规则转换为RESP：Long 为整数，String/byte[] 为批量字符串，List 为数组，true 为 1，false/null 为nil
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+@FunctionalInterface
+public interface RespScript {
+
+    /**
+     * @param redis 执行redis命令，相当于lua中的 redis.call
+     * @param keys  KEYS
+     * @param args  ARGV
+     * @return 脚本返回值
+     */
+    Object execute(Redis redis, List<byte[]> keys, List<byte[]> args);
+
+    /**
+     * 脚本中执行redis命令
+     */
+    @FunctionalInterface
+    interface Redis {
+
+        /**
+         * @param command 命令及参数，byte[] 原样传递，其他类型转换为字符串
+         * @return 命令返回值：byte[]、Long、List、状态应答（如OK）或 null，命令失败时抛出异常
+         */
+        Object call(Object... command);
+    }
+}
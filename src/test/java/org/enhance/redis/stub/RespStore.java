@@ -0,0 +1,1569 @@
+package org.enhance.redis.stub;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 存根服务器的内存数据及命令实现，覆盖 RedisHelper 用到的命令：
+ * 连接（PING、SELECT、AUTH、CLIENT、QUIT）、key（DEL、EXISTS、EXPIRE、TTL、TYPE、KEYS、SCAN）、
+ * string、hash、list、set、zset、事务（MULTI/EXEC）以及 EVAL/EVALSHA
+ * <p>
+ * 只在IO线程中访问，不需要加锁；过期的key在访问时惰性删除
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+final class RespStore {
+
+    private static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+    private static final String NOT_INTEGER = "ERR value is not an integer or out of range";
+
+    private static final String NOT_FLOAT = "ERR value is not a valid float";
+
+    private static final String SYNTAX_ERROR = "ERR syntax error";
+
+    private final Db[] databases;
+
+    /**
+     * 脚本sha1 -> 脚本实现，注册发生在其他线程
+     */
+    private final Map<String, RespScript> scripts = new ConcurrentHashMap<>();
+
+    RespStore(int databases) {
+        this.databases = new Db[databases];
+        for (int i = 0; i < databases; i++) {
+            this.databases[i] = new Db();
+        }
+    }
+
+    /**
+     * @return 脚本的sha1
+     */
+    String registerScript(String script, RespScript implementation) {
+        String sha1 = sha1(script);
+        scripts.put(sha1, implementation);
+        return sha1;
+    }
+
+    /**
+     * 执行一个命令，命令失败时返回错误应答而不是抛出异常
+     */
+    Object execute(Session session, List<byte[]> args) {
+        String command = name(args);
+        if (session.transaction != null && !isTransactionCommand(command)) {
+            session.transaction.add(args);
+            return Resp.QUEUED;
+        }
+        try {
+            return dispatch(session, command, args);
+        } catch (RespException ex) {
+            return new Resp.Error(ex.getMessage());
+        } catch (RuntimeException ex) {
+            // 脚本实现等抛出的异常
+            return new Resp.Error("ERR " + ex);
+        }
+    }
+
+    private static boolean isTransactionCommand(String command) {
+        return "EXEC".equals(command) || "DISCARD".equals(command) || "MULTI".equals(command)
+                || "WATCH".equals(command);
+    }
+
+    private Object dispatch(Session session, String command, List<byte[]> args) {
+        Db db = databases[session.database];
+        switch (command) {
+            // ------------------------------------------------------------------ connection
+            case "PING":
+                return args.size() > 1 ? args.get(1) : Resp.PONG;
+            case "ECHO":
+                return arg(args, 1, command);
+            case "SELECT":
+                return select(session, args);
+            case "AUTH":
+            case "WATCH":
+            case "UNWATCH":
+            case "READWRITE":
+                return Resp.OK;
+            case "CLIENT":
+                return client(args);
+            case "QUIT":
+                session.closing = true;
+                return Resp.OK;
+            case "COMMAND":
+                return Collections.emptyList();
+            case "INFO":
+                return "# Server\r\nredis_version:6.0.0\r\nredis_mode:standalone\r\n";
+            case "TIME":
+                long micros = System.currentTimeMillis() * 1000;
+                return list(String.valueOf(micros / 1_000_000), String.valueOf(micros % 1_000_000));
+            case "DBSIZE":
+                return (long) db.keys().size();
+            case "FLUSHDB":
+                db.clear();
+                return Resp.OK;
+            case "FLUSHALL":
+                for (Db each : databases) {
+                    each.clear();
+                }
+                return Resp.OK;
+            case "MULTI":
+                if (session.transaction != null) {
+                    throw new RespException("ERR MULTI calls can not be nested");
+                }
+                session.transaction = new ArrayList<>();
+                return Resp.OK;
+            case "EXEC":
+                return exec(session);
+            case "DISCARD":
+                if (session.transaction == null) {
+                    throw new RespException("ERR DISCARD without MULTI");
+                }
+                session.transaction = null;
+                return Resp.OK;
+            // ------------------------------------------------------------------ keys
+            case "DEL":
+            case "UNLINK":
+                return del(db, args);
+            case "EXISTS":
+                return exists(db, args);
+            case "EXPIRE":
+                return expire(db, args, 1000L);
+            case "PEXPIRE":
+                return expire(db, args, 1L);
+            case "PERSIST":
+                return db.persist(key(args, 1, command)) ? 1L : 0L;
+            case "TTL":
+                return ttl(db, args, 1000L);
+            case "PTTL":
+                return ttl(db, args, 1L);
+            case "TYPE":
+                return new Resp.Status(type(db.get(key(args, 1, command))));
+            case "KEYS":
+                return keys(db, args);
+            case "SCAN":
+                return scan(db, args);
+            case "RENAME":
+                return rename(db, args);
+            // ------------------------------------------------------------------ string
+            case "GET":
+                return getString(db, key(args, 1, command));
+            case "SET":
+                return set(db, args);
+            case "SETEX":
+                return setWithExpire(db, args, 1000L);
+            case "PSETEX":
+                return setWithExpire(db, args, 1L);
+            case "SETNX":
+                return setIfAbsent(db, args);
+            case "GETSET":
+                return getSet(db, args);
+            case "MGET":
+                return mget(db, args);
+            case "MSET":
+                return mset(db, args);
+            case "INCR":
+                return incrBy(db, key(args, 1, command), 1);
+            case "DECR":
+                return incrBy(db, key(args, 1, command), -1);
+            case "INCRBY":
+                return incrBy(db, key(args, 1, command), toLong(arg(args, 2, command)));
+            case "DECRBY":
+                return incrBy(db, key(args, 1, command), -toLong(arg(args, 2, command)));
+            case "INCRBYFLOAT":
+                return incrByFloat(db, args);
+            case "APPEND":
+                return append(db, args);
+            case "STRLEN":
+                byte[] value = getString(db, key(args, 1, command));
+                return value == null ? 0L : (long) value.length;
+            case "GETRANGE":
+                return getRange(db, args);
+            // ------------------------------------------------------------------ hash
+            case "HSET":
+            case "HMSET":
+                return hset(db, args, command);
+            case "HSETNX":
+                return hsetnx(db, args);
+            case "HGET":
+                return hget(db, args);
+            case "HMGET":
+                return hmget(db, args);
+            case "HGETALL":
+                return hgetall(db, args);
+            case "HDEL":
+                return hdel(db, args);
+            case "HEXISTS":
+                return hexists(db, args);
+            case "HKEYS":
+                return hkeys(db, args);
+            case "HVALS":
+                return hvals(db, args);
+            case "HLEN":
+                HashValue hash = hash(db, key(args, 1, command), false);
+                return hash == null ? 0L : (long) hash.size();
+            case "HINCRBY":
+                return hincrBy(db, args);
+            case "HSCAN":
+                return hscan(db, args);
+            // ------------------------------------------------------------------ list
+            case "LPUSH":
+                return push(db, args, true);
+            case "RPUSH":
+                return push(db, args, false);
+            case "LPOP":
+                return pop(db, key(args, 1, command), true);
+            case "RPOP":
+                return pop(db, key(args, 1, command), false);
+            case "BLPOP":
+                return blockingPop(db, args, true);
+            case "BRPOP":
+                return blockingPop(db, args, false);
+            case "LRANGE":
+                return lrange(db, args);
+            case "LLEN":
+                ListValue list = list(db, key(args, 1, command), false);
+                return list == null ? 0L : (long) list.size();
+            case "LINDEX":
+                return lindex(db, args);
+            case "LSET":
+                return lset(db, args);
+            case "LREM":
+                return lrem(db, args);
+            case "LTRIM":
+                return ltrim(db, args);
+            // ------------------------------------------------------------------ set
+            case "SADD":
+                return sadd(db, args);
+            case "SREM":
+                return srem(db, args);
+            case "SMEMBERS":
+                return members(set(db, key(args, 1, command), false));
+            case "SISMEMBER":
+                SetValue set = set(db, key(args, 1, command), false);
+                return set != null && set.contains(new Bytes(arg(args, 2, command))) ? 1L : 0L;
+            case "SCARD":
+                SetValue members = set(db, key(args, 1, command), false);
+                return members == null ? 0L : (long) members.size();
+            case "SPOP":
+                return spop(db, args);
+            case "SRANDMEMBER":
+                return srandmember(db, args);
+            case "SUNION":
+            case "SINTER":
+            case "SDIFF":
+                return members(setOperation(db, command, args, 1));
+            case "SUNIONSTORE":
+            case "SINTERSTORE":
+            case "SDIFFSTORE":
+                return setOperationStore(db, command, args);
+            case "SSCAN":
+                return sscan(db, args);
+            // ------------------------------------------------------------------ zset
+            case "ZADD":
+                return zadd(db, args);
+            case "ZINCRBY":
+                return zincrBy(db, args);
+            case "ZSCORE":
+                return zscore(db, args);
+            case "ZREM":
+                return zrem(db, args);
+            case "ZCARD":
+                ZSetValue zset = zset(db, key(args, 1, command), false);
+                return zset == null ? 0L : (long) zset.size();
+            case "ZCOUNT":
+                return zcount(db, args);
+            case "ZRANGE":
+                return zrange(db, args, false);
+            case "ZREVRANGE":
+                return zrange(db, args, true);
+            case "ZRANGEBYSCORE":
+                return zrangeByScore(db, args, false);
+            case "ZREVRANGEBYSCORE":
+                return zrangeByScore(db, args, true);
+            case "ZRANK":
+                return zrank(db, args, false);
+            case "ZREVRANK":
+                return zrank(db, args, true);
+            case "ZREMRANGEBYSCORE":
+                return zremRangeByScore(db, args);
+            case "ZSCAN":
+                return zscan(db, args);
+            // ------------------------------------------------------------------ script
+            case "SCRIPT":
+                return script(args);
+            case "EVAL":
+                return eval(session, args, sha1(new String(arg(args, 1, command), StandardCharsets.UTF_8)), true);
+            case "EVALSHA":
+                return eval(session, args, new String(arg(args, 1, command), StandardCharsets.US_ASCII), false);
+            default:
+                throw new RespException("ERR unknown command '" + command.toLowerCase(Locale.ROOT) + "'");
+        }
+    }
+
+    // ====================================================================================== connection
+
+    private Object select(Session session, List<byte[]> args) {
+        long index = toLong(arg(args, 1, "SELECT"));
+        if (index < 0 || index >= databases.length) {
+            throw new RespException("ERR DB index is out of range");
+        }
+        session.database = (int) index;
+        return Resp.OK;
+    }
+
+    private static Object client(List<byte[]> args) {
+        String subcommand = args.size() > 1 ? name(args.subList(1, 2)) : "";
+        switch (subcommand) {
+            case "GETNAME":
+                return null;
+            case "ID":
+                return 1L;
+            case "LIST":
+                return "id=1 addr=127.0.0.1 name= db=0 cmd=client\n";
+            default:
+                return Resp.OK;
+        }
+    }
+
+    private Object exec(Session session) {
+        if (session.transaction == null) {
+            throw new RespException("ERR EXEC without MULTI");
+        }
+        List<List<byte[]>> queued = session.transaction;
+        session.transaction = null;
+        List<Object> replies = new ArrayList<>(queued.size());
+        for (List<byte[]> args : queued) {
+            replies.add(execute(session, args));
+        }
+        return replies;
+    }
+
+    // ====================================================================================== keys
+
+    private static Object del(Db db, List<byte[]> args) {
+        arg(args, 1, "DEL");
+        long removed = 0;
+        for (int i = 1; i < args.size(); i++) {
+            if (db.remove(new Bytes(args.get(i)))) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static Object exists(Db db, List<byte[]> args) {
+        arg(args, 1, "EXISTS");
+        long count = 0;
+        for (int i = 1; i < args.size(); i++) {
+            if (db.get(new Bytes(args.get(i))) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Object expire(Db db, List<byte[]> args, long unitMillis) {
+        Bytes key = key(args, 1, "EXPIRE");
+        long timeout = toLong(arg(args, 2, "EXPIRE"));
+        if (db.get(key) == null) {
+            return 0L;
+        }
+        if (timeout <= 0) {
+            db.remove(key);
+        } else {
+            db.expire(key, System.currentTimeMillis() + timeout * unitMillis);
+        }
+        return 1L;
+    }
+
+    private static Object ttl(Db db, List<byte[]> args, long unitMillis) {
+        Bytes key = key(args, 1, "TTL");
+        if (db.get(key) == null) {
+            return -2L;
+        }
+        Long expiresAt = db.expires.get(key);
+        if (expiresAt == null) {
+            return -1L;
+        }
+        long remaining = expiresAt - System.currentTimeMillis();
+        return (remaining + unitMillis / 2) / unitMillis;
+    }
+
+    private static String type(Object value) {
+        if (value == null) {
+            return "none";
+        } else if (value instanceof byte[]) {
+            return "string";
+        } else if (value instanceof HashValue) {
+            return "hash";
+        } else if (value instanceof ListValue) {
+            return "list";
+        } else if (value instanceof SetValue) {
+            return "set";
+        }
+        return "zset";
+    }
+
+    private static Object keys(Db db, List<byte[]> args) {
+        Pattern pattern = glob(arg(args, 1, "KEYS"));
+        List<Object> result = new ArrayList<>();
+        for (Bytes key : db.keys()) {
+            if (pattern.matcher(key.toString()).matches()) {
+                result.add(key.value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 游标为有序快照中的下标，扫描期间有写入时可能重复或遗漏，与真实redis一样由调用方容忍
+     */
+    private static Object scan(Db db, List<byte[]> args) {
+        long cursor = toLong(arg(args, 1, "SCAN"));
+        Pattern pattern = null;
+        long count = 10;
+        String type = null;
+        for (int i = 2; i < args.size(); i += 2) {
+            String option = name(args.subList(i, i + 1));
+            byte[] value = arg(args, i + 1, "SCAN");
+            if ("MATCH".equals(option)) {
+                pattern = glob(value);
+            } else if ("COUNT".equals(option)) {
+                count = Math.max(1, toLong(value));
+            } else if ("TYPE".equals(option)) {
+                type = new String(value, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+            } else {
+                throw new RespException(SYNTAX_ERROR);
+            }
+        }
+        List<Bytes> keys = new ArrayList<>(new TreeSet<>(db.keys()));
+        int from = (int) Math.min(cursor, keys.size());
+        int to = (int) Math.min(from + count, keys.size());
+        List<Object> page = new ArrayList<>(to - from);
+        for (Bytes key : keys.subList(from, to)) {
+            if ((pattern == null || pattern.matcher(key.toString()).matches())
+                    && (type == null || type.equals(type(db.get(key))))) {
+                page.add(key.value);
+            }
+        }
+        return list(String.valueOf(to >= keys.size() ? 0 : to), page);
+    }
+
+    private static Object rename(Db db, List<byte[]> args) {
+        Bytes source = key(args, 1, "RENAME");
+        Bytes target = key(args, 2, "RENAME");
+        Object value = db.get(source);
+        if (value == null) {
+            throw new RespException("ERR no such key");
+        }
+        Long expiresAt = db.expires.get(source);
+        db.remove(source);
+        db.put(target, value);
+        if (expiresAt != null) {
+            db.expire(target, expiresAt);
+        }
+        return Resp.OK;
+    }
+
+    // ====================================================================================== string
+
+    private static Object set(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "SET");
+        byte[] value = arg(args, 2, "SET");
+        long expiresAt = 0;
+        boolean nx = false;
+        boolean xx = false;
+        boolean keepTtl = false;
+        boolean get = false;
+        for (int i = 3; i < args.size(); i++) {
+            String option = name(args.subList(i, i + 1));
+            switch (option) {
+                case "EX":
+                    expiresAt = System.currentTimeMillis() + toLong(arg(args, ++i, "SET")) * 1000;
+                    break;
+                case "PX":
+                    expiresAt = System.currentTimeMillis() + toLong(arg(args, ++i, "SET"));
+                    break;
+                case "NX":
+                    nx = true;
+                    break;
+                case "XX":
+                    xx = true;
+                    break;
+                case "KEEPTTL":
+                    keepTtl = true;
+                    break;
+                case "GET":
+                    get = true;
+                    break;
+                default:
+                    throw new RespException(SYNTAX_ERROR);
+            }
+        }
+        byte[] previous = get ? getString(db, key) : null;
+        boolean exists = db.get(key) != null;
+        if ((nx && exists) || (xx && !exists)) {
+            return get ? previous : null;
+        }
+        Long ttl = keepTtl ? db.expires.get(key) : null;
+        db.put(key, value);
+        if (expiresAt > 0) {
+            db.expire(key, expiresAt);
+        } else if (ttl != null) {
+            db.expire(key, ttl);
+        }
+        return get ? previous : Resp.OK;
+    }
+
+    private static Object setWithExpire(Db db, List<byte[]> args, long unitMillis) {
+        Bytes key = key(args, 1, "SETEX");
+        long timeout = toLong(arg(args, 2, "SETEX"));
+        if (timeout <= 0) {
+            throw new RespException("ERR invalid expire time in setex");
+        }
+        db.put(key, arg(args, 3, "SETEX"));
+        db.expire(key, System.currentTimeMillis() + timeout * unitMillis);
+        return Resp.OK;
+    }
+
+    private static Object setIfAbsent(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "SETNX");
+        if (db.get(key) != null) {
+            return 0L;
+        }
+        db.put(key, arg(args, 2, "SETNX"));
+        return 1L;
+    }
+
+    private static Object getSet(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "GETSET");
+        byte[] previous = getString(db, key);
+        db.put(key, arg(args, 2, "GETSET"));
+        return previous;
+    }
+
+    private static Object mget(Db db, List<byte[]> args) {
+        arg(args, 1, "MGET");
+        List<Object> result = new ArrayList<>(args.size() - 1);
+        for (int i = 1; i < args.size(); i++) {
+            Object value = db.get(new Bytes(args.get(i)));
+            result.add(value instanceof byte[] ? value : null);
+        }
+        return result;
+    }
+
+    private static Object mset(Db db, List<byte[]> args) {
+        if (args.size() < 3 || args.size() % 2 == 0) {
+            throw wrongArity("MSET");
+        }
+        for (int i = 1; i < args.size(); i += 2) {
+            db.put(new Bytes(args.get(i)), args.get(i + 1));
+        }
+        return Resp.OK;
+    }
+
+    private static Object incrBy(Db db, Bytes key, long delta) {
+        byte[] current = getString(db, key);
+        long value = (current == null ? 0 : toLong(current)) + delta;
+        db.update(key, bytes(Long.toString(value)));
+        return value;
+    }
+
+    private static Object incrByFloat(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "INCRBYFLOAT");
+        byte[] current = getString(db, key);
+        double value = (current == null ? 0 : toDouble(current)) + toDouble(arg(args, 2, "INCRBYFLOAT"));
+        byte[] result = bytes(formatDouble(value));
+        db.update(key, result);
+        return result;
+    }
+
+    private static Object append(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "APPEND");
+        byte[] current = getString(db, key);
+        byte[] suffix = arg(args, 2, "APPEND");
+        byte[] value = current == null ? suffix : new byte[current.length + suffix.length];
+        if (current != null) {
+            System.arraycopy(current, 0, value, 0, current.length);
+            System.arraycopy(suffix, 0, value, current.length, suffix.length);
+        }
+        db.update(key, value);
+        return (long) value.length;
+    }
+
+    private static Object getRange(Db db, List<byte[]> args) {
+        byte[] value = getString(db, key(args, 1, "GETRANGE"));
+        if (value == null) {
+            return new byte[0];
+        }
+        int[] range = range(toLong(arg(args, 2, "GETRANGE")), toLong(arg(args, 3, "GETRANGE")), value.length);
+        byte[] result = new byte[Math.max(range[1] - range[0] + 1, 0)];
+        System.arraycopy(value, range[0], result, 0, result.length);
+        return result;
+    }
+
+    // ====================================================================================== hash
+
+    private static Object hset(Db db, List<byte[]> args, String command) {
+        if (args.size() < 4 || args.size() % 2 != 0) {
+            throw wrongArity(command);
+        }
+        HashValue hash = hash(db, key(args, 1, command), true);
+        long added = 0;
+        for (int i = 2; i < args.size(); i += 2) {
+            if (hash.put(new Bytes(args.get(i)), args.get(i + 1)) == null) {
+                added++;
+            }
+        }
+        return "HMSET".equals(command) ? Resp.OK : added;
+    }
+
+    private static Object hsetnx(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HSETNX"), true);
+        return hash.putIfAbsent(new Bytes(arg(args, 2, "HSETNX")), arg(args, 3, "HSETNX")) == null ? 1L : 0L;
+    }
+
+    private static Object hget(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HGET"), false);
+        return hash == null ? null : hash.get(new Bytes(arg(args, 2, "HGET")));
+    }
+
+    private static Object hmget(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HMGET"), false);
+        arg(args, 2, "HMGET");
+        List<Object> result = new ArrayList<>(args.size() - 2);
+        for (int i = 2; i < args.size(); i++) {
+            result.add(hash == null ? null : hash.get(new Bytes(args.get(i))));
+        }
+        return result;
+    }
+
+    private static Object hgetall(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HGETALL"), false);
+        if (hash == null) {
+            return Collections.emptyList();
+        }
+        List<Object> result = new ArrayList<>(hash.size() * 2);
+        hash.forEach((field, value) -> {
+            result.add(field.value);
+            result.add(value);
+        });
+        return result;
+    }
+
+    private static Object hdel(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "HDEL");
+        arg(args, 2, "HDEL");
+        HashValue hash = hash(db, key, false);
+        if (hash == null) {
+            return 0L;
+        }
+        long removed = 0;
+        for (int i = 2; i < args.size(); i++) {
+            if (hash.remove(new Bytes(args.get(i))) != null) {
+                removed++;
+            }
+        }
+        db.removeIfEmpty(key, hash);
+        return removed;
+    }
+
+    private static Object hexists(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HEXISTS"), false);
+        return hash != null && hash.containsKey(new Bytes(arg(args, 2, "HEXISTS"))) ? 1L : 0L;
+    }
+
+    private static Object hkeys(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HKEYS"), false);
+        return hash == null ? Collections.emptyList() : members(hash.keySet());
+    }
+
+    private static Object hvals(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HVALS"), false);
+        return hash == null ? Collections.emptyList() : new ArrayList<Object>(hash.values());
+    }
+
+    private static Object hincrBy(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HINCRBY"), true);
+        Bytes field = new Bytes(arg(args, 2, "HINCRBY"));
+        byte[] current = hash.get(field);
+        long value = (current == null ? 0 : toLong(current)) + toLong(arg(args, 3, "HINCRBY"));
+        hash.put(field, bytes(Long.toString(value)));
+        return value;
+    }
+
+    /**
+     * hash、set、zset 的SCAN一次返回全部匹配的元素，游标固定返回0（与redis对小集合的处理一致）
+     */
+    private static Object hscan(Db db, List<byte[]> args) {
+        HashValue hash = hash(db, key(args, 1, "HSCAN"), false);
+        Pattern pattern = scanPattern(args);
+        List<Object> result = new ArrayList<>();
+        if (hash != null) {
+            hash.forEach((field, value) -> {
+                if (pattern == null || pattern.matcher(field.toString()).matches()) {
+                    result.add(field.value);
+                    result.add(value);
+                }
+            });
+        }
+        return list("0", result);
+    }
+
+    // ====================================================================================== list
+
+    private static Object push(Db db, List<byte[]> args, boolean head) {
+        ListValue list = list(db, key(args, 1, "PUSH"), true);
+        arg(args, 2, "PUSH");
+        for (int i = 2; i < args.size(); i++) {
+            if (head) {
+                list.add(0, args.get(i));
+            } else {
+                list.add(args.get(i));
+            }
+        }
+        return (long) list.size();
+    }
+
+    private static byte[] pop(Db db, Bytes key, boolean head) {
+        ListValue list = list(db, key, false);
+        if (list == null) {
+            return null;
+        }
+        byte[] value = list.remove(head ? 0 : list.size() - 1);
+        db.removeIfEmpty(key, list);
+        return value;
+    }
+
+    /**
+     * 不会阻塞：列表为空时直接返回nil，与超时立即到期的效果相同
+     */
+    private static Object blockingPop(Db db, List<byte[]> args, boolean head) {
+        arg(args, 2, "BLPOP");
+        for (int i = 1; i < args.size() - 1; i++) {
+            Bytes key = new Bytes(args.get(i));
+            byte[] value = pop(db, key, head);
+            if (value != null) {
+                return list(key.value, value);
+            }
+        }
+        return Resp.NULL_ARRAY;
+    }
+
+    private static Object lrange(Db db, List<byte[]> args) {
+        ListValue list = list(db, key(args, 1, "LRANGE"), false);
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        int[] range = range(toLong(arg(args, 2, "LRANGE")), toLong(arg(args, 3, "LRANGE")), list.size());
+        return range[0] > range[1] ? Collections.emptyList() : new ArrayList<Object>(list.subList(range[0], range[1] + 1));
+    }
+
+    private static Object lindex(Db db, List<byte[]> args) {
+        ListValue list = list(db, key(args, 1, "LINDEX"), false);
+        long index = toLong(arg(args, 2, "LINDEX"));
+        if (list == null) {
+            return null;
+        }
+        index = index < 0 ? list.size() + index : index;
+        return index < 0 || index >= list.size() ? null : list.get((int) index);
+    }
+
+    private static Object lset(Db db, List<byte[]> args) {
+        ListValue list = list(db, key(args, 1, "LSET"), false);
+        long index = toLong(arg(args, 2, "LSET"));
+        byte[] value = arg(args, 3, "LSET");
+        if (list == null) {
+            throw new RespException("ERR no such key");
+        }
+        index = index < 0 ? list.size() + index : index;
+        if (index < 0 || index >= list.size()) {
+            throw new RespException("ERR index out of range");
+        }
+        list.set((int) index, value);
+        return Resp.OK;
+    }
+
+    private static Object lrem(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "LREM");
+        long count = toLong(arg(args, 2, "LREM"));
+        Bytes value = new Bytes(arg(args, 3, "LREM"));
+        ListValue list = list(db, key, false);
+        if (list == null) {
+            return 0L;
+        }
+        long limit = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+        long removed = 0;
+        if (count >= 0) {
+            for (Iterator<byte[]> it = list.iterator(); it.hasNext() && removed < limit; ) {
+                if (value.equals(new Bytes(it.next()))) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        } else {
+            for (int i = list.size() - 1; i >= 0 && removed < limit; i--) {
+                if (value.equals(new Bytes(list.get(i)))) {
+                    list.remove(i);
+                    removed++;
+                }
+            }
+        }
+        db.removeIfEmpty(key, list);
+        return removed;
+    }
+
+    private static Object ltrim(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "LTRIM");
+        ListValue list = list(db, key, false);
+        int[] range = range(toLong(arg(args, 2, "LTRIM")), toLong(arg(args, 3, "LTRIM")),
+                list == null ? 0 : list.size());
+        if (list == null) {
+            return Resp.OK;
+        }
+        if (range[0] > range[1]) {
+            list.clear();
+        } else {
+            list.subList(range[1] + 1, list.size()).clear();
+            list.subList(0, range[0]).clear();
+        }
+        db.removeIfEmpty(key, list);
+        return Resp.OK;
+    }
+
+    // ====================================================================================== set
+
+    private static Object sadd(Db db, List<byte[]> args) {
+        SetValue set = set(db, key(args, 1, "SADD"), true);
+        arg(args, 2, "SADD");
+        long added = 0;
+        for (int i = 2; i < args.size(); i++) {
+            if (set.add(new Bytes(args.get(i)))) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private static Object srem(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "SREM");
+        arg(args, 2, "SREM");
+        SetValue set = set(db, key, false);
+        if (set == null) {
+            return 0L;
+        }
+        long removed = 0;
+        for (int i = 2; i < args.size(); i++) {
+            if (set.remove(new Bytes(args.get(i)))) {
+                removed++;
+            }
+        }
+        db.removeIfEmpty(key, set);
+        return removed;
+    }
+
+    private static Object spop(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "SPOP");
+        SetValue set = set(db, key, false);
+        boolean single = args.size() < 3;
+        long count = single ? 1 : toLong(args.get(2));
+        List<Object> popped = new ArrayList<>();
+        if (set != null) {
+            List<Bytes> candidates = new ArrayList<>(set);
+            Collections.shuffle(candidates, ThreadLocalRandom.current());
+            for (int i = 0; i < count && i < candidates.size(); i++) {
+                set.remove(candidates.get(i));
+                popped.add(candidates.get(i).value);
+            }
+            db.removeIfEmpty(key, set);
+        }
+        if (single) {
+            return popped.isEmpty() ? null : popped.get(0);
+        }
+        return popped;
+    }
+
+    private static Object srandmember(Db db, List<byte[]> args) {
+        SetValue set = set(db, key(args, 1, "SRANDMEMBER"), false);
+        boolean single = args.size() < 3;
+        long count = single ? 1 : toLong(args.get(2));
+        List<Object> result = new ArrayList<>();
+        if (set != null && !set.isEmpty()) {
+            List<Bytes> candidates = new ArrayList<>(set);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (count < 0) {
+                // 负数允许重复
+                for (long i = 0; i < -count; i++) {
+                    result.add(candidates.get(random.nextInt(candidates.size())).value);
+                }
+            } else {
+                Collections.shuffle(candidates, random);
+                for (int i = 0; i < count && i < candidates.size(); i++) {
+                    result.add(candidates.get(i).value);
+                }
+            }
+        }
+        if (single) {
+            return result.isEmpty() ? null : result.get(0);
+        }
+        return result;
+    }
+
+    private static Set<Bytes> setOperation(Db db, String command, List<byte[]> args, int from) {
+        arg(args, from, command);
+        SetValue first = set(db, new Bytes(args.get(from)), false);
+        Set<Bytes> result = first == null ? new LinkedHashSet<>() : new LinkedHashSet<>(first);
+        for (int i = from + 1; i < args.size(); i++) {
+            SetValue other = set(db, new Bytes(args.get(i)), false);
+            Set<Bytes> members = other == null ? Collections.emptySet() : other;
+            if (command.startsWith("SUNION")) {
+                result.addAll(members);
+            } else if (command.startsWith("SINTER")) {
+                result.retainAll(members);
+            } else {
+                result.removeAll(members);
+            }
+        }
+        return result;
+    }
+
+    private static Object setOperationStore(Db db, String command, List<byte[]> args) {
+        Bytes destination = key(args, 1, command);
+        Set<Bytes> result = setOperation(db, command, args, 2);
+        db.remove(destination);
+        if (!result.isEmpty()) {
+            SetValue set = new SetValue();
+            set.addAll(result);
+            db.put(destination, set);
+        }
+        return (long) result.size();
+    }
+
+    private static Object sscan(Db db, List<byte[]> args) {
+        SetValue set = set(db, key(args, 1, "SSCAN"), false);
+        Pattern pattern = scanPattern(args);
+        List<Object> result = new ArrayList<>();
+        if (set != null) {
+            for (Bytes member : set) {
+                if (pattern == null || pattern.matcher(member.toString()).matches()) {
+                    result.add(member.value);
+                }
+            }
+        }
+        return list("0", result);
+    }
+
+    // ====================================================================================== zset
+
+    private static Object zadd(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "ZADD");
+        boolean nx = false;
+        boolean xx = false;
+        boolean changed = false;
+        boolean incr = false;
+        int i = 2;
+        for (; i < args.size(); i++) {
+            String option = name(args.subList(i, i + 1));
+            if ("NX".equals(option)) {
+                nx = true;
+            } else if ("XX".equals(option)) {
+                xx = true;
+            } else if ("CH".equals(option)) {
+                changed = true;
+            } else if ("INCR".equals(option)) {
+                incr = true;
+            } else {
+                break;
+            }
+        }
+        if (i >= args.size() || (args.size() - i) % 2 != 0) {
+            throw new RespException(SYNTAX_ERROR);
+        }
+        ZSetValue zset = zset(db, key, true);
+        long count = 0;
+        Double last = null;
+        for (; i < args.size(); i += 2) {
+            double score = toDouble(args.get(i));
+            Bytes member = new Bytes(args.get(i + 1));
+            Double current = zset.get(member);
+            if ((nx && current != null) || (xx && current == null)) {
+                last = null;
+                continue;
+            }
+            double value = incr && current != null ? current + score : score;
+            zset.put(member, value);
+            last = value;
+            if (current == null || (changed && current != value)) {
+                count++;
+            }
+        }
+        db.removeIfEmpty(key, zset);
+        if (incr) {
+            return last == null ? null : bytes(formatDouble(last));
+        }
+        return count;
+    }
+
+    private static Object zincrBy(Db db, List<byte[]> args) {
+        ZSetValue zset = zset(db, key(args, 1, "ZINCRBY"), true);
+        double delta = toDouble(arg(args, 2, "ZINCRBY"));
+        double value = zset.merge(new Bytes(arg(args, 3, "ZINCRBY")), delta, Double::sum);
+        return bytes(formatDouble(value));
+    }
+
+    private static Object zscore(Db db, List<byte[]> args) {
+        ZSetValue zset = zset(db, key(args, 1, "ZSCORE"), false);
+        Double score = zset == null ? null : zset.get(new Bytes(arg(args, 2, "ZSCORE")));
+        return score == null ? null : bytes(formatDouble(score));
+    }
+
+    private static Object zrem(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "ZREM");
+        arg(args, 2, "ZREM");
+        ZSetValue zset = zset(db, key, false);
+        if (zset == null) {
+            return 0L;
+        }
+        long removed = 0;
+        for (int i = 2; i < args.size(); i++) {
+            if (zset.remove(new Bytes(args.get(i))) != null) {
+                removed++;
+            }
+        }
+        db.removeIfEmpty(key, zset);
+        return removed;
+    }
+
+    private static Object zcount(Db db, List<byte[]> args) {
+        ZSetValue zset = zset(db, key(args, 1, "ZCOUNT"), false);
+        ScoreBound min = ScoreBound.parse(arg(args, 2, "ZCOUNT"));
+        ScoreBound max = ScoreBound.parse(arg(args, 3, "ZCOUNT"));
+        if (zset == null) {
+            return 0L;
+        }
+        long count = 0;
+        for (double score : zset.values()) {
+            if (min.isBelow(score) && max.isAbove(score)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Object zrange(Db db, List<byte[]> args, boolean reverse) {
+        ZSetValue zset = zset(db, key(args, 1, "ZRANGE"), false);
+        long start = toLong(arg(args, 2, "ZRANGE"));
+        long stop = toLong(arg(args, 3, "ZRANGE"));
+        boolean withScores = args.size() > 4 && "WITHSCORES".equals(name(args.subList(4, 5)));
+        if (zset == null) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<Bytes, Double>> sorted = zset.sorted(reverse);
+        int[] range = range(start, stop, sorted.size());
+        return range[0] > range[1] ? Collections.emptyList()
+                : members(sorted.subList(range[0], range[1] + 1), withScores);
+    }
+
+    private static Object zrangeByScore(Db db, List<byte[]> args, boolean reverse) {
+        ZSetValue zset = zset(db, key(args, 1, "ZRANGEBYSCORE"), false);
+        ScoreBound min = ScoreBound.parse(arg(args, reverse ? 3 : 2, "ZRANGEBYSCORE"));
+        ScoreBound max = ScoreBound.parse(arg(args, reverse ? 2 : 3, "ZRANGEBYSCORE"));
+        boolean withScores = false;
+        long offset = 0;
+        long count = -1;
+        for (int i = 4; i < args.size(); i++) {
+            String option = name(args.subList(i, i + 1));
+            if ("WITHSCORES".equals(option)) {
+                withScores = true;
+            } else if ("LIMIT".equals(option)) {
+                offset = toLong(arg(args, ++i, "ZRANGEBYSCORE"));
+                count = toLong(arg(args, ++i, "ZRANGEBYSCORE"));
+            } else {
+                throw new RespException(SYNTAX_ERROR);
+            }
+        }
+        if (zset == null) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<Bytes, Double>> matched = new ArrayList<>();
+        for (Map.Entry<Bytes, Double> entry : zset.sorted(reverse)) {
+            if (min.isBelow(entry.getValue()) && max.isAbove(entry.getValue())) {
+                matched.add(entry);
+            }
+        }
+        int from = (int) Math.min(Math.max(offset, 0), matched.size());
+        int to = count < 0 ? matched.size() : (int) Math.min(from + count, matched.size());
+        return members(matched.subList(from, to), withScores);
+    }
+
+    private static Object zrank(Db db, List<byte[]> args, boolean reverse) {
+        ZSetValue zset = zset(db, key(args, 1, "ZRANK"), false);
+        Bytes member = new Bytes(arg(args, 2, "ZRANK"));
+        if (zset == null || !zset.containsKey(member)) {
+            return null;
+        }
+        long rank = 0;
+        for (Map.Entry<Bytes, Double> entry : zset.sorted(reverse)) {
+            if (entry.getKey().equals(member)) {
+                return rank;
+            }
+            rank++;
+        }
+        return null;
+    }
+
+    private static Object zremRangeByScore(Db db, List<byte[]> args) {
+        Bytes key = key(args, 1, "ZREMRANGEBYSCORE");
+        ZSetValue zset = zset(db, key, false);
+        ScoreBound min = ScoreBound.parse(arg(args, 2, "ZREMRANGEBYSCORE"));
+        ScoreBound max = ScoreBound.parse(arg(args, 3, "ZREMRANGEBYSCORE"));
+        if (zset == null) {
+            return 0L;
+        }
+        int before = zset.size();
+        zset.values().removeIf(score -> min.isBelow(score) && max.isAbove(score));
+        long removed = before - zset.size();
+        db.removeIfEmpty(key, zset);
+        return removed;
+    }
+
+    private static Object zscan(Db db, List<byte[]> args) {
+        ZSetValue zset = zset(db, key(args, 1, "ZSCAN"), false);
+        Pattern pattern = scanPattern(args);
+        List<Map.Entry<Bytes, Double>> matched = new ArrayList<>();
+        if (zset != null) {
+            for (Map.Entry<Bytes, Double> entry : zset.entrySet()) {
+                if (pattern == null || pattern.matcher(entry.getKey().toString()).matches()) {
+                    matched.add(entry);
+                }
+            }
+        }
+        return list("0", members(matched, true));
+    }
+
+    // ====================================================================================== script
+
+    private Object script(List<byte[]> args) {
+        String subcommand = args.size() > 1 ? name(args.subList(1, 2)) : "";
+        switch (subcommand) {
+            case "LOAD":
+                return sha1(new String(arg(args, 2, "SCRIPT"), StandardCharsets.UTF_8));
+            case "EXISTS":
+                List<Object> result = new ArrayList<>(args.size() - 2);
+                for (int i = 2; i < args.size(); i++) {
+                    result.add(scripts.containsKey(new String(args.get(i), StandardCharsets.US_ASCII)) ? 1L : 0L);
+                }
+                return result;
+            case "FLUSH":
+                return Resp.OK;
+            default:
+                throw new RespException("ERR unknown subcommand '" + subcommand.toLowerCase(Locale.ROOT) + "'");
+        }
+    }
+
+    private Object eval(Session session, List<byte[]> args, String sha1, boolean eval) {
+        RespScript script = scripts.get(sha1);
+        if (script == null) {
+            throw new RespException(eval
+                    ? "ERR stub server does not run lua, register the script with RespStubServer#registerScript"
+                    : "NOSCRIPT No matching script. Please use EVAL.");
+        }
+        long numKeys = toLong(arg(args, 2, "EVAL"));
+        if (numKeys < 0 || numKeys > args.size() - 3) {
+            throw new RespException("ERR Number of keys can't be greater than number of args");
+        }
+        List<byte[]> keys = args.subList(3, 3 + (int) numKeys);
+        List<byte[]> argv = args.subList(3 + (int) numKeys, args.size());
+        return script.execute(command -> call(session, command), keys, argv);
+    }
+
+    private Object call(Session session, Object[] command) {
+        List<byte[]> args = new ArrayList<>(command.length);
+        for (Object arg : command) {
+            args.add(arg instanceof byte[] ? (byte[]) arg : bytes(String.valueOf(arg)));
+        }
+        Object reply = dispatch(session, name(args), args);
+        if (reply instanceof Resp.Error) {
+            throw new RespException(((Resp.Error) reply).message);
+        }
+        return reply;
+    }
+
+    // ====================================================================================== helpers
+
+    private static byte[] getString(Db db, Bytes key) {
+        return typed(db.get(key), byte[].class);
+    }
+
+    private static HashValue hash(Db db, Bytes key, boolean create) {
+        return getOrCreate(db, key, HashValue.class, create ? HashValue::new : null);
+    }
+
+    private static ListValue list(Db db, Bytes key, boolean create) {
+        return getOrCreate(db, key, ListValue.class, create ? ListValue::new : null);
+    }
+
+    private static SetValue set(Db db, Bytes key, boolean create) {
+        return getOrCreate(db, key, SetValue.class, create ? SetValue::new : null);
+    }
+
+    private static ZSetValue zset(Db db, Bytes key, boolean create) {
+        return getOrCreate(db, key, ZSetValue.class, create ? ZSetValue::new : null);
+    }
+
+    /**
+     * @param creator key不存在时创建，为null时不创建
+     */
+    private static <T> T getOrCreate(Db db, Bytes key, Class<T> type, Supplier<T> creator) {
+        T value = typed(db.get(key), type);
+        if (value == null && creator != null) {
+            value = creator.get();
+            db.put(key, value);
+        }
+        return value;
+    }
+
+    private static <T> T typed(Object value, Class<T> type) {
+        if (value == null) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            throw new RespException(WRONG_TYPE);
+        }
+        return type.cast(value);
+    }
+
+    private static String name(List<byte[]> args) {
+        return args.isEmpty() ? "" : new String(args.get(0), StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+    }
+
+    private static byte[] arg(List<byte[]> args, int index, String command) {
+        if (index >= args.size()) {
+            throw wrongArity(command);
+        }
+        return args.get(index);
+    }
+
+    private static Bytes key(List<byte[]> args, int index, String command) {
+        return new Bytes(arg(args, index, command));
+    }
+
+    private static RespException wrongArity(String command) {
+        return new RespException("ERR wrong number of arguments for '" + command.toLowerCase(Locale.ROOT) + "' command");
+    }
+
+    private static long toLong(byte[] value) {
+        try {
+            return Long.parseLong(new String(value, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException ex) {
+            throw new RespException(NOT_INTEGER);
+        }
+    }
+
+    private static double toDouble(byte[] value) {
+        String text = new String(value, StandardCharsets.US_ASCII).toLowerCase(Locale.ROOT);
+        switch (text) {
+            case "inf":
+            case "+inf":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                try {
+                    double result = Double.parseDouble(text);
+                    if (Double.isNaN(result)) {
+                        throw new RespException(NOT_FLOAT);
+                    }
+                    return result;
+                } catch (NumberFormatException ex) {
+                    throw new RespException(NOT_FLOAT);
+                }
+        }
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 按redis的规则处理负数下标和越界，返回闭区间 [start, stop]，start > stop 表示为空
+     */
+    private static int[] range(long start, long stop, int size) {
+        if (start < 0) {
+            start = Math.max(size + start, 0);
+        }
+        if (stop < 0) {
+            stop = size + stop;
+        }
+        stop = Math.min(stop, size - 1L);
+        return new int[]{(int) Math.min(start, size), (int) stop};
+    }
+
+    private static List<Object> list(Object... items) {
+        List<Object> result = new ArrayList<>(items.length);
+        Collections.addAll(result, items);
+        return result;
+    }
+
+    private static List<Object> members(Collection<Bytes> members) {
+        List<Object> result = new ArrayList<>(members == null ? 0 : members.size());
+        if (members != null) {
+            for (Bytes member : members) {
+                result.add(member.value);
+            }
+        }
+        return result;
+    }
+
+    private static List<Object> members(List<Map.Entry<Bytes, Double>> entries, boolean withScores) {
+        List<Object> result = new ArrayList<>(entries.size() * (withScores ? 2 : 1));
+        for (Map.Entry<Bytes, Double> entry : entries) {
+            result.add(entry.getKey().value);
+            if (withScores) {
+                result.add(bytes(formatDouble(entry.getValue())));
+            }
+        }
+        return result;
+    }
+
+    private static Pattern scanPattern(List<byte[]> args) {
+        for (int i = 3; i < args.size() - 1; i += 2) {
+            if ("MATCH".equals(name(args.subList(i, i + 1)))) {
+                return glob(args.get(i + 1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将redis的glob模式转换为正则：* ? [...] 以及 \ 转义
+     */
+    private static Pattern glob(byte[] pattern) {
+        String glob = new String(pattern, StandardCharsets.UTF_8);
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    regex.append(".*");
+                    break;
+                case '?':
+                    regex.append('.');
+                    break;
+                case '[':
+                    int close = glob.indexOf(']', i + 1);
+                    if (close < 0) {
+                        regex.append("\\[");
+                        break;
+                    }
+                    // 字符集合的语法（含 ^ 取反、a-z 范围）与正则一致
+                    regex.append('[').append(glob, i + 1, close).append(']');
+                    i = close;
+                    break;
+                case '\\':
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                    break;
+                default:
+                    regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static String sha1(String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes(script));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * 连接状态
+     */
+    static final class Session {
+
+        int database;
+
+        /**
+         * MULTI 之后排队的命令，不在事务中时为null
+         */
+        List<List<byte[]>> transaction;
+
+        /**
+         * 收到 QUIT，应答发送完成后关闭连接
+         */
+        boolean closing;
+    }
+
+    private static final class Db {
+
+        private final Map<Bytes, Object> data = new HashMap<>();
+
+        private final Map<Bytes, Long> expires = new HashMap<>();
+
+        Object get(Bytes key) {
+            Long expiresAt = expires.get(key);
+            if (expiresAt != null && expiresAt <= System.currentTimeMillis()) {
+                expires.remove(key);
+                data.remove(key);
+                return null;
+            }
+            return data.get(key);
+        }
+
+        /**
+         * 写入新值并清除过期时间（SET 语义）
+         */
+        void put(Bytes key, Object value) {
+            expires.remove(key);
+            data.put(key, value);
+        }
+
+        /**
+         * 修改值并保留过期时间（INCR、APPEND 语义）
+         */
+        void update(Bytes key, Object value) {
+            data.put(key, value);
+        }
+
+        boolean remove(Bytes key) {
+            boolean existed = get(key) != null;
+            expires.remove(key);
+            data.remove(key);
+            return existed;
+        }
+
+        void removeIfEmpty(Bytes key, Collection<?> value) {
+            if (value.isEmpty()) {
+                remove(key);
+            }
+        }
+
+        void removeIfEmpty(Bytes key, Map<?, ?> value) {
+            if (value.isEmpty()) {
+                remove(key);
+            }
+        }
+
+        void expire(Bytes key, long expiresAt) {
+            expires.put(key, expiresAt);
+        }
+
+        boolean persist(Bytes key) {
+            return get(key) != null && expires.remove(key) != null;
+        }
+
+        Set<Bytes> keys() {
+            long now = System.currentTimeMillis();
+            expires.entrySet().removeIf(entry -> {
+                if (entry.getValue() <= now) {
+                    data.remove(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+            return data.keySet();
+        }
+
+        void clear() {
+            data.clear();
+            expires.clear();
+        }
+    }
+
+    private static final class HashValue extends LinkedHashMap<Bytes, byte[]> {
+    }
+
+    private static final class ListValue extends ArrayList<byte[]> {
+    }
+
+    private static final class SetValue extends LinkedHashSet<Bytes> {
+    }
+
+    private static final class ZSetValue extends HashMap<Bytes, Double> {
+
+        /**
+         * 按分值排序，分值相同时按成员字典序
+         */
+        List<Map.Entry<Bytes, Double>> sorted(boolean reverse) {
+            List<Map.Entry<Bytes, Double>> entries = new ArrayList<>(entrySet());
+            entries.sort((a, b) -> {
+                int result = Double.compare(a.getValue(), b.getValue());
+                result = result != 0 ? result : a.getKey().compareTo(b.getKey());
+                return reverse ? -result : result;
+            });
+            return entries;
+        }
+    }
+
+    /**
+     * 分值区间的边界：( 开头表示开区间，支持 -inf/+inf
+     */
+    private static final class ScoreBound {
+
+        private final double value;
+
+        private final boolean exclusive;
+
+        private ScoreBound(double value, boolean exclusive) {
+            this.value = value;
+            this.exclusive = exclusive;
+        }
+
+        static ScoreBound parse(byte[] bound) {
+            boolean exclusive = bound.length > 0 && bound[0] == '(';
+            byte[] number = exclusive ? Arrays.copyOfRange(bound, 1, bound.length) : bound;
+            return new ScoreBound(toDouble(number), exclusive);
+        }
+
+        /**
+         * 作为下界时 score 是否在区间内
+         */
+        boolean isBelow(double score) {
+            return exclusive ? value < score : value <= score;
+        }
+
+        /**
+         * 作为上界时 score 是否在区间内
+         */
+        boolean isAbove(double score) {
+            return exclusive ? score < value : score <= value;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package org.enhance.redis.stub;
+
+import org.enhance.redis.infra.concurrent.RedisExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内的RESP2存根服务器，用于在没有redis的环境（如CI）中跑单元测试和端到端压测。
+ * 放在测试代码中，通过 test-jar 提供给 benchmarks 模块，不会随组件发布
+ * <p>
+ * 单个NIO线程处理所有连接，数据保存在内存中，支持 RedisHelper 用到的 string、hash、list、set、zset、
+ * SELECT、SCAN、MULTI/EXEC 以及 EVAL/EVALSHA（执行通过 {@link #registerScript} 注册的java实现）。
+ * 配置了 latency 时，每批请求的应答延迟 latency 后发送，模拟网络往返时间，同一连接上的应答顺序不变
+ * <p>
+ * 单独启动：java -cp target/benchmarks.jar org.enhance.redis.stub.RespStubServer [端口，默认6379] [延迟微秒，默认0]
+ *
+ * @author wenpan 2026/10/19 21:00
+ */
+public class RespStubServer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RespStubServer.class);
+
+    private static final int DATABASES = 16;
+
+    private final int port;
+
+    private final Duration latency;
+
+    private final RespStore store = new RespStore(DATABASES);
+
+    /**
+     * 需要在IO线程中执行的任务（延迟到期的应答）
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong commandCount = new AtomicLong();
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    private final ByteArrayOutputStream replyBuffer = new ByteArrayOutputStream(4096);
+
+    private ServerSocketChannel serverChannel;
+
+    private Selector selector;
+
+    private ScheduledExecutorService delayer;
+
+    private Thread ioThread;
+
+    private volatile boolean running;
+
+    /**
+     * @param port    监听端口，0 表示随机端口
+     * @param latency 应答延迟，{@link Duration#ZERO} 表示立即应答
+     */
+    public RespStubServer(int port, Duration latency) {
+        this.port = port;
+        this.latency = latency;
+    }
+
+    /**
+     * 绑定 127.0.0.1 并启动IO线程
+     */
+    public synchronized RespStubServer start() throws IOException {
+        if (running) {
+            return this;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        if (!latency.isZero()) {
+            delayer = Executors.newSingleThreadScheduledExecutor(RedisExecutors.threadFactory("resp-stub-delay"));
+        }
+        running = true;
+        ioThread = RedisExecutors.threadFactory("resp-stub-io").newThread(this::loop);
+        ioThread.start();
+        LOGGER.info("resp stub server started on port {} with latency {}.", getPort(), latency);
+        return this;
+    }
+
+    /**
+     * 注册lua脚本的java实现，EVAL 该脚本或 EVALSHA 其sha1时执行
+     *
+     * @param script         lua脚本原文，需要与客户端发送的完全一致
+     * @param implementation 等价的java实现，在IO线程中执行
+     * @return 脚本的sha1
+     */
+    public String registerScript(String script, RespScript implementation) {
+        return store.registerScript(script, implementation);
+    }
+
+    /**
+     * 实际监听的端口
+     */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException ex) {
+            throw new IllegalStateException("resp stub server is not bound.", ex);
+        }
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+
+    /**
+     * 已处理的命令总数
+     */
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                selector.select();
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            } catch (IOException | RuntimeException ex) {
+                if (running) {
+                    LOGGER.warn("resp stub server loop failed.", ex);
+                }
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+            }
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                read(connection, key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(connection, key);
+            }
+        } catch (IOException ex) {
+            // 客户端断开
+            close(connection, key);
+        }
+    }
+
+    private void read(Connection connection, SelectionKey key) throws IOException {
+        readBuffer.clear();
+        int read = connection.channel.read(readBuffer);
+        if (read < 0) {
+            close(connection, key);
+            return;
+        }
+        readBuffer.flip();
+        connection.decoder.feed(readBuffer);
+        replyBuffer.reset();
+        try {
+            List<byte[]> command;
+            while ((command = connection.decoder.next()) != null) {
+                if (command.isEmpty()) {
+                    continue;
+                }
+                commandCount.incrementAndGet();
+                Resp.encode(store.execute(connection.session, command), replyBuffer);
+            }
+        } catch (RespException ex) {
+            // 协议错误，返回错误后关闭连接
+            Resp.encode(new Resp.Error(ex.getMessage()), replyBuffer);
+            connection.session.closing = true;
+        }
+        if (replyBuffer.size() > 0) {
+            respond(connection, key, replyBuffer.toByteArray());
+        }
+    }
+
+    private void respond(Connection connection, SelectionKey key, byte[] reply) throws IOException {
+        if (delayer == null) {
+            connection.pending.add(ByteBuffer.wrap(reply));
+            flush(connection, key);
+            return;
+        }
+        connection.inFlight++;
+        // 延迟相同，定时任务按提交顺序到期，同一连接的应答不会乱序
+        delayer.schedule(() -> {
+            tasks.add(() -> {
+                connection.inFlight--;
+                connection.pending.add(ByteBuffer.wrap(reply));
+                try {
+                    flush(connection, key);
+                } catch (IOException ex) {
+                    close(connection, key);
+                }
+            });
+            selector.wakeup();
+        }, latency.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void flush(Connection connection, SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        ByteBuffer buffer;
+        while ((buffer = connection.pending.peek()) != null) {
+            connection.channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            connection.pending.poll();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (connection.session.closing && connection.inFlight == 0) {
+            close(connection, key);
+        }
+    }
+
+    private static void close(Connection connection, SelectionKey key) {
+        key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException ex) {
+            LOGGER.debug("close resp stub connection failed.", ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (delayer != null) {
+            delayer.shutdownNow();
+        }
+        for (SelectionKey key : selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException ex) {
+                LOGGER.debug("close resp stub channel failed.", ex);
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException ex) {
+            LOGGER.debug("close resp stub selector failed.", ex);
+        }
+        LOGGER.info("resp stub server stopped after {} commands.", commandCount.get());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 6379;
+        long latencyMicros = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        RespStubServer server = new RespStubServer(port, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros)));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        Thread.currentThread().join();
+    }
+
+    private static final class Connection {
+
+        private final SocketChannel channel;
+
+        private final RespDecoder decoder = new RespDecoder();
+
+        private final RespStore.Session session = new RespStore.Session();
+
+        private final Queue<ByteBuffer> pending = new ArrayDeque<>();
+
+        /**
+         * 已经处理但还在延迟中的应答批数
+         */
+        private int inFlight;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
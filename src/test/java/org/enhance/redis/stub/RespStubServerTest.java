@@ -0,0 +1,56 @@
+package org.enhance.redis.stub;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 存根服务器自身的基本行为，其他测试依赖这些行为
+ *
+ * @author wenpan 2026/10/20 01:30
+ */
+class RespStubServerTest {
+
+    private RespStubServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void dbsAreIsolated() {
+        try (Jedis jedis = new Jedis("127.0.0.1", server.getPort())) {
+            jedis.set("key", "db0");
+            jedis.select(3);
+            assertThat(jedis.get("key")).isNull();
+            jedis.set("key", "db3");
+            jedis.select(0);
+            assertThat(jedis.get("key")).isEqualTo("db0");
+        }
+        assertThat(server.getCommandCount()).isGreaterThanOrEqualTo(6);
+    }
+
+    @Test
+    void registeredScriptIsExecuted() {
+        String script = "return redis.call('GET', KEYS[1])";
+        String sha1 = server.registerScript(script, (redis, keys, args) -> redis.call("GET", keys.get(0)));
+        try (Jedis jedis = new Jedis("127.0.0.1", server.getPort())) {
+            jedis.set("key", "value");
+            assertThat(jedis.eval(script, Collections.singletonList("key"), Collections.emptyList())).isEqualTo("value");
+            assertThat(jedis.evalsha(sha1, Collections.singletonList("key"), Collections.emptyList())).isEqualTo("value");
+        }
+    }
+}
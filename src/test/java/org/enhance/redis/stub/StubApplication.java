@@ -0,0 +1,49 @@
+package org.enhance.redis.stub;
+
+import org.enhance.redis.annotation.EnableRedisMultiDataSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 默认数据源连接到存根服务器的spring容器，供需要完整容器的测试使用
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+public final class StubApplication {
+
+    private StubApplication() {
+    }
+
+    /**
+     * @param server     默认数据源连接的存根服务器
+     * @param properties 额外的配置，格式为 key=value
+     */
+    public static SpringApplicationBuilder builder(RespStubServer server, String... properties) {
+        return new SpringApplicationBuilder(TestApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.redis.host=127.0.0.1", "spring.redis.port=" + server.getPort())
+                .properties(properties);
+    }
+
+    /**
+     * 在配置文件中声明的数据源的配置
+     *
+     * @param name 数据源名称
+     * @param port 数据源连接的端口
+     */
+    public static String[] dataSource(String name, int port) {
+        return new String[]{"spring.redis.datasource." + name + ".host=127.0.0.1",
+                "spring.redis.datasource." + name + ".port=" + port};
+    }
+
+    /**
+     * 在 org.enhance.redis.stub 包中，不会被组件扫描 org.enhance.redis.client 包时扫描到
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableRedisMultiDataSource
+    static class TestApplication {
+    }
+}
@@ -0,0 +1,58 @@
+package org.enhance.redis.stub;
+
+import org.enhance.redis.config.DynamicRedisTemplateFactory;
+import org.enhance.redis.template.DynamicRedisTemplate;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 连接到存根服务器的数据源，供各个测试使用
+ *
+ * @author wenpan 2026/10/20 01:30
+ */
+public final class StubRedis {
+
+    private StubRedis() {
+    }
+
+    /**
+     * @param server     存根服务器
+     * @param clientType lettuce 或 jedis，jedis使用连接池
+     */
+    public static RedisProperties properties(RespStubServer server, String clientType) {
+        RedisProperties properties = new RedisProperties();
+        properties.setHost("127.0.0.1");
+        properties.setPort(server.getPort());
+        properties.setTimeout(Duration.ofSeconds(2));
+        properties.setClientType(RedisProperties.ClientType.valueOf(clientType.toUpperCase()));
+        RedisProperties.Pool pool = new RedisProperties.Pool();
+        pool.setMaxActive(16);
+        pool.setMaxIdle(16);
+        properties.getJedis().setPool(pool);
+        return properties;
+    }
+
+    public static DynamicRedisTemplateFactory<String, String> templateFactory(String dataSource, RedisProperties properties) {
+        return new DynamicRedisTemplateFactory<>(dataSource, properties, null, null,
+                Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * 创建动态RedisTemplate，只有默认db（0）是预先创建的，其他db懒加载创建，可以被淘汰
+     */
+    public static DynamicRedisTemplate<String, String> dynamicRedisTemplate(String dataSource, RedisProperties properties) {
+        DynamicRedisTemplateFactory<String, String> factory = templateFactory(dataSource, properties);
+        DynamicRedisTemplate<String, String> template = new DynamicRedisTemplate<>(factory);
+        template.setDefaultRedisTemplate(factory.createRedisTemplate(properties.getDatabase()));
+        Map<Object, RedisTemplate<String, String>> templates = new ConcurrentHashMap<>(16);
+        templates.put(properties.getDatabase(), template.getDefaultRedisTemplate());
+        template.setRedisTemplates(templates);
+        template.afterPropertiesSet();
+        return template;
+    }
+}
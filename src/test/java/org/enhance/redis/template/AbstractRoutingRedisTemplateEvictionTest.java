@@ -0,0 +1,163 @@
+package org.enhance.redis.template;
+
+import org.enhance.redis.helper.RedisDbThreadLocalHelper;
+import org.enhance.redis.register.RoutingRedisTemplateRegister;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 空闲淘汰与命令并发执行：淘汰后立即销毁连接工厂，所有命令（包括通过操作对象执行的）都不能失败
+ *
+ * @author wenpan 2026/10/20 01:30
+ */
+class AbstractRoutingRedisTemplateEvictionTest {
+
+    private RespStubServer server;
+
+    private DynamicRedisTemplate<String, String> template;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RedisDbThreadLocalHelper.clear();
+        if (template != null) {
+            destroy(template.evictIdleRedisTemplates(Duration.ZERO));
+            ((DisposableBean) template.getDefaultRedisTemplate().getConnectionFactory()).destroy();
+        }
+        server.close();
+    }
+
+    @Test
+    void registeredAfterPropertiesSetAndBoundTemplatesKeepTheirFactory() {
+        DynamicRedisTemplate<String, String> unset = new DynamicRedisTemplate<>(null);
+        assertThat(RoutingRedisTemplateRegister.getTemplates()).doesNotContain(unset);
+
+        template = StubRedis.dynamicRedisTemplate("bound", StubRedis.properties(server, "lettuce"));
+        assertThat(RoutingRedisTemplateRegister.getTemplates()).contains(template);
+        RedisDbThreadLocalHelper.set(2);
+        RedisTemplate<String, String> bound = template.determineTargetOperations();
+        RedisConnectionFactory connectionFactory = bound.getConnectionFactory();
+        bound.setConnectionFactory(template.getDefaultRedisTemplate().getConnectionFactory());
+
+        assertThat(bound.getConnectionFactory()).isSameAs(connectionFactory);
+        bound.opsForValue().set("key", "value");
+        assertThat(bound.opsForValue().get("key")).isEqualTo("value");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"lettuce", "jedis"})
+    void commandsRunWhileEvicting(String clientType) throws Exception {
+        template = StubRedis.dynamicRedisTemplate("eviction-" + clientType, StubRedis.properties(server, clientType));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger commands = new AtomicInteger();
+        AtomicInteger evictions = new AtomicInteger();
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String key = "key-" + i;
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    int db = 1 + ThreadLocalRandom.current().nextInt(3);
+                    RedisDbThreadLocalHelper.set(db);
+                    try {
+                        ValueOperations<String, String> ops = template.opsForValue();
+                        ops.set(key, String.valueOf(db));
+                        assertThat(ops.get(key)).isEqualTo(String.valueOf(db));
+                        assertThat(template.hasKey(key)).isTrue();
+                        assertThat(template.boundValueOps(key).get()).isEqualTo(String.valueOf(db));
+                        commands.addAndGet(4);
+                    } catch (Throwable ex) {
+                        errors.add(ex);
+                    } finally {
+                        RedisDbThreadLocalHelper.clear();
+                    }
+                }
+            }));
+        }
+        // 淘汰后立即销毁，不留任何延迟
+        threads.add(new Thread(() -> {
+            while (running.get()) {
+                try {
+                    Map<Object, RedisTemplate<String, String>> evicted = template.evictIdleRedisTemplates(Duration.ZERO);
+                    evictions.addAndGet(evicted.size());
+                    destroy(evicted);
+                    TimeUnit.MILLISECONDS.sleep(2);
+                } catch (Throwable ex) {
+                    errors.add(ex);
+                }
+            }
+        }));
+        threads.forEach(Thread::start);
+        TimeUnit.MILLISECONDS.sleep(1500);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(errors).isEmpty();
+        assertThat(commands.get()).isPositive();
+        assertThat(evictions.get()).isPositive();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"lettuce", "jedis"})
+    void heldOperationsSurviveEviction(String clientType) throws Exception {
+        template = StubRedis.dynamicRedisTemplate("held-" + clientType, StubRedis.properties(server, clientType));
+        RedisDbThreadLocalHelper.set(2);
+        ValueOperations<String, String> ops = template.opsForValue();
+        RedisTemplate<String, String> db5 = template.getOrCreateRedisTemplate(5);
+        RedisDbThreadLocalHelper.clear();
+
+        ops.set("held", "v1");
+        db5.opsForValue().set("held", "v5");
+        assertThat(template.evictIdleRedisTemplates(Duration.ZERO)).containsOnlyKeys(2, 5).satisfies(this::destroy);
+
+        // 获取操作对象时的db不变，使用重新创建的RedisTemplate
+        assertThat(ops.get("held")).isEqualTo("v1");
+        assertThat(db5.opsForValue().get("held")).isEqualTo("v5");
+        assertThat(template.opsForValue().get("held")).isNull();
+        try (Jedis jedis = new Jedis("127.0.0.1", server.getPort())) {
+            jedis.select(2);
+            assertThat(jedis.get("held")).isEqualTo("v1");
+        }
+    }
+
+    private void destroy(Map<Object, RedisTemplate<String, String>> evicted) {
+        evicted.values().forEach(redisTemplate -> {
+            try {
+                ((DisposableBean) redisTemplate.getConnectionFactory()).destroy();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package org.enhance.redis.tenant;
+
+import org.enhance.redis.register.RedisConnectionFactoryRegister;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 租户数据源LRU淘汰：有借用方的租户数据源不淘汰，移除后等借用方执行完毕再关闭，销毁注册时关闭所有延迟关闭的租户数据源
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class TenantRedisDataSourceRegistryTest {
+
+    private RespStubServer server;
+
+    private TenantRedisDataSourceRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+        registry = new TenantRedisDataSourceRegistry(2, Duration.ofHours(1), Duration.ofHours(1), Duration.ofHours(1),
+                false, StubRedis::templateFactory);
+        registry.afterPropertiesSet();
+        for (String tenant : new String[]{"a", "b", "c"}) {
+            registry.register(tenant, StubRedis.properties(server, "jedis"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.destroy();
+        server.close();
+    }
+
+    @Test
+    void leastRecentlyUsedTenantIsEvicted() {
+        registry.getRedisHelper("a").strSet("key-a", "a");
+        registry.getRedisHelper("b").strSet("key-b", "b");
+        registry.getRedisHelper("a").strGet("key-a");
+
+        registry.getRedisHelper("c").strSet("key-c", "c");
+
+        assertThat(registry.isActive("a")).isTrue();
+        assertThat(registry.isActive("b")).isFalse();
+        assertThat(registry.isActive("c")).isTrue();
+        assertThat(registry.getActiveCount()).isEqualTo(2);
+        assertThat(registry.getEvictionCount()).isEqualTo(1);
+        // 淘汰后再次使用时重新创建
+        String value = registry.execute("b", helper -> helper.strGet("key-b"));
+        assertThat(value).isEqualTo("b");
+        assertThat(registry.isActive("a")).isFalse();
+    }
+
+    @Test
+    void borrowedTenantIsNotEvicted() {
+        String value = registry.execute("a", helper -> {
+            helper.strSet("key-a", "a");
+            // a 最久未使用，但正在借用
+            registry.getRedisHelper("b").strSet("key-b", "b");
+            registry.getRedisHelper("c").strSet("key-c", "c");
+            assertThat(registry.isActive("a")).isTrue();
+            assertThat(registry.isActive("b")).isFalse();
+            registry.evictIdle();
+            return helper.strGet("key-a");
+        });
+        assertThat(value).isEqualTo("a");
+        assertThat(registry.isActive("a")).isTrue();
+    }
+
+    @Test
+    void unregisteredTenantIsClosedAfterLastBorrower() {
+        registry.execute("a", helper -> {
+            assertThat(registry.unregister("a")).isTrue();
+            // 借用期间不关闭
+            helper.strSet("key-a", "a");
+            assertThat(helper.strGet("key-a")).isEqualTo("a");
+            return null;
+        });
+        assertThat(registry.getActiveCount()).isZero();
+        // 延迟关闭还没到时间，销毁注册时立即关闭
+        assertThat(RedisConnectionFactoryRegister.getFactories("a")).isNotEmpty();
+        registry.destroy();
+        assertThat(RedisConnectionFactoryRegister.getFactories("a")).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package org.enhance.redis.topology;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.enhance.redis.stub.RespStubServer;
+import org.enhance.redis.stub.StubRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 查找连接工厂内部的连接池：没有连接池时为空，lettuce 延迟创建的连接池创建后可以查到，借出的连接反映在空闲判断中
+ *
+ * @author wenpan 2026/10/20 01:45
+ */
+class ConnectionPoolsTest {
+
+    private RespStubServer server;
+
+    private RedisConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStubServer(0, Duration.ZERO).start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (connectionFactory != null) {
+            ((DisposableBean) connectionFactory).destroy();
+        }
+        server.close();
+    }
+
+    @Test
+    void lettuceWithoutPoolHasNoPools() {
+        connectionFactory = connectionFactory("lettuce-shared", StubRedis.properties(server, "lettuce"));
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        }
+
+        assertThat(ConnectionPools.find(connectionFactory)).isEmpty();
+        assertThat(ConnectionPools.stats(connectionFactory)).isNull();
+        assertThat(ConnectionPools.isIdle(connectionFactory)).isFalse();
+    }
+
+    @Test
+    void lettucePoolsCreatedAfterResolutionAreFound() {
+        RedisProperties properties = StubRedis.properties(server, "lettuce");
+        properties.getLettuce().setPool(properties.getJedis().getPool());
+        connectionFactory = connectionFactory("lettuce-pooled", properties);
+        // 连接池在第一次获取连接时才创建
+        assertThat(ConnectionPools.find(connectionFactory)).isEmpty();
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        }
+        List<GenericObjectPool<?>> pools = ConnectionPools.find(connectionFactory);
+        assertThat(pools).hasSize(1);
+        // 共享的本地连接从连接池中借出，连接工厂销毁前不归还
+        assertThat(pools.get(0).getNumActive()).isEqualTo(1);
+        assertThat(ConnectionPools.isIdle(connectionFactory)).isFalse();
+        assertThat(ConnectionPools.find(connectionFactory).get(0)).isSameAs(pools.get(0));
+    }
+
+    @Test
+    void jedisPoolIsFound() {
+        connectionFactory = connectionFactory("jedis-pooled", StubRedis.properties(server, "jedis"));
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+            assertThat(ConnectionPools.isIdle(connectionFactory)).isFalse();
+        }
+
+        List<GenericObjectPool<?>> pools = ConnectionPools.find(connectionFactory);
+        assertThat(pools).hasSize(1);
+        assertThat(pools.get(0).getMaxTotal()).isEqualTo(16);
+        assertThat(ConnectionPools.find(connectionFactory).get(0)).isSameAs(pools.get(0));
+        assertThat(ConnectionPools.isIdle(connectionFactory)).isTrue();
+    }
+
+    private static RedisConnectionFactory connectionFactory(String dataSource, RedisProperties properties) {
+        return StubRedis.templateFactory(dataSource, properties).createRedisTemplate(0).getConnectionFactory();
+    }
+}